@@ -0,0 +1,33 @@
+import module java.base;
+
+// Loads every class of a jar through a fresh class loader, repeatedly, to compare how long deflated and
+// stored archives take to read back. Used by the 'jar' table of benchmark.sh:
+//   java benchmark/JarLoading.java <jar> <loads>
+public class JarLoading {
+
+    public static void main(String... arguments) throws Exception {
+        Path jar = Path.of(arguments[0]);
+        int loads = Integer.parseInt(arguments[1]);
+        List<String> names = new ArrayList<>();
+        try (JarFile file = new JarFile(jar.toFile())) {
+            file.stream()
+                    .map(JarEntry::getName)
+                    .filter(name -> name.endsWith(".class") && !name.endsWith("module-info.class"))
+                    .map(name -> name.substring(0, name.length() - ".class".length()).replace('/', '.'))
+                    .forEach(names::add);
+        }
+        if (names.isEmpty()) {
+            throw new IllegalStateException("No classes in " + jar);
+        }
+        for (int load = 0; load < loads; load++) {
+            try (URLClassLoader loader = new URLClassLoader(new URL[] {jar.toUri().toURL()}, ClassLoader.getSystemClassLoader())) {
+                for (String name : names) {
+                    try {
+                        Class.forName(name, false, loader);
+                    } catch (LinkageError _) {
+                    }
+                }
+            }
+        }
+    }
+}
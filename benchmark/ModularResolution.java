@@ -0,0 +1,75 @@
+import module java.base;
+import build.jenesis.DependencyScope;
+import build.jenesis.Repository;
+import build.jenesis.RepositoryItem;
+import build.jenesis.module.ModularJarResolver;
+
+// Resolves a synthetic tree of modular jars from a local stand-in for a module repository that delays
+// every fetch by a fixed latency. Used by the 'resolve' table of benchmark.sh:
+//   java -cp <launcher> benchmark/ModularResolution.java {direct|parallel} <modules> <latency millis>
+public class ModularResolution {
+
+    public static void main(String... arguments) throws Exception {
+        boolean parallel = arguments[0].equals("parallel");
+        int modules = Integer.parseInt(arguments[1]);
+        long latency = Long.parseLong(arguments[2]);
+        Path folder = Files.createTempDirectory("modules");
+        try {
+            Map<String, Path> jars = new HashMap<>();
+            for (int index = 0; index < modules; index++) {
+                List<String> requires = new ArrayList<>();
+                for (int child = 3 * index + 1; child <= 3 * index + 3 && child < modules; child++) {
+                    requires.add("bench.m" + child);
+                }
+                jars.put("bench.m" + index, jar(folder, "bench.m" + index, requires));
+            }
+            Repository repository = (_, coordinate) -> {
+                try {
+                    Thread.sleep(latency);
+                } catch (InterruptedException _) {
+                    throw new InterruptedIOException();
+                }
+                return Optional.ofNullable(jars.get(coordinate)).map(RepositoryItem::ofFile);
+            };
+            ExecutorService executor = parallel ? Executors.newVirtualThreadPerTaskExecutor() : null;
+            try {
+                int resolved = new ModularJarResolver(false).dependencies(
+                        executor == null ? Runnable::run : executor,
+                        "module",
+                        Map.of("module", repository),
+                        new LinkedHashMap<>(Map.of("bench.m0", Collections.emptyNavigableSet())),
+                        new LinkedHashMap<>(),
+                        DependencyScope.RUNTIME).artifacts().size();
+                if (resolved != modules) {
+                    throw new IllegalStateException("Resolved " + resolved + " of " + modules + " modules");
+                }
+            } finally {
+                if (executor != null) {
+                    executor.close();
+                }
+            }
+        } finally {
+            try (Stream<Path> files = Files.list(folder)) {
+                for (Path file : files.toList()) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(folder);
+        }
+    }
+
+    private static Path jar(Path folder, String module, List<String> requires) throws IOException {
+        Path file = folder.resolve(module + ".jar");
+        try (JarOutputStream outputStream = new JarOutputStream(Files.newOutputStream(file))) {
+            outputStream.putNextEntry(new JarEntry("module-info.class"));
+            outputStream.write(ClassFile.of().buildModule(ModuleAttribute.of(ModuleDesc.of(module), builder -> {
+                builder.requires(ModuleRequireInfo.of(ModuleDesc.of("java.base"), 0, null));
+                for (String name : requires) {
+                    builder.requires(ModuleRequireInfo.of(ModuleDesc.of(name), 0, null));
+                }
+            })));
+            outputStream.closeEntry();
+        }
+        return file;
+    }
+}
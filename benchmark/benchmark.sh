@@ -1,7 +1,7 @@
 #!/usr/bin/env bash
 # Reproducible build-performance benchmarks for the Jenesis project.
 # Usage, methodology and configuration are in benchmark/README.md.
-#   benchmark/benchmark.sh {launch|compile|full|maven|pinning|aot|all}
+#   benchmark/benchmark.sh {launch|compile|full|maven|pinning|resolve|jar|aot|all}
 #
 set -u
 HERE="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
@@ -13,6 +13,9 @@ MVN4="${MVN4:-}"
 GRAALVM_HOME="${GRAALVM_HOME:-}"
 RUNS_COLD="${RUNS_COLD:-5}"
 RUNS_WARM="${RUNS_WARM:-3}"
+RESOLVE_MODULES="${RESOLVE_MODULES:-150}"
+RESOLVE_LATENCY="${RESOLVE_LATENCY:-20}"
+JAR_LOADS="${JAR_LOADS:-10}"
 ENGINE="build/jenesis"; [ -f $ENGINE/Project.java ] || ENGINE="sources/build/jenesis"
 LAUNCHER="$ROOT/.jenesis/launcher"
 EXE=""; NICMD=""; case "$(uname -s)" in MINGW*|MSYS*|CYGWIN*) EXE=".exe"; NICMD=".cmd";; esac
@@ -228,6 +231,27 @@ table_pinning() {
   bench_warm "pin=versions" "$RUNS_WARM" "rm -rf target; $ver" "$ver"
 }
 
+table_resolve() {
+  note "Table: modular resolution of $RESOLVE_MODULES modules, local repository with ${RESOLVE_LATENCY}ms per fetch"
+  build_launcher
+  local run="java -cp $LAUNCHER benchmark/ModularResolution.java"
+  bench "direct executor" "$RUNS_WARM" "" "$run direct $RESOLVE_MODULES $RESOLVE_LATENCY"
+  bench "virtual threads" "$RUNS_WARM" "" "$run parallel $RESOLVE_MODULES $RESOLVE_LATENCY"
+}
+
+table_jar() {
+  note "Table: classes jar size vs class loading, $JAR_LOADS loads of the engine's classes (-Djenesis.jar.stored)"
+  build_launcher
+  local dir; dir="$(mktemp -d)"
+  jar --create --date=1980-01-01T00:00:02Z --file "$dir/deflated.jar" -C "$LAUNCHER" .
+  jar --create --date=1980-01-01T00:00:02Z --no-compress --file "$dir/stored.jar" -C "$LAUNCHER" .
+  printf '%-26s %sKB\n' "deflated size" "$(( $(wc -c < "$dir/deflated.jar") / 1024 ))"
+  printf '%-26s %sKB\n' "stored size" "$(( $(wc -c < "$dir/stored.jar") / 1024 ))"
+  bench "deflated loading" "$RUNS_WARM" "" "java benchmark/JarLoading.java $dir/deflated.jar $JAR_LOADS"
+  bench "stored loading"   "$RUNS_WARM" "" "java benchmark/JarLoading.java $dir/stored.jar $JAR_LOADS"
+  rm -rf "$dir"
+}
+
 check_env
 case "${1:-}" in
   launch)  table_launch ;;
@@ -235,8 +259,10 @@ case "${1:-}" in
   full)    table_full ;;
   maven)   table_maven ;;
   pinning) table_pinning ;;
+  resolve) table_resolve ;;
+  jar)     table_jar ;;
   aot)     table_aot ;;
-  all)     table_launch; table_compile; table_full; table_maven; table_pinning; table_aot ;;
-  *) echo "usage: $0 {launch|compile|full|maven|pinning|aot|all}"; exit 1 ;;
+  all)     table_launch; table_compile; table_full; table_maven; table_pinning; table_resolve; table_jar; table_aot ;;
+  *) echo "usage: $0 {launch|compile|full|maven|pinning|resolve|jar|aot|all}"; exit 1 ;;
 esac
 note "done: ${1:-}"
@@ -6,9 +6,11 @@ import build.jenesis.maven.MavenDefaultRepository;
 import build.jenesis.maven.MavenModuleResolver;
 import build.jenesis.maven.MavenPomResolver;
 import build.jenesis.maven.MavenProject;
+import build.jenesis.maven.MavenRepository;
 import build.jenesis.maven.MavenRepositoryExport;
 import build.jenesis.maven.MavenRepositoryStaging;
 import build.jenesis.maven.MavenResolver;
+import build.jenesis.maven.MavenRoutingRepository;
 import build.jenesis.maven.PinPom;
 import build.jenesis.maven.Pom;
 import build.jenesis.module.JenesisModuleRepository;
@@ -31,6 +33,7 @@ import build.jenesis.step.Bom;
 import build.jenesis.step.Dependencies;
 import build.jenesis.step.ImageStaging;
 import build.jenesis.step.Inventory;
+import build.jenesis.step.ProcessHandler;
 import build.jenesis.step.ReportStaging;
 import build.jenesis.step.Tree;
 
@@ -62,6 +65,7 @@ public record Project(
             RELEASE = "release",
             PIN = "pin",
             DEPENDENCIES = "dependencies",
+            PREFETCH = "prefetch",
             IDE = "ide",
             METADATA = "metadata",
             HELP = "help",
@@ -124,9 +128,10 @@ public record Project(
             MultiProjectAssembler<? super ProjectModuleDescriptor> pomAware = new PomAwareAssembler(assembler, null, null, false);
             executor.addModule(BUILD, (sub, inherited) -> {
                 Map<String, Repository> repositories = new LinkedHashMap<>(project.repositories());
-                repositories.putIfAbsent("maven",
-                        MavenDefaultRepository.of()
-                                .cached(project.artifacts() == null ? null : Files.createDirectories(project.artifacts())));
+                RepositorySnapshot snapshot = RepositorySnapshot.of();
+                MavenRepository maven = MavenDefaultRepository.of()
+                        .cached(project.artifacts() == null ? null : Files.createDirectories(project.artifacts()));
+                repositories.putIfAbsent("maven", snapshot == null ? maven : maven.prepend(MavenRepository.of(snapshot)));
                 Map<String, Resolver> resolvers = new LinkedHashMap<>(project.resolvers());
                 resolvers.putIfAbsent("maven", new MavenPomResolver());
                 SequencedSet<String> mavenDeps = new LinkedHashSet<>();
@@ -184,9 +189,10 @@ public record Project(
             MultiProjectAssembler<? super ProjectModuleDescriptor> bomAware = new BomAwareAssembler(assembler, project.hashFunction());
             executor.addModule(BUILD, (sub, inherited) -> {
                 Map<String, Repository> repositories = new LinkedHashMap<>(project.repositories());
-                repositories.putIfAbsent("module",
-                        JenesisModuleRepository.of(JenesisRepository.Scope.MODULE)
-                                .cached(project.artifacts() == null ? null : Files.createDirectories(project.artifacts())));
+                RepositorySnapshot snapshot = RepositorySnapshot.of();
+                JenesisRepository module = JenesisModuleRepository.of(JenesisRepository.Scope.MODULE)
+                        .cached(project.artifacts() == null ? null : Files.createDirectories(project.artifacts()));
+                repositories.putIfAbsent("module", snapshot == null ? module : module.prepend(snapshot));
                 Map<String, Resolver> resolvers = new LinkedHashMap<>(project.resolvers());
                 resolvers.putIfAbsent("module", new ModularJarResolver(false));
                 SequencedSet<String> modulesDeps = new LinkedHashSet<>();
@@ -254,12 +260,13 @@ public record Project(
             MultiProjectAssembler<? super ProjectModuleDescriptor> bomAware = new BomAwareAssembler(pomAware, project.hashFunction());
             executor.addModule(BUILD, (sub, inherited) -> {
                 Map<String, Repository> repositories = new LinkedHashMap<>(project.repositories());
-                repositories.putIfAbsent("maven",
-                        MavenDefaultRepository.of()
-                                .cached(project.artifacts() == null ? null : Files.createDirectories(project.artifacts())));
-                repositories.putIfAbsent("module",
-                        JenesisModuleRepository.of(JenesisRepository.Scope.ARTIFACT)
-                                .cached(project.artifacts() == null ? null : Files.createDirectories(project.artifacts())));
+                RepositorySnapshot snapshot = RepositorySnapshot.of();
+                MavenRepository maven = MavenDefaultRepository.of()
+                        .cached(project.artifacts() == null ? null : Files.createDirectories(project.artifacts()));
+                repositories.putIfAbsent("maven", snapshot == null ? maven : maven.prepend(MavenRepository.of(snapshot)));
+                JenesisRepository module = JenesisModuleRepository.of(JenesisRepository.Scope.ARTIFACT)
+                        .cached(project.artifacts() == null ? null : Files.createDirectories(project.artifacts()));
+                repositories.putIfAbsent("module", snapshot == null ? module : module.prepend(snapshot));
                 Map<String, Resolver> resolvers = new LinkedHashMap<>(project.resolvers());
                 resolvers.putIfAbsent("maven", new MavenPomResolver());
                 resolvers.putIfAbsent("module", new MavenModuleResolver("maven",
@@ -420,6 +427,7 @@ public record Project(
                       %{name}export%{reset}       Export the staged repository as the build deliverable
                       %{name}pin%{reset}          Rewrite version/checksum pins into pom.xml or module-info.java
                       %{name}dependencies%{reset} Print each module's resolved dependency graph (with licenses)
+                      %{name}prefetch%{reset}     Resolve and download every dependency step in parallel, ahead of the build
                       %{name}ide%{reset}          Generate IntelliJ IDEA, VS Code, and Eclipse project metadata
                       %{name}metadata%{reset}     Refresh the metadata module outputs
                       %{name}help%{reset}         Print this message
@@ -543,6 +551,22 @@ public record Project(
                                                       %{name}Retry-After%{reset}; %{name}0%{reset} disables
                       %{name}backoff%{reset}                           Initial wait in milliseconds between retries,
                                                       doubling per attempt (default %{name}125%{reset})
+                      %{name}transport%{reset}                         %{name}url%{reset} (default) fetches through %{name}URLConnection%{reset}, one
+                                                      connection per file; %{name}http%{reset} shares one %{name}HttpClient%{reset}
+                                                      that multiplexes over HTTP/2 and digests
+                                                      downloads while streaming them to disk
+                      %{name}connections%{reset}                       Concurrent requests per host with the %{name}http%{reset}
+                                                      transport (default %{name}16%{reset}), which also resumes an
+                                                      interrupted download with a range request,
+                                                      across builds through a %{name}.part%{reset} file
+                      %{name}chunks%{reset}                            Parallel ranges per download with the %{name}http%{reset}
+                                                      transport (default %{name}1%{reset}, not split)
+                      %{name}chunk.threshold%{reset}                   Bytes fetched before the rest of an artifact is
+                                                      split into %{name}chunks%{reset} (default %{name}16777216%{reset})
+                      %{name}store%{reset}                             A machine-wide folder where artifacts cached for
+                                                      a project are kept once by SHA-256 and hard-linked
+                                                      into each project; a pinned checksum it already
+                                                      holds skips the fetch and its validation
                       The Maven and Jenesis module repositories take a %{name}uri%{reset} (remote),
                       %{name}local%{reset} (on-disk cache) and %{name}token%{reset} (bearer credential) under
                       %{name}jenesis.maven.<key>%{reset} and %{name}jenesis.module.<key>%{reset}; each falls back to the
@@ -553,6 +577,35 @@ public record Project(
                       An %{name}@%{reset} entry splices in the default configuration (the environment
                       value, else the built-in default) and %{name}@<name>%{reset} the value of that
                       property or environment variable; unresolved or circular references fail.
+                      With several Maven repositories, a remote repository that lacks a file is
+                      skipped for it for %{name}jenesis.maven.miss.ttl%{reset} minutes (default %{name}1440%{reset}, %{name}0%{reset}
+                      disables) while the declared order is otherwise kept; misses are written to
+                      %{name}jenesis.maven.routes%{reset} once per build (default
+                      %{name}.jenesis-routes.properties%{reset} in the local repository, empty to not persist).
+                      A Maven entry of %{name}<url>;<url>;...%{reset} names equivalent mirrors: a request the
+                      first has not answered within the %{name}jenesis.maven.hedge%{reset} percentile (default
+                      %{name}95%{reset}) of recent fetch times, %{name}jenesis.maven.hedge.delay%{reset} milliseconds until
+                      enough were seen (default %{name}500%{reset}), is also sent to the next mirror and
+                      the first answer wins; a failed request moves on to the next mirror at once.
+                      A remote Jenesis module repository's unversioned (latest) lookups are kept in
+                      %{name}jenesis.module.cache%{reset} (default %{name}.cache%{reset} in the local repository, empty
+                      disables) and revalidated by %{name}ETag%{reset} / %{name}Last-Modified%{reset} once older than
+                      %{name}jenesis.module.cache.ttl%{reset} minutes (default %{name}60%{reset}).
+                      %{name}jenesis.module.index%{reset} names a local file that keeps the module mappings of
+                      %{name}jenesis.module.index.uri%{reset} (default the %{name}jenesis-modules%{reset} index) as one sorted,
+                      memory-mapped table; it is refreshed by a published delta or snapshot once
+                      older than %{name}jenesis.module.index.ttl%{reset} minutes (default %{name}1440%{reset}), and a stale
+                      index is still used while the source is unreachable.
+                      With %{name}jenesis.dependencies.lazy%{reset}, a Maven project resolves its POMs up front
+                      but records its jars only by coordinate and checksum; they are downloaded
+                      once a compile, test or package step needs them, so SBOM and license
+                      checks on a cold machine fetch no jars.
+                      %{name}jenesis.repository.snapshot.write%{reset} packs the artifacts and POMs a build
+                      fetched into one indexed file; passed as %{name}jenesis.repository.snapshot%{reset}, that
+                      file serves the Maven and Jenesis module repositories first, reading each
+                      entry in place through a memory map, so an air-gapped or hermetic build
+                      resolves from it without a network or an unpacked cache. Maven version
+                      ranges only see the versions it holds.
 
                     %{header}Tests (-Djenesis.test.<key>=<value>):%{reset}
                       %{name}skip%{reset}                             Skip executing tests
@@ -594,6 +647,37 @@ public record Project(
                       cache keys each step by its serialized form; bump the step class's
                       %{name}serialVersionUID%{reset} to force re-execution of such steps, or pass
                       %{name}-Djenesis.executor.rebuild=true%{reset} for a full rebuild.
+                      Compile and Javadoc steps keep the ABI (non-private signatures,
+                      constants, annotations and module exports) of the classes and jars
+                      they compiled against; when an upstream change leaves it untouched,
+                      as an edited method body does, they keep their previous output.
+                      Multi-release variants compile concurrently; when only the sources
+                      of one release change, the base classes and other releases are kept.
+                      With %{name}-Djenesis.javac.incremental=true%{reset}, a compile step passes javac only
+                      the changed sources and the classes that reference them, reusing the
+                      remaining classes of its previous run and dropping those of removed
+                      sources. Changes to module-info.java, the class or module path, or
+                      public constants compile everything, as does annotation processing
+                      unless every processor is declared isolating in
+                      META-INF/gradle/incremental.annotation.processors; in-process, such
+                      processors only rerun for changed sources and their generated classes
+                      are reused for the others.
+                      In-process javac runs reuse warm file managers, keeping the JDK image
+                      and unchanged dependency jars open between compiles with the same
+                      options; a jar that changes on disk drops the managers that read it.
+                      Pass %{name}-Djenesis.javac.pool=false%{reset} to give every compile a fresh one.
+                      With %{name}-Djenesis.jar.inprocess=true%{reset}, jars are written in-process instead of by the
+                      jar tool, deflating entries in parallel and copying the compressed bytes
+                      of unchanged files from the previous jar.
+                      Jars deflate their entries unless their sort is listed in
+                      %{name}-Djenesis.jar.stored=classes,sources,javadoc%{reset}, which stores them
+                      uncompressed, trading size for faster reads by later steps; in-process, nested
+                      archives and images are always stored rather than deflated again.
+                      With %{name}-Djenesis.jlink.cache=<folder>%{reset} (empty for ~/.jenesis/jlink), runtime
+                      images are kept by JDK build, jlink options and module digests, and an
+                      identical image is hard-linked from there instead of linked again.
+                      In-process jlink and jpackage runs are serialized; a run that finds
+                      another one in progress forks the tool from the JDK instead of waiting.
                     
                     %{header}Custom Javadoc tags in module-info.java:%{reset}
                       %{name}@jenesis.release%{reset} <V>             Java release target
@@ -657,7 +741,10 @@ public record Project(
 
                     %{header}Build-configuration files (in a module's build.jenesis config location; presence activates, contents configure;
                     MAVEN modules also read src/main/build.jenesis and src/test/build.jenesis for main- or test-scoped configuration):%{reset}
-                      %{name}packaging.properties%{reset}    Extra deliverables: jmod/jlink/bundle/launcher/native (booleans), jpackage=<type>
+                      %{name}packaging.properties%{reset}    Extra deliverables: jmod/jlink/bundle/launcher/native (booleans), jpackage=<type>,
+                                                       docker=<base image> with oci=directory|tarball for a daemon-free OCI image
+                                                       on top of oci.base=<local OCI layout of the base image, relative to this file>
+                                                       (jlink runtime, dependency and application jars as separate, reused layers)
                       %{name}sbom.properties%{reset}         CycloneDX SBOM format=json|xml|none (SBOM is on by default; -Djenesis.sbom.cyclonedx=false disables)
                       %{name}bom.properties%{reset}          Publish the module's resolved closure as a repository BOM, <module>/<version>/<module>.properties (Jenesis repository only)
                       %{name}licensing.properties%{reset}    License compliance check (allowed/denied/unknown/override.<coord>)
@@ -883,6 +970,11 @@ public record Project(
                       build, stage, export, pin, dependencies, ide,
                       metadata, help, skill
                                             Top-level entry points.
+                      prefetch              Shorthand for `build/::/dependencies`:
+                                            resolves every module's and tool's
+                                            dependencies in parallel, populating
+                                            the local repositories without
+                                            running the build itself.
                       ide[/idea|/vscode|/eclipse]
                                             Generate IDE project metadata at the
                                             project root from each module's
@@ -1083,7 +1175,14 @@ public record Project(
                     feature, contents configure it):
                       packaging.properties      Extra deliverables: jmod/jlink/
                                                 bundle/launcher/native (booleans),
-                                                jpackage=<type>.
+                                                jpackage=<type>, docker=<base image>;
+                                                oci=directory|tarball also writes an
+                                                OCI image without a daemon, layering
+                                                the jlink runtime, dependency jars
+                                                and application jars separately on
+                                                top of oci.base, the base image as a
+                                                local OCI layout (for example from
+                                                skopeo copy), relative to this file.
                       sbom.properties           CycloneDX SBOM format=json|xml|none.
                                                 The SBOM is on by default; this file
                                                 only tunes it (disable entirely with
@@ -1251,6 +1350,26 @@ public record Project(
                                                   milliseconds between retries,
                                                   doubling per attempt (default
                                                   125).
+                      -Djenesis.repository.transport      url (default) fetches
+                                                  through URLConnection; http
+                                                  shares one HttpClient that
+                                                  multiplexes over HTTP/2 and
+                                                  digests while downloading.
+                      -Djenesis.repository.connections    Concurrent requests per
+                                                  host with the http transport
+                                                  (default 16), which resumes
+                                                  interrupted downloads by range.
+                      -Djenesis.repository.chunks         Parallel ranges per download
+                                                  with the http transport
+                                                  (default 1, not split).
+                      -Djenesis.repository.chunk.threshold
+                                                  Bytes fetched before the rest is
+                                                  split (default 16777216).
+                      -Djenesis.repository.store          Machine-wide folder keeping
+                                                  cached artifacts once by SHA-256,
+                                                  hard-linked into projects; a
+                                                  pinned checksum found there is
+                                                  neither fetched nor re-hashed.
                       -Djenesis.maven.uri|local|token     Maven repository remote
                                                   URL, local cache and bearer token
                                                   (env fallbacks
@@ -1262,11 +1381,51 @@ public record Project(
                                                   entry splices the default (env
                                                   value, then built-in), @<name>
                                                   a property or env value.
+                      -Djenesis.maven.miss.ttl            Minutes a remote Maven
+                                                  repository of a list is skipped
+                                                  for a file it lacked (default
+                                                  1440, 0 disables); the declared
+                                                  order is otherwise kept.
+                      -Djenesis.maven.routes              File persisting misses once
+                                                  per build (default
+                                                  .jenesis-routes.properties in
+                                                  the local repository).
+                      -Djenesis.maven.hedge|hedge.delay   A <url>;<url>;... entry lists
+                                                  equivalent mirrors; a request
+                                                  slower than the percentile
+                                                  (default 95) of recent fetches,
+                                                  or the delay in milliseconds
+                                                  (default 500) before enough
+                                                  were seen, is repeated on the
+                                                  next mirror, first answer wins.
                       -Djenesis.module.uri|local|token    Jenesis module repository,
                                                   likewise (env fallbacks
                                                   JENESIS_REPOSITORY_URI/LOCAL/TOKEN);
                                                   a <url>|<module>|... entry only
                                                   serves matching module ids.
+                      -Djenesis.module.cache|cache.ttl    Folder keeping unversioned
+                                                  module lookups (default .cache
+                                                  in the local repository, empty
+                                                  disables), revalidated by ETag
+                                                  once older than the ttl in
+                                                  minutes (default 60).
+                      -Djenesis.module.index              Local file keeping the module
+                                                  mappings as one memory-mapped
+                                                  table instead of fetching a
+                                                  file per module.
+                      -Djenesis.module.index.uri|ttl      Index source (default the
+                                                  jenesis-modules index) and
+                                                  minutes before it is refreshed
+                                                  (default 1440).
+                      -Djenesis.dependencies.lazy         Resolve Maven POMs but fetch
+                                                  jars only once a compile, test
+                                                  or package step needs them.
+                      -Djenesis.repository.snapshot       Indexed file serving
+                                                  artifacts and POMs before any
+                                                  Maven or module repository,
+                                                  read in place by memory map.
+                      -Djenesis.repository.snapshot.write Pack the artifacts fetched by
+                                                  a build into such a file.
 
                     Build cache:
                       -Djenesis.cache.uri=<uri>           Reuse step outputs across
@@ -1369,6 +1528,31 @@ public record Project(
                                                         of invoking them
                                                         in-process. Use under
                                                         stricter sandboxes.
+                      -Djenesis.javac.incremental=true    Recompile only changed
+                                                        sources and the classes
+                                                        referencing them; module,
+                                                        path, constant or
+                                                        processor changes still
+                                                        compile everything, as do
+                                                        processors that are not
+                                                        declared isolating.
+                      -Djenesis.javac.pool=false          Give every in-process
+                                                        javac run a fresh file
+                                                        manager instead of
+                                                        reusing warm ones.
+                      -Djenesis.jar.inprocess=true        Write jars in-process,
+                                                        deflating in parallel and
+                                                        copying unchanged entries
+                                                        from the previous jar.
+                      -Djenesis.jar.stored=classes        Store the entries of the
+                                                        listed jar sorts (classes,
+                                                        sources, javadoc) without
+                                                        compression.
+                      -Djenesis.jlink.cache=<folder>      Hard-link identical jlink
+                                                        images from a cache keyed
+                                                        by JDK, options and module
+                                                        digests (empty for
+                                                        ~/.jenesis/jlink).
                     
                     10. Launch a built main class with the Execute companion
                     --------------------------------------------------------
@@ -2187,6 +2371,7 @@ public record Project(
     }
 
     public SequencedMap<String, Path> build(String... selectors) throws IOException {
+        resolvers.values().forEach(Resolver::reset);
         BuildExecutor.Configuration configuration = configurator.get();
         if (cache != null) {
             BuildExecutorCache configured = configuration.cache();
@@ -2196,9 +2381,16 @@ public record Project(
         }
         BuildExecutor executor = configuration.of(target);
         Function<String, String> resolver = layout.apply(executor, this, assembler);
-        return executor.execute(Arrays.stream(selectors.length == 0 ? defaultTarget.toArray(String[]::new) : selectors)
-                .map(selector -> selector.startsWith("+") ? resolver.apply(selector.substring(1)) : selector)
-                .toArray(String[]::new));
+        try {
+            return executor.execute(Arrays.stream(selectors.length == 0 ? defaultTarget.toArray(String[]::new) : selectors)
+                    .map(selector -> selector.startsWith("+")
+                            ? resolver.apply(selector.substring(1))
+                            : selector.equals(PREFETCH) ? BUILD + "/::/" + DEPENDENCIES : selector)
+                    .toArray(String[]::new));
+        } finally {
+            MavenRoutingRepository.flush();
+            ProcessHandler.OfTool.release();
+        }
     }
 
     private void watch(String... selectors) throws IOException {
@@ -2368,6 +2560,15 @@ public record Project(
                     docker = docker.mount(Files.createDirectories(cache), cache.toString(), false);
                 }
             }
+            for (String property : List.of("jenesis.repository.snapshot", "jenesis.repository.snapshot.write")) {
+                String snapshot = System.getProperty(property);
+                Path parent = snapshot == null || snapshot.isEmpty()
+                        ? null
+                        : root.resolve(snapshot).toAbsolutePath().normalize().getParent();
+                if (parent != null && !parent.startsWith(root)) {
+                    docker = docker.mount(Files.createDirectories(parent), parent.toString(), property.equals("jenesis.repository.snapshot"));
+                }
+            }
             docker = docker.mounts(System.getProperty("jenesis.project.docker.mount"), root, true);
             docker = docker.mounts(System.getProperty("jenesis.project.docker.mountWritable"), root, false);
             docker = docker.envs(System.getProperty("jenesis.project.docker.env"));
@@ -2404,7 +2605,12 @@ public record Project(
             }
             return new LinkedHashMap<>();
         }
-        return this.build(selectors);
+        SequencedMap<String, Path> results = this.build(selectors);
+        String snapshot = System.getProperty("jenesis.repository.snapshot.write");
+        if (snapshot != null && !snapshot.isEmpty() && artifacts() != null) {
+            RepositorySnapshot.write(Path.of(snapshot), artifacts());
+        }
+        return results;
     }
 
     public static void main(String... selectors) {
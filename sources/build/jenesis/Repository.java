@@ -7,10 +7,69 @@ public interface Repository {
 
     Optional<RepositoryItem> fetch(Executor executor, String coordinate) throws IOException;
 
+    default Optional<RepositoryItem> fetch(Executor executor, String coordinate, String checksum) throws IOException {
+        return fetch(executor, coordinate);
+    }
+
+    default CompletableFuture<Optional<RepositoryItem>> fetchAsync(Executor executor, String coordinate) {
+        return fetchAsync(executor, coordinate, null);
+    }
+
+    default Object origin() {
+        return this;
+    }
+
+    default void discard(String coordinate) throws IOException {
+    }
+
+    default CompletableFuture<Optional<RepositoryItem>> fetchAsync(Executor executor, String coordinate, String checksum) {
+        CompletableFuture<Optional<RepositoryItem>> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(fetch(executor, coordinate, checksum));
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
     default Repository prepend(Repository repository) {
-        return (executor, coordinate) -> {
-            Optional<RepositoryItem> candidate = repository.fetch(executor, coordinate);
-            return candidate.isPresent() ? candidate : fetch(executor, coordinate);
+        return new Repository() {
+            @Override
+            public Optional<RepositoryItem> fetch(Executor executor, String coordinate) throws IOException {
+                return fetch(executor, coordinate, null);
+            }
+
+            @Override
+            public Optional<RepositoryItem> fetch(Executor executor, String coordinate, String checksum) throws IOException {
+                Optional<RepositoryItem> candidate = repository.fetch(executor, coordinate, checksum);
+                return candidate.isPresent() ? candidate : Repository.this.fetch(executor, coordinate, checksum);
+            }
+
+            @Override
+            public CompletableFuture<Optional<RepositoryItem>> fetchAsync(Executor executor,
+                                                                         String coordinate,
+                                                                         String checksum) {
+                return repository.fetchAsync(executor, coordinate, checksum).thenCompose(candidate -> candidate.isPresent()
+                        ? CompletableFuture.completedFuture(candidate)
+                        : Repository.this.fetchAsync(executor, coordinate, checksum));
+            }
+
+            @Override
+            public Object origin() {
+                return List.of(repository.origin(), Repository.this.origin());
+            }
+
+            @Override
+            public void discard(String coordinate) throws IOException {
+                repository.discard(coordinate);
+                Repository.this.discard(coordinate);
+            }
         };
     }
 
@@ -33,6 +92,49 @@ public interface Repository {
         };
     }
 
+    default Repository deferred(Predicate<String> deferrable) {
+        return new Repository() {
+            @Override
+            public Optional<RepositoryItem> fetch(Executor executor, String coordinate) throws IOException {
+                return fetch(executor, coordinate, null);
+            }
+
+            @Override
+            public Optional<RepositoryItem> fetch(Executor executor, String coordinate, String checksum) throws IOException {
+                if (!deferrable.test(coordinate)) {
+                    return Repository.this.fetch(executor, coordinate, checksum);
+                }
+                return Optional.of(RepositoryItem.ofDeferred(() -> Repository.this.fetch(executor, coordinate, checksum)
+                        .orElseThrow(() -> new FileNotFoundException("Unresolved: " + coordinate))
+                        .toInputStream()));
+            }
+
+            @Override
+            public CompletableFuture<Optional<RepositoryItem>> fetchAsync(Executor executor,
+                                                                         String coordinate,
+                                                                         String checksum) {
+                if (!deferrable.test(coordinate)) {
+                    return Repository.this.fetchAsync(executor, coordinate, checksum);
+                }
+                try {
+                    return CompletableFuture.completedFuture(fetch(executor, coordinate, checksum));
+                } catch (IOException e) {
+                    return CompletableFuture.failedFuture(e);
+                }
+            }
+
+            @Override
+            public Object origin() {
+                return Repository.this.origin();
+            }
+
+            @Override
+            public void discard(String coordinate) throws IOException {
+                Repository.this.discard(coordinate);
+            }
+        };
+    }
+
     private Repository cached(Path folder, boolean snapshot) {
         if (folder == null) {
             return this;
@@ -54,53 +156,132 @@ public interface Repository {
         if (folder == null) {
             return this;
         }
-        ConcurrentMap<String, Path> cache = new ConcurrentHashMap<>();
+        SingleFlight<String, Path> flights = new SingleFlight<>();
         Set<String> internal = ConcurrentHashMap.newKeySet();
-        return (executor, coordinate) -> {
-            try {
+        Map<String, RepositoryItem> deferrals = new ConcurrentHashMap<>();
+        Map<String, Integer> claims = new HashMap<>();
+        Set<String> downloaded = ConcurrentHashMap.newKeySet();
+        RepositoryStore store = RepositoryStore.of();
+        return new Repository() {
+            @Override
+            public Optional<RepositoryItem> fetch(Executor executor, String coordinate) throws IOException {
+                return fetch(executor, coordinate, null);
+            }
+
+            @Override
+            public Optional<RepositoryItem> fetch(Executor executor, String coordinate, String checksum) throws IOException {
+                Path candidate = folder.resolve(BuildExecutorModule.encode(coordinate) + ".jar");
+                boolean preexisting = Files.exists(candidate);
+                claim(coordinate);
+                return toItem(coordinate,
+                        flights.get(coordinate, () -> download(executor, coordinate, checksum, candidate)),
+                        preexisting);
+            }
+
+            @Override
+            public CompletableFuture<Optional<RepositoryItem>> fetchAsync(Executor executor,
+                                                                         String coordinate,
+                                                                         String checksum) {
                 Path candidate = folder.resolve(BuildExecutorModule.encode(coordinate) + ".jar");
                 boolean preexisting = Files.exists(candidate);
-                Path target = cache.computeIfAbsent(coordinate, key -> {
-                    if (Files.exists(candidate)) {
+                claim(coordinate);
+                return flights.submit(coordinate, executor, () -> download(executor, coordinate, checksum, candidate))
+                        .thenApply(target -> toItem(coordinate, target, preexisting));
+            }
+
+            private Path download(Executor executor, String coordinate, String checksum, Path candidate) throws IOException {
+                if (Files.exists(candidate)) {
+                    return candidate;
+                }
+                if (store != null && checksum != null) {
+                    Path entry = store.lookup(checksum).orElse(null);
+                    if (entry != null) {
+                        BuildStep.linkOrCopy(candidate, entry);
+                        downloaded.add(coordinate);
                         return candidate;
                     }
-                    try {
-                        RepositoryItem item = fetch(executor, key).orElse(null);
-                        if (item == null) {
-                            return null;
-                        }
-                        Path file = item.file().orElse(null);
-                        if (file != null && (item.internal() || !snapshot && item.local())) {
-                            if (item.internal()) {
-                                internal.add(key);
-                            }
-                            return file;
-                        }
-                        if (file != null) {
-                            BuildStep.linkOrCopy(candidate, file);
-                        } else {
-                            Path temporary = Files.createTempFile(candidate.getParent(), "fetch", ".jar");
-                            try (InputStream inputStream = item.toInputStream()) {
-                                Files.copy(inputStream, temporary, StandardCopyOption.REPLACE_EXISTING);
-                            } catch (Throwable t) {
-                                Files.deleteIfExists(temporary);
-                                throw t;
-                            }
-                            Files.move(temporary, candidate, StandardCopyOption.ATOMIC_MOVE);
+                }
+                RepositoryItem item = Repository.this.fetch(executor, coordinate, checksum).orElse(null);
+                if (item == null) {
+                    return null;
+                }
+                if (item.deferred()) {
+                    deferrals.put(coordinate, item);
+                    return candidate;
+                }
+                Path file = item.file().orElse(null);
+                if (file != null && (item.internal() || !snapshot && item.local() && store == null)) {
+                    if (item.internal()) {
+                        internal.add(coordinate);
+                    }
+                    return file;
+                }
+                if (store != null) {
+                    Path entry;
+                    if (file != null) {
+                        entry = store.put(file);
+                    } else {
+                        try (InputStream inputStream = item.toInputStream()) {
+                            entry = store.put(inputStream);
                         }
-                        return candidate;
-                    } catch (IOException e) {
-                        throw new UncheckedIOException(e);
                     }
-                });
+                    BuildStep.linkOrCopy(candidate, entry);
+                } else if (file != null) {
+                    BuildStep.linkOrCopy(candidate, file);
+                } else {
+                    Path temporary = Files.createTempFile(candidate.getParent(), "fetch", ".jar");
+                    try (InputStream inputStream = item.toInputStream()) {
+                        Files.copy(inputStream, temporary, StandardCopyOption.REPLACE_EXISTING);
+                    } catch (Throwable t) {
+                        Files.deleteIfExists(temporary);
+                        throw t;
+                    }
+                    Files.move(temporary, candidate, StandardCopyOption.ATOMIC_MOVE);
+                }
+                downloaded.add(coordinate);
+                return candidate;
+            }
+
+            private void claim(String coordinate) {
+                synchronized (claims) {
+                    claims.merge(coordinate, 1, Integer::sum);
+                }
+            }
+
+            private Optional<RepositoryItem> toItem(String coordinate, Path target, boolean preexisting) {
                 if (preexisting && target != null) {
                     callback.accept(target);
                 }
+                RepositoryItem deferred = target == null || Files.exists(target) ? null : deferrals.get(coordinate);
+                if (deferred != null) {
+                    return Optional.of(deferred);
+                }
                 return target == null
                         ? Optional.empty()
                         : Optional.of(RepositoryItem.ofFile(target, internal.contains(coordinate)));
-            } catch (UncheckedIOException e) {
-                throw e.getCause();
+            }
+
+            @Override
+            public Object origin() {
+                return Repository.this.origin();
+            }
+
+            @Override
+            public void discard(String coordinate) throws IOException {
+                synchronized (claims) {
+                    Integer count = claims.get(coordinate);
+                    if (count == null) {
+                        return;
+                    } else if (count > 1) {
+                        claims.put(coordinate, count - 1);
+                        return;
+                    }
+                    claims.remove(coordinate);
+                    if (downloaded.remove(coordinate)) {
+                        flights.forget(coordinate);
+                        Files.deleteIfExists(folder.resolve(BuildExecutorModule.encode(coordinate) + ".jar"));
+                    }
+                }
             }
         };
     }
@@ -114,83 +295,7 @@ public interface Repository {
     }
 
     static InputStream open(URI uri, String token, Retry retry) throws IOException {
-        boolean insecure = Boolean.getBoolean("jenesis.repository.insecure");
-        int connectTimeout = Integer.getInteger("jenesis.repository.connect.timeout", 10_000);
-        int readTimeout = Integer.getInteger("jenesis.repository.read.timeout", 30_000);
-        attempts:
-        for (int attempt = 0; ; attempt++) {
-            URI current = uri;
-            try {
-                for (int redirect = 0; redirect < 8; redirect++) {
-                    String scheme = current.getScheme();
-                    if (scheme != null && !scheme.equals("https") && !scheme.equals("file") && !insecure) {
-                        throw new IllegalStateException("Refusing to fetch over insecure scheme '"
-                                + scheme
-                                + "': "
-                                + current
-                                + " (set -Djenesis.repository.insecure=true to allow plaintext repositories)");
-                    }
-                    URLConnection connection = current.toURL().openConnection();
-                    connection.setConnectTimeout(connectTimeout);
-                    connection.setReadTimeout(readTimeout);
-                    if (!(connection instanceof HttpURLConnection http)) {
-                        return connection.getInputStream();
-                    }
-                    http.setInstanceFollowRedirects(false);
-                    http.setRequestProperty("User-Agent", "Jenesis");
-                    if (token != null && sameOrigin(uri, current)) {
-                        http.setRequestProperty("Authorization", token);
-                    }
-                    int status = http.getResponseCode();
-                    if (status >= 300 && status < 400) {
-                        String location = http.getHeaderField("Location");
-                        if (location != null) {
-                            http.getInputStream().close();
-                            current = current.resolve(location);
-                            if ("file".equals(current.getScheme()) && !"file".equals(uri.getScheme())) {
-                                throw new IllegalStateException("Refusing to follow a redirect to a file URI: "
-                                        + current
-                                        + " (redirected from "
-                                        + uri
-                                        + ")");
-                            }
-                            continue;
-                        }
-                    }
-                    if ((status == 429 || status >= 500) && attempt < retry.retries()) {
-                        long delay = retryAfterMillis(http.getHeaderField("Retry-After"),
-                                retry.backoff().toMillis() << Math.min(attempt, 20));
-                        InputStream error = http.getErrorStream();
-                        if (error != null) {
-                            error.close();
-                        }
-                        pause(delay, uri);
-                        continue attempts;
-                    }
-                    return http.getInputStream();
-                }
-                throw new IOException("Exceeded redirect limit fetching " + uri);
-            } catch (SocketException | SocketTimeoutException | SSLException | EOFException e) {
-                if (attempt >= retry.retries()) {
-                    throw new IOException("Failed to fetch "
-                            + uri
-                            + " after "
-                            + (attempt + 1)
-                            + " attempt(s): "
-                            + e, e);
-                }
-                pause(retry.backoff().toMillis() << attempt, uri);
-            }
-        }
-    }
-
-    private static void pause(long delay, URI uri) throws InterruptedIOException {
-        try {
-            Thread.sleep(delay);
-        } catch (InterruptedException _) {
-            Thread.currentThread().interrupt();
-            throw new InterruptedIOException("Interrupted while retrying " + uri);
-        }
+        return RepositoryTransport.of().open(uri, token, retry);
     }
 
     static long retryAfterMillis(String header, long fallback) {
@@ -236,13 +341,6 @@ public interface Repository {
         }
     }
 
-    private static boolean sameOrigin(URI left, URI right) {
-        return Objects.equals(left.getScheme(), right.getScheme())
-                && left.getHost() != null
-                && left.getHost().equalsIgnoreCase(right.getHost())
-                && left.getPort() == right.getPort();
-    }
-
     static Repository ofUris(Map<String, URI> uris) {
         return ofUris(uris, null);
     }
@@ -0,0 +1,682 @@
+package build.jenesis;
+
+import module java.base;
+import module java.net.http;
+
+public final class RepositoryHttpTransport implements RepositoryTransport {
+
+    private final HttpClient client;
+    private final int connections, chunks;
+    private final long threshold;
+    private final Duration readTimeout;
+    private final ConcurrentMap<String, Semaphore> hosts = new ConcurrentHashMap<>();
+
+    public RepositoryHttpTransport() {
+        this(Integer.getInteger("jenesis.repository.connections", 16),
+                Duration.ofMillis(Integer.getInteger("jenesis.repository.connect.timeout", 10_000)),
+                Duration.ofMillis(Integer.getInteger("jenesis.repository.read.timeout", 30_000)),
+                Integer.getInteger("jenesis.repository.chunks", 1),
+                Long.getLong("jenesis.repository.chunk.threshold", 16L << 20));
+    }
+
+    public RepositoryHttpTransport(int connections, Duration connectTimeout, Duration readTimeout) {
+        this(connections, connectTimeout, readTimeout, 1, Long.MAX_VALUE);
+    }
+
+    public RepositoryHttpTransport(int connections,
+                                   Duration connectTimeout,
+                                   Duration readTimeout,
+                                   int chunks,
+                                   long threshold) {
+        if (connections < 1) {
+            throw new IllegalArgumentException("Connections per host must be positive: " + connections);
+        } else if (chunks < 1) {
+            throw new IllegalArgumentException("Chunks per download must be positive: " + chunks);
+        } else if (threshold < 1) {
+            throw new IllegalArgumentException("Chunk threshold must be positive: " + threshold);
+        }
+        this.connections = connections;
+        this.chunks = chunks;
+        this.threshold = threshold;
+        this.readTimeout = readTimeout;
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(connectTimeout)
+                .build();
+    }
+
+    public static RepositoryHttpTransport shared() {
+        return Shared.TRANSPORT;
+    }
+
+    @Override
+    public InputStream open(URI uri, String token, Repository.Retry retry) throws IOException {
+        if (!isHttp(uri)) {
+            return new RepositoryUrlTransport().open(uri, token, retry);
+        }
+        Exchange<InputStream> exchange = exchange(uri,
+                token,
+                retry,
+                Map::of,
+                _ -> HttpResponse.BodySubscribers.ofInputStream());
+        AtomicBoolean released = new AtomicBoolean();
+        return new FilterInputStream(exchange.response().body()) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    if (released.compareAndSet(false, true)) {
+                        exchange.permits().release();
+                    }
+                }
+            }
+        };
+    }
+
+    @Override
+    public boolean download(URI uri,
+                            String token,
+                            Repository.Retry retry,
+                            Path target,
+                            Collection<MessageDigest> digests,
+                            Runnable found) throws IOException {
+        if (!isHttp(uri)) {
+            return RepositoryTransport.super.download(uri, token, retry, target, digests, found);
+        }
+        return transfer(uri, token, retry, new Partial(target, null, null), digests, found);
+    }
+
+    @Override
+    public boolean resume(URI uri,
+                          String token,
+                          Repository.Retry retry,
+                          Path target,
+                          Collection<MessageDigest> digests,
+                          Runnable found) throws IOException {
+        if (!isHttp(uri)) {
+            return RepositoryTransport.super.resume(uri, token, retry, target, digests, found);
+        }
+        Path validator = RepositoryTransport.validator(target);
+        String tag = Files.exists(validator) && Files.exists(target) ? Files.readString(validator) : null;
+        return transfer(uri, token, retry, new Partial(target, validator, tag), digests, found);
+    }
+
+    @Override
+    public boolean revalidate(URI uri, String token, Repository.Retry retry, Path target) throws IOException {
+        if (!isHttp(uri)) {
+            return new RepositoryUrlTransport().revalidate(uri, token, retry, target);
+        }
+        Map<String, String> conditions = RepositoryTransport.conditions(target);
+        Path temporary = Files.createTempFile(target.toAbsolutePath().getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            Exchange<Path> exchange;
+            try {
+                exchange = exchange(uri, token, retry, () -> conditions, _ -> HttpResponse.BodySubscribers.ofFile(temporary));
+            } catch (NotModifiedException _) {
+                Files.delete(temporary);
+                RepositoryTransport.unmodified(target);
+                return true;
+            } catch (FileNotFoundException _) {
+                Files.delete(temporary);
+                return false;
+            }
+            exchange.permits().release();
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            HttpHeaders headers = exchange.response().headers();
+            RepositoryTransport.revalidated(target,
+                    headers.firstValue("ETag").orElse(null),
+                    headers.firstValue("Last-Modified").orElse(null));
+            return true;
+        } catch (Throwable t) {
+            Files.deleteIfExists(temporary);
+            throw t;
+        }
+    }
+
+    private boolean transfer(URI uri,
+                             String token,
+                             Repository.Retry retry,
+                             Partial partial,
+                             Collection<MessageDigest> digests,
+                             Runnable found) throws IOException {
+        boolean chunked = chunks > 1 && partial.offset() == 0;
+        for (boolean restarted = false; ; restarted = true) {
+            try {
+                await(exchange(uri,
+                        token,
+                        retry,
+                        () -> partial.headers(chunked ? threshold : 0),
+                        info -> {
+                            found.run();
+                            return partial.subscriber(info, digests);
+                        }));
+                break;
+            } catch (FileNotFoundException _) {
+                partial.discard();
+                return false;
+            } catch (RangeNotSatisfiableException e) {
+                if (restarted) {
+                    throw e;
+                }
+                partial.reset();
+            }
+        }
+        if (partial.total() > partial.offset() && partial.tag() == null) {
+            partial.reset();
+            try {
+                await(exchange(uri, token, retry, () -> partial.headers(0), info -> partial.subscriber(info, digests)));
+            } catch (FileNotFoundException _) {
+                partial.discard();
+                return false;
+            }
+        } else if (partial.total() > partial.offset()) {
+            int parts = Math.max(1, chunks - 1);
+            long offset = partial.offset(), size = (partial.total() - offset + parts - 1) / parts;
+            List<Future<?>> futures = new ArrayList<>();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (long start = offset; start < partial.total(); start += size) {
+                    Chunk chunk = new Chunk(partial.target(), partial.tag(), start, Math.min(start + size, partial.total()) - 1);
+                    futures.add(executor.submit(() -> {
+                        do {
+                            long position = chunk.position.get();
+                            await(exchange(uri, token, retry, chunk::headers, chunk::subscriber));
+                            if (chunk.position.get() == position) {
+                                throw new IOException("No progress on range "
+                                        + position
+                                        + "-"
+                                        + chunk.end
+                                        + " of "
+                                        + partial.target().getFileName());
+                            }
+                        } while (chunk.position.get() <= chunk.end);
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (InterruptedException _) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while fetching " + uri);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof IOException exception
+                        ? exception
+                        : new IOException("Failed to fetch " + uri, e.getCause());
+            }
+            partial.resumed = true;
+        }
+        if (partial.resumed && !digests.isEmpty()) {
+            digests.forEach(MessageDigest::reset);
+            try (FileChannel channel = FileChannel.open(partial.target())) {
+                ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+                while (channel.read(buffer) != -1) {
+                    buffer.flip();
+                    for (MessageDigest digest : digests) {
+                        digest.update(buffer.duplicate());
+                    }
+                    buffer.clear();
+                }
+            }
+        }
+        partial.discard();
+        return true;
+    }
+
+    private static Void await(Exchange<IOException> exchange) throws IOException {
+        exchange.permits().release();
+        IOException failure = exchange.response().body();
+        if (failure != null) {
+            throw failure;
+        }
+        return null;
+    }
+
+    private static long[] toContentRange(HttpHeaders headers) {
+        String value = headers.firstValue("Content-Range").orElse("");
+        int space = value.indexOf(' '), dash = value.indexOf('-', space), slash = value.indexOf('/', dash);
+        if (!value.startsWith("bytes ") || dash < 0 || slash < 0) {
+            return null;
+        }
+        try {
+            long start = Long.parseLong(value.substring(space + 1, dash).strip());
+            long end = Long.parseLong(value.substring(dash + 1, slash).strip());
+            String total = value.substring(slash + 1).strip();
+            return new long[] {start, end, total.equals("*") ? -1 : Long.parseLong(total)};
+        } catch (NumberFormatException _) {
+            return null;
+        }
+    }
+
+    private static String toValidator(HttpHeaders headers) {
+        Optional<String> tag = headers.firstValue("ETag").filter(value -> !value.startsWith("W/"));
+        return tag.isPresent() ? tag.get() : headers.firstValue("Last-Modified").orElse(null);
+    }
+
+    private <T> Exchange<T> exchange(URI uri,
+                                     String token,
+                                     Repository.Retry retry,
+                                     Supplier<Map<String, String>> headers,
+                                     HttpResponse.BodyHandler<T> handler) throws IOException {
+        boolean insecure = Boolean.getBoolean("jenesis.repository.insecure");
+        attempts:
+        for (int attempt = 0; ; attempt++) {
+            URI current = uri;
+            for (int redirect = 0; redirect < 8; redirect++) {
+                RepositoryTransport.requireSecure(current, insecure);
+                HttpRequest.Builder request = HttpRequest.newBuilder(current)
+                        .timeout(readTimeout)
+                        .header("User-Agent", "Jenesis")
+                        .GET();
+                if (token != null && RepositoryTransport.sameOrigin(uri, current)) {
+                    request.header("Authorization", token);
+                }
+                headers.get().forEach(request::header);
+                Semaphore permits = hosts.computeIfAbsent(
+                        current.getScheme() + "://" + current.getHost() + ":" + current.getPort(),
+                        _ -> new Semaphore(connections));
+                HttpResponse<T> response;
+                try {
+                    permits.acquire();
+                } catch (InterruptedException _) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while fetching " + uri);
+                }
+                try {
+                    URI target = current;
+                    response = client.send(request.build(), info -> new Deadline<>(info.statusCode() >= 200 && info.statusCode() < 300
+                            ? handler.apply(info)
+                            : HttpResponse.BodySubscribers.replacing(null), readTimeout, target));
+                } catch (InterruptedException _) {
+                    permits.release();
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while fetching " + uri);
+                } catch (IOException e) {
+                    permits.release();
+                    if (attempt >= retry.retries()) {
+                        throw new IOException("Failed to fetch "
+                                + uri
+                                + " after "
+                                + (attempt + 1)
+                                + " attempt(s): "
+                                + e, e);
+                    }
+                    RepositoryTransport.pause(retry.backoff().toMillis() << attempt, uri);
+                    continue attempts;
+                } catch (Throwable t) {
+                    permits.release();
+                    throw t;
+                }
+                int status = response.statusCode();
+                if (status >= 200 && status < 300) {
+                    return new Exchange<>(response, permits);
+                }
+                permits.release();
+                if (status >= 300 && status < 400) {
+                    Optional<String> location = response.headers().firstValue("Location");
+                    if (location.isPresent()) {
+                        current = RepositoryTransport.redirect(uri, current, location.get());
+                        continue;
+                    }
+                }
+                if ((status == 429 || status >= 500) && attempt < retry.retries()) {
+                    RepositoryTransport.pause(Repository.retryAfterMillis(
+                            response.headers().firstValue("Retry-After").orElse(null),
+                            retry.backoff().toMillis() << Math.min(attempt, 20)), uri);
+                    continue attempts;
+                }
+                if (status == 404 || status == 410) {
+                    throw new FileNotFoundException(current.toString());
+                } else if (status == 416) {
+                    throw new RangeNotSatisfiableException(current);
+                } else if (status == 304) {
+                    throw new NotModifiedException(current);
+                }
+                throw new IOException("Server returned HTTP response code: " + status + " for URL: " + current);
+            }
+            throw new IOException("Exceeded redirect limit fetching " + uri);
+        }
+    }
+
+    private static boolean isHttp(URI uri) {
+        return "http".equals(uri.getScheme()) || "https".equals(uri.getScheme());
+    }
+
+    private record Exchange<T>(HttpResponse<T> response, Semaphore permits) {
+    }
+
+    private static class Partial {
+
+        private final Path target, validator;
+        private String tag;
+        private long offset, requested, total = -1;
+        private boolean progressed, resumed;
+
+        private Partial(Path target, Path validator, String tag) throws IOException {
+            this.target = target;
+            this.validator = validator;
+            this.tag = tag;
+            offset = tag == null ? 0 : Files.size(target);
+        }
+
+        private Path target() {
+            return target;
+        }
+
+        private String tag() {
+            return tag;
+        }
+
+        private long offset() {
+            return offset;
+        }
+
+        private long total() {
+            return total;
+        }
+
+        private Map<String, String> headers(long chunk) {
+            if (Files.exists(target) && (tag != null || progressed)) {
+                try {
+                    offset = Files.size(target);
+                } catch (IOException _) {
+                    offset = 0;
+                }
+            } else {
+                offset = 0;
+            }
+            requested = offset;
+            if (offset > 0) {
+                return tag == null
+                        ? Map.of("Range", "bytes=" + offset + "-")
+                        : Map.of("Range", "bytes=" + offset + "-", "If-Range", tag);
+            } else if (chunk > 0) {
+                return Map.of("Range", "bytes=0-" + (chunk - 1));
+            }
+            return Map.of();
+        }
+
+        private HttpResponse.BodySubscriber<IOException> subscriber(HttpResponse.ResponseInfo info,
+                                                                    Collection<MessageDigest> digests) {
+            String current = toValidator(info.headers());
+            long position;
+            if (info.statusCode() == 206) {
+                long[] range = toContentRange(info.headers());
+                if (range == null || range[0] != requested || tag != null && !tag.equals(current)) {
+                    return failure(new IOException("Unexpected partial response for " + target.getFileName()));
+                }
+                position = range[0];
+                total = range[2] < 0 ? -1 : range[2];
+                offset = range[1] + 1;
+                resumed |= position > 0;
+            } else {
+                position = 0;
+                total = -1;
+            }
+            tag = current;
+            progressed = true;
+            try {
+                if (validator != null) {
+                    if (tag == null) {
+                        Files.deleteIfExists(validator);
+                    } else {
+                        Files.writeString(validator, tag);
+                    }
+                }
+            } catch (IOException e) {
+                return failure(e);
+            }
+            if (position == 0) {
+                digests.forEach(MessageDigest::reset);
+            }
+            return HttpResponse.BodySubscribers.fromSubscriber(
+                    new DigestingSubscriber(target, position, position == 0 ? digests : List.of()),
+                    DigestingSubscriber::failure);
+        }
+
+        private void reset() throws IOException {
+            Files.deleteIfExists(target);
+            tag = null;
+            offset = 0;
+            progressed = resumed = false;
+            if (validator != null) {
+                Files.deleteIfExists(validator);
+            }
+        }
+
+        private void discard() throws IOException {
+            if (validator != null) {
+                Files.deleteIfExists(validator);
+            }
+        }
+
+        private static HttpResponse.BodySubscriber<IOException> failure(IOException exception) {
+            return HttpResponse.BodySubscribers.replacing(exception);
+        }
+    }
+
+    private static class Chunk {
+
+        private final Path target;
+        private final String tag;
+        private final long end;
+        private final AtomicLong position;
+
+        private Chunk(Path target, String tag, long start, long end) {
+            this.target = target;
+            this.tag = tag;
+            this.end = end;
+            position = new AtomicLong(start);
+        }
+
+        private Map<String, String> headers() {
+            return Map.of("Range", "bytes=" + position.get() + "-" + end, "If-Range", tag);
+        }
+
+        private HttpResponse.BodySubscriber<IOException> subscriber(HttpResponse.ResponseInfo info) {
+            long[] range = toContentRange(info.headers());
+            if (info.statusCode() != 206 || range == null || range[0] != position.get() || !tag.equals(toValidator(info.headers()))) {
+                return HttpResponse.BodySubscribers.replacing(new IOException("Server did not honor range "
+                        + position.get()
+                        + "-"
+                        + end
+                        + " of "
+                        + target.getFileName()));
+            }
+            return HttpResponse.BodySubscribers.fromSubscriber(
+                    new DigestingSubscriber(target, position, List.of()),
+                    DigestingSubscriber::failure);
+        }
+    }
+
+    private static class RangeNotSatisfiableException extends IOException {
+
+        private RangeNotSatisfiableException(URI uri) {
+            super("Server returned HTTP response code: 416 for URL: " + uri);
+        }
+    }
+
+    private static class NotModifiedException extends IOException {
+
+        private NotModifiedException(URI uri) {
+            super("Server returned HTTP response code: 304 for URL: " + uri);
+        }
+    }
+
+    private static class Deadline<T> implements HttpResponse.BodySubscriber<T> {
+
+        private final HttpResponse.BodySubscriber<T> delegate;
+        private final long timeout;
+        private final URI uri;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile long progress;
+        private boolean done;
+        private Flow.Subscription subscription;
+
+        private Deadline(HttpResponse.BodySubscriber<T> delegate, Duration timeout, URI uri) {
+            this.delegate = delegate;
+            this.timeout = timeout.toNanos();
+            this.uri = uri;
+        }
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return delegate.getBody();
+        }
+
+        @Override
+        public synchronized void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            delegate.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    progress = System.nanoTime();
+                    demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+                    subscription.request(n);
+                    schedule();
+                }
+
+                @Override
+                public void cancel() {
+                    subscription.cancel();
+                }
+            });
+        }
+
+        @Override
+        public synchronized void onNext(List<ByteBuffer> buffers) {
+            if (!done) {
+                progress = System.nanoTime();
+                demand.decrementAndGet();
+                delegate.onNext(buffers);
+            }
+        }
+
+        @Override
+        public synchronized void onError(Throwable throwable) {
+            if (!done) {
+                done = true;
+                delegate.onError(throwable);
+            }
+        }
+
+        @Override
+        public synchronized void onComplete() {
+            if (!done) {
+                done = true;
+                delegate.onComplete();
+            }
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                CompletableFuture.delayedExecutor(Math.max(timeout - (System.nanoTime() - progress), 0),
+                        TimeUnit.NANOSECONDS).execute(this::expire);
+            }
+        }
+
+        private void expire() {
+            scheduled.set(false);
+            synchronized (this) {
+                if (done || demand.get() <= 0) {
+                    return;
+                } else if (System.nanoTime() - progress >= timeout) {
+                    done = true;
+                    subscription.cancel();
+                    delegate.onError(new HttpTimeoutException("Read timed out after "
+                            + TimeUnit.NANOSECONDS.toMillis(timeout)
+                            + " ms fetching "
+                            + uri));
+                    return;
+                }
+            }
+            schedule();
+        }
+    }
+
+    private static class DigestingSubscriber implements Flow.Subscriber<List<ByteBuffer>> {
+
+        private final Path target;
+        private final AtomicLong position;
+        private final Collection<MessageDigest> digests;
+        private FileChannel channel;
+        private IOException failure;
+        private Flow.Subscription subscription;
+
+        private DigestingSubscriber(Path target, long position, Collection<MessageDigest> digests) {
+            this(target, new AtomicLong(position), digests);
+        }
+
+        private DigestingSubscriber(Path target, AtomicLong position, Collection<MessageDigest> digests) {
+            this.target = target;
+            this.position = position;
+            this.digests = digests;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            try {
+                channel = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+                if (position.get() == 0) {
+                    channel.truncate(0);
+                }
+            } catch (IOException e) {
+                failure = e;
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            if (failure == null) {
+                try {
+                    for (ByteBuffer buffer : buffers) {
+                        for (MessageDigest digest : digests) {
+                            digest.update(buffer.duplicate());
+                        }
+                        while (buffer.hasRemaining()) {
+                            position.addAndGet(channel.write(buffer, position.get()));
+                        }
+                    }
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            close();
+        }
+
+        @Override
+        public void onComplete() {
+            close();
+        }
+
+        private void close() {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    if (failure == null) {
+                        failure = e;
+                    }
+                }
+            }
+        }
+
+        private IOException failure() {
+            return failure;
+        }
+    }
+
+    private static class Shared {
+
+        private static final RepositoryHttpTransport TRANSPORT = new RepositoryHttpTransport();
+    }
+}
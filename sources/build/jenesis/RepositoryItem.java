@@ -17,6 +17,10 @@ public interface RepositoryItem {
         return false;
     }
 
+    default boolean deferred() {
+        return false;
+    }
+
     InputStream toInputStream() throws IOException;
 
     default RepositoryItem spill(Path target) throws IOException {
@@ -35,6 +39,20 @@ public interface RepositoryItem {
         return ofFile(target);
     }
 
+    static RepositoryItem ofDeferred(RepositoryItem item) {
+        return new RepositoryItem() {
+            @Override
+            public boolean deferred() {
+                return true;
+            }
+
+            @Override
+            public InputStream toInputStream() throws IOException {
+                return item.toInputStream();
+            }
+        };
+    }
+
     static RepositoryItem ofFile(Path file) {
         return ofFile(file, false);
     }
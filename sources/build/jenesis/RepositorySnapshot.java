@@ -0,0 +1,195 @@
+package build.jenesis;
+
+import module java.base;
+
+public final class RepositorySnapshot implements Repository {
+
+    private static final int MAGIC = 0x4A52534E, FORMAT = 1, HEADER = 16, RECORD = 24;
+
+    private final Path file;
+    private final ByteBuffer index;
+    private final int count;
+
+    private RepositorySnapshot(Path file, ByteBuffer index, long size) {
+        count = index.getInt(8);
+        this.file = file;
+        this.index = index;
+        int keys = HEADER + count * RECORD;
+        for (int position = 0; position < count; position++) {
+            int record = HEADER + position * RECORD;
+            long key = index.getInt(record), length = index.getInt(record + 4);
+            long offset = index.getLong(record + 8), bytes = index.getLong(record + 16);
+            if (key < keys || length < 0 || key + length > index.limit()
+                    || offset < index.limit() || bytes < 0 || offset + bytes > size) {
+                throw new IllegalArgumentException("Truncated repository snapshot");
+            }
+        }
+    }
+
+    public static RepositorySnapshot of() throws IOException {
+        String snapshot = System.getProperty("jenesis.repository.snapshot");
+        return snapshot == null || snapshot.isEmpty() ? null : map(Path.of(snapshot));
+    }
+
+    public static RepositorySnapshot map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, HEADER));
+            if (size < HEADER || header.getInt(0) != MAGIC || header.getInt(4) != FORMAT) {
+                throw new IllegalArgumentException("Not a repository snapshot");
+            }
+            long length = HEADER + (long) header.getInt(8) * RECORD + header.getInt(12);
+            if (header.getInt(8) < 0 || header.getInt(12) < 0 || length > Math.min(size, Integer.MAX_VALUE)) {
+                throw new IllegalArgumentException("Truncated repository snapshot");
+            }
+            return new RepositorySnapshot(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, length), size);
+        }
+    }
+
+    public static void write(Path file, Path... folders) throws IOException {
+        SortedMap<byte[], Path> entries = new TreeMap<>(Arrays::compareUnsigned);
+        for (Path folder : folders) {
+            if (folder == null || !Files.isDirectory(folder)) {
+                continue;
+            }
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(folder, "*.jar")) {
+                for (Path entry : files) {
+                    String name = entry.getFileName().toString();
+                    entries.putIfAbsent(BuildExecutorModule.decode(name.substring(0, name.length() - 4))
+                            .getBytes(StandardCharsets.UTF_8), entry);
+                }
+            }
+        }
+        long keys = 0;
+        for (byte[] key : entries.keySet()) {
+            keys += key.length;
+        }
+        long length = HEADER + (long) entries.size() * RECORD + keys;
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Repository snapshot index exceeds " + Integer.MAX_VALUE + " bytes");
+        }
+        ByteBuffer index = ByteBuffer.allocate((int) length);
+        index.putInt(MAGIC).putInt(FORMAT).putInt(entries.size()).putInt((int) keys);
+        int key = HEADER + entries.size() * RECORD;
+        long offset = length;
+        for (Map.Entry<byte[], Path> entry : entries.entrySet()) {
+            long size = Files.size(entry.getValue());
+            index.putInt(key).putInt(entry.getKey().length).putLong(offset).putLong(size);
+            key += entry.getKey().length;
+            offset += size;
+        }
+        entries.keySet().forEach(index::put);
+        Path temporary = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                channel.write(index.flip());
+                for (Path entry : entries.values()) {
+                    try (FileChannel input = FileChannel.open(entry, StandardOpenOption.READ)) {
+                        long position = 0, size = input.size();
+                        while (position < size) {
+                            position += input.transferTo(position, size - position, channel);
+                        }
+                    }
+                }
+                if (channel.size() != offset) {
+                    throw new IOException("Repository snapshot entries changed while writing " + file);
+                }
+            }
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (Throwable t) {
+            Files.deleteIfExists(temporary);
+            throw t;
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public SequencedSet<String> coordinates(String prefix) {
+        byte[] bytes = prefix.getBytes(StandardCharsets.UTF_8);
+        SequencedSet<String> coordinates = new LinkedHashSet<>();
+        for (int position = lowerBound(bytes); position < count && compare(position, bytes, true) == 0; position++) {
+            coordinates.add(key(position));
+        }
+        return coordinates;
+    }
+
+    @Override
+    public Optional<RepositoryItem> fetch(Executor executor, String coordinate) throws IOException {
+        byte[] bytes = coordinate.getBytes(StandardCharsets.UTF_8);
+        int position = lowerBound(bytes);
+        if (position == count || compare(position, bytes, false) != 0) {
+            return Optional.empty();
+        }
+        long offset = index.getLong(HEADER + position * RECORD + 8), size = index.getLong(HEADER + position * RECORD + 16);
+        ByteBuffer content;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            content = channel.map(FileChannel.MapMode.READ_ONLY, offset, size);
+        }
+        return Optional.of(() -> new InputStream() {
+            private final ByteBuffer buffer = content.duplicate();
+
+            @Override
+            public int read() {
+                return buffer.hasRemaining() ? Byte.toUnsignedInt(buffer.get()) : -1;
+            }
+
+            @Override
+            public int read(byte[] bytes, int offset, int length) {
+                Objects.checkFromIndexSize(offset, length, bytes.length);
+                if (length == 0) {
+                    return 0;
+                } else if (!buffer.hasRemaining()) {
+                    return -1;
+                }
+                int chunk = Math.min(length, buffer.remaining());
+                buffer.get(bytes, offset, chunk);
+                return chunk;
+            }
+
+            @Override
+            public long skip(long length) {
+                int chunk = (int) Math.clamp(length, 0, buffer.remaining());
+                buffer.position(buffer.position() + chunk);
+                return chunk;
+            }
+
+            @Override
+            public int available() {
+                return buffer.remaining();
+            }
+        });
+    }
+
+    private int lowerBound(byte[] key) {
+        int low = 0, high = count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare(middle, key, false) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int compare(int position, byte[] key, boolean prefix) {
+        int offset = index.getInt(HEADER + position * RECORD), length = index.getInt(HEADER + position * RECORD + 4);
+        int limit = prefix ? Math.min(length, key.length) : length;
+        for (int current = 0; current < Math.min(limit, key.length); current++) {
+            int difference = Byte.toUnsignedInt(index.get(offset + current)) - Byte.toUnsignedInt(key[current]);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return prefix && length >= key.length ? 0 : Integer.compare(limit, key.length);
+    }
+
+    private String key(int position) {
+        byte[] bytes = new byte[index.getInt(HEADER + position * RECORD + 4)];
+        index.get(index.getInt(HEADER + position * RECORD), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,126 @@
+package build.jenesis;
+
+import module java.base;
+
+public final class RepositoryStore {
+
+    private static final String ALGORITHM = "SHA-256";
+
+    private final Path root;
+
+    public RepositoryStore(Path root) {
+        this.root = root;
+    }
+
+    public static RepositoryStore of() {
+        String store = System.getProperty("jenesis.repository.store");
+        return store == null || store.isEmpty() ? null : new RepositoryStore(Path.of(store));
+    }
+
+    public Path root() {
+        return root;
+    }
+
+    public Optional<Path> lookup(String checksum) throws IOException {
+        int slash = checksum.indexOf('/');
+        if (slash < 0) {
+            return Optional.empty();
+        }
+        String algorithm = checksum.substring(0, slash).toUpperCase(Locale.ROOT);
+        String hex = checksum.substring(slash + 1).toLowerCase(Locale.ROOT);
+        if (hex.length() < 2
+                || !hex.chars().allMatch(HexFormat::isHexDigit)
+                || !algorithm.chars().allMatch(character -> Character.isLetterOrDigit(character) || character == '-')) {
+            return Optional.empty();
+        }
+        if (!algorithm.equals(ALGORITHM)) {
+            Path ledger = ledger(algorithm, hex);
+            if (!Files.exists(ledger)) {
+                return Optional.empty();
+            }
+            hex = Files.readString(ledger).strip();
+            if (hex.length() < 2 || !hex.chars().allMatch(HexFormat::isHexDigit)) {
+                return Optional.empty();
+            }
+        }
+        Path entry = entry(hex);
+        return Files.exists(entry) ? Optional.of(entry) : Optional.empty();
+    }
+
+    public boolean trusts(Path file, String checksum) throws IOException {
+        Optional<Path> entry = lookup(checksum);
+        return entry.isPresent() && Files.isSameFile(file, entry.get());
+    }
+
+    public Path put(Path file) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            return put(inputStream);
+        }
+    }
+
+    public Path put(InputStream inputStream) throws IOException {
+        MessageDigest digest = digest();
+        Path temporary = temporary();
+        try {
+            try (OutputStream outputStream = new DigestOutputStream(Files.newOutputStream(temporary), digest)) {
+                inputStream.transferTo(outputStream);
+            }
+            Path entry = entry(HexFormat.of().formatHex(digest.digest()));
+            Files.createDirectories(entry.getParent());
+            publish(temporary, entry);
+            return entry;
+        } catch (Throwable t) {
+            Files.deleteIfExists(temporary);
+            throw t;
+        }
+    }
+
+    public void record(String checksum, byte[] hash) throws IOException {
+        int slash = checksum.indexOf('/');
+        String algorithm = checksum.substring(0, slash).toUpperCase(Locale.ROOT);
+        if (algorithm.equals(ALGORITHM)) {
+            return;
+        }
+        Path ledger = ledger(algorithm, checksum.substring(slash + 1).toLowerCase(Locale.ROOT));
+        if (Files.exists(ledger)) {
+            return;
+        }
+        Files.createDirectories(ledger.getParent());
+        Path temporary = temporary();
+        try {
+            Files.writeString(temporary, HexFormat.of().formatHex(hash));
+            publish(temporary, ledger);
+        } catch (Throwable t) {
+            Files.deleteIfExists(temporary);
+            throw t;
+        }
+    }
+
+    public static MessageDigest digest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Path entry(String hex) {
+        return root.resolve(ALGORITHM).resolve(hex.substring(0, 2)).resolve(hex);
+    }
+
+    private Path ledger(String algorithm, String hex) {
+        return root.resolve("ledger").resolve(algorithm).resolve(hex.substring(0, 2)).resolve(hex);
+    }
+
+    private Path temporary() throws IOException {
+        return Files.createTempFile(Files.createDirectories(root.resolve("tmp")), "store", ".tmp");
+    }
+
+    private static void publish(Path temporary, Path target) throws IOException {
+        try {
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException _) {
+            Files.deleteIfExists(temporary);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package build.jenesis;
+
+import module java.base;
+
+@FunctionalInterface
+public interface RepositoryTransport {
+
+    InputStream open(URI uri, String token, Repository.Retry retry) throws IOException;
+
+    default boolean download(URI uri,
+                             String token,
+                             Repository.Retry retry,
+                             Path target,
+                             Collection<MessageDigest> digests) throws IOException {
+        return download(uri, token, retry, target, digests, () -> {});
+    }
+
+    default boolean download(URI uri,
+                             String token,
+                             Repository.Retry retry,
+                             Path target,
+                             Collection<MessageDigest> digests,
+                             Runnable found) throws IOException {
+        digests.forEach(MessageDigest::reset);
+        try (InputStream inputStream = open(uri, token, retry);
+             OutputStream outputStream = Files.newOutputStream(target)) {
+            found.run();
+            byte[] buffer = new byte[1 << 16];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                for (MessageDigest digest : digests) {
+                    digest.update(buffer, 0, read);
+                }
+                outputStream.write(buffer, 0, read);
+            }
+            return true;
+        } catch (FileNotFoundException _) {
+            return false;
+        }
+    }
+
+    default boolean resume(URI uri,
+                           String token,
+                           Repository.Retry retry,
+                           Path target,
+                           Collection<MessageDigest> digests) throws IOException {
+        return resume(uri, token, retry, target, digests, () -> {});
+    }
+
+    default boolean resume(URI uri,
+                           String token,
+                           Repository.Retry retry,
+                           Path target,
+                           Collection<MessageDigest> digests,
+                           Runnable found) throws IOException {
+        Files.deleteIfExists(validator(target));
+        return download(uri, token, retry, target, digests, found);
+    }
+
+    default boolean revalidate(URI uri, String token, Repository.Retry retry, Path target) throws IOException {
+        Path temporary = Files.createTempFile(target.toAbsolutePath().getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            if (!download(uri, token, retry, temporary, List.of())) {
+                Files.delete(temporary);
+                return false;
+            }
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (Throwable t) {
+            Files.deleteIfExists(temporary);
+            throw t;
+        }
+        revalidated(target, null, null);
+        return true;
+    }
+
+    static Path validator(Path target) {
+        return target.resolveSibling(target.getFileName() + ".range");
+    }
+
+    static Path revalidator(Path target) {
+        return target.resolveSibling(target.getFileName() + ".etag");
+    }
+
+    static Map<String, String> conditions(Path target) throws IOException {
+        Path revalidator = revalidator(target);
+        if (!Files.exists(target) || !Files.exists(revalidator)) {
+            return Map.of();
+        }
+        List<String> lines = Files.readAllLines(revalidator);
+        Map<String, String> conditions = new LinkedHashMap<>();
+        if (!lines.isEmpty() && !lines.getFirst().isEmpty()) {
+            conditions.put("If-None-Match", lines.getFirst());
+        }
+        if (lines.size() > 1 && !lines.get(1).isEmpty()) {
+            conditions.put("If-Modified-Since", lines.get(1));
+        }
+        return conditions;
+    }
+
+    static void revalidated(Path target, String tag, String modified) throws IOException {
+        Files.writeString(revalidator(target), (tag == null ? "" : tag) + "\n" + (modified == null ? "" : modified) + "\n");
+    }
+
+    static void unmodified(Path target) throws IOException {
+        Files.setLastModifiedTime(revalidator(target), FileTime.from(Instant.now()));
+    }
+
+    static RepositoryTransport of() {
+        String transport = System.getProperty("jenesis.repository.transport", "url");
+        return switch (transport) {
+            case "url" -> new RepositoryUrlTransport();
+            case "http" -> RepositoryHttpTransport.shared();
+            default -> throw new IllegalArgumentException("Unknown repository transport '"
+                    + transport
+                    + "', expected url or http");
+        };
+    }
+
+    static void requireSecure(URI uri, boolean insecure) {
+        String scheme = uri.getScheme();
+        if (scheme != null && !scheme.equals("https") && !scheme.equals("file") && !insecure) {
+            throw new IllegalStateException("Refusing to fetch over insecure scheme '"
+                    + scheme
+                    + "': "
+                    + uri
+                    + " (set -Djenesis.repository.insecure=true to allow plaintext repositories)");
+        }
+    }
+
+    static URI redirect(URI origin, URI current, String location) {
+        URI target = current.resolve(location);
+        if ("file".equals(target.getScheme()) && !"file".equals(origin.getScheme())) {
+            throw new IllegalStateException("Refusing to follow a redirect to a file URI: "
+                    + target
+                    + " (redirected from "
+                    + origin
+                    + ")");
+        }
+        return target;
+    }
+
+    static boolean sameOrigin(URI left, URI right) {
+        return Objects.equals(left.getScheme(), right.getScheme())
+                && left.getHost() != null
+                && left.getHost().equalsIgnoreCase(right.getHost())
+                && left.getPort() == right.getPort();
+    }
+
+    static void pause(long delay, URI uri) throws InterruptedIOException {
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException _) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while retrying " + uri);
+        }
+    }
+}
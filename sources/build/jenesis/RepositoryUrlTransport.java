@@ -0,0 +1,99 @@
+package build.jenesis;
+
+import module java.base;
+
+public final class RepositoryUrlTransport implements RepositoryTransport {
+
+    @Override
+    public InputStream open(URI uri, String token, Repository.Retry retry) throws IOException {
+        return connect(uri, token, retry, Map.of()).getInputStream();
+    }
+
+    @Override
+    public boolean revalidate(URI uri, String token, Repository.Retry retry, Path target) throws IOException {
+        URLConnection connection = connect(uri, token, retry, RepositoryTransport.conditions(target));
+        if (connection instanceof HttpURLConnection http && http.getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+            http.getInputStream().close();
+            RepositoryTransport.unmodified(target);
+            return true;
+        }
+        Path temporary = Files.createTempFile(target.toAbsolutePath().getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (InputStream inputStream = connection.getInputStream()) {
+                Files.copy(inputStream, temporary, StandardCopyOption.REPLACE_EXISTING);
+            } catch (FileNotFoundException _) {
+                Files.delete(temporary);
+                return false;
+            }
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (Throwable t) {
+            Files.deleteIfExists(temporary);
+            throw t;
+        }
+        RepositoryTransport.revalidated(target,
+                connection.getHeaderField("ETag"),
+                connection.getHeaderField("Last-Modified"));
+        return true;
+    }
+
+    private static URLConnection connect(URI uri,
+                                         String token,
+                                         Repository.Retry retry,
+                                         Map<String, String> headers) throws IOException {
+        boolean insecure = Boolean.getBoolean("jenesis.repository.insecure");
+        int connectTimeout = Integer.getInteger("jenesis.repository.connect.timeout", 10_000);
+        int readTimeout = Integer.getInteger("jenesis.repository.read.timeout", 30_000);
+        attempts:
+        for (int attempt = 0; ; attempt++) {
+            URI current = uri;
+            try {
+                for (int redirect = 0; redirect < 8; redirect++) {
+                    RepositoryTransport.requireSecure(current, insecure);
+                    URLConnection connection = current.toURL().openConnection();
+                    connection.setConnectTimeout(connectTimeout);
+                    connection.setReadTimeout(readTimeout);
+                    if (!(connection instanceof HttpURLConnection http)) {
+                        return connection;
+                    }
+                    http.setInstanceFollowRedirects(false);
+                    http.setRequestProperty("User-Agent", "Jenesis");
+                    if (token != null && RepositoryTransport.sameOrigin(uri, current)) {
+                        http.setRequestProperty("Authorization", token);
+                    }
+                    headers.forEach(http::setRequestProperty);
+                    int status = http.getResponseCode();
+                    if (status >= 300 && status < 400) {
+                        String location = http.getHeaderField("Location");
+                        if (location != null) {
+                            http.getInputStream().close();
+                            current = RepositoryTransport.redirect(uri, current, location);
+                            continue;
+                        }
+                    }
+                    if ((status == 429 || status >= 500) && attempt < retry.retries()) {
+                        long delay = Repository.retryAfterMillis(http.getHeaderField("Retry-After"),
+                                retry.backoff().toMillis() << Math.min(attempt, 20));
+                        InputStream error = http.getErrorStream();
+                        if (error != null) {
+                            error.close();
+                        }
+                        RepositoryTransport.pause(delay, uri);
+                        continue attempts;
+                    }
+                    return http;
+                }
+                throw new IOException("Exceeded redirect limit fetching " + uri);
+            } catch (SocketException | SocketTimeoutException | SSLException | EOFException e) {
+                if (attempt >= retry.retries()) {
+                    throw new IOException("Failed to fetch "
+                            + uri
+                            + " after "
+                            + (attempt + 1)
+                            + " attempt(s): "
+                            + e, e);
+                }
+                RepositoryTransport.pause(retry.backoff().toMillis() << attempt, uri);
+            }
+        }
+    }
+}
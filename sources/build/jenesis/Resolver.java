@@ -26,6 +26,29 @@ public interface Resolver extends Serializable {
     record Vertex(String resolvedVersion, String module, boolean automatic, boolean internal, List<License> licenses) {
     }
 
+    record Request(String prefix,
+                   Map<String, Object> repositories,
+                   List<Map.Entry<String, List<String>>> coordinates,
+                   List<Map.Entry<String, String>> versions,
+                   DependencyScope scope) {
+
+        public static Request of(String prefix,
+                                 Map<String, Repository> repositories,
+                                 SequencedMap<String, SequencedSet<String>> coordinates,
+                                 SequencedMap<String, String> versions,
+                                 DependencyScope scope) {
+            Map<String, Object> origins = new HashMap<>();
+            repositories.forEach((name, repository) -> origins.put(name, repository.origin()));
+            return new Request(prefix,
+                    origins,
+                    coordinates.entrySet().stream()
+                            .map(entry -> Map.entry(entry.getKey(), List.copyOf(entry.getValue())))
+                            .toList(),
+                    versions.entrySet().stream().map(Map.Entry::copyOf).toList(),
+                    scope);
+        }
+    }
+
     Resolution dependencies(Executor executor,
                             String prefix,
                             Map<String, Repository> repositories,
@@ -33,6 +56,9 @@ public interface Resolver extends Serializable {
                             SequencedMap<String, String> versions,
                             DependencyScope scope) throws IOException;
 
+    default void reset() {
+    }
+
     default SequencedSet<String> managedPrefixes() {
         return Collections.emptyNavigableSet();
     }
@@ -102,8 +128,16 @@ public interface Resolver extends Serializable {
                                 Repository repository,
                                 String coordinate,
                                 String checksum) throws IOException {
-        RepositoryItem item = repository.fetch(executor, coordinate)
-                .orElseThrow(() -> new IllegalStateException("Unresolved: " + coordinate));
+        return materialize(repository.fetch(executor, coordinate, checksum), coordinate, checksum);
+    }
+
+    private static Resolved materialize(Optional<RepositoryItem> candidate,
+                                        String coordinate,
+                                        String checksum) throws IOException {
+        RepositoryItem item = candidate.orElseThrow(() -> new IllegalStateException("Unresolved: " + coordinate));
+        if (item.deferred()) {
+            return new Resolved(null, checksum == null ? "" : checksum, false);
+        }
         Path file = item.file().orElse(null);
         if (file == null) {
             throw new IllegalStateException("Repository did not materialize a file for " + coordinate);
@@ -120,7 +154,11 @@ public interface Resolver extends Serializable {
             throw new IllegalStateException("Malformed checksum '" + checksum
                     + "' for " + coordinate + ", expected <algorithm>/<hex>");
         }
-        MessageDigest digest;
+        RepositoryStore store = RepositoryStore.of();
+        if (store != null && store.trusts(file, checksum)) {
+            return;
+        }
+        MessageDigest digest, content = store == null ? null : RepositoryStore.digest();
         try {
             digest = MessageDigest.getInstance(checksum.substring(0, slash));
         } catch (NoSuchAlgorithmException e) {
@@ -131,11 +169,17 @@ public interface Resolver extends Serializable {
             int read;
             while ((read = inputStream.read(buffer)) != -1) {
                 digest.update(buffer, 0, read);
+                if (content != null) {
+                    content.update(buffer, 0, read);
+                }
             }
         }
         if (!Arrays.equals(digest.digest(), HexFormat.of().parseHex(checksum.substring(slash + 1)))) {
             throw new IllegalStateException("Mismatched digest for " + coordinate);
         }
+        if (store != null) {
+            store.record(checksum, content.digest());
+        }
     }
 
     static SequencedMap<String, Resolved> materializeAll(Executor executor,
@@ -150,17 +194,20 @@ public interface Resolver extends Serializable {
             String fetch = coordinate.startsWith(prefix + "/")
                     ? coordinate.substring(prefix.length() + 1)
                     : coordinate;
-            String checksum = entry.getValue();
-            CompletableFuture<?> future = new CompletableFuture<>();
-            executor.execute(() -> {
+            String checksum = entry.getValue().isEmpty() ? null : entry.getValue();
+            futures.add(repository.fetchAsync(executor, fetch, checksum).handleAsync((candidate, throwable) -> {
                 try {
-                    results.put(coordinate, materialize(executor, repository, fetch, checksum.isEmpty() ? null : checksum));
-                    future.complete(null);
+                    if (throwable != null) {
+                        throw throwable instanceof CompletionException && throwable.getCause() != null
+                                ? throwable.getCause()
+                                : throwable;
+                    }
+                    results.put(coordinate, materialize(candidate, fetch, checksum));
+                    return null;
                 } catch (Throwable t) {
-                    future.completeExceptionally(new RuntimeException("Failed to fetch " + coordinate, t));
+                    throw new RuntimeException("Failed to fetch " + coordinate, t);
                 }
-            });
-            futures.add(future);
+            }, executor));
         }
         CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
         SequencedMap<String, Resolved> materialized = new LinkedHashMap<>();
@@ -0,0 +1,68 @@
+package build.jenesis;
+
+import module java.base;
+
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+
+    public V get(K key, Callable<? extends V> computation) throws IOException {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> previous = flights.putIfAbsent(key, future);
+        if (previous != null) {
+            return await(previous);
+        }
+        run(key, future, computation);
+        return await(future);
+    }
+
+    public CompletableFuture<V> submit(K key, Executor executor, Callable<? extends V> computation) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> previous = flights.putIfAbsent(key, future);
+        if (previous != null) {
+            return previous;
+        }
+        try {
+            executor.execute(() -> run(key, future, computation));
+        } catch (RuntimeException e) {
+            flights.remove(key, future);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    public void forget(K key) {
+        flights.remove(key);
+    }
+
+    public void clear() {
+        flights.clear();
+    }
+
+    private void run(K key, CompletableFuture<V> future, Callable<? extends V> computation) {
+        try {
+            V value = computation.call();
+            if (value == null) {
+                flights.remove(key, future);
+            }
+            future.complete(value);
+        } catch (Throwable t) {
+            flights.remove(key, future);
+            future.completeExceptionally(t);
+        }
+    }
+
+    public static <V> V await(CompletionStage<V> stage) throws IOException {
+        try {
+            return stage.toCompletableFuture().join();
+        } catch (CompletionException | CancellationException e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            switch (cause) {
+                case IOException exception -> throw exception;
+                case RuntimeException exception -> throw exception;
+                case Error error -> throw error;
+                default -> throw new IllegalStateException(cause);
+            }
+        }
+    }
+}
@@ -5,6 +5,8 @@ import build.jenesis.BuildExecutorCallback;
 import build.jenesis.BuildStep;
 import build.jenesis.Repository;
 import build.jenesis.RepositoryItem;
+import build.jenesis.RepositoryTransport;
+import build.jenesis.SingleFlight;
 
 public class MavenDefaultRepository implements MavenRepository {
 
@@ -15,6 +17,9 @@ public class MavenDefaultRepository implements MavenRepository {
     private final Consumer<String> callback;
     private final String token;
     private final Repository.Retry retry;
+    private final Set<String> published;
+    private final List<URI> mirrors;
+    private final Hedge hedge;
 
     public static MavenRepository of() {
         Path local;
@@ -42,19 +47,27 @@ public class MavenDefaultRepository implements MavenRepository {
         } else {
             text = "https://repo1.maven.org/maven2/";
         }
-        MavenRepository repository = chain(text, visited, local, token, verbose, null);
-        if (repository == null) {
+        List<MavenRoutingRepository.Route> routes = chain(text, visited, local, token, verbose);
+        if (routes.isEmpty()) {
             throw new IllegalStateException("No Maven repository is configured by: " + text);
+        } else if (routes.size() == 1) {
+            MavenRoutingRepository.Route route = routes.getFirst();
+            return route.groups() == null ? route.repository() : route.repository().filter(route.groups());
         }
-        return repository;
+        String file = System.getProperty("jenesis.maven.routes");
+        return new MavenRoutingRepository(routes,
+                file != null
+                        ? (file.isEmpty() ? null : Path.of(file))
+                        : (local != null && Files.isWritable(local) ? local.resolve(".jenesis-routes.properties") : null),
+                Duration.ofMinutes(Integer.getInteger("jenesis.maven.miss.ttl", 1440)));
     }
 
-    private static MavenRepository chain(String text,
-                                         Set<String> visited,
-                                         Path local,
-                                         String token,
-                                         boolean verbose,
-                                         MavenRepository repository) {
+    private static List<MavenRoutingRepository.Route> chain(String text,
+                                                            Set<String> visited,
+                                                            Path local,
+                                                            String token,
+                                                            boolean verbose) {
+        List<MavenRoutingRepository.Route> routes = new ArrayList<>();
         for (String entry : text.split(",")) {
             String candidate = entry.strip();
             if (candidate.isEmpty()) {
@@ -65,7 +78,7 @@ public class MavenDefaultRepository implements MavenRepository {
             if (location.isEmpty()) {
                 throw new IllegalStateException("No URI in Maven repository entry: " + candidate);
             }
-            MavenRepository current;
+            List<MavenRoutingRepository.Route> current;
             if (location.startsWith("@")) {
                 String name = location.substring(1);
                 String value;
@@ -87,20 +100,28 @@ public class MavenDefaultRepository implements MavenRepository {
                         throw new IllegalStateException("Circular repository reference: @" + name);
                     }
                 }
-                current = chain(value, visited, local, token, verbose, null);
+                current = chain(value, visited, local, token, verbose);
                 if (name != null) {
                     visited.remove(name);
                 }
-                if (current == null) {
+                if (current.isEmpty()) {
                     throw new IllegalStateException("No Maven repository is configured by: " + value);
                 }
             } else {
-                URI uri = URI.create(location.endsWith("/") ? location : location + "/");
+                List<URI> uris = new ArrayList<>();
+                for (String mirror : location.split(";")) {
+                    String value = mirror.strip();
+                    if (value.isEmpty()) {
+                        throw new IllegalStateException("Empty mirror in Maven repository entry: " + candidate);
+                    }
+                    uris.add(URI.create(value.endsWith("/") ? value : value + "/"));
+                }
+                URI uri = uris.getFirst();
                 SequencedMap<String, URI> validations = new LinkedHashMap<>();
                 validations.put("SHA512", uri);
                 validations.put("SHA256", uri);
                 validations.put("SHA1", uri);
-                current = new MavenDefaultRepository(uri,
+                MavenDefaultRepository repository = new MavenDefaultRepository(uri,
                         local,
                         Collections.unmodifiableMap(validations),
                         verbose ? path -> System.out.printf("%s%-11s%s %s%n",
@@ -110,6 +131,10 @@ public class MavenDefaultRepository implements MavenRepository {
                                 uri.resolve(path)) : _ -> {
                         },
                         token);
+                current = List.of(new MavenRoutingRepository.Route(uri.toString(),
+                        uris.size() == 1 ? repository : repository.mirrors(uris.subList(1, uris.size()), new Hedge()),
+                        null,
+                        "http".equals(uri.getScheme()) || "https".equals(uri.getScheme())));
             }
             List<String> groups = new ArrayList<>();
             if (separator >= 0) {
@@ -120,19 +145,26 @@ public class MavenDefaultRepository implements MavenRepository {
                     }
                 }
             }
-            if (!groups.isEmpty()) {
-                current = current.filter(value -> {
+            if (groups.isEmpty()) {
+                routes.addAll(current);
+            } else {
+                Predicate<String> predicate = value -> {
                     for (String group : groups) {
                         if (value.equals(group) || value.startsWith(group + ".")) {
                             return true;
                         }
                     }
                     return false;
-                });
+                };
+                for (MavenRoutingRepository.Route route : current) {
+                    routes.add(new MavenRoutingRepository.Route(route.name(),
+                            route.repository(),
+                            route.groups() == null ? predicate : predicate.and(route.groups()),
+                            route.remote()));
+                }
             }
-            repository = repository == null ? current : current.prepend(repository);
         }
-        return repository;
+        return routes;
     }
 
     public MavenDefaultRepository(URI repository, Path local, Map<String, URI> validations, Consumer<String> callback) {
@@ -144,7 +176,15 @@ public class MavenDefaultRepository implements MavenRepository {
                                   Map<String, URI> validations,
                                   Consumer<String> callback,
                                   String token) {
-        this(repository, local, validations, callback, token, new Repository.Retry());
+        this(repository,
+                local,
+                validations,
+                callback,
+                token,
+                new Repository.Retry(),
+                ConcurrentHashMap.newKeySet(),
+                List.of(),
+                null);
     }
 
     private MavenDefaultRepository(URI repository,
@@ -152,7 +192,10 @@ public class MavenDefaultRepository implements MavenRepository {
                                    Map<String, URI> validations,
                                    Consumer<String> callback,
                                    String token,
-                                   Repository.Retry retry) {
+                                   Repository.Retry retry,
+                                   Set<String> published,
+                                   List<URI> mirrors,
+                                   Hedge hedge) {
         this.repository = repository;
         this.local = local;
         this.writable = local != null && Files.isWritable(local);
@@ -160,10 +203,39 @@ public class MavenDefaultRepository implements MavenRepository {
         this.callback = callback;
         this.token = token;
         this.retry = retry;
+        this.published = published;
+        this.mirrors = mirrors;
+        this.hedge = hedge;
     }
 
     public MavenDefaultRepository retry(Repository.Retry retry) {
-        return new MavenDefaultRepository(repository, local, validations, callback, token, retry);
+        return new MavenDefaultRepository(repository,
+                local,
+                validations,
+                callback,
+                token,
+                retry,
+                published,
+                mirrors,
+                hedge);
+    }
+
+    public MavenDefaultRepository mirrors(List<URI> mirrors, Hedge hedge) {
+        List<URI> normalized = new ArrayList<>(mirrors.size());
+        for (URI mirror : mirrors) {
+            normalized.add(mirror.getPath() != null && mirror.getPath().endsWith("/")
+                    ? mirror
+                    : URI.create(mirror + "/"));
+        }
+        return new MavenDefaultRepository(repository,
+                local,
+                validations,
+                callback,
+                token,
+                retry,
+                published,
+                List.copyOf(normalized),
+                mirrors.isEmpty() ? null : Objects.requireNonNull(hedge, "hedge"));
     }
 
     @SuppressWarnings("unchecked")
@@ -228,13 +300,24 @@ public class MavenDefaultRepository implements MavenRepository {
                                           String type,
                                           String classifier,
                                           String checksum) throws IOException {
-        String path = groupId.replace('.', '/')
-                + "/" + artifactId
-                + "/" + version
-                + "/" + artifactId + "-" + version + (classifier == null ? "" : "-" + classifier)
-                + "." + type + (checksum == null ? "" : ("." + checksum));
+        String path = toPath(groupId, artifactId, version, type, classifier) + (checksum == null ? "" : ("." + checksum));
+        callback.accept(path);
+        return fetch(repository, path, checksum == null, null).materialize();
+    }
+
+    @Override
+    public Optional<RepositoryItem> fetch(Executor executor, String coordinate, String checksum) throws IOException {
+        if (checksum == null || checksum.indexOf('/') < 0) {
+            return fetch(executor, coordinate);
+        }
+        MavenDependencyKey.Versioned parsed = MavenDependencyKey.parse(coordinate);
+        String path = toPath(parsed.key().groupId(),
+                parsed.key().artifactId(),
+                parsed.version(),
+                parsed.key().type(),
+                parsed.key().classifier());
         callback.accept(path);
-        return fetch(repository, path, checksum == null).materialize();
+        return fetch(repository, path, true, checksum).materialize();
     }
 
     @Override
@@ -246,66 +329,43 @@ public class MavenDefaultRepository implements MavenRepository {
                 + "/" + artifactId
                 + "/maven-metadata.xml" + (checksum == null ? "" : "." + checksum);
         callback.accept(path);
-        return fetch(repository, path, checksum == null).materialize();
+        return fetch(repository, path, checksum == null, null).materialize();
     }
 
-    private LazyRepositoryItem fetch(URI repository, String path, boolean validate) throws IOException {
+    private static String toPath(String groupId, String artifactId, String version, String type, String classifier) {
+        return groupId.replace('.', '/')
+                + "/" + artifactId
+                + "/" + version
+                + "/" + artifactId + "-" + version + (classifier == null ? "" : "-" + classifier)
+                + "." + (type == null ? "jar" : type);
+    }
+
+    private LazyRepositoryItem fetch(URI repository,
+                                     String path,
+                                     boolean validate,
+                                     String pinned) throws IOException {
         Path cached = local == null ? null : BuildStep.resolveContained(local, path);
+        Validation validation = validate ? toValidation(path, pinned) : null;
         if (cached != null) {
             if (Files.exists(cached)) {
                 boolean valid = true;
-                if (validate) {
-                    Map<LazyRepositoryItem, byte[]> results = new HashMap<>();
-                    for (Map.Entry<String, URI> entry : validations.entrySet()) {
-                        LazyRepositoryItem item = fetch(
-                                entry.getValue(),
-                                path + "." + entry.getKey().toLowerCase(Locale.ROOT),
-                                false);
-                        if (valid) {
-                            MessageDigest digest;
-                            try {
-                                digest = MessageDigest.getInstance(entry.getKey());
-                            } catch (NoSuchAlgorithmException e) {
-                                throw new IllegalStateException(e);
-                            }
-                            try (FileChannel channel = FileChannel.open(cached)) {
-                                ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
-                                while (channel.read(buffer) != -1) {
-                                    buffer.flip();
-                                    digest.update(buffer);
-                                    buffer.clear();
-                                }
+                if (validation != null) {
+                    Map<String, MessageDigest> digests = validation.digests();
+                    try (FileChannel channel = FileChannel.open(cached)) {
+                        ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+                        while (channel.read(buffer) != -1) {
+                            buffer.flip();
+                            for (MessageDigest digest : digests.values()) {
+                                digest.update(buffer);
+                                buffer.rewind();
                             }
-                            Optional<InputStream> candidate = item.toLazyInputStream();
-                            if (candidate.isPresent()) {
-                                byte[] expected;
-                                try (InputStream inputStream = candidate.get()) {
-                                    expected = inputStream.readAllBytes();
-                                }
-                                results.put(item, expected);
-                                String text = new String(expected, StandardCharsets.UTF_8).strip();
-                                int end = 0;
-                                while (end < text.length() && !Character.isWhitespace(text.charAt(end))) {
-                                    end++;
-                                }
-                                valid = Arrays.equals(
-                                        HexFormat.of().parseHex(text.substring(0, end)),
-                                        digest.digest());
-                            }
-                        } else {
-                            results.put(item, null);
+                            buffer.clear();
                         }
                     }
-                    if (valid) {
-                        for (Map.Entry<LazyRepositoryItem, byte[]> entry : results.entrySet()) {
-                            entry.getKey().storeIfNotPresent(entry.getValue());
-                        }
-                    } else if (writable) {
+                    valid = validation.verify(validation.expected(), digests) == null;
+                    if (!valid && writable && validation.pinned() == null) {
                         try {
                             Files.delete(cached);
-                            for (LazyRepositoryItem item : results.keySet()) {
-                                item.deleteIfPresent();
-                            }
                         } catch (IOException _) {
                         }
                     }
@@ -321,50 +381,121 @@ public class MavenDefaultRepository implements MavenRepository {
                 }
             }
         }
-        Map<LazyRepositoryItem, MessageDigest> digests = new HashMap<>();
-        if (validate) {
-            for (Map.Entry<String, URI> entry : validations.entrySet()) {
-                LazyRepositoryItem item = fetch(entry.getValue(),
-                        path + "." + entry.getKey().toLowerCase(Locale.ROOT),
-                        false);
-                MessageDigest digest;
-                try {
-                    digest = MessageDigest.getInstance(entry.getKey());
-                } catch (NoSuchAlgorithmException e) {
-                    throw new IllegalStateException(e);
-                }
-                digests.put(item, digest);
-            }
+        List<URI> uris = new ArrayList<>(1 + mirrors.size());
+        uris.add(repository.resolve(path));
+        if (repository.equals(this.repository)) {
+            mirrors.forEach(mirror -> uris.add(mirror.resolve(path)));
         }
-        URI uri = repository.resolve(path);
         int dash = path.lastIndexOf('/'), dot = path.indexOf('.', dash);
         return new LatentRepositoryItem(writable ? cached : null,
-                uri,
-                digests,
+                uris,
+                hedge,
+                validation,
                 path.substring(dash + 1, dot),
                 path.substring(dot),
                 token,
                 retry);
     }
 
-    private static Optional<Path> download(URI uri,
-                                           Map<LazyRepositoryItem, MessageDigest> digests,
+    private Validation toValidation(String path, String pinned) throws IOException {
+        if (pinned != null) {
+            int separator = pinned.indexOf('/');
+            return new Validation(pinned.substring(0, separator),
+                    HexFormat.of().parseHex(pinned.substring(separator + 1)),
+                    new LinkedHashMap<>(),
+                    published,
+                    new AtomicReference<>());
+        }
+        if (validations.isEmpty()) {
+            return null;
+        }
+        List<String> algorithms = new ArrayList<>();
+        validations.keySet().stream().filter(published::contains).forEach(algorithms::add);
+        validations.keySet().stream().filter(algorithm -> !published.contains(algorithm)).forEach(algorithms::add);
+        SequencedMap<String, LazyRepositoryItem> sidecars = new LinkedHashMap<>();
+        for (String algorithm : algorithms) {
+            sidecars.put(algorithm, fetch(validations.get(algorithm),
+                    path + "." + algorithm.toLowerCase(Locale.ROOT),
+                    false,
+                    null));
+        }
+        return new Validation(null, null, sidecars, published, new AtomicReference<>());
+    }
+
+    private static Optional<Path> download(List<URI> uris,
+                                           Hedge hedge,
+                                           Validation validation,
                                            String prefix,
                                            String suffix,
                                            String token,
                                            Repository.Retry retry,
-                                           Path directory) throws IOException {
+                                           Path directory,
+                                           Path partial) throws IOException {
+        Optional<Transfer> transfer = uris.size() == 1
+                ? transfer(uris.getFirst(), validation, prefix, suffix, token, retry, directory, partial)
+                : hedge.race(uris.size(), index -> transfer(uris.get(index),
+                        validation,
+                        prefix,
+                        suffix,
+                        token,
+                        retry,
+                        directory,
+                        index == 0 ? partial : null));
+        if (transfer.isEmpty()) {
+            return Optional.empty();
+        }
+        Path temporary = transfer.get().file();
+        if (validation == null) {
+            return Optional.of(temporary);
+        }
+        try {
+            String invalid = validation.verify(validation.expected(), transfer.get().digests());
+            if (invalid != null) {
+                throw new IllegalStateException(validation.pinned() == null
+                        ? "Failed checksum validation for " + invalid
+                        : "Mismatched digest for " + transfer.get().uri());
+            }
+        } catch (Throwable t) {
+            Files.deleteIfExists(temporary);
+            throw t;
+        }
+        return Optional.of(temporary);
+    }
+
+    private static Optional<Transfer> transfer(URI uri,
+                                               Validation validation,
+                                               String prefix,
+                                               String suffix,
+                                               String token,
+                                               Repository.Retry retry,
+                                               Path directory,
+                                               Path partial) throws IOException {
         Path temporary = directory == null
                 ? Files.createTempFile(prefix, suffix)
                 : Files.createTempFile(directory, prefix, suffix);
+        if (partial != null) {
+            try {
+                Files.move(partial, temporary, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                Files.move(RepositoryTransport.validator(partial),
+                        RepositoryTransport.validator(temporary),
+                        StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException _) {
+            }
+        }
+        Map<String, MessageDigest> digests = validation == null ? Map.of() : validation.digests();
+        Runnable found = validation == null ? () -> {} : validation::expected;
+        RepositoryTransport transport = RepositoryTransport.of();
         try {
             for (int attempt = 0; ; attempt++) {
-                try (InputStream stream = Repository.open(uri, token, retry)) {
-                    Files.copy(stream, temporary, StandardCopyOption.REPLACE_EXISTING);
+                try {
+                    if (!(partial == null
+                            ? transport.download(uri, token, retry, temporary, digests.values(), found)
+                            : transport.resume(uri, token, retry, temporary, digests.values(), found))) {
+                        Files.deleteIfExists(temporary);
+                        return Optional.empty();
+                    }
                     break;
-                } catch (FileNotFoundException _) {
-                    Files.deleteIfExists(temporary);
-                    return Optional.empty();
                 } catch (SocketException | SocketTimeoutException e) {
                     if (attempt >= retry.retries()) {
                         throw e;
@@ -374,64 +505,253 @@ public class MavenDefaultRepository implements MavenRepository {
             }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            Files.deleteIfExists(temporary);
+            park(temporary, partial);
             throw new IOException("Interrupted while fetching " + uri, e);
+        } catch (IOException e) {
+            park(temporary, partial);
+            throw e;
         } catch (Throwable t) {
             Files.deleteIfExists(temporary);
+            Files.deleteIfExists(RepositoryTransport.validator(temporary));
             throw t;
         }
-        if (digests.isEmpty()) {
-            return Optional.of(temporary);
+        return Optional.of(new Transfer(uri, temporary, digests));
+    }
+
+    private static void park(Path temporary, Path partial) throws IOException {
+        Path validator = RepositoryTransport.validator(temporary);
+        if (partial != null && Files.exists(validator) && Files.exists(temporary) && Files.size(temporary) > 0) {
+            try {
+                Files.move(validator,
+                        RepositoryTransport.validator(partial),
+                        StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+                Files.move(temporary, partial, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                return;
+            } catch (IOException _) {
+            }
         }
-        try {
-            try (FileChannel channel = FileChannel.open(temporary)) {
-                ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
-                while (channel.read(buffer) != -1) {
-                    buffer.flip();
-                    for (MessageDigest digest : digests.values()) {
-                        digest.update(buffer);
-                        buffer.rewind();
+        Files.deleteIfExists(temporary);
+        Files.deleteIfExists(validator);
+    }
+
+    public static final class Hedge {
+
+        private static final int MINIMUM = 8;
+
+        private final double percentile;
+        private final Duration delay;
+        private final long[] samples = new long[128];
+        private long count;
+
+        public Hedge() {
+            this(Double.parseDouble(System.getProperty("jenesis.maven.hedge", "95")),
+                    Duration.ofMillis(Long.getLong("jenesis.maven.hedge.delay", 500)));
+        }
+
+        public Hedge(double percentile, Duration delay) {
+            if (!(percentile > 0 && percentile <= 100)) {
+                throw new IllegalArgumentException("Hedge percentile must be within (0, 100]: " + percentile);
+            }
+            if (delay.isNegative()) {
+                throw new IllegalArgumentException("Hedge delay cannot be negative: " + delay);
+            }
+            this.percentile = percentile;
+            this.delay = delay;
+        }
+
+        public synchronized Duration delay() {
+            if (count < MINIMUM) {
+                return delay;
+            }
+            long[] sorted = Arrays.copyOf(samples, (int) Math.min(count, samples.length));
+            Arrays.sort(sorted);
+            return Duration.ofNanos(sorted[Math.max(0, (int) Math.ceil(percentile / 100 * sorted.length) - 1)]);
+        }
+
+        private synchronized void record(long nanos) {
+            samples[(int) (count++ % samples.length)] = nanos;
+        }
+
+        private Optional<Transfer> race(int attempts, Attempt attempt) throws IOException {
+            AtomicBoolean settled = new AtomicBoolean();
+            CompletionService<Optional<Transfer>> completion = new ExecutorCompletionService<>(
+                    task -> Thread.ofVirtual().name("jenesis-hedge").start(task));
+            List<Future<Optional<Transfer>>> futures = new ArrayList<>(attempts);
+            Supplier<Future<Optional<Transfer>>> launch = () -> {
+                int index = futures.size();
+                return completion.submit(() -> {
+                    long started = System.nanoTime();
+                    Optional<Transfer> transfer = attempt.apply(index);
+                    record(System.nanoTime() - started);
+                    if (transfer.isPresent() && !settled.compareAndSet(false, true)) {
+                        Files.deleteIfExists(transfer.get().file());
+                        return Optional.empty();
+                    }
+                    return transfer;
+                });
+            };
+            IOException failure = null;
+            boolean missing = false;
+            try {
+                futures.add(launch.get());
+                int pending = 1;
+                while (pending > 0) {
+                    Future<Optional<Transfer>> future = futures.size() < attempts
+                            ? completion.poll(delay().toNanos(), TimeUnit.NANOSECONDS)
+                            : completion.take();
+                    if (future == null) {
+                        futures.add(launch.get());
+                        pending++;
+                        continue;
+                    }
+                    pending--;
+                    try {
+                        Optional<Transfer> transfer = future.get();
+                        if (transfer.isPresent()) {
+                            return transfer;
+                        }
+                        missing = true;
+                    } catch (ExecutionException e) {
+                        IOException exception = e.getCause() instanceof IOException cause
+                                ? cause
+                                : new IOException("Failed to fetch from mirror", e.getCause());
+                        if (failure == null) {
+                            failure = exception;
+                        } else {
+                            failure.addSuppressed(exception);
+                        }
+                    }
+                    if (pending == 0 && !missing && futures.size() < attempts) {
+                        futures.add(launch.get());
+                        pending++;
                     }
-                    buffer.clear();
                 }
+            } catch (InterruptedException _) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while fetching from mirrors");
+            } finally {
+                settled.set(true);
+                futures.forEach(future -> future.cancel(true));
             }
-            String invalid = null;
-            Map<LazyRepositoryItem, byte[]> results = new HashMap<>();
-            for (Map.Entry<LazyRepositoryItem, MessageDigest> entry : digests.entrySet()) {
-                Optional<InputStream> candidate = entry.getKey().toLazyInputStream();
-                if (candidate.isPresent()) {
-                    byte[] expected;
-                    try (InputStream inputStream = candidate.get()) {
-                        expected = inputStream.readAllBytes();
-                    }
-                    results.put(entry.getKey(), expected);
-                    String text = new String(expected, StandardCharsets.UTF_8).strip();
-                    int end = 0;
-                    while (end < text.length() && !Character.isWhitespace(text.charAt(end))) {
-                        end++;
+            if (missing) {
+                return Optional.empty();
+            }
+            throw failure;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Attempt {
+
+        Optional<Transfer> apply(int index) throws IOException;
+    }
+
+    private record Transfer(URI uri, Path file, Map<String, MessageDigest> digests) {
+    }
+
+    private record Validation(String algorithm,
+                              byte[] pinned,
+                              SequencedMap<String, LazyRepositoryItem> sidecars,
+                              Set<String> published,
+                              AtomicReference<CompletableFuture<Map.Entry<String, byte[]>>> requested) {
+
+        private Map<String, MessageDigest> digests() {
+            Map<String, MessageDigest> digests = new LinkedHashMap<>();
+            try {
+                if (pinned != null) {
+                    digests.put(algorithm, MessageDigest.getInstance(algorithm));
+                }
+                for (String algorithm : sidecars.keySet()) {
+                    digests.put(algorithm, MessageDigest.getInstance(algorithm));
+                }
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+            return digests;
+        }
+
+        private CompletableFuture<Map.Entry<String, byte[]>> expected() {
+            if (pinned != null) {
+                return CompletableFuture.completedFuture(Map.entry(algorithm, pinned));
+            }
+            if (sidecars.isEmpty()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Map.Entry<String, byte[]>> future = new CompletableFuture<>();
+            if (!requested.compareAndSet(null, future)) {
+                return requested.get();
+            }
+            Map.Entry<String, LazyRepositoryItem> first = sidecars.firstEntry();
+            try {
+                Thread.ofVirtual().name("jenesis-sidecar").start(() -> {
+                    try {
+                        future.complete(read(first.getKey(), first.getValue()));
+                    } catch (Throwable t) {
+                        future.completeExceptionally(t);
                     }
-                    if (!Arrays.equals(
-                            HexFormat.of().parseHex(text.substring(0, end)),
-                            entry.getValue().digest())) {
-                        invalid = entry.getValue().getAlgorithm();
-                        break;
+                });
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+            return future;
+        }
+
+        private String verify(CompletableFuture<Map.Entry<String, byte[]>> expected,
+                              Map<String, MessageDigest> digests) throws IOException {
+            Map.Entry<String, byte[]> checksum = SingleFlight.await(expected);
+            if (checksum == null) {
+                boolean probed = false;
+                for (Map.Entry<String, LazyRepositoryItem> entry : sidecars.sequencedEntrySet()) {
+                    if (probed) {
+                        checksum = read(entry.getKey(), entry.getValue());
+                        if (checksum != null) {
+                            break;
+                        }
                     }
+                    probed = true;
                 }
             }
-            if (invalid != null) {
-                for (LazyRepositoryItem item : digests.keySet()) {
-                    item.deleteIfPresent();
+            if (checksum == null) {
+                return null;
+            }
+            byte[] hash = pinned == null ? toHash(checksum.getValue()) : checksum.getValue();
+            if (!Arrays.equals(hash, digests.get(checksum.getKey()).digest())) {
+                if (pinned == null) {
+                    try {
+                        sidecars.get(checksum.getKey()).deleteIfPresent();
+                    } catch (IOException _) {
+                    }
                 }
-                throw new IllegalStateException("Failed checksum validation for " + invalid);
+                return checksum.getKey();
             }
-            for (Map.Entry<LazyRepositoryItem, byte[]> entry : results.entrySet()) {
-                entry.getKey().storeIfNotPresent(entry.getValue());
+            if (pinned == null) {
+                sidecars.get(checksum.getKey()).storeIfNotPresent(checksum.getValue());
             }
-        } catch (Throwable t) {
-            Files.deleteIfExists(temporary);
-            throw t;
+            return null;
+        }
+
+        private Map.Entry<String, byte[]> read(String algorithm, LazyRepositoryItem sidecar) throws IOException {
+            Optional<InputStream> candidate = sidecar.toLazyInputStream();
+            if (candidate.isEmpty()) {
+                return null;
+            }
+            byte[] bytes;
+            try (InputStream inputStream = candidate.get()) {
+                bytes = inputStream.readAllBytes();
+            }
+            published.add(algorithm);
+            return Map.entry(algorithm, bytes);
+        }
+
+        private static byte[] toHash(byte[] bytes) {
+            String text = new String(bytes, StandardCharsets.UTF_8).strip();
+            int end = 0;
+            while (end < text.length() && !Character.isWhitespace(text.charAt(end))) {
+                end++;
+            }
+            return HexFormat.of().parseHex(text.substring(0, end));
         }
-        return Optional.of(temporary);
     }
 
     private static Path move(Path source, Path target) throws IOException {
@@ -491,8 +811,9 @@ public class MavenDefaultRepository implements MavenRepository {
     }
 
     record LatentRepositoryItem(Path path,
-                                URI uri,
-                                Map<LazyRepositoryItem, MessageDigest> digests,
+                                List<URI> uris,
+                                Hedge hedge,
+                                Validation validation,
                                 String prefix,
                                 String suffix,
                                 String token,
@@ -520,7 +841,7 @@ public class MavenDefaultRepository implements MavenRepository {
 
         @Override
         public Optional<InputStream> toLazyInputStream() throws IOException {
-            Optional<Path> temporary = download(uri, digests, prefix, suffix, token, retry, null);
+            Optional<Path> temporary = download(uris, hedge, validation, prefix, suffix, token, retry, null, null);
             if (temporary.isEmpty()) {
                 return Optional.empty();
             }
@@ -550,7 +871,15 @@ public class MavenDefaultRepository implements MavenRepository {
                 return LazyRepositoryItem.super.materialize();
             }
             Files.createDirectories(path.getParent());
-            Optional<Path> temporary = download(uri, digests, prefix, suffix, token, retry, path.getParent());
+            Optional<Path> temporary = download(uris,
+                    hedge,
+                    validation,
+                    prefix,
+                    suffix,
+                    token,
+                    retry,
+                    path.getParent(),
+                    path.resolveSibling(path.getFileName() + ".part"));
             if (temporary.isEmpty()) {
                 return Optional.empty();
             }
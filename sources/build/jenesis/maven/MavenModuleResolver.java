@@ -8,12 +8,14 @@ import build.jenesis.RepositoryItem;
 import build.jenesis.PathPlacement;
 import build.jenesis.Resolver;
 import build.jenesis.SequencedProperties;
+import build.jenesis.SingleFlight;
 
 public class MavenModuleResolver implements Resolver {
 
     private final String mavenPrefix;
     private final MavenResolver delegate;
     private final transient Repository discovery;
+    private final transient SingleFlight<Resolver.Request, MavenResolver.Closure> closures = new SingleFlight<>();
 
     public MavenModuleResolver(String mavenPrefix, MavenResolver delegate, Repository discovery) {
         this.mavenPrefix = mavenPrefix;
@@ -26,6 +28,12 @@ public class MavenModuleResolver implements Resolver {
         return new LinkedHashSet<>(Set.of(mavenPrefix));
     }
 
+    @Override
+    public void reset() {
+        closures.clear();
+        delegate.reset();
+    }
+
     @Override
     public Resolver.Bom bom(Executor executor,
                             String prefix,
@@ -100,57 +108,8 @@ public class MavenModuleResolver implements Resolver {
                                             SequencedMap<String, SequencedSet<String>> coordinates,
                                             SequencedMap<String, String> versions,
                                             DependencyScope scope) throws IOException {
-        Repository repository = repositories.getOrDefault(Resolver.base(prefix), discovery);
-        List<MavenResolver.RootPom> rootPoms = new ArrayList<>();
-        List<MavenResolver.RootPom> managedPoms = new ArrayList<>();
-        SequencedMap<MavenDependencyKey, MavenDependencyValue> mavenPins = new LinkedHashMap<>();
-        try {
-            for (Map.Entry<String, SequencedSet<String>> entry : coordinates.entrySet()) {
-                rootPoms.add(toRootPom(executor,
-                        repository,
-                        entry.getKey(),
-                        versions.get(entry.getKey()),
-                        entry.getKey(),
-                        entry.getValue()));
-            }
-            for (Map.Entry<String, String> pin : versions.entrySet()) {
-                if (coordinates.containsKey(pin.getKey())) {
-                    continue;
-                }
-                if (pin.getKey().indexOf('/') < 0) {
-                    managedPoms.add(toRootPom(executor,
-                            repository,
-                            pin.getKey(),
-                            pin.getValue(),
-                            null,
-                            Collections.emptyNavigableSet()));
-                } else {
-                    MavenDependencyValue managed = toManagedValue(pin.getKey(), pin.getValue());
-                    if (managed != null) {
-                        mavenPins.put(MavenDependencyKey.parseKey(pin.getKey()), managed);
-                    }
-                }
-            }
-        } catch (RuntimeException | IOException e) {
-            for (MavenResolver.RootPom opened : rootPoms) {
-                try {
-                    opened.pom().close();
-                } catch (IOException suppressed) {
-                    e.addSuppressed(suppressed);
-                }
-            }
-            for (MavenResolver.RootPom opened : managedPoms) {
-                try {
-                    opened.pom().close();
-                } catch (IOException suppressed) {
-                    e.addSuppressed(suppressed);
-                }
-            }
-            throw e;
-        }
-        MavenRepository mavenRepo = MavenRepository.of(repositories.getOrDefault(mavenPrefix, Repository.empty()));
-        MavenResolver.Closure resolution = delegate.dependencies(
-                executor, mavenRepo, rootPoms, managedPoms, mavenPins, MavenDependencyScope.COMPILE, mavenPrefix);
+        MavenResolver.Closure resolution = closures.get(Resolver.Request.of(prefix, repositories, coordinates, versions, scope),
+                () -> closure(executor, prefix, repositories, coordinates, versions));
         SequencedMap<MavenDependencyKey, MavenDependencyValue> closure = resolution.dependencies();
         SequencedMap<String, String> result = new LinkedHashMap<>();
         closure.forEach((key, value) -> result.put(
@@ -164,7 +123,7 @@ public class MavenModuleResolver implements Resolver {
                 return;
             }
             Resolver.Resolved root = materialized.get(key.coordinate(mavenPrefix, value.version()));
-            if (root != null && !root.internal()) {
+            if (root != null && root.file() != null && !root.internal()) {
                 materialized.putIfAbsent("module/" + module + "/" + value.version(),
                         new Resolver.Resolved(root.file(), "", root.internal()));
             }
@@ -174,7 +133,7 @@ public class MavenModuleResolver implements Resolver {
         closure.forEach((key, value) -> {
             String withVersion = key.coordinate(mavenPrefix, value.version());
             Resolver.Resolved artifact = materialized.get(withVersion);
-            if (artifact != null) {
+            if (artifact != null && artifact.file() != null) {
                 pending.add(CompletableFuture.runAsync(() -> {
                     ModuleDescriptor descriptor = PathPlacement.moduleDescriptor(artifact.file());
                     if (descriptor != null) {
@@ -215,6 +174,64 @@ public class MavenModuleResolver implements Resolver {
         return new Resolver.Resolution(materialized, resolution.edges(), nodes);
     }
 
+    private MavenResolver.Closure closure(Executor executor,
+                                         String prefix,
+                                         Map<String, Repository> repositories,
+                                         SequencedMap<String, SequencedSet<String>> coordinates,
+                                         SequencedMap<String, String> versions) throws IOException {
+        Repository repository = repositories.getOrDefault(Resolver.base(prefix), discovery);
+        List<MavenResolver.RootPom> rootPoms = new ArrayList<>();
+        List<MavenResolver.RootPom> managedPoms = new ArrayList<>();
+        SequencedMap<MavenDependencyKey, MavenDependencyValue> mavenPins = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<String, SequencedSet<String>> entry : coordinates.entrySet()) {
+                rootPoms.add(toRootPom(executor,
+                        repository,
+                        entry.getKey(),
+                        versions.get(entry.getKey()),
+                        entry.getKey(),
+                        entry.getValue()));
+            }
+            for (Map.Entry<String, String> pin : versions.entrySet()) {
+                if (coordinates.containsKey(pin.getKey())) {
+                    continue;
+                }
+                if (pin.getKey().indexOf('/') < 0) {
+                    managedPoms.add(toRootPom(executor,
+                            repository,
+                            pin.getKey(),
+                            pin.getValue(),
+                            null,
+                            Collections.emptyNavigableSet()));
+                } else {
+                    MavenDependencyValue managed = toManagedValue(pin.getKey(), pin.getValue());
+                    if (managed != null) {
+                        mavenPins.put(MavenDependencyKey.parseKey(pin.getKey()), managed);
+                    }
+                }
+            }
+        } catch (RuntimeException | IOException e) {
+            for (MavenResolver.RootPom opened : rootPoms) {
+                try {
+                    opened.pom().close();
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+            }
+            for (MavenResolver.RootPom opened : managedPoms) {
+                try {
+                    opened.pom().close();
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+            }
+            throw e;
+        }
+        MavenRepository mavenRepo = MavenRepository.of(repositories.getOrDefault(mavenPrefix, Repository.empty()));
+        return delegate.dependencies(
+                executor, mavenRepo, rootPoms, managedPoms, mavenPins, MavenDependencyScope.COMPILE, mavenPrefix);
+    }
+
     private MavenResolver.RootPom toRootPom(Executor executor,
                                             Repository repository,
                                             String coordinate,
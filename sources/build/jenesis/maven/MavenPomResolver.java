@@ -9,6 +9,7 @@ import build.jenesis.License;
 import build.jenesis.PathPlacement;
 import build.jenesis.Platform;
 import build.jenesis.Resolver;
+import build.jenesis.SingleFlight;
 
 public class MavenPomResolver implements MavenResolver {
 
@@ -19,6 +20,8 @@ public class MavenPomResolver implements MavenResolver {
 
     private final Supplier<MavenVersionNegotiator> negotiatorSupplier;
     private final transient DocumentBuilderFactory factory = MavenDefaultVersionNegotiator.toDocumentBuilderFactory();
+    private final transient SingleFlight<Resolver.Request, Traversal> traversals = new SingleFlight<>();
+    private final transient Map<Object, Poms> poms = new ConcurrentHashMap<>();
 
     public MavenPomResolver() {
         String property = System.getProperty("jenesis.resolver.maven", "maven");
@@ -37,6 +40,12 @@ public class MavenPomResolver implements MavenResolver {
         this.negotiatorSupplier = negotiatorSupplier;
     }
 
+    @Override
+    public void reset() {
+        traversals.clear();
+        poms.clear();
+    }
+
     @Override
     public Resolver.Resolution dependencies(Executor executor,
                                             String prefix,
@@ -97,12 +106,16 @@ public class MavenPomResolver implements MavenResolver {
                         "No version pinned for " + coordinate + " (add to dependencyManagement)");
             }
         });
-        Traversal traversal = dependencies(executor,
-                MavenRepository.of(repositories.getOrDefault(Resolver.base(prefix), Repository.empty())),
-                new ContextualPom(new ResolvedPom(managedDependencies, dependencies, List.of()), true, null, Set.of(), null, null),
-                new HashMap<>(),
-                new HashMap<>(),
-                prefix);
+        Repository repository = repositories.getOrDefault(Resolver.base(prefix), Repository.empty());
+        Poms shared = poms.computeIfAbsent(repository.origin(),
+                _ -> new Poms(new ConcurrentHashMap<>(), new ConcurrentHashMap<>()));
+        Traversal traversal = traversals.get(Resolver.Request.of(prefix, repositories, coordinates, versions, scope),
+                () -> dependencies(executor,
+                        MavenRepository.of(repository),
+                        new ContextualPom(new ResolvedPom(managedDependencies, dependencies, List.of()), true, null, Set.of(), null, null),
+                        shared.unresolved(),
+                        shared.resolved(),
+                        prefix));
         SequencedMap<String, String> resolved = new LinkedHashMap<>();
         traversal.dependencies().forEach((key, value) -> resolved.put(
                 key.coordinate(prefix, value.version()),
@@ -113,7 +126,7 @@ public class MavenPomResolver implements MavenResolver {
         traversal.dependencies().forEach((key, value) -> {
             String withVersion = key.coordinate(prefix, value.version());
             Resolver.Resolved artifact = artifacts.get(withVersion);
-            if (artifact != null) {
+            if (artifact != null && artifact.file() != null) {
                 pending.add(CompletableFuture.runAsync(() -> {
                     ModuleDescriptor descriptor = PathPlacement.moduleDescriptor(artifact.file());
                     if (descriptor != null) {
@@ -762,62 +775,86 @@ public class MavenPomResolver implements MavenResolver {
                                            Map<DependencyCoordinate, UnresolvedPom> poms) throws IOException {
         DependencyCoordinate coordinates = new DependencyCoordinate(groupId, artifactId, version);
         UnresolvedPom pom = poms.get(coordinates);
-        if (pom == null) {
-            try {
-                RepositoryItem candidate = repository.fetch(executor,
-                        groupId,
+        if (pom != null && checksum == null) {
+            return pom;
+        }
+        try {
+            RepositoryItem candidate = repository.fetch(executor,
+                    groupId,
+                    artifactId,
+                    version,
+                    "pom",
+                    null,
+                    null).orElse(null);
+            if (pom != null) {
+                if (candidate != null) {
+                    verify(candidate.toInputStream(), checksum, groupId, artifactId, version).close();
+                }
+                return pom;
+            }
+            if (candidate == null) {
+                pom = new UnresolvedPom(groupId,
                         artifactId,
                         version,
-                        "pom",
                         null,
-                        null).orElse(null);
-                if (candidate == null) {
-                    pom = new UnresolvedPom(groupId,
-                            artifactId,
-                            version,
-                            null,
-                            null,
-                            null,
-                            null,
-                            null,
-                            null,
-                            Map.of(),
-                            Map.of(),
-                            Collections.emptyNavigableMap(),
-                            new LinkedHashMap<>(),
-                            new LinkedHashMap<>(),
-                            List.of());
-                } else {
-                    Path localPath = candidate.file().map(Path::getParent).orElse(null);
-                    Map<Path, UnresolvedPom> localPaths = localPath == null ? null : new HashMap<>();
-                    if (checksum != null) {
-                        int separator = checksum.indexOf('/');
-                        if (separator < 0) {
-                            throw new IllegalArgumentException(
-                                    "Malformed POM checksum for " + groupId + ":" + artifactId + ":" + version
-                                            + " (expected <algorithm>/<hex>): " + checksum);
-                        }
-                        String algorithm = checksum.substring(0, separator);
-                        String expected = checksum.substring(separator + 1);
-                        MessageDigest digest;
-                        try {
-                            digest = MessageDigest.getInstance(algorithm);
-                        } catch (NoSuchAlgorithmException e) {
-                            throw new IllegalStateException(e);
-                        }
-                        DigestInputStream digestStream = new DigestInputStream(candidate.toInputStream(), digest);
-                        pom = assemble(executor, repository, drainAndValidate(digestStream, digest, expected,
-                                groupId, artifactId, version), false, false, localPath, localPaths, children, poms);
-                    } else {
-                        pom = assemble(executor, repository, candidate.toInputStream(), false, false, localPath, localPaths, children, poms);
-                    }
-                }
-            } catch (RuntimeException | SAXException | ParserConfigurationException e) {
-                throw new IllegalStateException("Failed to resolve " + groupId + ":" + artifactId + ":" + version, e);
+                        null,
+                        null,
+                        null,
+                        null,
+                        null,
+                        Map.of(),
+                        Map.of(),
+                        Collections.emptyNavigableMap(),
+                        new LinkedHashMap<>(),
+                        new LinkedHashMap<>(),
+                        List.of());
+            } else {
+                Path localPath = candidate.file().map(Path::getParent).orElse(null);
+                Map<Path, UnresolvedPom> localPaths = localPath == null ? null : new HashMap<>();
+                pom = assemble(executor,
+                        repository,
+                        checksum == null
+                                ? candidate.toInputStream()
+                                : verify(candidate.toInputStream(), checksum, groupId, artifactId, version),
+                        false,
+                        false,
+                        localPath,
+                        localPaths,
+                        children,
+                        poms);
             }
-            poms.put(coordinates, pom);
+        } catch (RuntimeException | SAXException | ParserConfigurationException e) {
+            throw new IllegalStateException("Failed to resolve " + groupId + ":" + artifactId + ":" + version, e);
         }
-        return pom;
+        UnresolvedPom previous = poms.putIfAbsent(coordinates, pom);
+        return previous == null ? pom : previous;
+    }
+
+    private static InputStream verify(InputStream inputStream,
+                                      String checksum,
+                                      String groupId,
+                                      String artifactId,
+                                      String version) throws IOException {
+        int separator = checksum.indexOf('/');
+        if (separator < 0) {
+            inputStream.close();
+            throw new IllegalArgumentException(
+                    "Malformed POM checksum for " + groupId + ":" + artifactId + ":" + version
+                            + " (expected <algorithm>/<hex>): " + checksum);
+        }
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(checksum.substring(0, separator));
+        } catch (NoSuchAlgorithmException e) {
+            inputStream.close();
+            throw new IllegalStateException(e);
+        }
+        return drainAndValidate(new DigestInputStream(inputStream, digest),
+                digest,
+                checksum.substring(separator + 1),
+                groupId,
+                artifactId,
+                version);
     }
 
     private static InputStream drainAndValidate(DigestInputStream stream,
@@ -1291,6 +1328,10 @@ public class MavenPomResolver implements MavenResolver {
                              SequencedMap<String, List<License>> licenses) {
     }
 
+    private record Poms(Map<DependencyCoordinate, UnresolvedPom> unresolved,
+                        Map<DependencyCoordinate, ResolvedPom> resolved) {
+    }
+
     private static class DependencyResolution {
         private final SequencedSet<String> observedVersions = new LinkedHashSet<>();
         private final Map<String, String> checksums = new HashMap<>();
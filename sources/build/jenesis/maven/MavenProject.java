@@ -23,6 +23,7 @@ import build.jenesis.step.Bind;
 import build.jenesis.step.Dependencies;
 import build.jenesis.step.Inventory;
 import build.jenesis.step.Javac;
+import build.jenesis.step.Materialize;
 
 import static build.jenesis.BuildStep.IDENTITY;
 import static build.jenesis.project.MultiProjectModule.ARTIFACTS;
@@ -41,6 +42,7 @@ public class MavenProject implements BuildExecutorModule {
     public static final String POM = "pom/", MAVEN = "maven/";
 
     private static final String SCAN = "scan";
+    private static final String RESOLVE = "resolve";
     private static final String SIBLING_MODULE_PREFIX = MultiProjectModule.MODULE + "-";
 
     private final Path root;
@@ -98,6 +100,12 @@ public class MavenProject implements BuildExecutorModule {
                                            MultiProjectAssembler<? super MavenModuleDescriptor> assembler) {
         MavenRepository repository = MavenRepository.of(requireNonNull(repositories.get(prefix)));
         MavenResolver resolver = MavenResolver.of(resolvers.get(prefix));
+        boolean lazy = Boolean.getBoolean("jenesis.dependencies.lazy");
+        Map<String, Repository> deferredRepositories = new HashMap<>(repositories);
+        if (lazy) {
+            deferredRepositories.put(prefix, repository.deferred(coordinate ->
+                    !"pom".equals(MavenDependencyKey.parse(coordinate).key().type())));
+        }
         return new MultiProjectModule(new MavenProject(root, prefix, repository, resolver).group(group),
                 identifier -> Optional.of(identifier.substring(0, identifier.indexOf('/'))),
                 _ -> (name, dependencies, arguments) -> {
@@ -107,21 +115,21 @@ public class MavenProject implements BuildExecutorModule {
                         spdxInherited.add(BuildExecutorModule.PREVIOUS + MultiProjectModule.SPDX + "-" + index);
                     }
                     AssemblyDescriptor packaging = assembler.apply(
-                            new MavenModuleDescriptor(name, dependencies.sequencedKeySet(), Collections.emptyNavigableSet(), spdxInherited, location),
+                            new MavenModuleDescriptor(name, dependencies.sequencedKeySet(), Collections.emptyNavigableSet(), spdxInherited, location, lazy),
                             repositories,
                             resolvers);
                     AssemblyDescriptor assembly = new AssemblyDescriptor((buildExecutor, inherited) -> {
-                    Map<String, Repository> mergedRepositories = Repository.prepend(repositories,
-                            Repository.ofProperties(BuildStep.IDENTITY,
-                                    inherited.entrySet().stream()
-                                            .filter(entry ->
-                                                    (entry.getKey().startsWith(PREVIOUS + SIBLING_MODULE_PREFIX)
-                                                            || entry.getKey().startsWith(PREVIOUS + "test-" + SIBLING_MODULE_PREFIX))
-                                                            && entry.getKey().endsWith("/" + ASSIGN))
-                                            .map(Map.Entry::getValue)
-                                            .toList(),
-                                    (folder, file) -> folder.resolve(file).normalize().toUri(),
-                                    null));
+                    Map<String, Repository> siblings = Repository.ofProperties(BuildStep.IDENTITY,
+                            inherited.entrySet().stream()
+                                    .filter(entry ->
+                                            (entry.getKey().startsWith(PREVIOUS + SIBLING_MODULE_PREFIX)
+                                                    || entry.getKey().startsWith(PREVIOUS + "test-" + SIBLING_MODULE_PREFIX))
+                                                    && entry.getKey().endsWith("/" + ASSIGN))
+                                    .map(Map.Entry::getValue)
+                                    .toList(),
+                            (folder, file) -> folder.resolve(file).normalize().toUri(),
+                            null);
+                    Map<String, Repository> mergedRepositories = Repository.prepend(repositories, siblings);
                     SequencedSet<String> spdxSources = new LinkedHashSet<>();
                     int spdxIndex = 0;
                     for (Path file : spdx) {
@@ -145,9 +153,17 @@ public class MavenProject implements BuildExecutorModule {
                         SequencedSet<String> artifactInputs = new LinkedHashSet<>();
                         artifactInputs.add(PREPARE);
                         artifactInputs.addAll(spdxSources);
-                        depExec.addStep(ARTIFACTS,
-                                new Dependencies(mergedRepositories, resolvers).pinning(pinning),
-                                artifactInputs);
+                        if (lazy) {
+                            depExec.addStep(RESOLVE,
+                                    new Dependencies(Repository.prepend(deferredRepositories, siblings), resolvers)
+                                            .pinning(pinning),
+                                    artifactInputs);
+                            depExec.addStep(ARTIFACTS, new Materialize(mergedRepositories), RESOLVE);
+                        } else {
+                            depExec.addStep(ARTIFACTS,
+                                    new Dependencies(mergedRepositories, resolvers).pinning(pinning),
+                                    artifactInputs);
+                        }
                     }, dependencyDeps);
                     SequencedMap<String, String> produceDeps = new LinkedHashMap<>();
                     produceDeps.put(MultiProjectModule.IDENTIFIER_PATH + name + "/" + SOURCES, SOURCES);
@@ -163,6 +179,9 @@ public class MavenProject implements BuildExecutorModule {
                         }
                     }
                     produceDeps.put(DEPENDENCIES + "/" + ARTIFACTS, DEPENDENCIES + "/" + ARTIFACTS);
+                    if (lazy) {
+                        produceDeps.put(DEPENDENCIES + "/" + RESOLVE, DEPENDENCIES + "/" + RESOLVE);
+                    }
                     for (String source : spdxSources) {
                         produceDeps.put(source, source);
                     }
@@ -170,7 +189,7 @@ public class MavenProject implements BuildExecutorModule {
                         produceDeps.putIfAbsent(key, key);
                     }
                     buildExecutor.addModule(PRODUCE,
-                            assembler.apply(new MavenModuleDescriptor(name, dependencies.sequencedKeySet(), resources, spdxInherited, location),
+                            assembler.apply(new MavenModuleDescriptor(name, dependencies.sequencedKeySet(), resources, spdxInherited, location, lazy),
                                     mergedRepositories,
                                     resolvers).build(),
                             produceDeps);
@@ -730,7 +749,16 @@ public class MavenProject implements BuildExecutorModule {
                                         SequencedSet<String> dependencies,
                                         SequencedSet<String> resources,
                                         SequencedSet<String> spdx,
-                                        Path location) implements ProjectModule {
+                                        Path location,
+                                        boolean lazy) implements ProjectModule {
+
+        public MavenModuleDescriptor(String name,
+                                     SequencedSet<String> dependencies,
+                                     SequencedSet<String> resources,
+                                     SequencedSet<String> spdx,
+                                     Path location) {
+            this(name, dependencies, resources, spdx, location, false);
+        }
 
         public List<Path> configurations() {
             if (location == null) {
@@ -763,6 +791,11 @@ public class MavenProject implements BuildExecutorModule {
             return of(BuildExecutorModule.PREVIOUS + DEPENDENCIES + "/" + ARTIFACTS);
         }
 
+        @Override
+        public SequencedSet<String> resolutions() {
+            return lazy ? of(BuildExecutorModule.PREVIOUS + DEPENDENCIES + "/" + RESOLVE) : artifacts();
+        }
+
         private static SequencedSet<String> of(String value) {
             return Collections.unmodifiableSequencedSet(new LinkedHashSet<>(List.of(value)));
         }
@@ -3,6 +3,7 @@ package build.jenesis.maven;
 import module java.base;
 import build.jenesis.Repository;
 import build.jenesis.RepositoryItem;
+import build.jenesis.RepositorySnapshot;
 
 @FunctionalInterface
 public interface MavenRepository extends Repository {
@@ -46,6 +47,20 @@ public interface MavenRepository extends Repository {
                         new MavenDependencyKey(groupId, artifactId, type, classifier).coordinate(null, version));
             }
 
+            @Override
+            public Optional<RepositoryItem> fetch(Executor executor, String coordinate, String checksum) throws IOException {
+                MavenDependencyKey.Versioned parsed = MavenDependencyKey.parse(coordinate);
+                return cached.fetch(executor, parsed.key().coordinate(null, parsed.version()), checksum);
+            }
+
+            @Override
+            public CompletableFuture<Optional<RepositoryItem>> fetchAsync(Executor executor,
+                                                                         String coordinate,
+                                                                         String checksum) {
+                MavenDependencyKey.Versioned parsed = MavenDependencyKey.parse(coordinate);
+                return cached.fetchAsync(executor, parsed.key().coordinate(null, parsed.version()), checksum);
+            }
+
             @Override
             public Optional<RepositoryItem> fetchMetadata(Executor executor,
                                                           String groupId,
@@ -80,6 +95,12 @@ public interface MavenRepository extends Repository {
                         : MavenRepository.this.fetch(executor, groupId, artifactId, version, type, classifier, checksum);
             }
 
+            @Override
+            public Optional<RepositoryItem> fetch(Executor executor, String coordinate, String checksum) throws IOException {
+                Optional<RepositoryItem> candidate = mavenRepository.fetch(executor, coordinate, checksum);
+                return candidate.isPresent() ? candidate : MavenRepository.this.fetch(executor, coordinate, checksum);
+            }
+
             @Override
             public Optional<RepositoryItem> fetchMetadata(Executor executor,
                                                           String groupId,
@@ -149,6 +170,13 @@ public interface MavenRepository extends Repository {
                         : Optional.empty();
             }
 
+            @Override
+            public Optional<RepositoryItem> fetch(Executor executor, String coordinate, String checksum) throws IOException {
+                return predicate.test(MavenDependencyKey.parse(coordinate).key().groupId())
+                        ? MavenRepository.this.fetch(executor, coordinate, checksum)
+                        : Optional.empty();
+            }
+
             @Override
             public Optional<RepositoryItem> fetchMetadata(Executor executor,
                                                           String groupId,
@@ -161,6 +189,54 @@ public interface MavenRepository extends Repository {
         };
     }
 
+    @Override
+    default MavenRepository deferred(Predicate<String> deferrable) {
+        Repository deferred = Repository.super.deferred(deferrable);
+        return new MavenRepository() {
+            @Override
+            public Optional<RepositoryItem> fetch(Executor executor,
+                                                  String groupId,
+                                                  String artifactId,
+                                                  String version,
+                                                  String type,
+                                                  String classifier,
+                                                  String checksum) throws IOException {
+                if (!deferrable.test(new MavenDependencyKey(groupId, artifactId, type, classifier).coordinate(null, version))) {
+                    return MavenRepository.this.fetch(executor, groupId, artifactId, version, type, classifier, checksum);
+                }
+                return Optional.of(RepositoryItem.ofDeferred(() -> MavenRepository.this.fetch(executor,
+                                groupId,
+                                artifactId,
+                                version,
+                                type,
+                                classifier,
+                                checksum)
+                        .orElseThrow(() -> new FileNotFoundException("Unresolved: " + groupId + "/" + artifactId + "/" + version))
+                        .toInputStream()));
+            }
+
+            @Override
+            public Optional<RepositoryItem> fetch(Executor executor, String coordinate, String checksum) throws IOException {
+                return deferred.fetch(executor, coordinate, checksum);
+            }
+
+            @Override
+            public CompletableFuture<Optional<RepositoryItem>> fetchAsync(Executor executor,
+                                                                         String coordinate,
+                                                                         String checksum) {
+                return deferred.fetchAsync(executor, coordinate, checksum);
+            }
+
+            @Override
+            public Optional<RepositoryItem> fetchMetadata(Executor executor,
+                                                          String groupId,
+                                                          String artifactId,
+                                                          String checksum) throws IOException {
+                return MavenRepository.this.fetchMetadata(executor, groupId, artifactId, checksum);
+            }
+        };
+    }
+
     Optional<RepositoryItem> fetch(Executor executor,
                                    String groupId,
                                    String artifactId,
@@ -196,4 +272,50 @@ public interface MavenRepository extends Repository {
             return candidate;
         };
     }
+
+    static MavenRepository of(RepositorySnapshot snapshot) {
+        MavenRepository repository = of((Repository) snapshot);
+        return new MavenRepository() {
+            @Override
+            public Optional<RepositoryItem> fetch(Executor executor,
+                                                  String groupId,
+                                                  String artifactId,
+                                                  String version,
+                                                  String type,
+                                                  String classifier,
+                                                  String checksum) throws IOException {
+                return repository.fetch(executor, groupId, artifactId, version, type, classifier, checksum);
+            }
+
+            @Override
+            public Optional<RepositoryItem> fetchMetadata(Executor executor,
+                                                          String groupId,
+                                                          String artifactId,
+                                                          String checksum) {
+                if (checksum != null) {
+                    return Optional.empty();
+                }
+                List<String> versions = snapshot.coordinates(groupId + "/" + artifactId + "/").stream()
+                        .map(coordinate -> MavenDependencyKey.tryParse(coordinate).version())
+                        .filter(version -> version != null && version.chars().noneMatch(character -> "<>&".indexOf(character) >= 0))
+                        .distinct()
+                        .sorted(MavenDefaultVersionNegotiator::compareVersions)
+                        .toList();
+                if (versions.isEmpty()) {
+                    return Optional.empty();
+                }
+                StringBuilder metadata = new StringBuilder("<metadata><versioning><latest>")
+                        .append(versions.getLast())
+                        .append("</latest>");
+                versions.stream()
+                        .filter(version -> !version.endsWith("-SNAPSHOT"))
+                        .reduce((_, right) -> right)
+                        .ifPresent(release -> metadata.append("<release>").append(release).append("</release>"));
+                metadata.append("<versions>");
+                versions.forEach(version -> metadata.append("<version>").append(version).append("</version>"));
+                byte[] bytes = metadata.append("</versions></versioning></metadata>").toString().getBytes(StandardCharsets.UTF_8);
+                return Optional.of(() -> new ByteArrayInputStream(bytes));
+            }
+        };
+    }
 }
@@ -0,0 +1,183 @@
+package build.jenesis.maven;
+
+import module java.base;
+import build.jenesis.RepositoryItem;
+import build.jenesis.SequencedProperties;
+
+public class MavenRoutingRepository implements MavenRepository {
+
+    private static final String MISS = "miss:";
+
+    private final List<Route> routes;
+    private final Path file;
+    private final Duration ttl;
+    private final InstantSource clock;
+
+    private final ConcurrentMap<String, Long> misses = new ConcurrentHashMap<>();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    public MavenRoutingRepository(List<Route> routes, Path file, Duration ttl) {
+        this(routes, file, ttl, InstantSource.system());
+    }
+
+    public MavenRoutingRepository(List<Route> routes, Path file, Duration ttl, InstantSource clock) {
+        if (routes.isEmpty()) {
+            throw new IllegalArgumentException("No repositories to route between");
+        }
+        this.routes = List.copyOf(routes);
+        this.file = file;
+        this.ttl = ttl;
+        this.clock = clock;
+        if (file != null) {
+            load(file, clock.millis(), misses);
+        }
+    }
+
+    public static void flush() {
+        Iterator<MavenRoutingRepository> iterator = Pending.REPOSITORIES.iterator();
+        while (iterator.hasNext()) {
+            MavenRoutingRepository repository = iterator.next();
+            iterator.remove();
+            repository.save();
+        }
+    }
+
+    @Override
+    public Optional<RepositoryItem> fetch(Executor executor,
+                                          String groupId,
+                                          String artifactId,
+                                          String version,
+                                          String type,
+                                          String classifier,
+                                          String checksum) throws IOException {
+        return route(groupId,
+                new MavenDependencyKey(groupId, artifactId, type, classifier).coordinate(null, version)
+                        + (checksum == null ? "" : "." + checksum),
+                repository -> repository.fetch(executor, groupId, artifactId, version, type, classifier, checksum));
+    }
+
+    @Override
+    public Optional<RepositoryItem> fetch(Executor executor, String coordinate, String checksum) throws IOException {
+        MavenDependencyKey.Versioned parsed = MavenDependencyKey.parse(coordinate);
+        return route(parsed.key().groupId(),
+                parsed.key().coordinate(null, parsed.version()),
+                repository -> repository.fetch(executor, coordinate, checksum));
+    }
+
+    @Override
+    public Optional<RepositoryItem> fetchMetadata(Executor executor,
+                                                  String groupId,
+                                                  String artifactId,
+                                                  String checksum) throws IOException {
+        return route(groupId,
+                groupId + "/" + artifactId + "/maven-metadata.xml" + (checksum == null ? "" : "." + checksum),
+                repository -> repository.fetchMetadata(executor, groupId, artifactId, checksum));
+    }
+
+    private Optional<RepositoryItem> route(String groupId, String coordinate, Lookup lookup) throws IOException {
+        for (Route route : routes) {
+            Optional<RepositoryItem> candidate = attempt(route, groupId, coordinate, lookup);
+            if (candidate.isPresent()) {
+                return candidate;
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Optional<RepositoryItem> attempt(Route route,
+                                             String groupId,
+                                             String coordinate,
+                                             Lookup lookup) throws IOException {
+        if (route.groups() != null && !route.groups().test(groupId)) {
+            return Optional.empty();
+        }
+        String key = route.name() + " " + coordinate;
+        long now = clock.millis();
+        Long expiry = misses.get(key);
+        if (expiry != null) {
+            if (expiry > now) {
+                return Optional.empty();
+            }
+            misses.remove(key, expiry);
+        }
+        Optional<RepositoryItem> candidate = lookup.apply(route.repository());
+        if (candidate.isEmpty() && route.remote() && ttl.isPositive()) {
+            misses.put(key, now + ttl.toMillis());
+            if (file != null && dirty.compareAndSet(false, true)) {
+                Pending.REPOSITORIES.add(this);
+            }
+        }
+        return candidate;
+    }
+
+    private static void load(Path file, long now, Map<String, Long> misses) {
+        if (!Files.exists(file)) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        } catch (IOException | IllegalArgumentException _) {
+            return;
+        }
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(MISS)) {
+                try {
+                    long expiry = Long.parseLong(properties.getProperty(key));
+                    if (expiry > now) {
+                        misses.merge(key.substring(MISS.length()), expiry, Math::max);
+                    }
+                } catch (NumberFormatException _) {
+                }
+            }
+        }
+    }
+
+    private void save() {
+        dirty.set(false);
+        synchronized (MavenRoutingRepository.class) {
+            try (FileChannel channel = FileChannel.open(file.resolveSibling(file.getFileName() + ".lock"),
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE); FileLock _ = channel.lock()) {
+                long now = clock.millis();
+                SortedMap<String, Long> merged = new TreeMap<>();
+                load(file, now, merged);
+                misses.forEach((key, expiry) -> {
+                    if (expiry > now) {
+                        merged.merge(key, expiry, Math::max);
+                    }
+                });
+                SequencedProperties properties = new SequencedProperties();
+                merged.forEach((key, expiry) -> properties.setProperty(MISS + key, Long.toString(expiry)));
+                Path temporary = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+                try {
+                    try (Writer writer = Files.newBufferedWriter(temporary)) {
+                        properties.store(writer, null);
+                    }
+                    Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } finally {
+                    Files.deleteIfExists(temporary);
+                }
+            } catch (IOException _) {
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Lookup {
+
+        Optional<RepositoryItem> apply(MavenRepository repository) throws IOException;
+    }
+
+    public record Route(String name, MavenRepository repository, Predicate<String> groups, boolean remote) {
+    }
+
+    private static class Pending {
+
+        private static final Set<MavenRoutingRepository> REPOSITORIES = ConcurrentHashMap.newKeySet();
+
+        static {
+            Runtime.getRuntime().addShutdownHook(new Thread(MavenRoutingRepository::flush, "jenesis-maven-routes"));
+        }
+    }
+}
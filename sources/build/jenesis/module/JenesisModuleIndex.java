@@ -0,0 +1,319 @@
+package build.jenesis.module;
+
+import module java.base;
+
+public final class JenesisModuleIndex {
+
+    public static final Comparator<String> ORDER = (left, right) -> Arrays.compareUnsigned(
+            left.getBytes(StandardCharsets.UTF_8),
+            right.getBytes(StandardCharsets.UTF_8));
+
+    private static final int MAGIC = 0x4A4D4958, FORMAT = 1, HEADER = 20;
+
+    private final ByteBuffer buffer;
+    private final long version;
+    private final int count;
+
+    private JenesisModuleIndex(ByteBuffer buffer) {
+        if (buffer.limit() < HEADER || buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT) {
+            throw new IllegalArgumentException("Not a module index");
+        }
+        version = buffer.getLong(8);
+        count = buffer.getInt(16);
+        if (count < 0 || HEADER + (long) count * Integer.BYTES > buffer.limit()) {
+            throw new IllegalArgumentException("Truncated module index");
+        }
+        for (int index = 0; index < count; index++) {
+            long offset = buffer.getInt(HEADER + index * Integer.BYTES);
+            if (offset < HEADER || offset + Integer.BYTES > buffer.limit()) {
+                throw new IllegalArgumentException("Truncated module index");
+            }
+            long value = offset + Integer.BYTES + buffer.getInt((int) offset);
+            if (value < offset + Integer.BYTES
+                    || value + Integer.BYTES > buffer.limit()
+                    || value + Integer.BYTES + buffer.getInt((int) value) > buffer.limit()
+                    || buffer.getInt((int) value) < 0) {
+                throw new IllegalArgumentException("Truncated module index");
+            }
+        }
+        this.buffer = buffer;
+    }
+
+    public static JenesisModuleIndex map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new JenesisModuleIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public static OptionalLong version(Path file) throws IOException {
+        long size = Files.size(file);
+        try (DataInputStream offsets = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+             DataInputStream entries = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (size < HEADER || offsets.readInt() != MAGIC || offsets.readInt() != FORMAT) {
+                return OptionalLong.empty();
+            }
+            long version = offsets.readLong();
+            int count = offsets.readInt();
+            long position = HEADER + (long) count * Integer.BYTES;
+            if (count < 0 || position > size) {
+                return OptionalLong.empty();
+            }
+            entries.skipNBytes(position);
+            for (int index = 0; index < count; index++) {
+                if (offsets.readInt() != position || position + 2L * Integer.BYTES > size) {
+                    return OptionalLong.empty();
+                }
+                int key = entries.readInt();
+                if (key < 0 || position + 2L * Integer.BYTES + key > size) {
+                    return OptionalLong.empty();
+                }
+                entries.skipNBytes(key);
+                int value = entries.readInt();
+                position += 2L * Integer.BYTES + key + value;
+                if (value < 0 || position > size) {
+                    return OptionalLong.empty();
+                }
+                entries.skipNBytes(value);
+            }
+            return OptionalLong.of(version);
+        }
+    }
+
+    public static void write(Path file, long version, Map<String, String> entries) throws IOException {
+        try (Output output = new Output(file)) {
+            for (Map.Entry<String, String> entry : entries.entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey(ORDER))
+                    .toList()) {
+                output.append(entry.getKey(), entry.getValue());
+            }
+            output.commit(file, version);
+        }
+    }
+
+    public static void write(Path file, long version, Reader snapshot) throws IOException {
+        try (Output output = new Output(file)) {
+            BufferedReader lines = new BufferedReader(snapshot);
+            String key = null, line;
+            StringBuilder rows = new StringBuilder();
+            while ((line = lines.readLine()) != null) {
+                int tab = line.indexOf('\t');
+                if (tab < 0 || tab == line.length() - 1) {
+                    continue;
+                }
+                String current = line.substring(0, tab);
+                if (!current.equals(key)) {
+                    if (key != null) {
+                        output.append(key, rows.toString());
+                    }
+                    key = current;
+                    rows.setLength(0);
+                }
+                rows.append(line, tab + 1, line.length()).append('\n');
+            }
+            if (key != null) {
+                output.append(key, rows.toString());
+            }
+            output.commit(file, version);
+        }
+    }
+
+    public static void write(Path file, long version, Path base, Reader delta) throws IOException {
+        SortedMap<String, StringBuilder> changes = new TreeMap<>(ORDER);
+        BufferedReader lines = new BufferedReader(delta);
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            int tab = line.indexOf('\t');
+            StringBuilder rows = changes.computeIfAbsent(tab < 0 ? line : line.substring(0, tab),
+                    _ -> new StringBuilder());
+            if (tab >= 0 && tab < line.length() - 1) {
+                rows.append(line, tab + 1, line.length()).append('\n');
+            }
+        }
+        long size = Files.size(base);
+        try (Output output = new Output(file)) {
+            Iterator<Map.Entry<String, StringBuilder>> iterator = changes.entrySet().iterator();
+            Map.Entry<String, StringBuilder> change = iterator.hasNext() ? iterator.next() : null;
+            try (DataInputStream inputStream = new DataInputStream(new BufferedInputStream(Files.newInputStream(base)))) {
+                if (inputStream.readInt() != MAGIC || inputStream.readInt() != FORMAT) {
+                    throw new IOException("Not a module index: " + base);
+                }
+                inputStream.readLong();
+                int count = inputStream.readInt();
+                inputStream.skipNBytes((long) count * Integer.BYTES);
+                for (int index = 0; index < count; index++) {
+                    String key = string(inputStream, size), value = string(inputStream, size);
+                    while (change != null && ORDER.compare(change.getKey(), key) < 0) {
+                        if (!change.getValue().isEmpty()) {
+                            output.append(change.getKey(), change.getValue().toString());
+                        }
+                        change = iterator.hasNext() ? iterator.next() : null;
+                    }
+                    if (change != null && change.getKey().equals(key)) {
+                        if (!change.getValue().isEmpty()) {
+                            output.append(key, change.getValue().toString());
+                        }
+                        change = iterator.hasNext() ? iterator.next() : null;
+                    } else {
+                        output.append(key, value);
+                    }
+                }
+            }
+            for (; change != null; change = iterator.hasNext() ? iterator.next() : null) {
+                if (!change.getValue().isEmpty()) {
+                    output.append(change.getKey(), change.getValue().toString());
+                }
+            }
+            output.commit(file, version);
+        }
+    }
+
+    private static String string(DataInputStream inputStream, long size) throws IOException {
+        int length = inputStream.readInt();
+        if (length < 0 || length > size) {
+            throw new IOException("Truncated module index");
+        }
+        byte[] bytes = new byte[length];
+        inputStream.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public Optional<String> get(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        int index = lowerBound(bytes);
+        return index < count && compare(index, bytes, false) == 0 ? Optional.of(value(index)) : Optional.empty();
+    }
+
+    public SequencedMap<String, String> search(String prefix) {
+        byte[] bytes = prefix.getBytes(StandardCharsets.UTF_8);
+        SequencedMap<String, String> entries = new LinkedHashMap<>();
+        for (int index = lowerBound(bytes); index < count && compare(index, bytes, true) == 0; index++) {
+            entries.put(key(index), value(index));
+        }
+        return entries;
+    }
+
+
+    private int lowerBound(byte[] key) {
+        int low = 0, high = count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare(middle, key, false) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int compare(int index, byte[] key, boolean prefix) {
+        int offset = offset(index), length = buffer.getInt(offset);
+        int limit = prefix ? Math.min(length, key.length) : length;
+        for (int position = 0; position < Math.min(limit, key.length); position++) {
+            int difference = Byte.toUnsignedInt(buffer.get(offset + Integer.BYTES + position))
+                    - Byte.toUnsignedInt(key[position]);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return prefix && length >= key.length ? 0 : Integer.compare(limit, key.length);
+    }
+
+    private String key(int index) {
+        int offset = offset(index);
+        return string(offset + Integer.BYTES, buffer.getInt(offset));
+    }
+
+    private String value(int index) {
+        int offset = offset(index);
+        int value = offset + Integer.BYTES + buffer.getInt(offset);
+        return string(value + Integer.BYTES, buffer.getInt(value));
+    }
+
+    private int offset(int index) {
+        return buffer.getInt(HEADER + index * Integer.BYTES);
+    }
+
+    private String string(int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final class Output implements Closeable {
+
+        private final Path data;
+        private final DataOutputStream entries;
+        private final ByteArrayOutputStream table = new ByteArrayOutputStream();
+        private final DataOutputStream offsets = new DataOutputStream(table);
+        private byte[] previous;
+        private long size;
+        private int count;
+
+        private Output(Path file) throws IOException {
+            data = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".data");
+            entries = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(data)));
+        }
+
+        private void append(String key, String value) throws IOException {
+            byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8), valueBytes = value.getBytes(StandardCharsets.UTF_8);
+            if (previous != null && Arrays.compareUnsigned(previous, keyBytes) >= 0) {
+                throw new IOException("Module index entries are not sorted at " + key);
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Module index exceeds " + Integer.MAX_VALUE + " bytes");
+            }
+            offsets.writeInt((int) size);
+            entries.writeInt(keyBytes.length);
+            entries.write(keyBytes);
+            entries.writeInt(valueBytes.length);
+            entries.write(valueBytes);
+            size += 2L * Integer.BYTES + keyBytes.length + valueBytes.length;
+            previous = keyBytes;
+            count++;
+        }
+
+        private void commit(Path file, long version) throws IOException {
+            entries.close();
+            long start = HEADER + (long) count * Integer.BYTES;
+            if (start + size > Integer.MAX_VALUE) {
+                throw new IOException("Module index exceeds " + Integer.MAX_VALUE + " bytes");
+            }
+            Path temporary = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+            try {
+                try (DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                    outputStream.writeInt(MAGIC);
+                    outputStream.writeInt(FORMAT);
+                    outputStream.writeLong(version);
+                    outputStream.writeInt(count);
+                    ByteBuffer relative = ByteBuffer.wrap(table.toByteArray());
+                    while (relative.hasRemaining()) {
+                        outputStream.writeInt((int) start + relative.getInt());
+                    }
+                    Files.copy(data, outputStream);
+                }
+                Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (Throwable t) {
+                Files.deleteIfExists(temporary);
+                throw t;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            entries.close();
+            Files.deleteIfExists(data);
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package build.jenesis.module;
 
 import module java.base;
+import build.jenesis.BuildExecutorModule;
 import build.jenesis.Repository;
 import build.jenesis.RepositoryItem;
+import build.jenesis.RepositoryTransport;
 import build.jenesis.SafeSegment;
+import build.jenesis.SingleFlight;
 
 public class JenesisModuleRepository implements JenesisRepository {
 
@@ -12,6 +15,9 @@ public class JenesisModuleRepository implements JenesisRepository {
     private final URI root;
     private final String token;
     private final Repository.Retry retry;
+    private final Path cache;
+    private final Duration freshness;
+    private final SingleFlight<Path, Boolean> revalidations = new SingleFlight<>();
 
     public static JenesisRepository of(Scope scope) {
         String token = System.getProperty("jenesis.module.token", System.getenv("JENESIS_REPOSITORY_TOKEN"));
@@ -27,7 +33,10 @@ public class JenesisModuleRepository implements JenesisRepository {
         } else {
             text = "https://repo.jenesis.build/";
         }
-        JenesisRepository repository = chain(text, visited, scope, token, null);
+        String folder = System.getProperty("jenesis.module.cache");
+        Path cache = folder == null ? local().resolve(".cache") : folder.isEmpty() ? null : Path.of(folder);
+        Duration freshness = Duration.ofMinutes(Long.parseLong(System.getProperty("jenesis.module.cache.ttl", "60")));
+        JenesisRepository repository = chain(text, visited, scope, token, cache, freshness, null);
         if (repository == null) {
             throw new IllegalStateException("No Jenesis module repository is configured by: " + text);
         }
@@ -38,6 +47,8 @@ public class JenesisModuleRepository implements JenesisRepository {
                                            Set<String> visited,
                                            Scope scope,
                                            String token,
+                                           Path cache,
+                                           Duration freshness,
                                            JenesisRepository repository) {
         for (String entry : text.split(",")) {
             String candidate = entry.strip();
@@ -72,7 +83,7 @@ public class JenesisModuleRepository implements JenesisRepository {
                         throw new IllegalStateException("Circular repository reference: @" + name);
                     }
                 }
-                current = chain(value, visited, scope, entryToken, null);
+                current = chain(value, visited, scope, entryToken, cache, freshness, null);
                 if (name != null) {
                     visited.remove(name);
                 }
@@ -80,10 +91,11 @@ public class JenesisModuleRepository implements JenesisRepository {
                     throw new IllegalStateException("No Jenesis module repository is configured by: " + value);
                 }
             } else {
-                current = new JenesisModuleRepository(
+                JenesisModuleRepository base = new JenesisModuleRepository(
                         URI.create((location.endsWith("/") ? location : location + "/")
                                 + (scope == Scope.MODULE ? "module/" : "artifact/")),
                         entryToken);
+                current = cache == null ? base : base.cache(cache, freshness);
             }
             List<String> modules = new ArrayList<>();
             if (separator >= 0) {
@@ -114,26 +126,35 @@ public class JenesisModuleRepository implements JenesisRepository {
     }
 
     public JenesisModuleRepository(URI root, String token) {
-        this(root, token, new Repository.Retry());
+        this(root, token, new Repository.Retry(), null, null);
     }
 
-    private JenesisModuleRepository(URI root, String token, Repository.Retry retry) {
+    private JenesisModuleRepository(URI root, String token, Repository.Retry retry, Path cache, Duration freshness) {
         String text = root.toString();
         this.root = text.endsWith("/") ? root : URI.create(text + "/");
         this.token = token;
         this.retry = retry;
+        this.cache = cache;
+        this.freshness = freshness;
     }
 
     public JenesisModuleRepository retry(Repository.Retry retry) {
-        return new JenesisModuleRepository(root, token, retry);
+        return new JenesisModuleRepository(root, token, retry, cache, freshness);
+    }
+
+    public JenesisModuleRepository cache(Path cache, Duration freshness) {
+        return new JenesisModuleRepository(root, token, retry, cache, freshness);
     }
 
     public static JenesisModuleRepository ofLocal() {
+        return new JenesisModuleRepository(local().toUri());
+    }
+
+    private static Path local() {
         String override = System.getProperty("jenesis.module.local", System.getenv("JENESIS_REPOSITORY_LOCAL"));
-        Path path = override == null
+        return override == null
                 ? Path.of(System.getProperty("user.home")).resolve(".jenesis")
                 : Path.of(override);
-        return new JenesisModuleRepository(path.toUri());
     }
 
     @Override
@@ -165,6 +186,12 @@ public class JenesisModuleRepository implements JenesisRepository {
                     ? Optional.of(RepositoryItem.ofFile(file, true))
                     : Optional.empty();
         }
+        if (version == null && cache != null) {
+            Path target = cache.resolve(BuildExecutorModule.encode(base.toString())).resolve(contained.getPath());
+            return revalidations.get(target, () -> revalidate(uri, target))
+                    ? Optional.of(RepositoryItem.ofFile(target))
+                    : Optional.empty();
+        }
         InputStream stream;
         try {
             stream = Repository.open(uri, token, retry);
@@ -178,4 +205,20 @@ public class JenesisModuleRepository implements JenesisRepository {
         });
     }
 
+    private boolean revalidate(URI uri, Path target) throws IOException {
+        Path revalidator = RepositoryTransport.revalidator(target);
+        if (Files.exists(target)
+                && Files.exists(revalidator)
+                && Files.getLastModifiedTime(revalidator).toInstant().plus(freshness).isAfter(Instant.now())) {
+            return true;
+        }
+        Files.createDirectories(target.getParent());
+        if (RepositoryTransport.of().revalidate(uri, token, retry, target)) {
+            return true;
+        }
+        Files.deleteIfExists(target);
+        Files.deleteIfExists(revalidator);
+        return false;
+    }
+
 }
@@ -4,6 +4,8 @@ import module java.base;
 import build.jenesis.Repository;
 import build.jenesis.RepositoryItem;
 import build.jenesis.SafeSegment;
+import build.jenesis.SingleFlight;
+
 public class JenesisRawGitRepository implements JenesisRepository {
 
     private static final SafeSegment SAFE_SEGMENT = new SafeSegment();
@@ -11,20 +13,25 @@ public class JenesisRawGitRepository implements JenesisRepository {
     private static final String GITHUB_DATA =
             "https://raw.githubusercontent.com/raphw/jenesis-modules/main/data/modules/";
 
+    private static final String GITHUB_INDEX =
+            "https://raw.githubusercontent.com/raphw/jenesis-modules/main/data/index/";
+
     private final Scope scope;
     private final URI data;
     private final URI repository;
     private final String token;
     private final Predicate<String> predicate;
     private final Repository.Retry retry;
+    private final Index index;
     private final Map<String, Optional<String>> tsvCache = new ConcurrentHashMap<>();
+    private final SingleFlight<Path, Optional<JenesisModuleIndex>> indexes = new SingleFlight<>();
 
     public JenesisRawGitRepository(Scope scope, URI data, URI repository) {
         this(scope, data, repository, null);
     }
 
     public JenesisRawGitRepository(Scope scope, URI data, URI repository, String token) {
-        this(scope, trailingSlash(data), trailingSlash(repository), token, _ -> true, new Repository.Retry());
+        this(scope, trailingSlash(data), trailingSlash(repository), token, _ -> true, new Repository.Retry(), null);
     }
 
     private JenesisRawGitRepository(Scope scope,
@@ -32,21 +39,33 @@ public class JenesisRawGitRepository implements JenesisRepository {
                                     URI repository,
                                     String token,
                                     Predicate<String> predicate,
-                                    Repository.Retry retry) {
+                                    Repository.Retry retry,
+                                    Index index) {
         this.scope = scope;
         this.data = data;
         this.repository = repository;
         this.token = token;
         this.predicate = predicate;
         this.retry = retry;
+        this.index = index;
     }
 
     public JenesisRawGitRepository groups(Predicate<String> predicate) {
-        return new JenesisRawGitRepository(scope, data, repository, token, predicate, retry);
+        return new JenesisRawGitRepository(scope, data, repository, token, predicate, retry, index);
     }
 
     public JenesisRawGitRepository retry(Repository.Retry retry) {
-        return new JenesisRawGitRepository(scope, data, repository, token, predicate, retry);
+        return new JenesisRawGitRepository(scope, data, repository, token, predicate, retry, index);
+    }
+
+    public JenesisRawGitRepository index(URI source, Path file, Duration refresh) {
+        return new JenesisRawGitRepository(scope,
+                data,
+                repository,
+                token,
+                predicate,
+                retry,
+                new Index(trailingSlash(source), file, refresh));
     }
 
     public static JenesisRepository of(Scope scope) {
@@ -147,6 +166,12 @@ public class JenesisRawGitRepository implements JenesisRepository {
                         URI.create(GITHUB_DATA),
                         URI.create(location),
                         entryToken);
+                String index = System.getProperty("jenesis.module.index");
+                if (index != null && !index.isEmpty()) {
+                    base = base.index(URI.create(System.getProperty("jenesis.module.index.uri", GITHUB_INDEX)),
+                            Path.of(index),
+                            Duration.ofMinutes(Long.parseLong(System.getProperty("jenesis.module.index.ttl", "1440"))));
+                }
                 current = effective == null ? base : base.groups(effective);
             }
             repository = repository == null ? current : current.prepend(repository);
@@ -202,7 +227,14 @@ public class JenesisRawGitRepository implements JenesisRepository {
     private Coordinate resolve(String moduleName, String classifier, String version) throws IOException {
         String tsvName = (scope == Scope.MODULE ? "modules" : "artifacts")
                 + (classifier == null ? "" : "-" + classifier) + ".tsv";
-        URI tsvUri = data.resolve(moduleName.replace('.', '/') + "/" + tsvName);
+        String key = moduleName.replace('.', '/') + "/" + tsvName;
+        Optional<JenesisModuleIndex> local = index == null
+                ? Optional.empty()
+                : indexes.get(index.file(), this::synchronize);
+        if (local.isPresent()) {
+            return local.get().get(key).map(tsv -> pickRow(tsv, version)).orElse(null);
+        }
+        URI tsvUri = data.resolve(key);
         Optional<String> tsv = tsvCache.get(tsvUri.toString());
         if (tsv == null) {
             Optional<InputStream> stream = open(tsvUri, null, retry);
@@ -218,6 +250,61 @@ public class JenesisRawGitRepository implements JenesisRepository {
         return tsv.isEmpty() ? null : pickRow(tsv.get(), version);
     }
 
+    private Optional<JenesisModuleIndex> synchronize() throws IOException {
+        OptionalLong current = Files.isRegularFile(index.file())
+                ? JenesisModuleIndex.version(index.file())
+                : OptionalLong.empty();
+        if (current.isPresent() && Files.getLastModifiedTime(index.file()).toInstant()
+                .plus(index.refresh())
+                .isAfter(Instant.now())) {
+            return Optional.of(JenesisModuleIndex.map(index.file()));
+        }
+        try {
+            Optional<InputStream> latest = open(index.source().resolve("latest"), null, retry);
+            if (latest.isEmpty()) {
+                return current.isEmpty() ? Optional.empty() : Optional.of(JenesisModuleIndex.map(index.file()));
+            }
+            long version;
+            try (InputStream inputStream = latest.get()) {
+                version = Long.parseLong(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8).strip());
+            } catch (NumberFormatException e) {
+                throw new IOException("Malformed module index version at " + index.source().resolve("latest"), e);
+            }
+            if (current.isPresent() && current.getAsLong() == version) {
+                Files.setLastModifiedTime(index.file(), FileTime.from(Instant.now()));
+                return Optional.of(JenesisModuleIndex.map(index.file()));
+            }
+            if (current.isPresent() && current.getAsLong() < version) {
+                Optional<InputStream> delta = open(index.source().resolve(current.getAsLong() + "-" + version + ".tsv"),
+                        null,
+                        retry);
+                if (delta.isPresent()) {
+                    try (Reader reader = new InputStreamReader(delta.get(), StandardCharsets.UTF_8)) {
+                        JenesisModuleIndex.write(index.file(), version, index.file(), reader);
+                    }
+                    return Optional.of(JenesisModuleIndex.map(index.file()));
+                }
+            }
+            Optional<InputStream> full = open(index.source().resolve(version + ".tsv"), null, retry);
+            if (full.isEmpty()) {
+                return current.isEmpty() ? Optional.empty() : Optional.of(JenesisModuleIndex.map(index.file()));
+            }
+            try (Reader reader = new InputStreamReader(full.get(), StandardCharsets.UTF_8)) {
+                Path parent = index.file().toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                JenesisModuleIndex.write(index.file(), version, reader);
+            }
+        } catch (IOException e) {
+            if (current.isEmpty()) {
+                throw e;
+            }
+            return Optional.of(JenesisModuleIndex.map(index.file()));
+        }
+        return Optional.of(JenesisModuleIndex.map(index.file()));
+    }
+
     private Coordinate pickRow(String tsv, String version) {
         Coordinate newest = null;
         for (String line : tsv.split("\n")) {
@@ -254,4 +341,7 @@ public class JenesisRawGitRepository implements JenesisRepository {
 
     private record Coordinate(String groupId, String artifactId, String version) {
     }
+
+    private record Index(URI source, Path file, Duration refresh) {
+    }
 }
@@ -34,41 +34,60 @@ public interface JenesisRepository extends Repository {
 
     @Override
     default JenesisRepository cached(Path folder) {
-        if (folder == null) {
-            return this;
-        }
-        Repository cached = Repository.super.cached(folder);
-        return (executor, module, classifier, version, type) -> cached.fetch(
-                executor,
-                coordinate(module, classifier, version, type));
+        return folder == null ? this : of(Repository.super.cached(folder));
     }
 
     @Override
     default JenesisRepository materialized(Path folder) {
-        if (folder == null) {
-            return this;
-        }
-        Repository materialized = Repository.super.materialized(folder);
-        return (executor, module, classifier, version, type) -> materialized.fetch(
-                executor,
-                coordinate(module, classifier, version, type));
+        return folder == null ? this : of(Repository.super.materialized(folder));
     }
 
     @Override
     default JenesisRepository prepend(Repository repository) {
         JenesisRepository jenesisRepository = of(repository);
-        return (executor, module, classifier, version, type) -> {
-            Optional<RepositoryItem> candidate = jenesisRepository.fetch(executor, module, classifier, version, type);
-            return candidate.isPresent()
-                    ? candidate
-                    : fetch(executor, module, classifier, version, type);
+        return new JenesisRepository() {
+            @Override
+            public Optional<RepositoryItem> fetch(Executor executor,
+                                                  String module,
+                                                  String classifier,
+                                                  String version,
+                                                  String type) throws IOException {
+                Optional<RepositoryItem> candidate = jenesisRepository.fetch(executor, module, classifier, version, type);
+                return candidate.isPresent()
+                        ? candidate
+                        : JenesisRepository.this.fetch(executor, module, classifier, version, type);
+            }
+
+            @Override
+            public void discard(String coordinate) throws IOException {
+                jenesisRepository.discard(coordinate);
+                JenesisRepository.this.discard(coordinate);
+            }
         };
     }
 
     default JenesisRepository filter(Predicate<String> predicate) {
-        return (executor, module, classifier, version, type) -> predicate.test(module)
-                ? fetch(executor, module, classifier, version, type)
-                : Optional.empty();
+        return new JenesisRepository() {
+            @Override
+            public Optional<RepositoryItem> fetch(Executor executor,
+                                                  String module,
+                                                  String classifier,
+                                                  String version,
+                                                  String type) throws IOException {
+                return predicate.test(module)
+                        ? JenesisRepository.this.fetch(executor, module, classifier, version, type)
+                        : Optional.empty();
+            }
+
+            @Override
+            public void discard(String coordinate) throws IOException {
+                String module = coordinate.split("[/:]", 2)[0];
+                int dash = module.indexOf('-');
+                if (predicate.test(dash < 0 ? module : module.substring(0, dash))) {
+                    JenesisRepository.this.discard(coordinate);
+                }
+            }
+        };
     }
 
     Optional<RepositoryItem> fetch(Executor executor,
@@ -78,11 +97,24 @@ public interface JenesisRepository extends Repository {
                                    String type) throws IOException;
 
     static JenesisRepository of(Repository repository) {
-        return repository instanceof JenesisRepository jenesisRepository ? jenesisRepository : (executor,
-                                                                                                module,
-                                                                                                classifier,
-                                                                                                version,
-                                                                                                type) -> repository.fetch(executor, coordinate(module, classifier, version, type));
+        if (repository instanceof JenesisRepository jenesisRepository) {
+            return jenesisRepository;
+        }
+        return new JenesisRepository() {
+            @Override
+            public Optional<RepositoryItem> fetch(Executor executor,
+                                                  String module,
+                                                  String classifier,
+                                                  String version,
+                                                  String type) throws IOException {
+                return repository.fetch(executor, coordinate(module, classifier, version, type));
+            }
+
+            @Override
+            public void discard(String coordinate) throws IOException {
+                repository.discard(coordinate);
+            }
+        };
     }
 
     private static String coordinate(String module, String classifier, String version, String type) {
@@ -6,6 +6,7 @@ import build.jenesis.PathPlacement;
 import build.jenesis.Repository;
 import build.jenesis.RepositoryItem;
 import build.jenesis.Resolver;
+import build.jenesis.SingleFlight;
 
 public class ModularJarResolver implements Resolver {
 
@@ -68,98 +69,70 @@ public class ModularJarResolver implements Resolver {
         SequencedMap<String, Resolver.Vertex> nodes = new LinkedHashMap<>();
         Map<String, String> parents = new HashMap<>();
         Map<String, String> moduleCoordinates = new HashMap<>();
-        Queue<String> queue = new ArrayDeque<>(coordinates.sequencedKeySet());
+        Repository repository = repositories.getOrDefault(Resolver.base(prefix), Repository.empty());
+        List<String> frontier = new ArrayList<>(coordinates.sequencedKeySet());
         int runtime = Runtime.version().feature();
-        while (!queue.isEmpty()) {
-            String raw = queue.remove();
-            int versionSplit = raw.indexOf('/');
-            String current = versionSplit < 0 ? raw : raw.substring(0, versionSplit);
-            String inlineVersion = versionSplit < 0 ? null : raw.substring(versionSplit + 1);
-            if (resolved.contains(current) || unresolved.contains(current)) {
-                continue;
-            }
-            String pinValue = versions.get(current);
-            String pin, checksum;
-            if (pinValue == null) {
-                pin = null;
-                checksum = null;
-            } else {
-                int split = pinValue.indexOf(' ');
-                pin = split < 0 ? pinValue : pinValue.substring(0, split);
-                checksum = split < 0 ? null : pinValue.substring(split + 1).trim();
-            }
-            ModuleVersionNegotiator.CompiledVersion compiled = propagated.get(current);
-            String hint = compiled == null ? null : compiled.version();
-            String requested = pin != null ? pin : (hint != null ? hint : inlineVersion);
-            String classifier, expected;
-            if (requested != null && requested.startsWith(":")) {
-                int divider = requested.indexOf(':', 1);
-                classifier = divider < 0 ? requested.substring(1) : requested.substring(1, divider);
-                expected = divider < 0 ? null : requested.substring(divider + 1);
-                if (classifier.isEmpty() || expected != null && expected.isEmpty()) {
-                    throw new IllegalArgumentException("Malformed classifier '" + requested + "' for " + current
-                            + ": expected :<classifier> or :<classifier>:<version>");
+        while (!frontier.isEmpty()) {
+            Map<String, Prefetch> prefetches = new HashMap<>();
+            for (String raw : frontier) {
+                int versionSplit = raw.indexOf('/');
+                String current = versionSplit < 0 ? raw : raw.substring(0, versionSplit);
+                if (resolved.contains(current) || unresolved.contains(current) || prefetches.containsKey(current)) {
+                    continue;
+                }
+                Request request;
+                try {
+                    request = request(current, versionSplit < 0 ? null : raw.substring(versionSplit + 1), versions, propagated);
+                } catch (IllegalArgumentException _) {
+                    continue;
+                }
+                CompletableFuture<Fetched> future = new CompletableFuture<>();
+                try {
+                    executor.execute(() -> {
+                        try {
+                            future.complete(fetch(executor, repository, request, current, runtime));
+                        } catch (Throwable t) {
+                            future.completeExceptionally(t);
+                        }
+                    });
+                } catch (RuntimeException _) {
+                    continue;
                 }
-            } else {
-                classifier = null;
-                expected = requested;
+                prefetches.put(current, new Prefetch(request, future));
             }
-            String identifier = classifier == null ? current : current + "-" + classifier;
-            Repository repository = repositories.getOrDefault(Resolver.base(prefix), Repository.empty());
-            RepositoryItem item = expected == null
-                    ? repository.fetch(executor, identifier).orElse(null)
-                    : repository.fetch(executor, identifier + "/" + expected).orElse(null);
-            if (item == null) {
-                if (fallback == null) {
-                    throw new IllegalArgumentException("No module found for "
-                            + current
-                            + aliased(current, parents, moduleCoordinates, dependencies));
+            List<String> next = new ArrayList<>();
+            for (String raw : frontier) {
+                int versionSplit = raw.indexOf('/');
+                String current = versionSplit < 0 ? raw : raw.substring(0, versionSplit);
+                String inlineVersion = versionSplit < 0 ? null : raw.substring(versionSplit + 1);
+                if (resolved.contains(current) || unresolved.contains(current)) {
+                    continue;
                 }
-                unresolved.add(current);
-                if (requested != null) {
-                    hints.putIfAbsent(current, checksum == null ? requested : requested + " " + checksum);
+                Request request = request(current, inlineVersion, versions, propagated);
+                String requested = request.requested(), checksum = request.checksum(), expected = request.expected();
+                String identifier = request.identifier();
+                Prefetch prefetch = prefetches.get(current);
+                Fetched fetched;
+                if (prefetch != null && prefetch.request().equals(request)) {
+                    prefetches.remove(current);
+                    fetched = SingleFlight.await(prefetch.future());
+                } else {
+                    fetched = fetch(executor, repository, request, current, runtime);
                 }
-            } else {
-                Path file = item.file().orElse(null);
-                ModuleDescriptor descriptor;
-                if (file == null) {
-                    NavigableMap<Integer, byte[]> candidates = new TreeMap<>();
-                    try (ZipInputStream inputStream = new ZipInputStream(item.toInputStream())) {
-                        ZipEntry entry;
-                        while ((entry = inputStream.getNextEntry()) != null) {
-                            String name = entry.getName();
-                            int version;
-                            if (name.equals("module-info.class")) {
-                                version = 0;
-                            } else if (name.startsWith("META-INF/versions/")
-                                    && name.endsWith("/module-info.class")) {
-                                String segment = name.substring(
-                                        "META-INF/versions/".length(),
-                                        name.length() - "/module-info.class".length());
-                                try {
-                                    version = Integer.parseInt(segment);
-                                } catch (NumberFormatException _) {
-                                    continue;
-                                }
-                                if (version > runtime) {
-                                    continue;
-                                }
-                            } else {
-                                continue;
-                            }
-                            candidates.put(version, inputStream.readAllBytes());
-                        }
+                RepositoryItem item = fetched.item();
+                if (item == null) {
+                    if (fallback == null) {
+                        throw new IllegalArgumentException("No module found for "
+                                + current
+                                + aliased(current, parents, moduleCoordinates, dependencies));
                     }
-                    Map.Entry<Integer, byte[]> selected = candidates.lastEntry();
-                    descriptor = selected == null
-                            ? ModuleDescriptor.newAutomaticModule(current).build()
-                            : ModuleDescriptor.read(ByteBuffer.wrap(selected.getValue()));
-                } else {
-                    descriptor = ModuleFinder.of(file).findAll().stream()
-                            .findFirst()
-                            .map(ModuleReference::descriptor)
-                            .orElseGet(() -> ModuleDescriptor.newAutomaticModule(current).build());
+                    unresolved.add(current);
+                    if (requested != null) {
+                        hints.putIfAbsent(current, checksum == null ? requested : requested + " " + checksum);
+                    }
+                    continue;
                 }
+                ModuleDescriptor descriptor = fetched.descriptor();
                 if (descriptor.isAutomatic()) {
                     if (fallback != null) {
                         unresolved.add(current);
@@ -233,7 +206,7 @@ public class ModularJarResolver implements Resolver {
                             });
                             parents.putIfAbsent(name, current);
                             if (!unresolved.contains(name) && !resolved.contains(name)) {
-                                queue.add(name);
+                                next.add(name);
                             } else if (resolved.contains(name)) {
                                 edges.add(new Resolver.Edge(
                                         currentCoordinate,
@@ -244,6 +217,18 @@ public class ModularJarResolver implements Resolver {
                             }
                         });
             }
+            for (Prefetch prefetch : prefetches.values()) {
+                Fetched fetched;
+                try {
+                    fetched = SingleFlight.await(prefetch.future());
+                } catch (IOException | RuntimeException _) {
+                    continue;
+                }
+                if (fetched.item() != null) {
+                    repository.discard(prefetch.request().coordinate());
+                }
+            }
+            frontier = next;
         }
         if (!unresolved.isEmpty()) {
             SequencedMap<String, SequencedSet<String>> unresolvedCoordinates = new LinkedHashMap<>();
@@ -259,6 +244,91 @@ public class ModularJarResolver implements Resolver {
         return new Resolver.Resolution(dependencies, edges, nodes);
     }
 
+    private static Request request(String current,
+                                   String inlineVersion,
+                                   SequencedMap<String, String> versions,
+                                   SequencedMap<String, ModuleVersionNegotiator.CompiledVersion> propagated) {
+        String pinValue = versions.get(current);
+        String pin, checksum;
+        if (pinValue == null) {
+            pin = null;
+            checksum = null;
+        } else {
+            int split = pinValue.indexOf(' ');
+            pin = split < 0 ? pinValue : pinValue.substring(0, split);
+            checksum = split < 0 ? null : pinValue.substring(split + 1).trim();
+        }
+        ModuleVersionNegotiator.CompiledVersion compiled = propagated.get(current);
+        String hint = compiled == null ? null : compiled.version();
+        String requested = pin != null ? pin : (hint != null ? hint : inlineVersion);
+        String classifier, expected;
+        if (requested != null && requested.startsWith(":")) {
+            int divider = requested.indexOf(':', 1);
+            classifier = divider < 0 ? requested.substring(1) : requested.substring(1, divider);
+            expected = divider < 0 ? null : requested.substring(divider + 1);
+            if (classifier.isEmpty() || expected != null && expected.isEmpty()) {
+                throw new IllegalArgumentException("Malformed classifier '" + requested + "' for " + current
+                        + ": expected :<classifier> or :<classifier>:<version>");
+            }
+        } else {
+            classifier = null;
+            expected = requested;
+        }
+        return new Request(classifier == null ? current : current + "-" + classifier, requested, expected, checksum);
+    }
+
+    private static Fetched fetch(Executor executor,
+                                 Repository repository,
+                                 Request request,
+                                 String current,
+                                 int runtime) throws IOException {
+        RepositoryItem item = repository.fetch(executor, request.coordinate()).orElse(null);
+        if (item == null) {
+            return new Fetched(null, null);
+        }
+        Path file = item.file().orElse(null);
+        ModuleDescriptor descriptor;
+        if (file == null) {
+            NavigableMap<Integer, byte[]> candidates = new TreeMap<>();
+            try (ZipInputStream inputStream = new ZipInputStream(item.toInputStream())) {
+                ZipEntry entry;
+                while ((entry = inputStream.getNextEntry()) != null) {
+                    String name = entry.getName();
+                    int version;
+                    if (name.equals("module-info.class")) {
+                        version = 0;
+                    } else if (name.startsWith("META-INF/versions/")
+                            && name.endsWith("/module-info.class")) {
+                        String segment = name.substring(
+                                "META-INF/versions/".length(),
+                                name.length() - "/module-info.class".length());
+                        try {
+                            version = Integer.parseInt(segment);
+                        } catch (NumberFormatException _) {
+                            continue;
+                        }
+                        if (version > runtime) {
+                            continue;
+                        }
+                    } else {
+                        continue;
+                    }
+                    candidates.put(version, inputStream.readAllBytes());
+                }
+            }
+            Map.Entry<Integer, byte[]> selected = candidates.lastEntry();
+            descriptor = selected == null
+                    ? ModuleDescriptor.newAutomaticModule(current).build()
+                    : ModuleDescriptor.read(ByteBuffer.wrap(selected.getValue()));
+        } else {
+            descriptor = ModuleFinder.of(file).findAll().stream()
+                    .findFirst()
+                    .map(ModuleReference::descriptor)
+                    .orElseGet(() -> ModuleDescriptor.newAutomaticModule(current).build());
+        }
+        return new Fetched(item, descriptor);
+    }
+
     private static String aliased(String module,
                                   Map<String, String> parents,
                                   Map<String, String> moduleCoordinates,
@@ -280,4 +350,17 @@ public class ModularJarResolver implements Resolver {
                 + ", which pure module resolution cannot provide (use a Maven-backed layout)";
     }
 
+    private record Request(String identifier, String requested, String expected, String checksum) {
+
+        private String coordinate() {
+            return expected == null ? identifier : identifier + "/" + expected;
+        }
+    }
+
+    private record Fetched(RepositoryItem item, ModuleDescriptor descriptor) {
+    }
+
+    private record Prefetch(Request request, CompletableFuture<Fetched> future) {
+    }
+
 }
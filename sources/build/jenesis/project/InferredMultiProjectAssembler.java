@@ -99,10 +99,10 @@ public record InferredMultiProjectAssembler(Function<InferredSourceCodeQualityMo
                     : null;
             if (sbom != null) {
                 sub.addStep("sbom", sbom,
-                        Stream.concat(descriptor.manifests().stream(), descriptor.artifacts().stream()));
+                        Stream.concat(descriptor.manifests().stream(), descriptor.resolutions().stream()));
             }
             sub.addModule("compliance", compliance.apply(new InferredComplianceModule(descriptor.configuration())),
-                    Stream.concat(descriptor.manifests().stream(), descriptor.artifacts().stream()));
+                    Stream.concat(descriptor.manifests().stream(), descriptor.resolutions().stream()));
             sub.addModule("binary", toolchain.apply(new JavaToolchainModule()
                             .compiler(new InferredCompilerChainModule(repositories, resolvers)
                                     .pinning(descriptor.pinning())
@@ -199,7 +199,11 @@ public record InferredMultiProjectAssembler(Function<InferredSourceCodeQualityMo
                             inputs.stream());
                 }
                 if (packaging.docker() != null) {
-                    sub.addStep("docker", new Docker(packaging.docker()), inputs);
+                    sub.addStep("docker",
+                            new Docker(packaging.docker()).oci(packaging.oci()).base(packaging.base()),
+                            packaging.jlink() && packaging.oci() != null
+                                    ? Stream.concat(Stream.of("jlink"), inputs.stream())
+                                    : inputs.stream());
                     images.add("docker");
                 }
                 if (packaging.nativeImage()) {
@@ -225,20 +229,41 @@ public record InferredMultiProjectAssembler(Function<InferredSourceCodeQualityMo
                             boolean launcher,
                             boolean nativeImage,
                             String jpackage,
-                            String docker) {
+                            String docker,
+                            Docker.Oci oci,
+                            Path base) {
 
         private static Packaging configured(Path properties) throws IOException {
             if (properties == null) {
-                return new Packaging(false, false, false, false, false, null, null);
+                return new Packaging(false, false, false, false, false, null, null, null, null);
             }
             SequencedProperties configuration = SequencedProperties.ofFiles(properties);
+            Docker.Oci oci = oci(value(configuration, "oci"));
+            String base = value(configuration, "oci.base");
+            if (oci != null && base == null) {
+                throw new IllegalArgumentException("oci=" + configuration.getProperty("oci").trim()
+                        + " requires oci.base, a local OCI layout of the base image, in " + properties);
+            }
             return new Packaging(flag(configuration, "jmod"),
                     flag(configuration, "jlink"),
                     flag(configuration, "bundle"),
                     flag(configuration, "launcher"),
                     flag(configuration, "native"),
                     value(configuration, "jpackage"),
-                    value(configuration, "docker"));
+                    value(configuration, "docker"),
+                    oci,
+                    base == null ? null : properties.toAbsolutePath().getParent().resolve(base).normalize());
+        }
+
+        private static Docker.Oci oci(String value) {
+            if (value == null) {
+                return null;
+            }
+            return switch (value.toLowerCase(Locale.ROOT)) {
+                case "directory" -> Docker.Oci.DIRECTORY;
+                case "tarball" -> Docker.Oci.TARBALL;
+                default -> throw new IllegalArgumentException("Unknown OCI format: " + value + " (expected directory or tarball)");
+            };
         }
 
         private static boolean flag(SequencedProperties configuration, String key) {
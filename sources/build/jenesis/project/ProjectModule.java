@@ -18,5 +18,9 @@ public interface ProjectModule {
 
     SequencedSet<String> artifacts();
 
+    default SequencedSet<String> resolutions() {
+        return artifacts();
+    }
+
     SequencedSet<String> spdx();
 }
@@ -15,6 +15,7 @@ public class ProjectModuleDescriptor implements ProjectModule {
     private final SequencedSet<String> manifests;
     private final SequencedSet<String> coordinates;
     private final SequencedSet<String> artifacts;
+    private final SequencedSet<String> resolutions;
     private final SequencedSet<String> spdx;
     private final SequencedSet<String> content;
     private final boolean test;
@@ -38,6 +39,7 @@ public class ProjectModuleDescriptor implements ProjectModule {
                 immutable(base.manifests()),
                 immutable(base.coordinates()),
                 immutable(base.artifacts()),
+                immutable(base.resolutions()),
                 immutable(base.spdx()),
                 Collections.emptyNavigableSet(),
                 test,
@@ -54,6 +56,7 @@ public class ProjectModuleDescriptor implements ProjectModule {
                                     SequencedSet<String> manifests,
                                     SequencedSet<String> coordinates,
                                     SequencedSet<String> artifacts,
+                                    SequencedSet<String> resolutions,
                                     SequencedSet<String> spdx,
                                     SequencedSet<String> content,
                                     boolean test,
@@ -69,6 +72,7 @@ public class ProjectModuleDescriptor implements ProjectModule {
         this.manifests = manifests;
         this.coordinates = coordinates;
         this.artifacts = artifacts;
+        this.resolutions = resolutions;
         this.spdx = spdx;
         this.content = content;
         this.test = test;
@@ -91,6 +95,7 @@ public class ProjectModuleDescriptor implements ProjectModule {
                 prefix(manifests),
                 prefix(coordinates),
                 prefix(artifacts),
+                prefix(resolutions),
                 prefix(spdx),
                 prefix(content),
                 test,
@@ -113,6 +118,7 @@ public class ProjectModuleDescriptor implements ProjectModule {
                 manifests,
                 coordinates,
                 artifacts,
+                resolutions,
                 spdx,
                 content,
                 test,
@@ -136,6 +142,7 @@ public class ProjectModuleDescriptor implements ProjectModule {
                 manifests,
                 coordinates,
                 artifacts,
+                resolutions,
                 spdx,
                 content,
                 test,
@@ -163,6 +170,7 @@ public class ProjectModuleDescriptor implements ProjectModule {
                 manifests,
                 coordinates,
                 artifacts,
+                resolutions,
                 spdx,
                 content,
                 test,
@@ -190,6 +198,7 @@ public class ProjectModuleDescriptor implements ProjectModule {
                 manifests,
                 coordinates,
                 artifacts,
+                resolutions,
                 spdx,
                 content,
                 test,
@@ -217,6 +226,7 @@ public class ProjectModuleDescriptor implements ProjectModule {
                 immutable(manifests),
                 coordinates,
                 artifacts,
+                resolutions,
                 spdx,
                 content,
                 test,
@@ -244,6 +254,7 @@ public class ProjectModuleDescriptor implements ProjectModule {
                 manifests,
                 immutable(coordinates),
                 artifacts,
+                resolutions,
                 spdx,
                 content,
                 test,
@@ -262,6 +273,11 @@ public class ProjectModuleDescriptor implements ProjectModule {
         return artifacts;
     }
 
+    @Override
+    public SequencedSet<String> resolutions() {
+        return resolutions;
+    }
+
     @Override
     public SequencedSet<String> spdx() {
         return spdx;
@@ -276,6 +292,7 @@ public class ProjectModuleDescriptor implements ProjectModule {
                 manifests,
                 coordinates,
                 immutable(artifacts),
+                immutable(artifacts),
                 spdx,
                 content,
                 test,
@@ -302,6 +319,7 @@ public class ProjectModuleDescriptor implements ProjectModule {
                 manifests,
                 coordinates,
                 artifacts,
+                resolutions,
                 spdx,
                 immutable(content),
                 test,
@@ -328,6 +346,7 @@ public class ProjectModuleDescriptor implements ProjectModule {
                 manifests,
                 coordinates,
                 artifacts,
+                resolutions,
                 spdx,
                 content,
                 test,
@@ -350,6 +369,7 @@ public class ProjectModuleDescriptor implements ProjectModule {
                 manifests,
                 coordinates,
                 artifacts,
+                resolutions,
                 spdx,
                 content,
                 test,
@@ -372,6 +392,7 @@ public class ProjectModuleDescriptor implements ProjectModule {
                 manifests,
                 coordinates,
                 artifacts,
+                resolutions,
                 spdx,
                 content,
                 test,
@@ -394,6 +415,7 @@ public class ProjectModuleDescriptor implements ProjectModule {
                 manifests,
                 coordinates,
                 artifacts,
+                resolutions,
                 spdx,
                 content,
                 test,
@@ -416,6 +438,7 @@ public class ProjectModuleDescriptor implements ProjectModule {
                 manifests,
                 coordinates,
                 artifacts,
+                resolutions,
                 spdx,
                 content,
                 test,
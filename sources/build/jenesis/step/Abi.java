@@ -0,0 +1,259 @@
+package build.jenesis.step;
+
+import module java.base;
+import build.jenesis.BuildStep;
+import build.jenesis.BuildStepArgument;
+import build.jenesis.Checksum;
+import build.jenesis.ChecksumStatus;
+import build.jenesis.SequencedProperties;
+
+final class Abi {
+
+    static final String ABI = "abi.properties";
+
+    private Abi() {
+    }
+
+    static boolean unchanged(Path previous,
+                             SequencedMap<String, BuildStepArgument> arguments,
+                             Predicate<Path> relevant) throws IOException {
+        if (previous == null || !Files.exists(previous.resolve(ABI))) {
+            return false;
+        }
+        SequencedProperties recorded = SequencedProperties.ofFiles(previous.resolve(ABI));
+        for (Map.Entry<String, BuildStepArgument> argument : arguments.entrySet()) {
+            for (Map.Entry<Path, Checksum> entry : argument.getValue().files().entrySet()) {
+                ChecksumStatus status = entry.getValue().status();
+                if (status == ChecksumStatus.RETAINED) {
+                    continue;
+                }
+                Path path = entry.getKey();
+                Kind kind = Kind.of(path);
+                if (kind == null) {
+                    if (relevant.test(path)) {
+                        return false;
+                    }
+                    continue;
+                } else if (kind == Kind.IGNORED) {
+                    continue;
+                }
+                String expected = recorded.getProperty(key(argument.getKey(), path));
+                if (status == ChecksumStatus.REMOVED) {
+                    if (!"".equals(expected)) {
+                        return false;
+                    }
+                } else {
+                    String digest = kind.digest(argument.getValue().folder().resolve(path));
+                    if (!(status == ChecksumStatus.ADDED && kind == Kind.CLASS && digest.isEmpty())
+                            && !digest.equals(expected)) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    static void record(Path previous,
+                       Path next,
+                       SequencedMap<String, BuildStepArgument> arguments) throws IOException {
+        SequencedProperties recorded = previous != null && Files.exists(previous.resolve(ABI))
+                ? SequencedProperties.ofFiles(previous.resolve(ABI))
+                : new SequencedProperties();
+        SortedMap<String, String> digests = new TreeMap<>();
+        for (Map.Entry<String, BuildStepArgument> argument : arguments.entrySet()) {
+            if (argument.getValue().removed()) {
+                continue;
+            }
+            for (Map.Entry<Path, Checksum> entry : argument.getValue().files().entrySet()) {
+                ChecksumStatus status = entry.getValue().status();
+                Path path = entry.getKey();
+                Kind kind = Kind.of(path);
+                if (kind == null || kind == Kind.IGNORED || status == ChecksumStatus.REMOVED) {
+                    continue;
+                }
+                String key = key(argument.getKey(), path), digest = status == ChecksumStatus.RETAINED
+                        ? recorded.getProperty(key)
+                        : null;
+                if (digest == null && (kind != Kind.JAR || status != ChecksumStatus.RETAINED)) {
+                    digest = kind.digest(argument.getValue().folder().resolve(path));
+                }
+                if (digest != null) {
+                    digests.put(key, digest);
+                }
+            }
+        }
+        SequencedProperties properties = new SequencedProperties();
+        digests.forEach(properties::setProperty);
+        properties.store(next.resolve(ABI));
+    }
+
+    private static String key(String argument, Path path) {
+        return argument + "/" + path.toString().replace(File.separatorChar, '/');
+    }
+
+    private enum Kind {
+
+        CLASS {
+            @Override
+            String digest(Path file) throws IOException {
+                byte[] signature = signature(Files.readAllBytes(file));
+                return signature.length == 0 ? "" : hash(signature);
+            }
+        },
+
+        SERVICE {
+            @Override
+            String digest(Path file) throws IOException {
+                return hash(Files.readAllBytes(file));
+            }
+        },
+
+        JAR {
+            @Override
+            String digest(Path file) throws IOException {
+                SortedMap<String, String> signatures = new TreeMap<>();
+                try (JarFile jar = new JarFile(file.toFile())) {
+                    for (JarEntry entry : Collections.list(jar.entries())) {
+                        String name = entry.getName();
+                        if (entry.isDirectory()) {
+                            continue;
+                        }
+                        try (InputStream inputStream = jar.getInputStream(entry)) {
+                            if (name.endsWith(".class")) {
+                                byte[] signature = signature(inputStream.readAllBytes());
+                                if (signature.length > 0) {
+                                    signatures.put(name, hash(signature));
+                                }
+                            } else if (name.startsWith("META-INF/services/")) {
+                                signatures.put(name, hash(inputStream.readAllBytes()));
+                            }
+                        }
+                    }
+                }
+                StringBuilder builder = new StringBuilder();
+                signatures.forEach((name, signature) -> builder.append(name).append('\n').append(signature).append('\n'));
+                return hash(builder.toString().getBytes(StandardCharsets.UTF_8));
+            }
+        },
+
+        INDEX {
+            @Override
+            String digest(Path file) throws IOException {
+                SequencedProperties properties = SequencedProperties.ofFiles(file);
+                StringBuilder builder = new StringBuilder();
+                for (String key : new TreeSet<>(properties.stringPropertyNames())) {
+                    String value = properties.getProperty(key);
+                    int space = value.indexOf(' ');
+                    builder.append(key).append('=').append(space < 0 ? value : value.substring(0, space)).append('\n');
+                }
+                return hash(builder.toString().getBytes(StandardCharsets.UTF_8));
+            }
+        },
+
+        IGNORED {
+            @Override
+            String digest(Path file) {
+                return "";
+            }
+        };
+
+        abstract String digest(Path file) throws IOException;
+
+        static Kind of(Path path) {
+            String name = path.toString().replace(File.separatorChar, '/');
+            if (path.startsWith(Path.of(BuildStep.CLASSES))) {
+                if (name.endsWith(".class")) {
+                    return CLASS;
+                }
+                return name.startsWith(BuildStep.CLASSES + "META-INF/services/") ? SERVICE : IGNORED;
+            } else if (path.startsWith(Path.of(BuildStep.ARTIFACTS)) || path.startsWith(Path.of(Dependencies.RESOLVED))) {
+                return name.endsWith(".jar") ? JAR : IGNORED;
+            } else if (path.equals(Path.of(BuildStep.DEPENDENCIES))) {
+                return INDEX;
+            }
+            return null;
+        }
+    }
+
+    private static byte[] signature(byte[] bytes) {
+        ClassModel model = ClassFile.of().parse(bytes);
+        if (model.isModuleInfo()) {
+            ModuleDescriptor descriptor = ModuleDescriptor.read(ByteBuffer.wrap(bytes));
+            return String.join("\n",
+                    descriptor.toNameAndVersion(),
+                    descriptor.modifiers().toString(),
+                    new TreeSet<>(descriptor.requires().stream().map(Object::toString).toList()).toString(),
+                    new TreeSet<>(descriptor.exports().stream().map(Object::toString).toList()).toString(),
+                    new TreeSet<>(descriptor.opens().stream().map(Object::toString).toList()).toString(),
+                    new TreeSet<>(descriptor.uses()).toString(),
+                    new TreeSet<>(descriptor.provides().stream().map(Object::toString).toList()).toString()
+            ).getBytes(StandardCharsets.UTF_8);
+        }
+        for (Attribute<?> attribute : model.attributes()) {
+            if (attribute instanceof InnerClassesAttribute innerClasses) {
+                for (InnerClassInfo inner : innerClasses.classes()) {
+                    if (inner.innerClass().asInternalName().equals(model.thisClass().asInternalName())
+                            && (inner.outerClass().isEmpty() || inner.has(AccessFlag.PRIVATE))) {
+                        return new byte[0];
+                    }
+                }
+            }
+        }
+        return ClassFile.of().build(model.thisClass().asSymbol(), builder -> {
+            builder.withFlags(model.flags().flagsMask()).withVersion(model.majorVersion(), model.minorVersion());
+            model.superclass().ifPresent(builder::withSuperclass);
+            builder.withInterfaces(model.interfaces());
+            for (ClassElement element : model) {
+                if (element instanceof Attribute<?> attribute && signature(attribute)) {
+                    builder.with(element);
+                }
+            }
+            model.fields().stream()
+                    .filter(field -> !field.flags().has(AccessFlag.PRIVATE))
+                    .sorted(Comparator.comparing(field -> field.fieldName().stringValue() + field.fieldType().stringValue()))
+                    .forEach(field -> builder.withField(field.fieldName(), field.fieldType(), fieldBuilder -> {
+                        fieldBuilder.withFlags(field.flags().flagsMask());
+                        for (FieldElement element : field) {
+                            if (element instanceof Attribute<?> attribute && signature(attribute)) {
+                                fieldBuilder.with(element);
+                            }
+                        }
+                    }));
+            model.methods().stream()
+                    .filter(method -> !method.flags().has(AccessFlag.PRIVATE))
+                    .sorted(Comparator.comparing(method -> method.methodName().stringValue() + method.methodType().stringValue()))
+                    .forEach(method -> builder.withMethod(method.methodName(), method.methodType(), method.flags().flagsMask(), methodBuilder -> {
+                        for (MethodElement element : method) {
+                            if (element instanceof Attribute<?> attribute && signature(attribute)) {
+                                methodBuilder.with(element);
+                            }
+                        }
+                    }));
+        });
+    }
+
+    private static boolean signature(Attribute<?> attribute) {
+        return attribute instanceof SignatureAttribute
+                || attribute instanceof ConstantValueAttribute
+                || attribute instanceof ExceptionsAttribute
+                || attribute instanceof AnnotationDefaultAttribute
+                || attribute instanceof RuntimeVisibleAnnotationsAttribute
+                || attribute instanceof RuntimeInvisibleAnnotationsAttribute
+                || attribute instanceof RuntimeVisibleParameterAnnotationsAttribute
+                || attribute instanceof RuntimeInvisibleParameterAnnotationsAttribute
+                || attribute instanceof RuntimeVisibleTypeAnnotationsAttribute
+                || attribute instanceof RuntimeInvisibleTypeAnnotationsAttribute
+                || attribute instanceof PermittedSubclassesAttribute
+                || attribute instanceof RecordAttribute
+                || attribute instanceof DeprecatedAttribute;
+    }
+
+    private static String hash(byte[] value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
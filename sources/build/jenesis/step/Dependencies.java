@@ -23,6 +23,8 @@ public class Dependencies implements BuildStep {
     public static final String GRAPH = "graph.properties";
     public static final String LICENSES = "licenses.properties";
     public static final String ALIASED = "aliased.properties";
+    public static final String DEFERRED = "deferred.properties";
+    public static final String PROVENANCE = "provenance.properties";
     public static final String RESOLVED = "resolved/";
     public static final String MODULAR = "modular.properties";
     public static final String MODULAR_PATH = "modular/";
@@ -326,7 +328,12 @@ public class Dependencies implements BuildStep {
         SequencedMap<String, Boolean> explicit = new LinkedHashMap<>();
         SequencedProperties graph = new SequencedProperties();
         SequencedProperties licenses = new SequencedProperties();
-        int edge = 0;
+        SequencedProperties provenance = new SequencedProperties();
+        provenance.setProperty("pinning", pinning == null ? "" : pinning.name());
+        Provenance previous = context.previous() == null || arguments.values().stream().anyMatch(argument -> argument.hasChanged(Path.of(SPDX)))
+                ? null
+                : Provenance.read(context.previous(), provenance.getProperty("pinning"));
+        int edge = 0, request = 0, pin = 0, jar = 0;
         for (Map.Entry<String, SequencedMap<String, SequencedMap<String, SequencedMap<String, String>>>> groupEntry : requires.entrySet()) {
             String group = groupEntry.getKey();
             for (String scope : groupEntry.getValue().sequencedKeySet()) {
@@ -404,12 +411,28 @@ public class Dependencies implements BuildStep {
                             }
                         }
                     }
-                    Resolver.Resolution resolution = resolver.dependencies(executor,
-                            repo,
-                            wrapped,
-                            coordinates,
-                            bom,
-                            intent);
+                    List<String> requested = new ArrayList<>();
+                    coordinates.forEach((coordinate, excludes) -> requested.add(String.join("\t",
+                            coordinate,
+                            repoEntry.getValue().get(coordinate),
+                            String.join(",", excludes))));
+                    for (String value : requested) {
+                        provenance.setProperty("request/" + request++, String.join("\t", group, scope, repo, value));
+                    }
+                    for (Map.Entry<String, String> entry : bom.entrySet()) {
+                        provenance.setProperty("pin/" + pin++, String.join("\t", group, scope, repo, entry.getKey(), entry.getValue()));
+                    }
+                    Resolver.Resolution resolution = previous == null || !deferred.isEmpty()
+                            ? null
+                            : previous.reuse(libs, group, scope, repo, resolver.managedPrefixes(), requested, bom);
+                    if (resolution == null) {
+                        resolution = resolver.dependencies(executor,
+                                repo,
+                                wrapped,
+                                coordinates,
+                                bom,
+                                intent);
+                    }
                     if (!deferred.isEmpty()) {
                         SequencedMap<String, SequencedSet<String>> absent = new LinkedHashMap<>();
                         for (Map.Entry<String, SequencedSet<String>> entry : deferred.entrySet()) {
@@ -429,6 +452,12 @@ public class Dependencies implements BuildStep {
                         String transitiveKey = group + "/" + scope + "/" + entry.getKey();
                         resolved.setProperty(transitiveKey, value);
                         materialized.putIfAbsent(transitiveKey, entry.getValue());
+                        provenance.setProperty("artifact/" + jar++, String.join("\t",
+                                group,
+                                scope,
+                                repo,
+                                entry.getKey(),
+                                Boolean.toString(entry.getValue().internal())));
                     }
                     for (Resolver.Edge dependency : resolution.edges()) {
                         graph.setProperty("edge/" + edge++, String.join("\t",
@@ -490,6 +519,7 @@ public class Dependencies implements BuildStep {
         SequencedMap<String, Path> placed = new LinkedHashMap<>();
         SequencedMap<String, String> checksums = new LinkedHashMap<>();
         SequencedMap<String, Boolean> internals = new LinkedHashMap<>();
+        SequencedProperties deferred = new SequencedProperties();
         for (Map.Entry<String, Resolver.Resolved> entry : materialized.entrySet()) {
             String key = entry.getKey();
             int first = key.indexOf('/'), second = key.indexOf('/', first + 1);
@@ -506,6 +536,9 @@ public class Dependencies implements BuildStep {
                     if (!Files.exists(file)) {
                         BuildStep.linkOrCopy(file, artifact.file());
                     }
+                } else if (artifact.file() == null) {
+                    file = libs.resolve(BuildExecutorModule.encode(dependency.substring(dependency.indexOf('/') + 1)) + ".jar");
+                    deferred.setProperty(dependency, value);
                 } else {
                     file = artifact.file();
                 }
@@ -558,11 +591,150 @@ public class Dependencies implements BuildStep {
             }
         }
         index.store(context.next().resolve(DEPENDENCIES));
+        if (!deferred.isEmpty()) {
+            deferred.store(context.next().resolve(DEFERRED));
+        }
         graph.store(context.next().resolve(GRAPH));
         licenses.store(context.next().resolve(LICENSES));
+        provenance.store(context.next().resolve(PROVENANCE));
         return CompletableFuture.completedStage(new BuildStepResult(true));
     }
 
+    private static final class Provenance {
+
+        private final Path folder;
+        private final SequencedMap<String, List<String>> requests = new LinkedHashMap<>();
+        private final SequencedMap<String, SequencedMap<String, String>> pins = new LinkedHashMap<>();
+        private final SequencedMap<String, SequencedMap<String, Boolean>> artifacts = new LinkedHashMap<>();
+        private SequencedMap<String, Resolver.Resolution> graph;
+        private SequencedProperties index;
+
+        private Provenance(Path folder) {
+            this.folder = folder;
+        }
+
+        private static Provenance read(Path folder, String pinning) throws IOException {
+            Path file = folder.resolve(PROVENANCE);
+            if (!Files.exists(file) || !Files.exists(folder.resolve(DEPENDENCIES)) || !Files.exists(folder.resolve(GRAPH))) {
+                return null;
+            }
+            SequencedProperties properties = SequencedProperties.ofFiles(file);
+            if (!pinning.equals(properties.getProperty("pinning"))) {
+                return null;
+            }
+            Provenance provenance = new Provenance(folder);
+            properties.forEachProperty((key, value) -> {
+                String[] parts = value.split("\t", -1);
+                if (key.startsWith("request/") && parts.length == 6) {
+                    provenance.requests.computeIfAbsent(parts[0] + "\t" + parts[1] + "\t" + parts[2], _ -> new ArrayList<>())
+                            .add(String.join("\t", parts[3], parts[4], parts[5]));
+                } else if (key.startsWith("pin/") && parts.length == 5) {
+                    provenance.pins.computeIfAbsent(parts[0] + "\t" + parts[1] + "\t" + parts[2], _ -> new LinkedHashMap<>())
+                            .put(parts[3], parts[4]);
+                } else if (key.startsWith("artifact/") && parts.length == 5) {
+                    provenance.artifacts.computeIfAbsent(parts[0] + "\t" + parts[1] + "\t" + parts[2], _ -> new LinkedHashMap<>())
+                            .put(parts[3], Boolean.parseBoolean(parts[4]));
+                }
+            });
+            return provenance.artifacts.isEmpty() ? null : provenance;
+        }
+
+        private Resolver.Resolution reuse(Path libs,
+                                          String group,
+                                          String scope,
+                                          String repo,
+                                          SequencedSet<String> managedPrefixes,
+                                          List<String> requested,
+                                          SequencedMap<String, String> bom) throws IOException {
+            String unit = group + "\t" + scope + "\t" + repo;
+            if (!requested.equals(requests.get(unit))) {
+                return null;
+            }
+            if (graph == null) {
+                graph = graph(List.of(folder.resolve(GRAPH)), List.of(folder.resolve(LICENSES)));
+                index = SequencedProperties.ofFiles(folder.resolve(DEPENDENCIES));
+            }
+            SequencedSet<String> prefixes = new LinkedHashSet<>();
+            prefixes.add(repo);
+            prefixes.addAll(managedPrefixes);
+            Resolver.Resolution previous = graph.getOrDefault(group + "/" + scope,
+                    new Resolver.Resolution(new LinkedHashMap<>(), List.of(), new LinkedHashMap<>()));
+            List<Resolver.Edge> edges = previous.edges().stream()
+                    .filter(edge -> unprefixed(prefixes, edge.coordinate()) != null)
+                    .toList();
+            SequencedMap<String, Resolver.Vertex> vertices = new LinkedHashMap<>();
+            previous.vertices().forEach((coordinate, vertex) -> {
+                if (unprefixed(prefixes, coordinate) != null) {
+                    vertices.put(coordinate, vertex);
+                }
+            });
+            SequencedMap<String, Boolean> internals = artifacts.getOrDefault(unit, new LinkedHashMap<>());
+            SequencedSet<String> touched = new LinkedHashSet<>();
+            requested.forEach(value -> touched.add(value.substring(0, value.indexOf('\t'))));
+            internals.keySet().forEach(coordinate -> touched.add(unprefixed(prefixes, coordinate)));
+            vertices.keySet().forEach(coordinate -> touched.add(unprefixed(prefixes, coordinate)));
+            for (Resolver.Edge edge : edges) {
+                touched.add(unprefixed(prefixes, edge.coordinate()));
+                if (edge.parent() != null && unprefixed(prefixes, edge.parent()) != null) {
+                    touched.add(unprefixed(prefixes, edge.parent()));
+                }
+            }
+            touched.remove(null);
+            SequencedMap<String, String> pinned = pins.getOrDefault(unit, new LinkedHashMap<>());
+            SequencedSet<String> changed = new LinkedHashSet<>();
+            bom.forEach((coordinate, value) -> {
+                if (!value.equals(pinned.get(coordinate))) {
+                    changed.add(coordinate);
+                }
+            });
+            pinned.forEach((coordinate, value) -> {
+                if (!bom.containsKey(coordinate)) {
+                    changed.add(coordinate);
+                }
+            });
+            for (String coordinate : changed) {
+                for (String candidate : touched) {
+                    if (candidate.equals(coordinate)
+                            || candidate.startsWith(coordinate + "/")
+                            || coordinate.startsWith(candidate + "/")) {
+                        return null;
+                    }
+                }
+            }
+            Path resolvedFolder = folder.resolve(RESOLVED);
+            SequencedMap<String, Resolver.Resolved> resolved = new LinkedHashMap<>();
+            for (Map.Entry<String, Boolean> entry : internals.entrySet()) {
+                String value = index.getProperty(group + "/" + scope + "/" + entry.getKey());
+                if (value == null) {
+                    return null;
+                }
+                int space = value.indexOf(' ');
+                Path file = folder.resolve(space < 0 ? value : value.substring(0, space)).normalize();
+                if (!Files.isRegularFile(file)) {
+                    return null;
+                }
+                if (file.startsWith(resolvedFolder)) {
+                    Path link = libs.resolve(resolvedFolder.relativize(file));
+                    if (!Files.exists(link)) {
+                        BuildStep.linkOrCopy(link, file);
+                    }
+                    file = link;
+                }
+                resolved.put(entry.getKey(), new Resolver.Resolved(file, space < 0 ? "" : value.substring(space + 1), entry.getValue()));
+            }
+            return new Resolver.Resolution(resolved, edges, vertices);
+        }
+
+        private static String unprefixed(SequencedSet<String> prefixes, String coordinate) {
+            for (String prefix : prefixes) {
+                if (coordinate.startsWith(prefix + "/")) {
+                    return coordinate.substring(prefix.length() + 1);
+                }
+            }
+            return null;
+        }
+    }
+
     private static String text(String value) {
         return value == null ? "" : value;
     }
@@ -604,7 +776,9 @@ public class Dependencies implements BuildStep {
             }
         }
         for (Map.Entry<String, Path> entry : placed.entrySet()) {
-            if (!explicit.getOrDefault(entry.getKey(), true) || Files.isDirectory(entry.getValue())) {
+            if (!explicit.getOrDefault(entry.getKey(), true)
+                    || Files.isDirectory(entry.getValue())
+                    || !Files.exists(entry.getValue())) {
                 continue;
             }
             String origin = entry.getValue().getFileName().toString();
@@ -637,6 +811,13 @@ public class Dependencies implements BuildStep {
                         + module
                         + " - require it directly");
             }
+            if (!Files.exists(placed.get(coordinate))) {
+                throw new IllegalStateException("Target of module alias "
+                        + alias
+                        + " is deferred: "
+                        + coordinate
+                        + " - resolve dependencies eagerly to alias it");
+            }
             ModuleDescriptor descriptor = PathPlacement.moduleDescriptor(placed.get(coordinate));
             if (descriptor != null) {
                 throw new IllegalArgumentException("Target of module alias "
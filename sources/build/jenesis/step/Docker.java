@@ -5,6 +5,8 @@ import build.jenesis.BuildStep;
 import build.jenesis.BuildStepArgument;
 import build.jenesis.BuildStepContext;
 import build.jenesis.BuildStepResult;
+import build.jenesis.Checksum;
+import build.jenesis.ChecksumStatus;
 import build.jenesis.ModuleGraph;
 import build.jenesis.PathPlacement;
 import build.jenesis.SequencedProperties;
@@ -15,18 +17,30 @@ public class Docker implements BuildStep {
 
     private final String from;
     private final String group;
+    private final Oci oci;
+    private final Path base;
 
     public Docker(String from) {
-        this(from, "main");
+        this(from, "main", null, null);
     }
 
-    private Docker(String from, String group) {
+    private Docker(String from, String group, Oci oci, Path base) {
         this.from = from;
         this.group = group;
+        this.oci = oci;
+        this.base = base;
     }
 
     public Docker group(String group) {
-        return new Docker(from, group);
+        return new Docker(from, group, oci, base);
+    }
+
+    public Docker oci(Oci oci) {
+        return new Docker(from, group, oci, base);
+    }
+
+    public Docker base(Path base) {
+        return new Docker(from, group, oci, base);
     }
 
     @Override
@@ -55,6 +69,10 @@ public class Docker implements BuildStep {
             return CompletableFuture.completedStage(new BuildStepResult(true));
         }
         SequencedMap<String, Path> jars = new TreeMap<>();
+        Set<String> application = new HashSet<>();
+        Set<Path> changed = new HashSet<>();
+        Path runtime = null;
+        boolean retained = true;
         for (BuildStepArgument argument : arguments.values()) {
             if (argument.removed()) {
                 continue;
@@ -63,12 +81,25 @@ public class Docker implements BuildStep {
             if (Files.isDirectory(artifacts)) {
                 try (DirectoryStream<Path> files = Files.newDirectoryStream(artifacts)) {
                     for (Path file : files) {
-                        jars.putIfAbsent(file.getFileName().toString(), file);
+                        if (jars.putIfAbsent(file.getFileName().toString(), file) == null) {
+                            application.add(file.getFileName().toString());
+                            if (!retained(argument, file)) {
+                                changed.add(file);
+                            }
+                        }
                     }
                 }
             }
             for (Path file : Dependencies.select(argument.folder(), group, "runtime")) {
-                jars.putIfAbsent(file.getFileName().toString(), file);
+                if (jars.putIfAbsent(file.getFileName().toString(), file) == null && !retained(argument, file)) {
+                    changed.add(file);
+                }
+            }
+            if (runtime == null && Files.isDirectory(argument.folder().resolve(JLink.RUNTIME))) {
+                runtime = argument.folder().resolve(JLink.RUNTIME);
+                retained = argument.files().entrySet().stream()
+                        .filter(entry -> entry.getKey().startsWith(JLink.RUNTIME))
+                        .allMatch(entry -> entry.getValue().status() == ChecksumStatus.RETAINED);
             }
         }
         if (jars.isEmpty()) {
@@ -87,14 +118,57 @@ public class Docker implements BuildStep {
         Path folder = Files.createDirectory(context.next().resolve(DOCKER));
         copy(folder.resolve("classpath"), classpath);
         copy(folder.resolve("modulepath"), modulepath);
-        Files.writeString(folder.resolve("Dockerfile"), dockerfile(mainClass,
+        Files.writeString(folder.resolve("Dockerfile"), dockerfile(command("java",
+                mainClass,
                 modulepath.isEmpty() ? null : mainModule,
                 graph.arguments(),
                 classpath.sequencedKeySet(),
-                modulepath.sequencedKeySet()));
+                modulepath.sequencedKeySet()), classpath.sequencedKeySet(), modulepath.sequencedKeySet()));
+        if (oci != null) {
+            if (base == null) {
+                throw new IllegalArgumentException("Writing an OCI image requires the base image " + from + " as a local OCI layout");
+            }
+            SequencedMap<String, Path> runtimes = new TreeMap<>(), dependencies = new TreeMap<>(), applications = new TreeMap<>();
+            if (runtime != null) {
+                Path image = runtime;
+                Files.walkFileTree(image, new SimpleFileVisitor<>() {
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                        runtimes.put("opt/java/" + image.relativize(file).toString().replace(File.separatorChar, '/'), file);
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            }
+            for (Map.Entry<String, Path> entry : classpath.entrySet()) {
+                (application.contains(entry.getKey()) ? applications : dependencies).put("app/classpath/" + entry.getKey(), entry.getValue());
+            }
+            for (Map.Entry<String, Path> entry : modulepath.entrySet()) {
+                (application.contains(entry.getKey()) ? applications : dependencies).put("app/modulepath/" + entry.getKey(), entry.getValue());
+            }
+            OciWriter.write(folder,
+                    context.previous() == null ? null : context.previous().resolve(DOCKER),
+                    context.supplement(),
+                    oci == Oci.TARBALL,
+                    from,
+                    base,
+                    command(runtime == null ? "java" : "/opt/java/bin/java",
+                            mainClass,
+                            modulepath.isEmpty() ? null : mainModule,
+                            graph.arguments(),
+                            classpath.sequencedKeySet(),
+                            modulepath.sequencedKeySet()),
+                    List.of(new OciWriter.Layer("runtime", runtimes, retained),
+                            new OciWriter.Layer("dependencies", dependencies, dependencies.values().stream().noneMatch(changed::contains)),
+                            new OciWriter.Layer("application", applications, applications.values().stream().noneMatch(changed::contains))));
+        }
         return CompletableFuture.completedStage(new BuildStepResult(true));
     }
 
+    private static boolean retained(BuildStepArgument argument, Path file) {
+        Checksum checksum = argument.files().get(argument.folder().relativize(file));
+        return checksum != null && checksum.status() == ChecksumStatus.RETAINED;
+    }
+
     private static void copy(Path folder, SequencedMap<String, Path> jars) throws IOException {
         if (jars.isEmpty()) {
             return;
@@ -105,11 +179,7 @@ public class Docker implements BuildStep {
         }
     }
 
-    private String dockerfile(String mainClass,
-                              String mainModule,
-                              List<String> relaxations,
-                              SequencedSet<String> classpath,
-                              SequencedSet<String> modulepath) {
+    private String dockerfile(List<String> command, SequencedSet<String> classpath, SequencedSet<String> modulepath) {
         StringBuilder builder = new StringBuilder("FROM ").append(from).append("\nWORKDIR /app\n");
         if (!modulepath.isEmpty()) {
             builder.append("COPY modulepath/ /app/modulepath/\n");
@@ -117,8 +187,17 @@ public class Docker implements BuildStep {
         if (!classpath.isEmpty()) {
             builder.append("COPY classpath/ /app/classpath/\n");
         }
+        return builder.append("ENTRYPOINT [").append(quoted(command)).append("]\n").toString();
+    }
+
+    private static List<String> command(String java,
+                                        String mainClass,
+                                        String mainModule,
+                                        List<String> relaxations,
+                                        SequencedSet<String> classpath,
+                                        SequencedSet<String> modulepath) {
         List<String> command = new ArrayList<>();
-        command.add("java");
+        command.add(java);
         if (!classpath.isEmpty()) {
             command.add("--class-path");
             command.add("/app/classpath/*");
@@ -132,7 +211,7 @@ public class Docker implements BuildStep {
             command.add("--module");
             command.add(mainModule + "/" + mainClass);
         }
-        return builder.append("ENTRYPOINT [").append(quoted(command)).append("]\n").toString();
+        return command;
     }
 
     private static String quoted(List<String> values) {
@@ -154,4 +233,9 @@ public class Docker implements BuildStep {
         }
         return builder.toString();
     }
+
+    public enum Oci {
+        DIRECTORY,
+        TARBALL
+    }
 }
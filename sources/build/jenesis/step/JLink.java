@@ -4,29 +4,79 @@ import module java.base;
 import build.jenesis.BuildStep;
 import build.jenesis.BuildStepArgument;
 import build.jenesis.BuildStepContext;
+import build.jenesis.BuildStepResult;
+import build.jenesis.HashDigestFunction;
 import build.jenesis.PathPlacement;
 
 public class JLink extends JdkProcessBuildStep {
 
     public static final String RUNTIME = "runtime/";
 
+    private static final String IMAGE = "image";
+
     private final String group;
+    private final transient Path cache;
 
     public JLink(ProcessHandler.Factory factory) {
-        this(factory.apply("jlink", "bin/jlink"), "main", printing("jlink"));
+        this(factory.apply("jlink", "bin/jlink"), "main", printing("jlink"), cache(System.getProperty("jenesis.jlink.cache")));
     }
 
-    private JLink(Function<List<String>, ? extends ProcessHandler> factory, String group, boolean verbose) {
+    private JLink(Function<List<String>, ? extends ProcessHandler> factory, String group, boolean verbose, Path cache) {
         super("jlink", factory, verbose);
         this.group = group;
+        this.cache = cache;
+    }
+
+    private static Path cache(String location) {
+        if (location == null) {
+            return null;
+        }
+        return location.isEmpty()
+                ? Path.of(System.getProperty("user.home"), ".jenesis", "jlink")
+                : Path.of(location);
     }
 
     public JLink group(String group) {
-        return new JLink(factory, group, verbose);
+        return new JLink(factory, group, verbose, cache);
     }
 
     public JLink verbose(boolean verbose) {
-        return new JLink(factory, group, verbose);
+        return new JLink(factory, group, verbose, cache);
+    }
+
+    public JLink cache(Path cache) {
+        return new JLink(factory, group, verbose, cache);
+    }
+
+    @Override
+    public CompletionStage<BuildStepResult> apply(Executor executor,
+                                                  BuildStepContext context,
+                                                  SequencedMap<String, BuildStepArgument> arguments)
+            throws IOException {
+        if (cache == null) {
+            return super.apply(executor, context, arguments);
+        }
+        return super.apply(executor, context, arguments).thenComposeAsync(result -> {
+            Path key = context.supplement().resolve(IMAGE), runtime = context.next().resolve(RUNTIME);
+            if (!result.next() || !Files.exists(key) || !Files.isDirectory(runtime)) {
+                return CompletableFuture.completedStage(result);
+            }
+            try {
+                Path image = cache.resolve(Files.readString(key));
+                if (!Files.exists(image)) {
+                    Path staged = Files.createDirectories(cache).resolve(image.getFileName() + "." + UUID.randomUUID());
+                    materialize(runtime, staged);
+                    try {
+                        Files.move(staged, image, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (FileSystemException _) {
+                        delete(staged);
+                    }
+                }
+                return CompletableFuture.completedStage(result);
+            } catch (IOException e) {
+                return CompletableFuture.failedStage(e);
+            }
+        }, executor);
     }
 
     @Override
@@ -89,8 +139,69 @@ public class JLink extends JdkProcessBuildStep {
                         "Path entry contains separator '" + File.pathSeparator + "': " + entry);
             }
         }
+        if (cache != null) {
+            String key = key(prepended(properties), path);
+            Path image = cache.resolve(key);
+            if (Files.isDirectory(image)) {
+                materialize(image, context.next().resolve(RUNTIME));
+                return CompletableFuture.completedStage(null);
+            }
+            Files.writeString(context.supplement().resolve(IMAGE), key);
+        }
         return CompletableFuture.completedStage(new ArrayList<>(List.of(
                 "--module-path", String.join(File.pathSeparator, path),
                 "--output", context.next().resolve(RUNTIME).toString())));
     }
+
+    private static String key(List<String> options, List<String> path) throws IOException {
+        HashDigestFunction hash = new HashDigestFunction("SHA-256");
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        StringBuilder key = new StringBuilder()
+                .append(System.getProperty("java.home")).append('\n')
+                .append(Runtime.version()).append('\n');
+        for (String option : options) {
+            key.append(option).append('\n');
+        }
+        for (String entry : path) {
+            key.append(hash.encodedHash(Path.of(entry))).append('\n');
+        }
+        return HexFormat.of().formatHex(digest.digest(key.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static void materialize(Path source, Path target) throws IOException {
+        Files.walkFileTree(source, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(directory).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                BuildStep.linkOrCopy(target.resolve(source.relativize(file).toString()), file);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static void delete(Path folder) throws IOException {
+        Files.walkFileTree(folder, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path directory, IOException exception) throws IOException {
+                Files.delete(directory);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
 }
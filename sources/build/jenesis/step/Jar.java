@@ -5,22 +5,99 @@ import java.util.jar.Attributes;
 import build.jenesis.BuildStep;
 import build.jenesis.BuildStepArgument;
 import build.jenesis.BuildStepContext;
+import build.jenesis.BuildStepResult;
+import build.jenesis.Checksum;
+import build.jenesis.ChecksumStatus;
 
 public class Jar extends JdkProcessBuildStep {
 
     private final Sort sort;
+    private final boolean inProcess;
+    private final Compression compression;
 
     public Jar(ProcessHandler.Factory factory, Sort sort) {
-        this(factory.apply("jar", "bin/jar"), sort, printing("jar"));
+        this(factory.apply("jar", "bin/jar"),
+                sort,
+                printing("jar"),
+                Boolean.getBoolean("jenesis.jar.inprocess"),
+                Compression.of(sort, System.getProperty("jenesis.jar.stored")));
     }
 
-    private Jar(Function<List<String>, ? extends ProcessHandler> factory, Sort sort, boolean verbose) {
+    private Jar(Function<List<String>, ? extends ProcessHandler> factory,
+                Sort sort,
+                boolean verbose,
+                boolean inProcess,
+                Compression compression) {
         super("jar", factory, verbose);
         this.sort = sort;
+        this.inProcess = inProcess;
+        this.compression = compression;
     }
 
     public Jar verbose(boolean verbose) {
-        return new Jar(factory, sort, verbose);
+        return new Jar(factory, sort, verbose, inProcess, compression);
+    }
+
+    public Jar inProcess(boolean inProcess) {
+        return new Jar(factory, sort, verbose, inProcess, compression);
+    }
+
+    public Jar compression(Compression compression) {
+        return new Jar(factory, sort, verbose, inProcess, compression);
+    }
+
+    @Override
+    public CompletionStage<BuildStepResult> apply(Executor executor,
+                                                  BuildStepContext context,
+                                                  SequencedMap<String, BuildStepArgument> arguments)
+            throws IOException {
+        if (!inProcess) {
+            return super.apply(executor, context, arguments);
+        }
+        SequencedMap<String, Path> entries = new TreeMap<>();
+        Set<String> retained = new HashSet<>();
+        for (BuildStepArgument argument : arguments.values()) {
+            if (argument.removed()) {
+                continue;
+            }
+            for (String name : sort.folders) {
+                Path folder = argument.folder().resolve(name);
+                if (!Files.exists(folder)) {
+                    continue;
+                }
+                Files.walkFileTree(folder, new SimpleFileVisitor<>() {
+                    @Override
+                    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                        if (!dir.equals(folder)) {
+                            entries.putIfAbsent(folder.relativize(dir).toString().replace(File.separatorChar, '/') + "/", dir);
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                        Path relative = folder.relativize(file);
+                        String entry = relative.toString().replace(File.separatorChar, '/');
+                        if (entries.putIfAbsent(entry, file) == null) {
+                            Checksum checksum = argument.files().get(Path.of(name).resolve(relative));
+                            if (checksum != null && checksum.status() == ChecksumStatus.RETAINED) {
+                                retained.add(entry);
+                            }
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            }
+        }
+        entries.remove(JarWriter.MANIFEST_DIRECTORY);
+        entries.keySet().removeIf(entry -> entry.equalsIgnoreCase(JarWriter.MANIFEST));
+        return JarWriter.write(executor,
+                Files.createDirectory(context.next().resolve(sort.folder)).resolve(sort.file),
+                context.previous() == null ? null : context.previous().resolve(sort.folder).resolve(sort.file),
+                manifest(arguments),
+                entries,
+                retained,
+                compression).thenApply(_ -> new BuildStepResult(true));
     }
 
     @Override
@@ -36,29 +113,11 @@ public class Jar extends JdkProcessBuildStep {
                         .resolve(sort.file)
                         .toString(),
                 "--date=1980-01-01T00:00:02Z"));
-        List<Path> manifestFiles = new ArrayList<>();
-        for (BuildStepArgument argument : arguments.values()) {
-            if (argument.removed()) {
-                continue;
-            }
-            Path candidate = argument.folder().resolve(Versions.MANIFEST);
-            if (Files.exists(candidate)) {
-                manifestFiles.add(candidate);
-            }
+        if (compression == Compression.STORED) {
+            commands.add("--no-compress");
         }
-        if (!manifestFiles.isEmpty()) {
-            Manifest merged = new Manifest();
-            for (Path path : manifestFiles) {
-                Manifest current;
-                try (InputStream in = Files.newInputStream(path)) {
-                    current = new Manifest(in);
-                }
-                mergeAttributes(merged.getMainAttributes(), current.getMainAttributes(), path);
-                for (Map.Entry<String, Attributes> entry : current.getEntries().entrySet()) {
-                    Attributes target = merged.getEntries().computeIfAbsent(entry.getKey(), _ -> new Attributes());
-                    mergeAttributes(target, entry.getValue(), path);
-                }
-            }
+        Manifest merged = manifest(arguments);
+        if (merged != null) {
             Path output = context.supplement().resolve(Versions.MANIFEST);
             try (OutputStream out = Files.newOutputStream(output)) {
                 merged.write(out);
@@ -82,6 +141,35 @@ public class Jar extends JdkProcessBuildStep {
         return CompletableFuture.completedStage(commands);
     }
 
+    private static Manifest manifest(SequencedMap<String, BuildStepArgument> arguments) throws IOException {
+        List<Path> manifestFiles = new ArrayList<>();
+        for (BuildStepArgument argument : arguments.values()) {
+            if (argument.removed()) {
+                continue;
+            }
+            Path candidate = argument.folder().resolve(Versions.MANIFEST);
+            if (Files.exists(candidate)) {
+                manifestFiles.add(candidate);
+            }
+        }
+        if (manifestFiles.isEmpty()) {
+            return null;
+        }
+        Manifest merged = new Manifest();
+        for (Path path : manifestFiles) {
+            Manifest current;
+            try (InputStream in = Files.newInputStream(path)) {
+                current = new Manifest(in);
+            }
+            mergeAttributes(merged.getMainAttributes(), current.getMainAttributes(), path);
+            for (Map.Entry<String, Attributes> entry : current.getEntries().entrySet()) {
+                Attributes target = merged.getEntries().computeIfAbsent(entry.getKey(), _ -> new Attributes());
+                mergeAttributes(target, entry.getValue(), path);
+            }
+        }
+        return merged;
+    }
+
     private static void mergeAttributes(Attributes target, Attributes source, Path file) {
         for (Map.Entry<Object, Object> entry : source.entrySet()) {
             Object key = entry.getKey(), value = entry.getValue(), existing = target.get(key);
@@ -121,4 +209,43 @@ public class Jar extends JdkProcessBuildStep {
             return file;
         }
     }
+
+    public enum Compression {
+
+        STORED,
+        DEFLATED;
+
+        private static final Set<String> COMPRESSED = Set.of(
+                "jar", "war", "ear", "zip", "jmod", "gz", "tgz", "bz2", "xz", "zst", "7z",
+                "png", "jpg", "jpeg", "gif", "webp", "ico", "woff", "woff2");
+
+        static Compression of(Sort sort, String stored) {
+            if (stored == null) {
+                return DEFLATED;
+            }
+            for (String name : stored.split(",")) {
+                if (name.isBlank()) {
+                    continue;
+                }
+                Sort candidate;
+                try {
+                    candidate = Sort.valueOf(name.trim().toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException _) {
+                    throw new IllegalArgumentException("Unknown jar sort: " + name.trim() + " (expected classes, sources, or javadoc)");
+                }
+                if (candidate == sort) {
+                    return STORED;
+                }
+            }
+            return DEFLATED;
+        }
+
+        boolean deflates(String entry) {
+            if (this == STORED || entry.endsWith("/")) {
+                return false;
+            }
+            int index = entry.lastIndexOf('.');
+            return index <= entry.lastIndexOf('/') || !COMPRESSED.contains(entry.substring(index + 1).toLowerCase(Locale.ROOT));
+        }
+    }
 }
@@ -0,0 +1,297 @@
+package build.jenesis.step;
+
+import module java.base;
+import java.util.jar.Attributes;
+import javax.lang.model.SourceVersion;
+import build.jenesis.BuildStep;
+
+final class JarWriter {
+
+    static final String MANIFEST_DIRECTORY = "META-INF/", MANIFEST = "META-INF/MANIFEST.MF";
+
+    private static final int TIME = 1, DATE = (1 << 5) | 1;
+
+    private static final long BATCH = 1 << 20;
+
+    private JarWriter() {
+    }
+
+    static CompletionStage<Void> write(Executor executor,
+                                       Path target,
+                                       Path previous,
+                                       Manifest manifest,
+                                       SequencedMap<String, Path> entries,
+                                       Set<String> retained,
+                                       Jar.Compression compression) throws IOException {
+        Map<String, Compressed> reusable = previous == null || !Files.isRegularFile(previous)
+                ? Map.of()
+                : index(previous);
+        Manifest written = manifest == null ? new Manifest() : new Manifest(manifest);
+        written.getMainAttributes().putIfAbsent(Attributes.Name.MANIFEST_VERSION, "1.0");
+        written.getMainAttributes().putIfAbsent(new Attributes.Name("Created-By"),
+                System.getProperty("java.version") + " (" + System.getProperty("java.vendor") + ")");
+        ByteArrayOutputStream manifestBytes = new ByteArrayOutputStream();
+        written.write(manifestBytes);
+        Set<String> packages = new TreeSet<>();
+        entries.forEach((name, file) -> {
+            if (!name.endsWith("/")) {
+                String unversioned = name;
+                if (BuildStep.underMetaInfVersions(Path.of(name)) && Path.of(name).getNameCount() > 3) {
+                    unversioned = Path.of(name).subpath(3, Path.of(name).getNameCount()).toString().replace(File.separatorChar, '/');
+                }
+                int index = unversioned.lastIndexOf('/');
+                if (index > 0 && SourceVersion.isName(unversioned.substring(0, index).replace('/', '.'))) {
+                    packages.add(unversioned.substring(0, index).replace('/', '.'));
+                }
+            }
+        });
+        SequencedMap<String, CompletableFuture<Compressed>> compressed = new LinkedHashMap<>();
+        compressed.put(MANIFEST_DIRECTORY, CompletableFuture.completedFuture(Compressed.DIRECTORY));
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            compressed.put(MANIFEST, CompletableFuture.completedFuture(compress(manifestBytes.toByteArray(),
+                    compression.deflates(MANIFEST) ? deflater : null)));
+        } finally {
+            deflater.end();
+        }
+        List<Map.Entry<String, Path>> batch = new ArrayList<>();
+        long size = 0;
+        for (Map.Entry<String, Path> entry : entries.entrySet()) {
+            String name = entry.getKey();
+            Compressed previously = reusable.get(name);
+            if (name.endsWith("/")) {
+                compressed.put(name, CompletableFuture.completedFuture(Compressed.DIRECTORY));
+            } else if (previously != null
+                    && retained.contains(name)
+                    && !name.endsWith("module-info.class")
+                    && previously.method() == (compression.deflates(name) ? ZipEntry.DEFLATED : ZipEntry.STORED)) {
+                compressed.put(name, CompletableFuture.completedFuture(previously));
+            } else {
+                compressed.put(name, new CompletableFuture<>());
+                batch.add(entry);
+                size += Files.size(entry.getValue());
+                if (size >= BATCH) {
+                    compress(executor, List.copyOf(batch), compressed, packages, compression);
+                    batch.clear();
+                    size = 0;
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            compress(executor, batch, compressed, packages, compression);
+        }
+        return CompletableFuture.allOf(compressed.values().toArray(CompletableFuture[]::new)).thenComposeAsync(_ -> {
+            try {
+                write(target, compressed);
+                return CompletableFuture.completedStage(null);
+            } catch (IOException e) {
+                return CompletableFuture.failedStage(e);
+            }
+        }, executor);
+    }
+
+    private static void compress(Executor executor,
+                                 List<Map.Entry<String, Path>> batch,
+                                 Map<String, CompletableFuture<Compressed>> compressed,
+                                 Set<String> packages,
+                                 Jar.Compression compression) {
+        executor.execute(() -> {
+            Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+            try {
+                for (Map.Entry<String, Path> entry : batch) {
+                    try {
+                        byte[] bytes = Files.readAllBytes(entry.getValue());
+                        if (entry.getKey().endsWith("module-info.class")) {
+                            bytes = extend(bytes, packages);
+                        }
+                        compressed.get(entry.getKey()).complete(compress(bytes,
+                                compression.deflates(entry.getKey()) ? deflater : null));
+                    } catch (Throwable t) {
+                        compressed.get(entry.getKey()).completeExceptionally(t);
+                    }
+                }
+            } finally {
+                deflater.end();
+            }
+        });
+    }
+
+    private static Compressed compress(byte[] bytes, Deflater deflater) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        if (deflater == null) {
+            return new Compressed(ZipEntry.STORED, crc.getValue(), bytes.length, ByteBuffer.wrap(bytes));
+        }
+        deflater.reset();
+        deflater.setInput(bytes);
+        deflater.finish();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(Math.max(64, bytes.length / 2));
+        byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+            outputStream.write(buffer, 0, deflater.deflate(buffer));
+        }
+        return new Compressed(ZipEntry.DEFLATED, crc.getValue(), bytes.length, ByteBuffer.wrap(outputStream.toByteArray()));
+    }
+
+    private static byte[] extend(byte[] bytes, Set<String> packages) {
+        ClassModel model = ClassFile.of().parse(bytes);
+        if (!model.isModuleInfo()) {
+            return bytes;
+        }
+        return ClassFile.of().transformClass(model, ClassTransform.dropping(element -> element instanceof ModulePackagesAttribute)
+                .andThen(ClassTransform.endHandler(builder -> builder.with(ModulePackagesAttribute.ofNames(packages.stream()
+                        .map(PackageDesc::of)
+                        .toList())))));
+    }
+
+    private static void write(Path target, SequencedMap<String, CompletableFuture<Compressed>> compressed) throws IOException {
+        ByteArrayOutputStream central = new ByteArrayOutputStream();
+        long offset = 0;
+        int count = 0;
+        try (FileChannel channel = FileChannel.open(target,
+                StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.WRITE)) {
+            for (Map.Entry<String, CompletableFuture<Compressed>> entry : compressed.entrySet()) {
+                Compressed value = entry.getValue().join();
+                byte[] name = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                byte[] extra = count == 0 ? new byte[] {(byte) 0xFE, (byte) 0xCA, 0, 0} : new byte[0];
+                int version = value.method() == ZipEntry.DEFLATED ? 20 : 10;
+                long size = value.data().remaining();
+                if (offset > 0xFFFFFFFFL || size >= 0xFFFFFFFFL || value.size() >= 0xFFFFFFFFL) {
+                    throw new IOException("Cannot write archive exceeding 4 GB in process: " + target);
+                }
+                ByteBuffer local = ByteBuffer.allocate(30 + name.length + extra.length).order(ByteOrder.LITTLE_ENDIAN)
+                        .putInt(0x04034b50)
+                        .putShort((short) version)
+                        .putShort((short) 0x0800)
+                        .putShort((short) value.method())
+                        .putShort((short) TIME)
+                        .putShort((short) DATE)
+                        .putInt((int) value.crc())
+                        .putInt((int) size)
+                        .putInt((int) value.size())
+                        .putShort((short) name.length)
+                        .putShort((short) extra.length)
+                        .put(name)
+                        .put(extra)
+                        .flip();
+                ByteBuffer header = ByteBuffer.allocate(46 + name.length + extra.length).order(ByteOrder.LITTLE_ENDIAN)
+                        .putInt(0x02014b50)
+                        .putShort((short) version)
+                        .putShort((short) version)
+                        .putShort((short) 0x0800)
+                        .putShort((short) value.method())
+                        .putShort((short) TIME)
+                        .putShort((short) DATE)
+                        .putInt((int) value.crc())
+                        .putInt((int) size)
+                        .putInt((int) value.size())
+                        .putShort((short) name.length)
+                        .putShort((short) extra.length)
+                        .putShort((short) 0)
+                        .putShort((short) 0)
+                        .putShort((short) 0)
+                        .putInt(0)
+                        .putInt((int) offset)
+                        .put(name)
+                        .put(extra);
+                central.write(header.array());
+                offset += local.remaining() + size;
+                count++;
+                ByteBuffer data = value.data().duplicate();
+                while (local.hasRemaining() || data.hasRemaining()) {
+                    channel.write(new ByteBuffer[] {local, data});
+                }
+            }
+            if (offset > 0xFFFFFFFFL) {
+                throw new IOException("Cannot write archive exceeding 4 GB in process: " + target);
+            }
+            ByteBuffer end = ByteBuffer.allocate(central.size() + 56 + 20 + 22).order(ByteOrder.LITTLE_ENDIAN)
+                    .put(central.toByteArray());
+            if (count >= 0xFFFF) {
+                end.putInt(0x06064b50)
+                        .putLong(44)
+                        .putShort((short) 45)
+                        .putShort((short) 45)
+                        .putInt(0)
+                        .putInt(0)
+                        .putLong(count)
+                        .putLong(count)
+                        .putLong(central.size())
+                        .putLong(offset)
+                        .putInt(0x07064b50)
+                        .putInt(0)
+                        .putLong(offset + central.size())
+                        .putInt(1);
+            }
+            end.putInt(0x06054b50)
+                    .putShort((short) 0)
+                    .putShort((short) 0)
+                    .putShort((short) Math.min(count, 0xFFFF))
+                    .putShort((short) Math.min(count, 0xFFFF))
+                    .putInt(central.size())
+                    .putInt((int) offset)
+                    .putShort((short) 0)
+                    .flip();
+            while (end.hasRemaining()) {
+                channel.write(end);
+            }
+        }
+    }
+
+    private static Map<String, Compressed> index(Path jar) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(jar, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        Map<String, Compressed> entries = new HashMap<>();
+        try {
+            int end = buffer.limit() - 22;
+            while (end >= Math.max(0, buffer.limit() - 22 - 0xFFFF) && buffer.getInt(end) != 0x06054b50) {
+                end--;
+            }
+            if (end < 0 || buffer.getInt(end) != 0x06054b50) {
+                return Map.of();
+            }
+            long count = buffer.getShort(end + 10) & 0xFFFF, position = buffer.getInt(end + 16) & 0xFFFFFFFFL;
+            if ((count == 0xFFFF || position == 0xFFFFFFFFL) && end >= 20 && buffer.getInt(end - 20) == 0x07064b50) {
+                int record = Math.toIntExact(buffer.getLong(end - 12));
+                count = buffer.getLong(record + 32);
+                position = buffer.getLong(record + 48);
+            }
+            int offset = Math.toIntExact(position);
+            for (long index = 0; index < count; index++) {
+                if (buffer.getInt(offset) != 0x02014b50) {
+                    return Map.of();
+                }
+                int method = buffer.getShort(offset + 10) & 0xFFFF, length = buffer.getShort(offset + 28) & 0xFFFF;
+                long crc = buffer.getInt(offset + 16) & 0xFFFFFFFFL,
+                        compressed = buffer.getInt(offset + 20) & 0xFFFFFFFFL,
+                        size = buffer.getInt(offset + 24) & 0xFFFFFFFFL,
+                        local = buffer.getInt(offset + 42) & 0xFFFFFFFFL;
+                byte[] name = new byte[length];
+                buffer.get(offset + 46, name);
+                if (compressed != 0xFFFFFFFFL
+                        && size != 0xFFFFFFFFL
+                        && local != 0xFFFFFFFFL
+                        && (method == ZipEntry.DEFLATED || method == ZipEntry.STORED)
+                        && buffer.getInt((int) local) == 0x04034b50) {
+                    int data = (int) local + 30
+                            + (buffer.getShort((int) local + 26) & 0xFFFF)
+                            + (buffer.getShort((int) local + 28) & 0xFFFF);
+                    entries.put(new String(name, StandardCharsets.UTF_8),
+                            new Compressed(method, crc, size, buffer.slice(data, Math.toIntExact(compressed))));
+                }
+                offset += 46 + length + (buffer.getShort(offset + 30) & 0xFFFF) + (buffer.getShort(offset + 32) & 0xFFFF);
+            }
+        } catch (IndexOutOfBoundsException | ArithmeticException _) {
+            return Map.of();
+        }
+        return entries;
+    }
+
+    private record Compressed(int method, long crc, long size, ByteBuffer data) {
+
+        static final Compressed DIRECTORY = new Compressed(ZipEntry.STORED, 0, 0, ByteBuffer.allocate(0));
+    }
+}
@@ -10,28 +10,47 @@ import build.jenesis.ChecksumStatus;
 import build.jenesis.PathPlacement;
 import build.jenesis.SequencedProperties;
 import build.jenesis.module.ModuleInfoParser;
+import build.jenesis.project.TestSelection;
 
 public class Javac extends JdkProcessBuildStep {
 
+    public static final String INCREMENTAL = "incremental.properties";
+
+    private static final String RECOMPILED = "javac.recompiled", REUSED = "javac.reused", GENERATED = "generated";
+
     private static final Pattern VERSIONED = Pattern.compile("META-INF/versions/(\\d+)/.+");
 
+    private static final Pattern DIAGNOSTIC = Pattern.compile("(.+\\.java):\\d+: error: .*");
+
     private final boolean includeResources;
     private final PathPlacement pathPlacement;
     private final String group;
+    private final transient boolean incremental;
+    private final transient boolean processing;
 
     public Javac(ProcessHandler.Factory factory) {
-        this(factory.apply("javac", "bin/javac"), true, PathPlacement.INFERRED, "main", printing("javac"));
+        this(factory.apply("javac", "bin/javac"),
+                true,
+                PathPlacement.INFERRED,
+                "main",
+                printing("javac"),
+                Boolean.getBoolean("jenesis.javac.incremental"),
+                factory == ProcessHandler.Factory.TOOL);
     }
 
     private Javac(Function<List<String>, ? extends ProcessHandler> factory,
                   boolean includeResources,
                   PathPlacement pathPlacement,
                   String group,
-                  boolean verbose) {
+                  boolean verbose,
+                  boolean incremental,
+                  boolean processing) {
         super("javac", factory, verbose);
         this.includeResources = includeResources;
         this.pathPlacement = pathPlacement;
         this.group = group;
+        this.incremental = incremental;
+        this.processing = processing;
     }
 
     public static void writeRelease(Path folder, String release) throws IOException {
@@ -45,19 +64,23 @@ public class Javac extends JdkProcessBuildStep {
     }
 
     public Javac includeResources(boolean includeResources) {
-        return new Javac(factory, includeResources, pathPlacement, group, verbose);
+        return new Javac(factory, includeResources, pathPlacement, group, verbose, incremental, processing);
     }
 
     public Javac pathPlacement(PathPlacement pathPlacement) {
-        return new Javac(factory, includeResources, pathPlacement, group, verbose);
+        return new Javac(factory, includeResources, pathPlacement, group, verbose, incremental, processing);
     }
 
     public Javac group(String group) {
-        return new Javac(factory, includeResources, pathPlacement, group, verbose);
+        return new Javac(factory, includeResources, pathPlacement, group, verbose, incremental, processing);
     }
 
     public Javac verbose(boolean verbose) {
-        return new Javac(factory, includeResources, pathPlacement, group, verbose);
+        return new Javac(factory, includeResources, pathPlacement, group, verbose, incremental, processing);
+    }
+
+    public Javac incremental(boolean incremental) {
+        return new Javac(factory, includeResources, pathPlacement, group, verbose, incremental, processing);
     }
 
     @Override
@@ -69,62 +92,89 @@ public class Javac extends JdkProcessBuildStep {
                                             Set<String> sourceExtensions,
                                             Set<String> processProperties,
                                             boolean includeResources) {
-        Path sourcesDir = Path.of(SOURCES);
         Path classesDir = Path.of(CLASSES);
         Path artifactsDir = Path.of(ARTIFACTS);
         Path resolvedDir = Path.of(Dependencies.RESOLVED);
         Path dependencyIndex = Path.of(DEPENDENCIES);
-        Set<Path> processFiles = new LinkedHashSet<>();
-        for (String name : processProperties) {
-            processFiles.add(Path.of(ProcessBuildStep.PROCESS + name));
-        }
+        Predicate<Path> relevant = relevance(sourceExtensions, processProperties, includeResources);
         for (BuildStepArgument argument : arguments.values()) {
             for (Map.Entry<Path, Checksum> entry : argument.files().entrySet()) {
                 if (entry.getValue().status() == ChecksumStatus.RETAINED) {
                     continue;
                 }
                 Path path = entry.getKey();
-                if (processFiles.contains(path)) {
-                    return true;
-                }
                 if (path.startsWith(classesDir)
                         || path.startsWith(artifactsDir)
                         || path.startsWith(resolvedDir)
                         || path.startsWith(dependencyIndex)) {
                     return true;
                 }
-                if (path.startsWith(sourcesDir)) {
-                    Path leaf = path.getFileName();
-                    if (leaf != null) {
-                        String name = leaf.toString();
-                        for (String extension : sourceExtensions) {
-                            if (name.endsWith(extension)) {
-                                return true;
-                            }
-                        }
-                        if (includeResources) {
-                            Path relative = sourcesDir.relativize(path);
-                            if (!BuildStep.underMetaInfVersions(relative) && !BuildStep.underBuildJenesis(relative)) {
-                                return true;
-                            }
-                        }
-                    }
+                if (relevant.test(path)) {
+                    return true;
                 }
             }
         }
         return false;
     }
 
+    private static Predicate<Path> relevance(Set<String> sourceExtensions,
+                                             Set<String> processProperties,
+                                             boolean includeResources) {
+        Path sourcesDir = Path.of(SOURCES);
+        Set<Path> processFiles = new LinkedHashSet<>();
+        for (String name : processProperties) {
+            processFiles.add(Path.of(ProcessBuildStep.PROCESS + name));
+        }
+        return path -> {
+            if (processFiles.contains(path)) {
+                return true;
+            }
+            if (path.startsWith(sourcesDir)) {
+                Path leaf = path.getFileName();
+                if (leaf != null) {
+                    String name = leaf.toString();
+                    for (String extension : sourceExtensions) {
+                        if (name.endsWith(extension)) {
+                            return true;
+                        }
+                    }
+                    if (includeResources) {
+                        Path relative = sourcesDir.relativize(path);
+                        return !BuildStep.underMetaInfVersions(relative) && !BuildStep.underBuildJenesis(relative);
+                    }
+                }
+            }
+            return false;
+        };
+    }
+
     @Override
     public CompletionStage<BuildStepResult> apply(Executor executor,
                                                   BuildStepContext context,
                                                   SequencedMap<String, BuildStepArgument> arguments)
             throws IOException {
-        return super.apply(executor, context, arguments).thenComposeAsync(result -> {
+        if (processors(arguments).isEmpty() && Abi.unchanged(context.previous(),
+                arguments,
+                relevance(Set.of(".java"), Set.of("javac.properties"), includeResources))) {
+            return CompletableFuture.completedStage(new BuildStepResult(false));
+        }
+        return super.apply(executor, context, arguments).exceptionallyComposeAsync(throwable -> {
+            try {
+                if (!Files.exists(context.supplement().resolve(RECOMPILED)) || !inconclusive(context)) {
+                    return CompletableFuture.failedStage(throwable);
+                }
+                delete(context.next().resolve(CLASSES));
+                return super.apply(executor, context, arguments);
+            } catch (IOException e) {
+                return CompletableFuture.failedStage(e);
+            }
+        }, executor).thenComposeAsync(result -> {
             if (!result.next()) {
                 return CompletableFuture.completedStage(result);
             }
             try {
+                index(context, arguments);
+                Abi.record(context.previous(), context.next(), arguments);
                 return compileVersioned(executor, context, arguments).thenApply(_ -> result);
             } catch (IOException e) {
                 CompletableFuture<BuildStepResult> failed = new CompletableFuture<>();
@@ -141,9 +191,10 @@ public class Javac extends JdkProcessBuildStep {
                                                  SequencedMap<String, SequencedMap<String, String>> properties)
             throws IOException {
         Path target = Files.createDirectory(context.next().resolve(CLASSES));
+        SequencedMap<String, String> relatives = new LinkedHashMap<>();
         List<String> files = new ArrayList<>(),
                 path = new ArrayList<>(),
-                processorPath = new ArrayList<>(),
+                processorPath = processors(arguments),
                 siblingClasses = new ArrayList<>(),
                 commands = new ArrayList<>(List.of("-d", target.toString()));
         for (BuildStepArgument argument : arguments.values()) {
@@ -153,9 +204,6 @@ public class Javac extends JdkProcessBuildStep {
             for (Path jar : Dependencies.select(argument.folder(), group, "compile")) {
                 path.add(jar.toString());
             }
-            for (Path jar : Dependencies.select(argument.folder(), "plugin", "plugin")) {
-                processorPath.add(jar.toString());
-            }
             Path sources = argument.folder().resolve(Bind.SOURCES),
                     classes = argument.folder().resolve(CLASSES);
             if (Files.exists(classes)) {
@@ -176,6 +224,7 @@ public class Javac extends JdkProcessBuildStep {
                         if (name.endsWith(".java")) {
                             if (versionOf(relative) == null) {
                                 files.add(name);
+                                relatives.put(relative.toString().replace(File.separatorChar, '/'), name);
                             }
                         } else if (includeResources && !BuildStep.underMetaInfVersions(relative) && !BuildStep.underBuildJenesis(relative)) {
                             BuildStep.linkOrCopy(target.resolve(relative), file);
@@ -195,10 +244,54 @@ public class Javac extends JdkProcessBuildStep {
                 .orElse(null);
         boolean module = moduleInfo != null;
         PathPlacement pathPlacement = this.pathPlacement.forModuleInfo(module);
+        if (processorPath.isEmpty()
+                && context.previous() != null
+                && Files.isDirectory(context.previous().resolve(CLASSES))
+                && Abi.unchanged(context.previous(),
+                arguments,
+                relevance(Set.of(".java"), Set.of("javac.properties"), includeResources).and(changed -> !versioned(changed)))) {
+            reuse(context.previous().resolve(CLASSES), target, false);
+            if (Files.exists(context.previous().resolve(INCREMENTAL))) {
+                Files.copy(context.previous().resolve(INCREMENTAL), context.supplement().resolve(INCREMENTAL));
+            }
+            Files.createFile(context.supplement().resolve(REUSED));
+            return CompletableFuture.completedStage(null);
+        }
+        boolean recompiled = false;
+        List<String> isolating = incremental && processing ? Processing.isolating(processorPath) : null;
+        if (incremental && (processorPath.isEmpty() || isolating != null) && relatives.size() == files.size()) {
+            SequencedProperties options = new SequencedProperties();
+            options.setProperty("options", String.join("\n", prepended(properties))
+                    + "\n" + pathPlacement
+                    + "\n" + String.join(File.pathSeparator, path)
+                    + "\n" + String.join(File.pathSeparator, siblingClasses)
+                    + "\n" + String.join(File.pathSeparator, processorPath));
+            options.store(context.supplement().resolve(INCREMENTAL));
+            Path marker = context.supplement().resolve(RECOMPILED);
+            SequencedSet<String> recompile = Files.exists(marker)
+                    ? null
+                    : recompile(context, arguments, relatives, options.getProperty("options"), target);
+            if (recompile != null && module) {
+                recompile.add("module-info.java");
+            }
+            if (recompile != null && !recompile.containsAll(relatives.sequencedKeySet())) {
+                Files.write(marker, recompile);
+                files.clear();
+                recompile.forEach(relative -> files.add(relatives.get(relative)));
+                files.sort(null);
+                if (files.isEmpty()) {
+                    return CompletableFuture.completedStage(null);
+                }
+                recompiled = true;
+            }
+        }
         String patchModule = null;
         if (module && !siblingClasses.isEmpty()) {
             patchModule = new ModuleInfoParser().identify(Path.of(moduleInfo)).coordinate();
         } else {
+            if (recompiled) {
+                path.add(target.toString());
+            }
             path.addAll(siblingClasses);
         }
         if (!path.isEmpty() || patchModule != null || !processorPath.isEmpty()) {
@@ -218,37 +311,318 @@ public class Javac extends JdkProcessBuildStep {
             for (String entry : path) {
                 (pathPlacement.test(Path.of(entry)) ? modulePath : classPath).add(entry);
             }
-            StringBuilder args = new StringBuilder();
-            if (!modulePath.isEmpty()) {
-                args.append("--module-path\n\"")
-                        .append(String.join(File.pathSeparator, modulePath).replace("\\", "\\\\").replace("\"", "\\\""))
-                        .append("\"\n");
-            }
-            if (!classPath.isEmpty()) {
-                args.append("--class-path\n\"")
-                        .append(String.join(File.pathSeparator, classPath).replace("\\", "\\\\").replace("\"", "\\\""))
-                        .append("\"\n");
-            }
+            SequencedMap<String, String> options = new LinkedHashMap<>();
+            options.put("--module-path", String.join(File.pathSeparator, modulePath));
+            options.put("--class-path", String.join(File.pathSeparator, classPath));
             if (patchModule != null) {
-                args.append("--patch-module\n\"")
-                        .append(patchModule)
-                        .append("=")
-                        .append(String.join(File.pathSeparator, siblingClasses).replace("\\", "\\\\").replace("\"", "\\\""))
-                        .append("\"\n");
+                options.put("--patch-module", patchModule + "=" + String.join(File.pathSeparator, siblingClasses));
             }
-            if (!processorPath.isEmpty()) {
-                args.append(pathPlacement.modular() ? "--processor-module-path\n\"" : "--processor-path\n\"")
-                        .append(String.join(File.pathSeparator, processorPath).replace("\\", "\\\\").replace("\"", "\\\""))
-                        .append("\"\n");
+            if (isolating == null) {
+                options.put(pathPlacement.modular() ? "--processor-module-path" : "--processor-path",
+                        String.join(File.pathSeparator, processorPath));
+            } else {
+                options.put("-s", Files.createDirectories(context.supplement().resolve(GENERATED)).toString());
+                options.forEach((option, value) -> {
+                    if (!value.isEmpty()) {
+                        commands.add(option);
+                        commands.add(value);
+                    }
+                });
+                return process(executor, context, prepended(properties), commands, processorPath, isolating, relatives, files);
             }
-            Path file = context.supplement().resolve("javac.args");
-            Files.writeString(file, args.toString());
-            commands.add("@" + file);
+            commands.addAll(argumentFile(context.supplement().resolve("javac.args"), options));
         }
         commands.addAll(files);
         return CompletableFuture.completedStage(commands);
     }
 
+    private static CompletionStage<List<String>> process(Executor executor,
+                                                         BuildStepContext context,
+                                                         List<String> prepended,
+                                                         List<String> commands,
+                                                         List<String> processorPath,
+                                                         List<String> processors,
+                                                         SequencedMap<String, String> sources,
+                                                         List<String> files) throws IOException {
+        List<String> options = new ArrayList<>(prepended);
+        options.addAll(commands);
+        Files.writeString(context.supplement().resolve("command"), String.join(" ", Stream.of(
+                Stream.of("javac"),
+                options.stream(),
+                Stream.of("--processor-path", String.join(File.pathSeparator, processorPath)),
+                files.stream()).flatMap(Function.identity()).toList()));
+        CompletableFuture<List<String>> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                StringWriter error = new StringWriter();
+                boolean compiled = Processing.compile(options,
+                        processorPath,
+                        processors,
+                        sources,
+                        files,
+                        context.supplement().resolve(Processing.PROCESSED),
+                        error);
+                Files.writeString(context.supplement().resolve("error"), error.toString());
+                if (compiled) {
+                    future.complete(null);
+                } else {
+                    future.completeExceptionally(new IllegalStateException("Unexpected exit code: 1\n"
+                            + "To reproduce, execute:\n " + Files.readString(context.supplement().resolve("command"))
+                            + (error.toString().isBlank() ? "" : ("\n\nError:\n" + error))));
+                }
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        return future;
+    }
+
+    private static List<String> processors(SequencedMap<String, BuildStepArgument> arguments) throws IOException {
+        List<String> processors = new ArrayList<>();
+        for (BuildStepArgument argument : arguments.values()) {
+            if (argument.removed()) {
+                continue;
+            }
+            for (Path jar : Dependencies.select(argument.folder(), "plugin", "plugin")) {
+                processors.add(jar.toString());
+            }
+        }
+        return processors;
+    }
+
+    private static SequencedSet<String> recompile(BuildStepContext context,
+                                                  SequencedMap<String, BuildStepArgument> arguments,
+                                                  SequencedMap<String, String> sources,
+                                                  String options,
+                                                  Path target) throws IOException {
+        if (context.previous() == null
+                || !Files.exists(context.previous().resolve(INCREMENTAL))
+                || !Files.isDirectory(context.previous().resolve(CLASSES))) {
+            return null;
+        }
+        SequencedProperties properties = SequencedProperties.ofFiles(context.previous().resolve(INCREMENTAL));
+        if (!options.equals(properties.getProperty("options")) || properties.getProperty("unmapped") != null) {
+            return null;
+        }
+        Path sourcesDir = Path.of(SOURCES);
+        SequencedSet<String> changed = new TreeSet<>();
+        boolean classpath = false;
+        for (BuildStepArgument argument : arguments.values()) {
+            for (Map.Entry<Path, Checksum> entry : argument.files().entrySet()) {
+                if (entry.getValue().status() == ChecksumStatus.RETAINED) {
+                    continue;
+                }
+                Path path = entry.getKey();
+                if (!path.startsWith(sourcesDir)) {
+                    classpath = true;
+                    continue;
+                }
+                Path relative = sourcesDir.relativize(path);
+                if (relative.toString().endsWith(".java") && versionOf(relative) == null) {
+                    String name = relative.toString().replace(File.separatorChar, '/');
+                    if (name.equals("module-info.java")) {
+                        return null;
+                    }
+                    changed.add(name);
+                }
+            }
+        }
+        if (classpath && !Abi.unchanged(context.previous(), arguments, path -> !path.startsWith(sourcesDir))) {
+            return null;
+        }
+        Map<String, List<String>> generated = new HashMap<>();
+        Map<String, String> origins = new HashMap<>();
+        Map<String, Set<String>> references = new HashMap<>();
+        properties.forEachProperty((key, value) -> {
+            List<String> names = value.isEmpty() ? List.of() : List.of(value.split(","));
+            if (key.startsWith("source/")) {
+                generated.put(key.substring("source/".length()), names);
+                names.forEach(name -> origins.put(name, key.substring("source/".length())));
+            } else if (key.startsWith("class/")) {
+                references.put(key.substring("class/".length()), Set.copyOf(names));
+            }
+        });
+        for (String source : sources.sequencedKeySet()) {
+            if (!generated.containsKey(source) && !changed.contains(source)) {
+                return null;
+            }
+        }
+        Path classes = context.previous().resolve(CLASSES);
+        Set<String> stale = new HashSet<>();
+        for (String source : changed) {
+            for (String name : generated.getOrDefault(source, List.of())) {
+                if (inlinesConstants(classes.resolve(name.replace('.', '/') + ".class"))) {
+                    return null;
+                }
+                stale.add(name);
+            }
+        }
+        SequencedSet<String> recompile = new TreeSet<>();
+        for (String source : changed) {
+            if (sources.containsKey(source)) {
+                recompile.add(source);
+            }
+        }
+        for (String name : TestSelection.of(references).impacted(stale)) {
+            String source = origins.get(name);
+            if (source != null && sources.containsKey(source)) {
+                recompile.add(source);
+            }
+        }
+        for (String source : recompile) {
+            stale.addAll(generated.getOrDefault(source, List.of()));
+        }
+        for (Map.Entry<String, List<String>> entry : generated.entrySet()) {
+            if (entry.getKey().equals("module-info.java")) {
+                continue;
+            }
+            for (String name : entry.getValue()) {
+                Path file = Path.of(name.replace('.', '/') + ".class");
+                if (!stale.contains(name) && Files.exists(classes.resolve(file))) {
+                    Files.createDirectories(target.resolve(file).getParent());
+                    BuildStep.linkOrCopy(target.resolve(file), classes.resolve(file));
+                }
+            }
+        }
+        return recompile;
+    }
+
+    private static boolean inlinesConstants(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return false;
+        }
+        for (FieldModel field : ClassFile.of().parse(file).fields()) {
+            if (field.flags().has(AccessFlag.PRIVATE)) {
+                continue;
+            }
+            for (Attribute<?> attribute : field.attributes()) {
+                if (attribute instanceof ConstantValueAttribute) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void index(BuildStepContext context, SequencedMap<String, BuildStepArgument> arguments) throws IOException {
+        Path options = context.supplement().resolve(INCREMENTAL), classes = context.next().resolve(CLASSES);
+        if (!Files.exists(options)) {
+            return;
+        }
+        SequencedMap<String, SequencedSet<String>> generated = new TreeMap<>();
+        for (BuildStepArgument argument : arguments.values()) {
+            if (argument.removed() || !Files.exists(argument.folder().resolve(Bind.SOURCES))) {
+                continue;
+            }
+            Path sources = argument.folder().resolve(Bind.SOURCES);
+            try (Stream<Path> files = Files.walk(sources)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Path relative = sources.relativize(file);
+                    if (relative.toString().endsWith(".java") && versionOf(relative) == null) {
+                        generated.put(relative.toString().replace(File.separatorChar, '/'), new TreeSet<>());
+                    }
+                }
+            }
+        }
+        Map<String, String> processed = new HashMap<>();
+        if (Files.isDirectory(context.supplement().resolve(GENERATED))) {
+            if (!Files.exists(context.supplement().resolve(Processing.PROCESSED))) {
+                return;
+            }
+            if (Files.exists(context.supplement().resolve(RECOMPILED)) || Files.exists(context.supplement().resolve(REUSED))) {
+                SequencedProperties.ofFiles(context.previous().resolve(INCREMENTAL)).forEachProperty((key, value) -> {
+                    if (key.startsWith("processed/")) {
+                        processed.put(key.substring("processed/".length()), value);
+                    }
+                });
+            }
+            SequencedProperties.ofFiles(context.supplement().resolve(Processing.PROCESSED)).forEachProperty(processed::put);
+        }
+        SequencedMap<String, String> references = new TreeMap<>(), origins = new TreeMap<>();
+        SequencedSet<String> unmapped = new TreeSet<>();
+        if (Files.exists(classes)) {
+            List<Path> files;
+            try (Stream<Path> stream = Files.walk(classes)) {
+                files = stream.filter(file -> file.toString().endsWith(".class")
+                        && !BuildStep.underMetaInfVersions(classes.relativize(file))).toList();
+            }
+            for (Path file : files) {
+                byte[] bytes = Files.readAllBytes(file);
+                ClassModel model = ClassFile.of().parse(bytes);
+                String name = model.thisClass().asInternalName(), source = null;
+                for (Attribute<?> attribute : model.attributes()) {
+                    if (attribute instanceof SourceFileAttribute sourceFile) {
+                        source = name.substring(0, name.lastIndexOf('/') + 1) + sourceFile.sourceFile().stringValue();
+                    }
+                }
+                if (source != null && !generated.containsKey(source) && processed.containsKey(source)) {
+                    origins.put(source, processed.get(source));
+                    source = processed.get(source);
+                }
+                references.put(name.replace('/', '.'), String.join(",", new TreeSet<>(TestSelection.references(bytes))));
+                if (source == null || !generated.containsKey(source)) {
+                    int inner = name.indexOf('$', name.lastIndexOf('/') + 1);
+                    source = (inner < 0 ? name : name.substring(0, inner)) + ".java";
+                    if (!generated.containsKey(source)) {
+                        unmapped.add(name.replace('/', '.'));
+                        continue;
+                    }
+                }
+                generated.get(source).add(name.replace('/', '.'));
+            }
+        }
+        SequencedProperties properties = SequencedProperties.ofFiles(options);
+        generated.forEach((source, names) -> properties.setProperty("source/" + source, String.join(",", names)));
+        references.forEach((name, value) -> properties.setProperty("class/" + name, value));
+        origins.forEach((name, value) -> properties.setProperty("processed/" + name, value));
+        if (!unmapped.isEmpty()) {
+            properties.setProperty("unmapped", String.join(",", unmapped));
+        }
+        properties.store(context.next().resolve(INCREMENTAL));
+    }
+
+    private static boolean inconclusive(BuildStepContext context) throws IOException {
+        List<Path> recompiled = Files.readAllLines(context.supplement().resolve(RECOMPILED)).stream().map(Path::of).toList();
+        boolean located = false;
+        for (String name : List.of("output", "error")) {
+            Path file = context.supplement().resolve(name);
+            if (!Files.exists(file)) {
+                continue;
+            }
+            for (String line : new String(Files.readAllBytes(file), NATIVE_ENCODING).lines().toList()) {
+                Matcher matcher = DIAGNOSTIC.matcher(line);
+                if (matcher.matches()) {
+                    if (recompiled.stream().noneMatch(Path.of(matcher.group(1))::endsWith)) {
+                        return true;
+                    }
+                    located = true;
+                } else if (line.startsWith("error: ")) {
+                    return true;
+                }
+            }
+        }
+        return !located;
+    }
+
+    private static void delete(Path folder) throws IOException {
+        if (!Files.exists(folder)) {
+            return;
+        }
+        Files.walkFileTree(folder, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
     private CompletionStage<Void> compileVersioned(Executor executor,
                                                    BuildStepContext context,
                                                    SequencedMap<String, BuildStepArgument> arguments)
@@ -307,20 +681,43 @@ public class Javac extends JdkProcessBuildStep {
         } else {
             moduleName = null;
         }
-        CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+        Set<Integer> changed = null;
+        if (Files.exists(context.supplement().resolve(REUSED))) {
+            changed = new HashSet<>();
+            Path sourcesDir = Path.of(SOURCES);
+            for (BuildStepArgument argument : arguments.values()) {
+                for (Map.Entry<Path, Checksum> entry : argument.files().entrySet()) {
+                    if (entry.getValue().status() != ChecksumStatus.RETAINED && versioned(entry.getKey())) {
+                        changed.add(versionOf(sourcesDir.relativize(entry.getKey())));
+                    }
+                }
+            }
+        }
+        List<CompletableFuture<Void>> releases = new ArrayList<>();
         for (Map.Entry<Integer, List<String>> entry : versionedFiles.entrySet()) {
             int release = entry.getKey();
-            List<String> files = entry.getValue();
-            List<String> roots = versionedRoots.get(release);
-            chain = chain.thenComposeAsync(_ -> {
-                try {
-                    return runVersioned(executor, context, prepended, dependencyPath, moduleName, mainTarget, roots, release, files);
-                } catch (IOException e) {
-                    return CompletableFuture.failedFuture(e);
-                }
-            }, executor);
+            Path previous = context.previous() == null
+                    ? null
+                    : context.previous().resolve(CLASSES + "META-INF/versions/" + release);
+            if (changed != null && !changed.contains(release) && Files.isDirectory(previous)) {
+                reuse(previous, mainTarget.resolve("META-INF/versions/" + release), true);
+                continue;
+            }
+            try {
+                releases.add(runVersioned(executor,
+                        context,
+                        prepended,
+                        dependencyPath,
+                        moduleName,
+                        mainTarget,
+                        versionedRoots.get(release),
+                        release,
+                        entry.getValue()).toCompletableFuture());
+            } catch (IOException e) {
+                releases.add(CompletableFuture.failedFuture(e));
+            }
         }
-        return chain.thenComposeAsync(_ -> {
+        return CompletableFuture.allOf(releases.toArray(CompletableFuture[]::new)).thenComposeAsync(_ -> {
             try {
                 if (!hasMultiReleaseManifest(arguments)) {
                     Path manifest = context.next().resolve(Versions.MANIFEST);
@@ -449,6 +846,36 @@ public class Javac extends JdkProcessBuildStep {
         return future;
     }
 
+    private static boolean versioned(Path path) {
+        Path sourcesDir = Path.of(SOURCES);
+        return path.startsWith(sourcesDir)
+                && path.toString().endsWith(".java")
+                && versionOf(sourcesDir.relativize(path)) != null;
+    }
+
+    private static void reuse(Path source, Path target, boolean versions) throws IOException {
+        Files.walkFileTree(source, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Path relative = source.relativize(dir);
+                if (!versions && BuildStep.underMetaInfVersions(relative)) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                Files.createDirectories(target.resolve(relative));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Path link = target.resolve(source.relativize(file));
+                if (!Files.exists(link)) {
+                    BuildStep.linkOrCopy(link, file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
     private static Integer versionOf(Path relative) {
         String normalized = relative.toString().replace(File.separatorChar, '/');
         Matcher matcher = VERSIONED.matcher(normalized);
@@ -0,0 +1,268 @@
+package build.jenesis.step;
+
+import module java.base;
+import module java.compiler;
+import java.util.spi.ToolProvider;
+
+final class JavacPool implements ToolProvider {
+
+    private static final int IDLE = 4, ARCHIVES = 256;
+
+    private static final Set<String> PATHS = Set.of("-d", "-s", "-h",
+            "--class-path", "-classpath", "-cp",
+            "--module-path", "-p",
+            "--source-path", "-sourcepath",
+            "--processor-path", "-processorpath",
+            "--processor-module-path");
+
+    private static final Deque<Pooled> POOL = new ArrayDeque<>();
+
+    private final ToolProvider delegate;
+    private final JavaCompiler compiler;
+
+    JavacPool(ToolProvider delegate) {
+        this.delegate = delegate;
+        compiler = javax.tools.ToolProvider.getSystemJavaCompiler();
+    }
+
+    @Override
+    public String name() {
+        return delegate.name();
+    }
+
+    @Override
+    public int run(PrintWriter out, PrintWriter err, String... args) {
+        String environment = System.getenv("JDK_JAVAC_OPTIONS");
+        if (compiler == null || environment != null && !environment.isBlank()) {
+            return delegate.run(out, err, args);
+        }
+        List<String> arguments = new ArrayList<>(), classes = new ArrayList<>();
+        List<Path> sources = new ArrayList<>(), archives = new ArrayList<>();
+        StringBuilder key = new StringBuilder();
+        try {
+            Iterator<String> iterator = expand(args).iterator();
+            while (iterator.hasNext()) {
+                String argument = iterator.next();
+                if (!argument.startsWith("-")) {
+                    if (argument.endsWith(".java")) {
+                        sources.add(Path.of(argument));
+                    } else {
+                        classes.add(argument);
+                    }
+                    continue;
+                }
+                int separator = argument.startsWith("--") ? argument.indexOf('=') : -1;
+                String name = separator < 0 ? argument : argument.substring(0, separator);
+                int values = separator < 0
+                        ? Math.max(compiler.isSupportedOption(argument), Options.FILE_MANAGER.isSupportedOption(argument))
+                        : 0;
+                if (values < 0 || values > 0 && !iterator.hasNext()) {
+                    return delegate.run(out, err, args);
+                }
+                String value = values > 0 ? iterator.next() : separator < 0 ? null : argument.substring(separator + 1);
+                arguments.add(argument);
+                if (values > 0) {
+                    arguments.add(value);
+                }
+                if (PATHS.contains(name)) {
+                    key.append(name).append('\n');
+                    if (!name.equals("-d") && !name.equals("-s") && !name.equals("-h")) {
+                        for (String element : value.split(File.pathSeparator)) {
+                            if (!element.isEmpty()) {
+                                archives.add(Path.of(element));
+                            }
+                        }
+                    }
+                } else {
+                    key.append(argument).append('\n');
+                    if (values > 0) {
+                        key.append(value).append('\n');
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException _) {
+            return delegate.run(out, err, args);
+        }
+        if (sources.isEmpty() && classes.isEmpty()) {
+            return delegate.run(out, err, args);
+        }
+        Pooled pooled = acquire(key.toString());
+        boolean reusable = false;
+        try {
+            JavaCompiler.CompilationTask task;
+            try {
+                task = compiler.getTask(err,
+                        pooled.fileManager(),
+                        null,
+                        arguments,
+                        classes.isEmpty() ? null : classes,
+                        pooled.fileManager().getJavaFileObjectsFromPaths(sources));
+            } catch (IllegalArgumentException | IllegalStateException _) {
+                return delegate.run(out, err, args);
+            }
+            try {
+                int code = task.call() ? 0 : 1;
+                reusable = true;
+                return code;
+            } catch (RuntimeException e) {
+                e.printStackTrace(err);
+                return 4;
+            }
+        } finally {
+            release(pooled, reusable, archives);
+        }
+    }
+
+    static void closeIdle() {
+        List<Pooled> idle;
+        synchronized (POOL) {
+            idle = new ArrayList<>(POOL);
+            POOL.clear();
+        }
+        idle.forEach(Pooled::close);
+    }
+
+    private Pooled acquire(String key) {
+        synchronized (POOL) {
+            Iterator<Pooled> iterator = POOL.iterator();
+            while (iterator.hasNext()) {
+                Pooled pooled = iterator.next();
+                if (pooled.key().equals(key)) {
+                    iterator.remove();
+                    if (pooled.current()) {
+                        return pooled;
+                    }
+                    pooled.close();
+                }
+            }
+        }
+        return new Pooled(key, compiler.getStandardFileManager(null, null, null), new HashMap<>());
+    }
+
+    private static void release(Pooled pooled, boolean reusable, List<Path> archives) {
+        if (reusable) {
+            for (Path archive : archives) {
+                if (!Files.isDirectory(archive)) {
+                    pooled.stamps().put(archive, Stamp.of(archive));
+                } else {
+                    try (DirectoryStream<Path> jars = Files.newDirectoryStream(archive, "*.jar")) {
+                        for (Path jar : jars) {
+                            pooled.stamps().put(jar, Stamp.of(jar));
+                        }
+                    } catch (IOException _) {
+                        reusable = false;
+                    }
+                }
+            }
+        }
+        if (!reusable || pooled.stamps().size() > ARCHIVES) {
+            pooled.close();
+            return;
+        }
+        Pooled evicted;
+        synchronized (POOL) {
+            POOL.addFirst(pooled);
+            evicted = POOL.size() > IDLE ? POOL.removeLast() : null;
+        }
+        if (evicted != null) {
+            evicted.close();
+        }
+    }
+
+    private static List<String> expand(String... args) throws IOException {
+        List<String> arguments = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.length() > 1 && arg.startsWith("@@")) {
+                arguments.add(arg.substring(1));
+            } else if (arg.length() > 1 && arg.startsWith("@")) {
+                String content = Files.readString(Path.of(arg.substring(1)), Charset.defaultCharset());
+                StringBuilder token = null;
+                char quote = 0;
+                for (int index = 0; index < content.length(); index++) {
+                    char character = content.charAt(index);
+                    if (token == null) {
+                        if (character == '#') {
+                            while (index + 1 < content.length() && "\n\r".indexOf(content.charAt(index + 1)) < 0) {
+                                index++;
+                            }
+                        } else if (" \t\f\n\r".indexOf(character) < 0) {
+                            token = new StringBuilder();
+                            index--;
+                        }
+                    } else if (quote == 0 && " \t\f".indexOf(character) >= 0 || "\n\r".indexOf(character) >= 0) {
+                        arguments.add(token.toString());
+                        token = null;
+                    } else if (character == '\'' || character == '"') {
+                        if (quote == 0) {
+                            quote = character;
+                        } else if (quote == character) {
+                            quote = 0;
+                        } else {
+                            token.append(character);
+                        }
+                    } else if (character == '\\' && quote != 0 && index + 1 < content.length()) {
+                        char escaped = content.charAt(++index);
+                        if (escaped == '\n' || escaped == '\r') {
+                            while (index + 1 < content.length() && " \t\f\n\r".indexOf(content.charAt(index + 1)) >= 0) {
+                                index++;
+                            }
+                        } else {
+                            token.append(switch (escaped) {
+                                case 'n' -> '\n';
+                                case 'r' -> '\r';
+                                case 't' -> '\t';
+                                case 'f' -> '\f';
+                                default -> escaped;
+                            });
+                        }
+                    } else {
+                        token.append(character);
+                    }
+                }
+                if (token != null) {
+                    arguments.add(token.toString());
+                }
+            } else {
+                arguments.add(arg);
+            }
+        }
+        return arguments;
+    }
+
+    private static final class Options {
+
+        private static final StandardJavaFileManager FILE_MANAGER = javax.tools.ToolProvider.getSystemJavaCompiler()
+                .getStandardFileManager(null, null, null);
+    }
+
+    private record Stamp(long size, FileTime modified, Object key) {
+
+        private static Stamp of(Path path) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                return new Stamp(attributes.size(), attributes.lastModifiedTime(), attributes.fileKey());
+            } catch (IOException _) {
+                return null;
+            }
+        }
+    }
+
+    private record Pooled(String key, StandardJavaFileManager fileManager, Map<Path, Stamp> stamps) {
+
+        private boolean current() {
+            for (Map.Entry<Path, Stamp> entry : stamps.entrySet()) {
+                if (!Objects.equals(entry.getValue(), Stamp.of(entry.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void close() {
+            try {
+                fileManager.close();
+            } catch (IOException _) {
+            }
+        }
+    }
+}
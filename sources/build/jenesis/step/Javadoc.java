@@ -4,6 +4,7 @@ import module java.base;
 import build.jenesis.BuildStep;
 import build.jenesis.BuildStepArgument;
 import build.jenesis.BuildStepContext;
+import build.jenesis.BuildStepResult;
 import build.jenesis.PathPlacement;
 
 public class Javadoc extends JdkProcessBuildStep {
@@ -43,6 +44,29 @@ public class Javadoc extends JdkProcessBuildStep {
         return true;
     }
 
+    @Override
+    public CompletionStage<BuildStepResult> apply(Executor executor,
+                                                  BuildStepContext context,
+                                                  SequencedMap<String, BuildStepArgument> arguments)
+            throws IOException {
+        if (Abi.unchanged(context.previous(),
+                arguments,
+                path -> path.startsWith(BuildStep.SOURCES) || path.startsWith(PROCESS))) {
+            return CompletableFuture.completedStage(new BuildStepResult(false));
+        }
+        return super.apply(executor, context, arguments).thenComposeAsync(result -> {
+            if (!result.next()) {
+                return CompletableFuture.completedStage(result);
+            }
+            try {
+                Abi.record(context.previous(), context.next(), arguments);
+                return CompletableFuture.completedStage(result);
+            } catch (IOException e) {
+                return CompletableFuture.failedStage(e);
+            }
+        }, executor);
+    }
+
     @Override
     protected CompletionStage<List<String>> process(Executor executor,
                                                     BuildStepContext context,
@@ -0,0 +1,153 @@
+package build.jenesis.step;
+
+import module java.base;
+import build.jenesis.BuildExecutorModule;
+import build.jenesis.BuildStep;
+import build.jenesis.BuildStepArgument;
+import build.jenesis.BuildStepContext;
+import build.jenesis.BuildStepResult;
+import build.jenesis.PathPlacement;
+import build.jenesis.Repository;
+import build.jenesis.RepositoryItem;
+import build.jenesis.Resolver;
+import build.jenesis.SequencedProperties;
+
+public class Materialize implements BuildStep {
+
+    private final transient Map<String, Repository> repositories;
+
+    public Materialize(Map<String, Repository> repositories) {
+        this.repositories = repositories;
+    }
+
+    @Override
+    public boolean shouldRun(SequencedMap<String, BuildStepArgument> arguments) {
+        return arguments.values().stream().anyMatch(argument -> argument.hasChanged(
+                Path.of(DEPENDENCIES),
+                Path.of(Dependencies.DEFERRED),
+                Path.of(Dependencies.GRAPH),
+                Path.of(Dependencies.LICENSES),
+                Path.of(Dependencies.ALIASED),
+                Path.of(BOMS),
+                Path.of(Dependencies.RESOLVED)));
+    }
+
+    @Override
+    public CompletionStage<BuildStepResult> apply(Executor executor,
+                                                  BuildStepContext context,
+                                                  SequencedMap<String, BuildStepArgument> arguments)
+            throws IOException {
+        Path libs = Files.createDirectories(context.next().resolve(Dependencies.RESOLVED));
+        Path previousLibs = context.previous() == null ? null : context.previous().resolve(Dependencies.RESOLVED);
+        Map<String, Repository> wrapped = new LinkedHashMap<>();
+        repositories.forEach((name, repository) -> {
+            Repository effective = repository;
+            if (previousLibs != null) {
+                effective = effective.prepend((_, coordinate) -> {
+                    Path file = previousLibs.resolve(BuildExecutorModule.encode(coordinate) + ".jar");
+                    return Files.exists(file) ? Optional.of(RepositoryItem.ofFile(file)) : Optional.empty();
+                });
+            }
+            wrapped.put(name, effective.materialized(libs));
+        });
+        SequencedProperties index = new SequencedProperties(),
+                graph = new SequencedProperties(),
+                licenses = new SequencedProperties(),
+                aliased = new SequencedProperties(),
+                boms = new SequencedProperties();
+        for (BuildStepArgument argument : arguments.values()) {
+            if (argument.removed()) {
+                continue;
+            }
+            Path folder = argument.folder(), resolved = folder.resolve(Dependencies.RESOLVED);
+            if (Files.isDirectory(resolved)) {
+                try (Stream<Path> files = Files.walk(resolved)) {
+                    for (Path file : files.filter(Files::isRegularFile).toList()) {
+                        Path target = libs.resolve(resolved.relativize(file).toString());
+                        if (!Files.exists(target)) {
+                            Files.createDirectories(target.getParent());
+                            BuildStep.linkOrCopy(target, file);
+                        }
+                    }
+                }
+            }
+            SequencedMap<String, SequencedMap<String, String>> deferred = new LinkedHashMap<>();
+            Path deferredFile = folder.resolve(Dependencies.DEFERRED);
+            if (Files.exists(deferredFile)) {
+                SequencedProperties.ofFiles(deferredFile).forEachProperty((dependency, checksum) -> deferred
+                        .computeIfAbsent(dependency.substring(0, dependency.indexOf('/')), _ -> new LinkedHashMap<>())
+                        .put(dependency, checksum));
+            }
+            SequencedMap<String, Path> fetched = new LinkedHashMap<>();
+            for (Map.Entry<String, SequencedMap<String, String>> entry : deferred.entrySet()) {
+                for (Map.Entry<String, Resolver.Resolved> artifact : Resolver.materializeAll(executor,
+                        wrapped,
+                        entry.getKey(),
+                        entry.getValue()).entrySet()) {
+                    String dependency = artifact.getKey();
+                    Path target = libs.resolve(BuildExecutorModule.encode(dependency.substring(dependency.indexOf('/') + 1)) + ".jar");
+                    if (!Files.exists(target)) {
+                        BuildStep.linkOrCopy(target, artifact.getValue().file());
+                    }
+                    fetched.put(dependency, target);
+                }
+            }
+            Path indexFile = folder.resolve(DEPENDENCIES);
+            if (Files.exists(indexFile)) {
+                SequencedProperties.ofFiles(indexFile).forEachProperty((key, value) -> {
+                    int space = value.indexOf(' ');
+                    index.setProperty(key, relocate(context.next(), folder, space < 0 ? value : value.substring(0, space))
+                            + (space < 0 ? "" : value.substring(space)));
+                });
+            }
+            Path graphFile = folder.resolve(Dependencies.GRAPH);
+            if (Files.exists(graphFile)) {
+                SequencedProperties.ofFiles(graphFile).forEachProperty((key, value) -> {
+                    if (key.startsWith("vertex/")) {
+                        String[] parts = value.split("\t", -1);
+                        int first = key.indexOf('/', "vertex/".length()), second = key.indexOf('/', first + 1);
+                        Path file = parts.length == 4 && parts[1].isEmpty() && second > 0
+                                ? fetched.get(key.substring(second + 1) + "/" + parts[0])
+                                : null;
+                        ModuleDescriptor descriptor = file == null ? null : PathPlacement.moduleDescriptor(file);
+                        if (descriptor != null) {
+                            parts[1] = descriptor.name();
+                            parts[2] = Boolean.toString(descriptor.isAutomatic());
+                            value = String.join("\t", parts);
+                        }
+                    }
+                    graph.setProperty(key, value);
+                });
+            }
+            Path licensesFile = folder.resolve(Dependencies.LICENSES);
+            if (Files.exists(licensesFile)) {
+                SequencedProperties.ofFiles(licensesFile).forEachProperty(licenses::setProperty);
+            }
+            Path aliasedFile = folder.resolve(Dependencies.ALIASED);
+            if (Files.exists(aliasedFile)) {
+                SequencedProperties.ofFiles(aliasedFile).forEachProperty(aliased::setProperty);
+            }
+            Path bomsFile = folder.resolve(BOMS);
+            if (Files.exists(bomsFile)) {
+                SequencedProperties.ofFiles(bomsFile).forEachProperty((key, value) -> boms.setProperty(key,
+                        key.startsWith("bom/") ? relocate(context.next(), folder, value) : value));
+            }
+        }
+        index.store(context.next().resolve(DEPENDENCIES));
+        graph.store(context.next().resolve(Dependencies.GRAPH));
+        licenses.store(context.next().resolve(Dependencies.LICENSES));
+        if (!aliased.isEmpty()) {
+            aliased.store(context.next().resolve(Dependencies.ALIASED));
+        }
+        if (!boms.isEmpty()) {
+            boms.store(context.next().resolve(BOMS));
+        }
+        return CompletableFuture.completedStage(new BuildStepResult(true));
+    }
+
+    private static String relocate(Path next, Path folder, String relative) {
+        Path file = folder.resolve(relative).normalize(), resolved = folder.resolve(Dependencies.RESOLVED).normalize();
+        Path target = file.startsWith(resolved) ? next.resolve(Dependencies.RESOLVED).resolve(resolved.relativize(file).toString()) : file;
+        return next.toAbsolutePath().relativize(target.toAbsolutePath()).toString().replace(File.separatorChar, '/');
+    }
+}
@@ -0,0 +1,581 @@
+package build.jenesis.step;
+
+import module java.base;
+import build.jenesis.BuildStep;
+import build.jenesis.Json;
+import build.jenesis.SequencedProperties;
+
+final class OciWriter {
+
+    static final String LAYOUT = "oci/", TARBALL = "image.tar", LAYERS = "layers.properties";
+
+    private static final String INDEX = "application/vnd.oci.image.index.v1+json",
+            MANIFEST = "application/vnd.oci.image.manifest.v1+json",
+            CONFIG = "application/vnd.oci.image.config.v1+json",
+            LAYER = "application/vnd.oci.image.layer.v1.tar+gzip",
+            LIST = "application/vnd.docker.distribution.manifest.list.v2+json";
+
+    private static final String PATH = "/usr/local/sbin:/usr/local/bin:/usr/sbin:/usr/bin:/sbin:/bin";
+
+    private static final int BLOCK = 512;
+
+    private OciWriter() {
+    }
+
+    static void write(Path folder,
+                      Path previous,
+                      Path staging,
+                      boolean tarball,
+                      String from,
+                      Path base,
+                      List<String> entrypoint,
+                      List<Layer> layers) throws IOException {
+        SequencedProperties recorded = previous != null && Files.isRegularFile(previous.resolve(LAYERS))
+                ? SequencedProperties.ofFiles(previous.resolve(LAYERS))
+                : new SequencedProperties();
+        Path blobs = Files.createDirectories((tarball ? staging : folder).resolve(LAYOUT).resolve("blobs/sha256"));
+        Image image = image(base);
+        SequencedProperties current = new SequencedProperties();
+        List<String> written = new ArrayList<>();
+        List<String> diffs = new ArrayList<>(image.diffs());
+        for (int index = 0; index < image.layers().size(); index++) {
+            Blob layer = image.layers().get(index);
+            Path target = blobs.resolve(layer.digest());
+            if (!Files.exists(target)) {
+                BuildStep.linkOrCopy(target, base.resolve("blobs/sha256").resolve(layer.digest()));
+            }
+            written.add(descriptor(image.mediaTypes().get(index), layer));
+        }
+        StringBuilder key = new StringBuilder(image.manifest()).append('\n').append(entrypoint.getFirst());
+        for (Layer layer : layers) {
+            if (layer.files().isEmpty()) {
+                continue;
+            }
+            String fingerprint = fingerprint(layer.files());
+            Blob blob = null;
+            String diff = null;
+            if (layer.retained() && fingerprint.equals(recorded.getProperty(layer.name() + ".fingerprint"))) {
+                Blob candidate = new Blob(recorded.getProperty(layer.name() + ".digest"),
+                        Long.parseLong(recorded.getProperty(layer.name() + ".size")));
+                if (reuse(previous, candidate, blobs)) {
+                    blob = candidate;
+                    diff = recorded.getProperty(layer.name() + ".diff");
+                }
+            }
+            if (blob == null) {
+                MessageDigest uncompressed = sha256(), compressed = sha256();
+                Path staged = blobs.resolve(layer.name() + ".tmp");
+                try (OutputStream outputStream = new DigestOutputStream(new GZIPOutputStream(new DigestOutputStream(
+                        Files.newOutputStream(staged),
+                        compressed)), uncompressed)) {
+                    tar(outputStream, layer.files());
+                }
+                blob = new Blob(HexFormat.of().formatHex(compressed.digest()), Files.size(staged));
+                diff = HexFormat.of().formatHex(uncompressed.digest());
+                Files.move(staged, blobs.resolve(blob.digest()), StandardCopyOption.REPLACE_EXISTING);
+            }
+            current.setProperty(layer.name() + ".fingerprint", fingerprint);
+            current.setProperty(layer.name() + ".digest", blob.digest());
+            current.setProperty(layer.name() + ".diff", diff);
+            current.setProperty(layer.name() + ".size", Long.toString(blob.size()));
+            written.add(descriptor(LAYER, blob));
+            diffs.add(diff);
+            key.append('\n').append(fingerprint);
+        }
+        String identity = HexFormat.of().formatHex(sha256().digest(key.toString().getBytes(StandardCharsets.UTF_8)));
+        String executable = recorded.getProperty("entrypoint.executable");
+        if (executable == null || !identity.equals(recorded.getProperty("entrypoint.key"))) {
+            executable = executable(base, image, layers, entrypoint.getFirst());
+        }
+        current.setProperty("entrypoint.key", identity);
+        current.setProperty("entrypoint.executable", executable);
+        List<String> command = new ArrayList<>(entrypoint);
+        command.set(0, executable);
+        SequencedMap<Object, Object> settings = new LinkedHashMap<Object, Object>(image.config().get("config") instanceof Map<?, ?> map
+                ? map
+                : Map.of());
+        settings.remove("Cmd");
+        settings.put("Entrypoint", command);
+        settings.put("WorkingDir", "/app");
+        SequencedMap<Object, Object> config = new LinkedHashMap<>();
+        config.put("created", "1970-01-01T00:00:00Z");
+        config.put("architecture", image.config().get("architecture"));
+        config.put("os", image.config().get("os"));
+        if (image.config().containsKey("variant")) {
+            config.put("variant", image.config().get("variant"));
+        }
+        config.put("config", settings);
+        SequencedMap<Object, Object> rootfs = new LinkedHashMap<>();
+        rootfs.put("type", "layers");
+        rootfs.put("diff_ids", diffs.stream().map(diff -> "sha256:" + diff).toList());
+        config.put("rootfs", rootfs);
+        Blob configuration = blob(blobs, json(new StringBuilder(), config).toString());
+        StringBuilder manifest = new StringBuilder("{\"schemaVersion\":2,\"mediaType\":\"")
+                .append(MANIFEST)
+                .append("\",\"config\":")
+                .append(descriptor(CONFIG, configuration))
+                .append(",\"layers\":[")
+                .append(String.join(",", written))
+                .append("],\"annotations\":{\"org.opencontainers.image.base.digest\":\"sha256:")
+                .append(image.manifest())
+                .append('"');
+        if (from != null) {
+            manifest.append(",\"org.opencontainers.image.base.name\":\"").append(escape(from)).append('"');
+        }
+        Blob result = blob(blobs, manifest.append("}}").toString());
+        String index = "{\"schemaVersion\":2,\"mediaType\":\"" + INDEX + "\",\"manifests\":[" + descriptor(MANIFEST, result) + "]}";
+        String layout = "{\"imageLayoutVersion\":\"1.0.0\"}";
+        if (tarball) {
+            SequencedMap<String, Path> entries = new TreeMap<>();
+            Files.writeString(staging.resolve(LAYOUT).resolve("index.json"), index);
+            Files.writeString(staging.resolve(LAYOUT).resolve("oci-layout"), layout);
+            entries.put("index.json", staging.resolve(LAYOUT).resolve("index.json"));
+            entries.put("oci-layout", staging.resolve(LAYOUT).resolve("oci-layout"));
+            try (Stream<Path> files = Files.list(blobs)) {
+                for (Path file : files.toList()) {
+                    entries.put("blobs/sha256/" + file.getFileName(), file);
+                }
+            }
+            try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(folder.resolve(TARBALL)))) {
+                tar(outputStream, entries);
+            }
+        } else {
+            Files.writeString(folder.resolve(LAYOUT).resolve("index.json"), index);
+            Files.writeString(folder.resolve(LAYOUT).resolve("oci-layout"), layout);
+        }
+        current.store(folder.resolve(LAYERS));
+    }
+
+    private static Image image(Path layout) throws IOException {
+        if (!(parse(layout.resolve("index.json")) instanceof Map<?, ?> root)) {
+            throw new IOException("Not an OCI image layout: " + layout);
+        }
+        String digest = manifest(layout, root);
+        if (!(parse(layout.resolve("blobs/sha256").resolve(digest)) instanceof Map<?, ?> manifest)
+                || !(manifest.get("config") instanceof Map<?, ?> descriptor)
+                || !(parse(layout.resolve("blobs/sha256").resolve(digest(layout, descriptor))) instanceof Map<?, ?> config)
+                || !(manifest.get("layers") instanceof List<?> layers)
+                || !(config.get("rootfs") instanceof Map<?, ?> rootfs)
+                || !(rootfs.get("diff_ids") instanceof List<?> diffs)
+                || diffs.size() != layers.size()) {
+            throw new IOException("Malformed base image " + digest + " in " + layout);
+        }
+        List<Blob> blobs = new ArrayList<>();
+        List<String> mediaTypes = new ArrayList<>(), identities = new ArrayList<>();
+        for (int index = 0; index < layers.size(); index++) {
+            if (!(layers.get(index) instanceof Map<?, ?> layer)
+                    || !(layer.get("mediaType") instanceof String mediaType)
+                    || !(layer.get("size") instanceof Number size)
+                    || !(diffs.get(index) instanceof String diff)
+                    || !diff.startsWith("sha256:")) {
+                throw new IOException("Malformed layer " + index + " of base image " + digest + " in " + layout);
+            }
+            if (!mediaType.endsWith("tar") && !mediaType.endsWith("gzip")) {
+                throw new IOException("Unsupported layer media type " + mediaType + " of base image " + digest + " in " + layout);
+            }
+            blobs.add(new Blob(digest(layout, layer), size.longValue()));
+            mediaTypes.add(mediaType);
+            identities.add(diff.substring("sha256:".length()));
+        }
+        return new Image(digest, config, blobs, mediaTypes, identities);
+    }
+
+    private static String manifest(Path layout, Map<?, ?> index) throws IOException {
+        if (index.get("manifests") instanceof List<?> manifests) {
+            for (Object element : manifests) {
+                if (!(element instanceof Map<?, ?> descriptor)
+                        || descriptor.get("platform") instanceof Map<?, ?> platform
+                        && (!"linux".equals(platform.get("os")) || !architecture().equals(platform.get("architecture")))) {
+                    continue;
+                }
+                String digest = digest(layout, descriptor);
+                if (!INDEX.equals(descriptor.get("mediaType")) && !LIST.equals(descriptor.get("mediaType"))) {
+                    return digest;
+                } else if (parse(layout.resolve("blobs/sha256").resolve(digest)) instanceof Map<?, ?> nested) {
+                    return manifest(layout, nested);
+                }
+            }
+        }
+        throw new IOException("No linux/" + architecture() + " image in OCI layout " + layout);
+    }
+
+    private static String digest(Path layout, Map<?, ?> descriptor) throws IOException {
+        if (descriptor.get("digest") instanceof String digest && digest.matches("sha256:[0-9a-f]{64}")) {
+            return digest.substring("sha256:".length());
+        }
+        throw new IOException("Unsupported digest " + descriptor.get("digest") + " in OCI layout " + layout);
+    }
+
+    private static Object parse(Path file) throws IOException {
+        try {
+            return Json.parse(Files.readString(file));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Malformed JSON in " + file, e);
+        }
+    }
+
+    private static String executable(Path base, Image image, List<Layer> layers, String command) throws IOException {
+        Map<String, String> entries = new HashMap<>();
+        for (int index = 0; index < image.layers().size(); index++) {
+            list(base.resolve("blobs/sha256").resolve(image.layers().get(index).digest()), image.mediaTypes().get(index), entries);
+        }
+        for (Layer layer : layers) {
+            for (Map.Entry<String, Path> entry : layer.files().entrySet()) {
+                entries.put(entry.getKey(), Files.isSymbolicLink(entry.getValue())
+                        ? Files.readSymbolicLink(entry.getValue()).toString()
+                        : "");
+            }
+        }
+        String path = PATH;
+        if (image.config().get("config") instanceof Map<?, ?> config && config.get("Env") instanceof List<?> environment) {
+            for (Object variable : environment) {
+                if (variable instanceof String value && value.startsWith("PATH=")) {
+                    path = value.substring("PATH=".length());
+                }
+            }
+        }
+        List<String> candidates = new ArrayList<>();
+        if (command.contains("/")) {
+            candidates.add(command);
+        } else {
+            for (String folder : path.split(":")) {
+                if (!folder.isEmpty()) {
+                    candidates.add(folder + "/" + command);
+                }
+            }
+        }
+        for (String candidate : candidates) {
+            if (present(entries, normalize(candidate), 0)) {
+                return "/" + normalize(candidate);
+            }
+        }
+        throw new IOException("The image on top of " + base + " does not contain " + command
+                + (command.contains("/") ? "" : " on its PATH " + path)
+                + ", use a base image that provides it or add a jlink runtime");
+    }
+
+    private static void list(Path layer, String mediaType, Map<String, String> entries) throws IOException {
+        try (InputStream inputStream = new BufferedInputStream(mediaType.endsWith("gzip")
+                ? new GZIPInputStream(Files.newInputStream(layer))
+                : Files.newInputStream(layer))) {
+            byte[] block = new byte[BLOCK];
+            String name = null, link = null;
+            while (inputStream.readNBytes(block, 0, BLOCK) == BLOCK && block[0] != 0) {
+                long size = size(block, layer);
+                char type = (char) block[156];
+                if (type == 'L' || type == 'K' || type == 'x') {
+                    if (size > 1 << 20) {
+                        throw new IOException("Oversized extended header in layer " + layer);
+                    }
+                    byte[] content = inputStream.readNBytes((int) size);
+                    inputStream.skipNBytes((BLOCK - size % BLOCK) % BLOCK);
+                    if (type == 'L') {
+                        name = string(content, 0, content.length);
+                    } else if (type == 'K') {
+                        link = string(content, 0, content.length);
+                    } else {
+                        for (String record : new String(content, StandardCharsets.UTF_8).split("\n")) {
+                            String value = record.substring(record.indexOf(' ') + 1);
+                            if (value.startsWith("path=")) {
+                                name = value.substring("path=".length());
+                            } else if (value.startsWith("linkpath=")) {
+                                link = value.substring("linkpath=".length());
+                            }
+                        }
+                    }
+                    continue;
+                }
+                String entry = normalize(name != null
+                        ? name
+                        : string(block, 345, 155).isEmpty() ? string(block, 0, 100) : string(block, 345, 155) + "/" + string(block, 0, 100));
+                String target = link != null ? link : string(block, 157, 100);
+                name = link = null;
+                inputStream.skipNBytes((size + BLOCK - 1) / BLOCK * BLOCK);
+                String file = entry.substring(entry.lastIndexOf('/') + 1), parent = entry.substring(0, entry.lastIndexOf('/') + 1);
+                if (file.equals(".wh..wh..opq")) {
+                    entries.keySet().removeIf(key -> key.startsWith(parent));
+                } else if (file.startsWith(".wh.")) {
+                    String removed = parent + file.substring(".wh.".length());
+                    entries.keySet().removeIf(key -> key.equals(removed) || key.startsWith(removed + "/"));
+                } else if (type == '2') {
+                    entries.put(entry, target);
+                } else if (type != '5') {
+                    entries.put(entry, "");
+                }
+            }
+        }
+    }
+
+    private static long size(byte[] block, Path layer) throws IOException {
+        if ((block[124] & 0x80) != 0) {
+            long size = 0;
+            for (int index = 125; index < 136; index++) {
+                size = (size << 8) | (block[index] & 0xFF);
+            }
+            return size;
+        }
+        String size = string(block, 124, 12).trim();
+        try {
+            return size.isEmpty() ? 0 : Long.parseLong(size, 8);
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed entry size in layer " + layer, e);
+        }
+    }
+
+    private static boolean present(Map<String, String> entries, String path, int depth) {
+        if (depth > 40) {
+            return false;
+        }
+        List<String> segments = List.of(path.split("/"));
+        for (int index = 1; index <= segments.size(); index++) {
+            String link = entries.get(String.join("/", segments.subList(0, index)));
+            if (link != null && !link.isEmpty()) {
+                String target = link.startsWith("/") || index == 1
+                        ? link
+                        : String.join("/", segments.subList(0, index - 1)) + "/" + link;
+                List<String> rest = segments.subList(index, segments.size());
+                return present(entries, normalize(rest.isEmpty() ? target : target + "/" + String.join("/", rest)), depth + 1);
+            }
+        }
+        return "".equals(entries.get(path));
+    }
+
+    private static String normalize(String path) {
+        Deque<String> segments = new ArrayDeque<>();
+        for (String segment : path.split("/")) {
+            if (segment.equals("..")) {
+                segments.pollLast();
+            } else if (!segment.isEmpty() && !segment.equals(".")) {
+                segments.addLast(segment);
+            }
+        }
+        return String.join("/", segments);
+    }
+
+    private static boolean reuse(Path previous, Blob blob, Path blobs) throws IOException {
+        if (previous == null) {
+            return false;
+        }
+        Path target = blobs.resolve(blob.digest());
+        if (Files.exists(target)) {
+            return true;
+        }
+        Path file = previous.resolve(LAYOUT).resolve("blobs/sha256").resolve(blob.digest());
+        if (Files.isRegularFile(file) && Files.size(file) == blob.size()) {
+            BuildStep.linkOrCopy(target, file);
+            return true;
+        }
+        Path tarball = previous.resolve(TARBALL);
+        if (!Files.isRegularFile(tarball)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(tarball, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(BLOCK);
+            long position = 0;
+            while (position + BLOCK <= channel.size()) {
+                header.clear();
+                byte[] block = header.array();
+                if (channel.read(header, position) < BLOCK || block[0] == 0) {
+                    return false;
+                }
+                String name = string(block, 345, 155).isEmpty()
+                        ? string(block, 0, 100)
+                        : string(block, 345, 155) + "/" + string(block, 0, 100);
+                long size = Long.parseLong(string(block, 124, 12).trim(), 8);
+                if (name.equals("blobs/sha256/" + blob.digest()) && size == blob.size()) {
+                    try (FileChannel output = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                        long transferred = 0;
+                        while (transferred < size) {
+                            transferred += channel.transferTo(position + BLOCK + transferred, size - transferred, output);
+                        }
+                    }
+                    return true;
+                }
+                position += BLOCK + (size + BLOCK - 1) / BLOCK * BLOCK;
+            }
+        } catch (NumberFormatException _) {
+            return false;
+        }
+        return false;
+    }
+
+    private static String fingerprint(SequencedMap<String, Path> files) throws IOException {
+        MessageDigest digest = sha256();
+        for (Map.Entry<String, Path> entry : files.entrySet()) {
+            BasicFileAttributes attributes = Files.readAttributes(entry.getValue(),
+                    BasicFileAttributes.class,
+                    LinkOption.NOFOLLOW_LINKS);
+            digest.update((entry.getKey()
+                    + "\n" + attributes.size()
+                    + "\n" + attributes.isSymbolicLink()
+                    + "\n" + Files.isExecutable(entry.getValue())
+                    + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void tar(OutputStream outputStream, SequencedMap<String, Path> files) throws IOException {
+        Set<String> directories = new HashSet<>();
+        for (Map.Entry<String, Path> entry : files.entrySet()) {
+            String name = entry.getKey();
+            for (int index = name.indexOf('/'); index > 0; index = name.indexOf('/', index + 1)) {
+                if (directories.add(name.substring(0, index + 1))) {
+                    header(outputStream, name.substring(0, index + 1), 0, 0755, '5', "");
+                }
+            }
+            if (Files.isSymbolicLink(entry.getValue())) {
+                header(outputStream, name, 0, 0777, '2', Files.readSymbolicLink(entry.getValue()).toString());
+                continue;
+            }
+            long size = Files.size(entry.getValue());
+            header(outputStream, name, size, Files.isExecutable(entry.getValue()) ? 0755 : 0644, '0', "");
+            Files.copy(entry.getValue(), outputStream);
+            outputStream.write(new byte[(int) ((BLOCK - size % BLOCK) % BLOCK)]);
+        }
+        outputStream.write(new byte[2 * BLOCK]);
+    }
+
+    private static void header(OutputStream outputStream,
+                               String name,
+                               long size,
+                               int mode,
+                               char type,
+                               String link) throws IOException {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8), prefix = new byte[0];
+        if (bytes.length > 100) {
+            int split = name.indexOf('/');
+            while (split > 0 && name.substring(split + 1).getBytes(StandardCharsets.UTF_8).length > 100) {
+                split = name.indexOf('/', split + 1);
+            }
+            if (split <= 0
+                    || split == name.length() - 1
+                    || name.substring(0, split).getBytes(StandardCharsets.UTF_8).length > 155) {
+                throw new IOException("Path too long for an image layer: " + name);
+            }
+            prefix = name.substring(0, split).getBytes(StandardCharsets.UTF_8);
+            bytes = name.substring(split + 1).getBytes(StandardCharsets.UTF_8);
+        }
+        byte[] target = link.getBytes(StandardCharsets.UTF_8);
+        if (target.length > 100 || size > 077777777777L) {
+            throw new IOException("Cannot represent image layer entry: " + name);
+        }
+        byte[] block = new byte[BLOCK];
+        System.arraycopy(bytes, 0, block, 0, bytes.length);
+        octal(block, 100, 8, mode);
+        octal(block, 108, 8, 0);
+        octal(block, 116, 8, 0);
+        octal(block, 124, 12, size);
+        octal(block, 136, 12, 0);
+        Arrays.fill(block, 148, 156, (byte) ' ');
+        block[156] = (byte) type;
+        System.arraycopy(target, 0, block, 157, target.length);
+        System.arraycopy("ustar\u000000".getBytes(StandardCharsets.US_ASCII), 0, block, 257, 8);
+        System.arraycopy(prefix, 0, block, 345, prefix.length);
+        long checksum = 0;
+        for (byte value : block) {
+            checksum += value & 0xFF;
+        }
+        octal(block, 148, 7, checksum);
+        outputStream.write(block);
+    }
+
+    private static void octal(byte[] block, int offset, int length, long value) {
+        String digits = Long.toOctalString(value);
+        byte[] bytes = ("0".repeat(length - 1 - digits.length()) + digits).getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(bytes, 0, block, offset, bytes.length);
+        block[offset + length - 1] = 0;
+    }
+
+    private static String string(byte[] block, int offset, int length) {
+        int end = offset;
+        while (end < offset + length && block[end] != 0) {
+            end++;
+        }
+        return new String(block, offset, end - offset, StandardCharsets.UTF_8);
+    }
+
+    private static Blob blob(Path blobs, String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        String digest = HexFormat.of().formatHex(sha256().digest(bytes));
+        Files.write(blobs.resolve(digest), bytes);
+        return new Blob(digest, bytes.length);
+    }
+
+    private static StringBuilder json(StringBuilder builder, Object value) {
+        switch (value) {
+            case null -> builder.append("null");
+            case String string -> builder.append('"').append(escape(string)).append('"');
+            case Double number when number == Math.rint(number) && !number.isInfinite() -> builder.append(number.longValue());
+            case Number number -> builder.append(number);
+            case Boolean bool -> builder.append(bool);
+            case Map<?, ?> map -> {
+                String separator = "{";
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    json(builder.append(separator), entry.getKey().toString()).append(':');
+                    json(builder, entry.getValue());
+                    separator = ",";
+                }
+                builder.append(map.isEmpty() ? "{}" : "}");
+            }
+            case List<?> list -> {
+                builder.append('[');
+                for (int index = 0; index < list.size(); index++) {
+                    json(builder.append(index == 0 ? "" : ","), list.get(index));
+                }
+                builder.append(']');
+            }
+            default -> throw new IllegalArgumentException("Cannot represent as JSON: " + value);
+        }
+        return builder;
+    }
+
+    private static String descriptor(String mediaType, Blob blob) {
+        return "{\"mediaType\":\"" + mediaType + "\",\"digest\":\"sha256:" + blob.digest() + "\",\"size\":" + blob.size() + "}";
+    }
+
+    private static String architecture() {
+        return switch (System.getProperty("os.arch", "")) {
+            case "aarch64", "arm64" -> "arm64";
+            case "ppc64le" -> "ppc64le";
+            case "s390x" -> "s390x";
+            case "riscv64" -> "riscv64";
+            default -> "amd64";
+        };
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String escape(String value) {
+        StringBuilder builder = new StringBuilder();
+        for (int index = 0; index < value.length(); index++) {
+            char character = value.charAt(index);
+            switch (character) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                default -> {
+                    if (character < 0x20) {
+                        builder.append(String.format("\\u%04x", (int) character));
+                    } else {
+                        builder.append(character);
+                    }
+                }
+            }
+        }
+        return builder.toString();
+    }
+
+    record Layer(String name, SequencedMap<String, Path> files, boolean retained) {
+    }
+
+    private record Blob(String digest, long size) {
+    }
+
+    private record Image(String manifest, Map<?, ?> config, List<Blob> layers, List<String> mediaTypes, List<String> diffs) {
+    }
+}
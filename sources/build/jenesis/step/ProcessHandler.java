@@ -64,26 +64,48 @@ public sealed interface ProcessHandler permits ProcessHandler.OfTool, ProcessHan
 
         private final Lock exclusive;
 
+        private final Function<List<String>, ? extends ProcessHandler> contended;
+
         private final List<String> commands;
 
-        private OfTool(ToolProvider toolProvider, Lock exclusive, List<String> commands) {
+        private OfTool(ToolProvider toolProvider,
+                       Lock exclusive,
+                       Function<List<String>, ? extends ProcessHandler> contended,
+                       List<String> commands) {
             this.toolProvider = toolProvider;
             this.exclusive = exclusive;
+            this.contended = contended;
             this.commands = commands;
         }
 
         public static Function<List<String>, ProcessHandler> of(ToolProvider toolProvider) {
-            return arguments -> new OfTool(toolProvider, null, arguments);
+            return arguments -> new OfTool(toolProvider, null, null, arguments);
         }
 
         public static Function<List<String>, ProcessHandler> of(String name) {
             ToolProvider toolProvider = ToolProvider.findFirst(name)
+                    .map(tool -> name.equals("javac") && !System.getProperty("jenesis.javac.pool", "true").equals("false")
+                            ? new JavacPool(tool)
+                            : tool)
                     .orElseThrow(() -> new IllegalArgumentException("No tool: " + name));
             Lock exclusive = switch (name) {
                 case "jlink", "jpackage" -> IMAGE;
                 default -> null;
             };
-            return arguments -> new OfTool(toolProvider, exclusive, arguments);
+            Function<List<String>, ? extends ProcessHandler> contended = exclusive == null ? null : fork(name);
+            return arguments -> new OfTool(toolProvider, exclusive, contended, arguments);
+        }
+
+        public static void release() {
+            JavacPool.closeIdle();
+        }
+
+        private static Function<List<String>, ? extends ProcessHandler> fork(String name) {
+            try {
+                return OfProcess.ofJavaHome("bin/" + name);
+            } catch (IllegalStateException _) {
+                return null;
+            }
         }
 
         @Override
@@ -96,7 +118,12 @@ public sealed interface ProcessHandler permits ProcessHandler.OfTool, ProcessHan
             if (exclusive == null) {
                 return run(output, error, tee);
             }
-            exclusive.lock();
+            if (!exclusive.tryLock()) {
+                if (contended != null) {
+                    return contended.apply(commands).execute(output, error, tee);
+                }
+                exclusive.lock();
+            }
             try {
                 return run(output, error, tee);
             } finally {
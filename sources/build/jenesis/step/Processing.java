@@ -0,0 +1,258 @@
+package build.jenesis.step;
+
+import module java.base;
+import module jdk.compiler;
+import build.jenesis.SequencedProperties;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Processor;
+import javax.tools.ToolProvider;
+
+final class Processing {
+
+    static final String PROCESSED = "processed.properties";
+
+    private static final String INCREMENTAL = "META-INF/gradle/incremental.annotation.processors";
+
+    private Processing() {
+    }
+
+    static List<String> isolating(List<String> processorPath) throws IOException {
+        if (processorPath.isEmpty() || ToolProvider.getSystemJavaCompiler() == null) {
+            return null;
+        }
+        List<String> processors = new ArrayList<>();
+        for (String entry : processorPath) {
+            Path path = Path.of(entry);
+            if (Files.isDirectory(path)) {
+                return null;
+            }
+            Set<String> provided = new LinkedHashSet<>();
+            try {
+                for (ModuleReference reference : ModuleFinder.of(path).findAll()) {
+                    for (ModuleDescriptor.Provides provides : reference.descriptor().provides()) {
+                        if (provides.service().equals(Processor.class.getName())) {
+                            provided.addAll(provides.providers());
+                        }
+                    }
+                }
+            } catch (FindException _) {
+                return null;
+            }
+            if (provided.isEmpty()) {
+                continue;
+            }
+            Set<String> declared = new HashSet<>();
+            for (String line : declarations(path)) {
+                String[] segments = line.split(",");
+                if (segments.length == 2 && segments[1].trim().equalsIgnoreCase("isolating")) {
+                    declared.add(segments[0].trim());
+                }
+            }
+            if (!declared.containsAll(provided)) {
+                return null;
+            }
+            processors.addAll(provided);
+        }
+        return processors.isEmpty() ? null : processors;
+    }
+
+    private static List<String> declarations(Path path) throws IOException {
+        String content;
+        try (JarFile jar = new JarFile(path.toFile())) {
+            JarEntry entry = jar.getJarEntry(INCREMENTAL);
+            if (entry == null) {
+                return List.of();
+            }
+            try (InputStream inputStream = jar.getInputStream(entry)) {
+                content = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        }
+        return content.lines()
+                .map(String::trim)
+                .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                .toList();
+    }
+
+    static boolean compile(List<String> options,
+                           List<String> processorPath,
+                           List<String> processors,
+                           SequencedMap<String, String> sources,
+                           List<String> files,
+                           Path record,
+                           Writer err) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        List<URL> urls = new ArrayList<>();
+        for (String entry : processorPath) {
+            urls.add(Path.of(entry).toUri().toURL());
+        }
+        Map<Path, String> relatives = new HashMap<>();
+        sources.forEach((relative, file) -> relatives.put(Path.of(file).toAbsolutePath().normalize(), relative));
+        SequencedMap<String, String> origins = new TreeMap<>();
+        AtomicBoolean attributed = new AtomicBoolean(true);
+        try (URLClassLoader loader = new URLClassLoader(urls.toArray(URL[]::new), compiler.getClass().getClassLoader());
+             StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+            List<Processor> recording = new ArrayList<>();
+            for (String processor : processors) {
+                try {
+                    recording.add(new Recording((Processor) loader.loadClass(processor).getConstructor().newInstance(),
+                            relatives,
+                            origins,
+                            attributed));
+                } catch (ReflectiveOperationException | ClassCastException e) {
+                    throw new IllegalStateException("Cannot instantiate annotation processor " + processor, e);
+                }
+            }
+            JavaCompiler.CompilationTask task = compiler.getTask(err,
+                    fileManager,
+                    null,
+                    options,
+                    null,
+                    fileManager.getJavaFileObjectsFromStrings(files));
+            task.setProcessors(recording);
+            if (!task.call()) {
+                return false;
+            }
+        }
+        if (attributed.get()) {
+            SequencedProperties properties = new SequencedProperties();
+            origins.forEach(properties::setProperty);
+            properties.store(record);
+        }
+        return true;
+    }
+
+    private record Recording(Processor delegate,
+                             Map<Path, String> relatives,
+                             Map<String, String> origins,
+                             AtomicBoolean attributed) implements Processor {
+
+        @Override
+        public Set<String> getSupportedOptions() {
+            return delegate.getSupportedOptions();
+        }
+
+        @Override
+        public Set<String> getSupportedAnnotationTypes() {
+            return delegate.getSupportedAnnotationTypes();
+        }
+
+        @Override
+        public SourceVersion getSupportedSourceVersion() {
+            return delegate.getSupportedSourceVersion();
+        }
+
+        @Override
+        public void init(ProcessingEnvironment environment) {
+            Trees trees = Trees.instance(environment);
+            Filer filer = environment.getFiler();
+            delegate.init(new ProcessingEnvironment() {
+                @Override
+                public Map<String, String> getOptions() {
+                    return environment.getOptions();
+                }
+
+                @Override
+                public Messager getMessager() {
+                    return environment.getMessager();
+                }
+
+                @Override
+                public Filer getFiler() {
+                    return new Filer() {
+                        @Override
+                        public JavaFileObject createSourceFile(CharSequence name, Element... originatingElements) throws IOException {
+                            String type = name.toString();
+                            attribute(type.substring(type.indexOf('/') + 1).replace('.', '/') + ".java", originatingElements);
+                            return filer.createSourceFile(name, originatingElements);
+                        }
+
+                        @Override
+                        public JavaFileObject createClassFile(CharSequence name, Element... originatingElements) throws IOException {
+                            attributed.set(false);
+                            return filer.createClassFile(name, originatingElements);
+                        }
+
+                        @Override
+                        public FileObject createResource(JavaFileManager.Location location,
+                                                         CharSequence moduleAndPkg,
+                                                         CharSequence relativeName,
+                                                         Element... originatingElements) throws IOException {
+                            attributed.set(false);
+                            return filer.createResource(location, moduleAndPkg, relativeName, originatingElements);
+                        }
+
+                        @Override
+                        public FileObject getResource(JavaFileManager.Location location,
+                                                      CharSequence moduleAndPkg,
+                                                      CharSequence relativeName) throws IOException {
+                            return filer.getResource(location, moduleAndPkg, relativeName);
+                        }
+                    };
+                }
+
+                @Override
+                public Elements getElementUtils() {
+                    return environment.getElementUtils();
+                }
+
+                @Override
+                public Types getTypeUtils() {
+                    return environment.getTypeUtils();
+                }
+
+                @Override
+                public SourceVersion getSourceVersion() {
+                    return environment.getSourceVersion();
+                }
+
+                @Override
+                public Locale getLocale() {
+                    return environment.getLocale();
+                }
+
+                @Override
+                public boolean isPreviewEnabled() {
+                    return environment.isPreviewEnabled();
+                }
+
+                private void attribute(String generated, Element... originatingElements) {
+                    String origin = null;
+                    for (Element element : originatingElements) {
+                        while (element != null
+                                && element.getEnclosingElement() != null
+                                && !(element.getEnclosingElement() instanceof PackageElement)) {
+                            element = element.getEnclosingElement();
+                        }
+                        TreePath path = element == null ? null : trees.getPath(element);
+                        String relative = path == null ? null : relatives.get(Path.of(path.getCompilationUnit()
+                                .getSourceFile()
+                                .toUri()).toAbsolutePath().normalize());
+                        if (relative == null || origin != null && !origin.equals(relative)) {
+                            attributed.set(false);
+                            return;
+                        }
+                        origin = relative;
+                    }
+                    if (origin == null) {
+                        attributed.set(false);
+                    } else {
+                        origins.put(generated, origin);
+                    }
+                }
+            });
+        }
+
+        @Override
+        public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnvironment) {
+            return delegate.process(annotations, roundEnvironment);
+        }
+
+        @Override
+        public Iterable<? extends Completion> getCompletions(Element element,
+                                                             AnnotationMirror annotation,
+                                                             ExecutableElement member,
+                                                             String userText) {
+            return delegate.getCompletions(element, annotation, member, userText);
+        }
+    }
+}
@@ -96,8 +96,11 @@ public class Sbom implements BuildStep {
                 String value = dependencies.getProperty(key);
                 int space = value.indexOf(' ');
                 Path jar = argument.folder().resolve(space < 0 ? value : value.substring(0, space)).normalize();
+                String checksum = space < 0 ? "" : value.substring(space + 1).trim();
                 components.put(coordinate, component(coordinate,
-                        Files.exists(jar) ? HexFormat.of().formatHex(hash.hash(jar)) : null,
+                        Files.exists(jar)
+                                ? HexFormat.of().formatHex(hash.hash(jar))
+                                : checksum.startsWith("SHA-256/") ? checksum.substring("SHA-256/".length()) : null,
                         readLicenses(licenses, licenseKey)));
             }
         }
@@ -9,6 +9,7 @@
 module build.jenesis {
 
     requires jdk.compiler;
+    requires java.net.http;
     requires java.xml;
 
     exports build.jenesis;
@@ -539,6 +539,26 @@ public class ProjectTest {
         assertThat(result).containsExactly(Map.entry("resolved", source));
     }
 
+    @Test
+    public void build_prefetch_runs_only_nested_dependency_steps() throws IOException {
+        Path target = Files.createDirectory(root.resolve("target"));
+        Path source = Files.createDirectory(root.resolve("source"));
+        Path compile = Files.createDirectory(root.resolve("compile"));
+        Project.Layout layout = (executor, _, _) -> {
+            executor.addModule(Project.BUILD, (build, _) -> build.addModule("module", (module, _) -> {
+                module.addSource(Project.DEPENDENCIES, source);
+                module.addSource("compile", compile);
+            }));
+            return name -> name;
+        };
+        SequencedMap<String, Path> result = new Project()
+                .root(root)
+                .target(target)
+                .layout(layout)
+                .build(Project.PREFETCH);
+        assertThat(result).containsExactly(Map.entry(Project.BUILD + "/module/" + Project.DEPENDENCIES, source));
+    }
+
     @Test
     public void load_jenesis_properties_reads_a_file_from_root() throws IOException {
         Files.writeString(root.resolve("jenesis.properties"), "jenesis.test.sample.key=fromFile\n");
@@ -0,0 +1,506 @@
+package build.jenesis.test;
+
+import module java.base;
+import module jdk.httpserver;
+import module org.junit.jupiter.api;
+import build.jenesis.Repository;
+import build.jenesis.RepositoryHttpTransport;
+import build.jenesis.RepositoryTransport;
+import build.jenesis.RepositoryUrlTransport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RepositoryHttpTransportTest {
+
+    @TempDir
+    private Path folder;
+
+    private HttpServer server;
+
+    @BeforeEach
+    public void setUp() {
+        System.setProperty("jenesis.repository.insecure", "true");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        System.clearProperty("jenesis.repository.insecure");
+        System.clearProperty("jenesis.repository.transport");
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    private URI serve(HttpHandler handler) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", handler);
+        server.start();
+        return URI.create("http://localhost:" + server.getAddress().getPort() + "/artifact.jar");
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+
+    @Test
+    public void open_streams_the_body() throws IOException {
+        URI uri = serve(exchange -> respond(exchange, 200, "payload"));
+        RepositoryHttpTransport transport = new RepositoryHttpTransport(4, Duration.ofSeconds(5), Duration.ofSeconds(5));
+        try (InputStream inputStream = transport.open(uri, null, new Repository.Retry(0, Duration.ZERO))) {
+            assertThat(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("payload");
+        }
+    }
+
+    @Test
+    public void open_retries_a_server_error_until_success() throws IOException {
+        AtomicInteger hits = new AtomicInteger();
+        URI uri = serve(exchange -> {
+            if (hits.incrementAndGet() < 3) {
+                respond(exchange, 503, "");
+            } else {
+                respond(exchange, 200, "payload");
+            }
+        });
+        RepositoryHttpTransport transport = new RepositoryHttpTransport(4, Duration.ofSeconds(5), Duration.ofSeconds(5));
+        try (InputStream inputStream = transport.open(uri, null, new Repository.Retry(2, Duration.ofMillis(1)))) {
+            assertThat(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("payload");
+        }
+        assertThat(hits).hasValue(3);
+    }
+
+    @Test
+    public void open_gives_up_after_the_configured_retries() throws IOException {
+        AtomicInteger hits = new AtomicInteger();
+        URI uri = serve(exchange -> {
+            hits.incrementAndGet();
+            respond(exchange, 502, "");
+        });
+        RepositoryHttpTransport transport = new RepositoryHttpTransport(4, Duration.ofSeconds(5), Duration.ofSeconds(5));
+        assertThatThrownBy(() -> transport.open(uri, null, new Repository.Retry(1, Duration.ofMillis(1))).close())
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("502");
+        assertThat(hits).hasValue(2);
+    }
+
+    @Test
+    public void open_does_not_retry_a_missing_resource() throws IOException {
+        AtomicInteger hits = new AtomicInteger();
+        URI uri = serve(exchange -> {
+            hits.incrementAndGet();
+            respond(exchange, 404, "");
+        });
+        RepositoryHttpTransport transport = new RepositoryHttpTransport(4, Duration.ofSeconds(5), Duration.ofSeconds(5));
+        assertThatThrownBy(() -> transport.open(uri, null, new Repository.Retry(2, Duration.ofMillis(1))).close())
+                .isInstanceOf(FileNotFoundException.class);
+        assertThat(hits).hasValue(1);
+    }
+
+    @Test
+    public void open_refuses_an_insecure_scheme_without_the_opt_in() {
+        System.clearProperty("jenesis.repository.insecure");
+        RepositoryHttpTransport transport = new RepositoryHttpTransport(4, Duration.ofSeconds(5), Duration.ofSeconds(5));
+        assertThatThrownBy(() -> transport.open(URI.create("http://localhost:1/artifact.jar"),
+                null,
+                new Repository.Retry(0, Duration.ZERO)).close())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("insecure scheme");
+    }
+
+    @Test
+    public void open_refuses_a_redirect_to_a_file_uri() throws IOException {
+        Path secret = Files.writeString(folder.resolve("secret.txt"), "top-secret");
+        URI uri = serve(exchange -> {
+            exchange.getResponseHeaders().set("Location", secret.toUri().toString());
+            respond(exchange, 302, "");
+        });
+        RepositoryHttpTransport transport = new RepositoryHttpTransport(4, Duration.ofSeconds(5), Duration.ofSeconds(5));
+        assertThatThrownBy(() -> transport.open(uri, null, new Repository.Retry(0, Duration.ZERO)).close())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("file URI");
+    }
+
+    @Test
+    public void open_strips_the_token_after_a_cross_origin_redirect() throws IOException {
+        AtomicBoolean mirrorSawToken = new AtomicBoolean(true);
+        HttpServer mirror = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        mirror.createContext("/", exchange -> {
+            mirrorSawToken.set(exchange.getRequestHeaders().containsKey("Authorization"));
+            respond(exchange, 200, "payload");
+        });
+        mirror.start();
+        try {
+            AtomicReference<String> originToken = new AtomicReference<>();
+            URI uri = serve(exchange -> {
+                originToken.set(exchange.getRequestHeaders().getFirst("Authorization"));
+                exchange.getResponseHeaders().set("Location",
+                        "http://localhost:" + mirror.getAddress().getPort() + "/artifact.jar");
+                respond(exchange, 302, "");
+            });
+            RepositoryHttpTransport transport = new RepositoryHttpTransport(4, Duration.ofSeconds(5), Duration.ofSeconds(5));
+            try (InputStream inputStream = transport.open(uri, "Bearer secret", new Repository.Retry(0, Duration.ZERO))) {
+                assertThat(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("payload");
+            }
+            assertThat(originToken.get()).isEqualTo("Bearer secret");
+            assertThat(mirrorSawToken).isFalse();
+        } finally {
+            mirror.stop(0);
+        }
+    }
+
+    @Test
+    public void download_digests_while_streaming_to_disk() throws Exception {
+        URI uri = serve(exchange -> respond(exchange, 200, "payload"));
+        RepositoryHttpTransport transport = new RepositoryHttpTransport(4, Duration.ofSeconds(5), Duration.ofSeconds(5));
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        Path target = folder.resolve("artifact.jar");
+        assertThat(transport.download(uri, null, new Repository.Retry(0, Duration.ZERO), target, List.of(digest))).isTrue();
+        assertThat(target).hasContent("payload");
+        assertThat(digest.digest()).isEqualTo(MessageDigest.getInstance("SHA-256")
+                .digest("payload".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void download_reports_a_missing_resource() throws IOException {
+        URI uri = serve(exchange -> respond(exchange, 404, ""));
+        RepositoryHttpTransport transport = new RepositoryHttpTransport(4, Duration.ofSeconds(5), Duration.ofSeconds(5));
+        assertThat(transport.download(uri,
+                null,
+                new Repository.Retry(0, Duration.ZERO),
+                folder.resolve("artifact.jar"),
+                List.of())).isFalse();
+    }
+
+    private static HttpHandler ranged(byte[] content, String tag, List<String> ranges) {
+        return ranged(content, tag, ranges, Integer.MAX_VALUE);
+    }
+
+    private static HttpHandler ranged(byte[] content, String tag, List<String> ranges, int limit) {
+        return exchange -> {
+            String range = exchange.getRequestHeaders().getFirst("Range");
+            String condition = exchange.getRequestHeaders().getFirst("If-Range");
+            ranges.add(range == null ? "" : range + (condition == null ? "" : " if " + condition));
+            if (tag != null) {
+                exchange.getResponseHeaders().set("ETag", tag);
+            }
+            if (range == null || condition != null && !condition.equals(tag)) {
+                exchange.sendResponseHeaders(200, content.length);
+                try (OutputStream outputStream = exchange.getResponseBody()) {
+                    outputStream.write(content);
+                }
+                return;
+            }
+            String[] bounds = range.substring("bytes=".length()).split("-", -1);
+            int start = Integer.parseInt(bounds[0]);
+            int end = bounds[1].isEmpty() ? content.length - 1 : Math.min(Integer.parseInt(bounds[1]), content.length - 1);
+            if (end - start >= limit) {
+                end = start + limit - 1;
+            }
+            if (start >= content.length) {
+                exchange.sendResponseHeaders(416, -1);
+                exchange.close();
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Range", "bytes " + start + "-" + end + "/" + content.length);
+            exchange.sendResponseHeaders(206, end - start + 1);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(content, start, end - start + 1);
+            }
+        };
+    }
+
+    @Test
+    public void download_resumes_a_dropped_transfer_with_a_range_request() throws Exception {
+        byte[] content = "0123456789".getBytes(StandardCharsets.UTF_8);
+        List<String> ranges = Collections.synchronizedList(new ArrayList<>());
+        HttpHandler resuming = ranged(content, "\"v1\"", ranges);
+        AtomicBoolean dropped = new AtomicBoolean();
+        URI uri = serve(exchange -> {
+            if (dropped.compareAndSet(false, true)) {
+                ranges.add("");
+                exchange.getResponseHeaders().set("ETag", "\"v1\"");
+                exchange.sendResponseHeaders(200, content.length);
+                exchange.getResponseBody().write(content, 0, 5);
+                exchange.getResponseBody().flush();
+                exchange.close();
+            } else {
+                resuming.handle(exchange);
+            }
+        });
+        RepositoryHttpTransport transport = new RepositoryHttpTransport(4, Duration.ofSeconds(5), Duration.ofSeconds(5));
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        Path target = folder.resolve("artifact.jar");
+        assertThat(transport.download(uri, null, new Repository.Retry(2, Duration.ofMillis(1)), target, List.of(digest))).isTrue();
+        assertThat(target).hasBinaryContent(content);
+        assertThat(digest.digest()).isEqualTo(MessageDigest.getInstance("SHA-256").digest(content));
+        assertThat(ranges).containsExactly("", "bytes=5- if \"v1\"");
+    }
+
+    @Test
+    public void open_times_out_a_stalled_body() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        URI uri = serve(exchange -> {
+            exchange.sendResponseHeaders(200, 10);
+            exchange.getResponseBody().write("01234".getBytes(StandardCharsets.UTF_8));
+            exchange.getResponseBody().flush();
+            try {
+                release.await();
+            } catch (InterruptedException _) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.close();
+        });
+        RepositoryHttpTransport transport = new RepositoryHttpTransport(4, Duration.ofSeconds(5), Duration.ofMillis(200));
+        try (InputStream inputStream = transport.open(uri, null, new Repository.Retry(0, Duration.ZERO))) {
+            assertThatThrownBy(inputStream::readAllBytes)
+                    .isInstanceOf(IOException.class)
+                    .hasStackTraceContaining("Read timed out");
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void download_resumes_a_stalled_transfer_with_a_range_request() throws Exception {
+        byte[] content = "0123456789".getBytes(StandardCharsets.UTF_8);
+        List<String> ranges = Collections.synchronizedList(new ArrayList<>());
+        HttpHandler resuming = ranged(content, "\"v1\"", ranges);
+        AtomicBoolean stalled = new AtomicBoolean();
+        CountDownLatch release = new CountDownLatch(1);
+        URI uri = serve(exchange -> {
+            if (stalled.compareAndSet(false, true)) {
+                ranges.add("");
+                exchange.getResponseHeaders().set("ETag", "\"v1\"");
+                exchange.sendResponseHeaders(200, content.length);
+                exchange.getResponseBody().write(content, 0, 5);
+                exchange.getResponseBody().flush();
+                try {
+                    release.await();
+                } catch (InterruptedException _) {
+                    Thread.currentThread().interrupt();
+                }
+                exchange.close();
+            } else {
+                resuming.handle(exchange);
+            }
+        });
+        RepositoryHttpTransport transport = new RepositoryHttpTransport(4, Duration.ofSeconds(5), Duration.ofMillis(200));
+        Path target = folder.resolve("artifact.jar");
+        try {
+            assertThat(transport.download(uri, null, new Repository.Retry(2, Duration.ofMillis(1)), target, List.of())).isTrue();
+        } finally {
+            release.countDown();
+        }
+        assertThat(target).hasBinaryContent(content);
+        assertThat(ranges).containsExactly("", "bytes=5- if \"v1\"");
+    }
+
+    @Test
+    public void resume_continues_a_persisted_partial_file() throws Exception {
+        byte[] content = "0123456789".getBytes(StandardCharsets.UTF_8);
+        List<String> ranges = new ArrayList<>();
+        URI uri = serve(ranged(content, "\"v1\"", ranges));
+        Path target = Files.writeString(folder.resolve("artifact.jar"), "0123");
+        Files.writeString(RepositoryTransport.validator(target), "\"v1\"");
+        RepositoryHttpTransport transport = new RepositoryHttpTransport(4, Duration.ofSeconds(5), Duration.ofSeconds(5));
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        assertThat(transport.resume(uri, null, new Repository.Retry(0, Duration.ZERO), target, List.of(digest))).isTrue();
+        assertThat(target).hasBinaryContent(content);
+        assertThat(digest.digest()).isEqualTo(MessageDigest.getInstance("SHA-256").digest(content));
+        assertThat(ranges).containsExactly("bytes=4- if \"v1\"");
+        assertThat(RepositoryTransport.validator(target)).doesNotExist();
+    }
+
+    @Test
+    public void resume_continues_in_sequential_ranges_when_the_server_caps_them() throws Exception {
+        byte[] content = "0123456789".getBytes(StandardCharsets.UTF_8);
+        List<String> ranges = new ArrayList<>();
+        URI uri = serve(ranged(content, "\"v1\"", ranges, 2));
+        Path target = Files.writeString(folder.resolve("artifact.jar"), "0123");
+        Files.writeString(RepositoryTransport.validator(target), "\"v1\"");
+        RepositoryHttpTransport transport = new RepositoryHttpTransport(4, Duration.ofSeconds(5), Duration.ofSeconds(5));
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        assertThat(transport.resume(uri, null, new Repository.Retry(0, Duration.ZERO), target, List.of(digest))).isTrue();
+        assertThat(target).hasBinaryContent(content);
+        assertThat(digest.digest()).isEqualTo(MessageDigest.getInstance("SHA-256").digest(content));
+        assertThat(ranges).containsExactly("bytes=4- if \"v1\"", "bytes=6-9 if \"v1\"", "bytes=8-9 if \"v1\"");
+    }
+
+    @Test
+    public void resume_restarts_when_the_resource_changed() throws Exception {
+        byte[] content = "0123456789".getBytes(StandardCharsets.UTF_8);
+        List<String> ranges = new ArrayList<>();
+        URI uri = serve(ranged(content, "\"v2\"", ranges));
+        Path target = Files.writeString(folder.resolve("artifact.jar"), "abcdefghijklmnop");
+        Files.writeString(RepositoryTransport.validator(target), "\"v1\"");
+        RepositoryHttpTransport transport = new RepositoryHttpTransport(4, Duration.ofSeconds(5), Duration.ofSeconds(5));
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        assertThat(transport.resume(uri, null, new Repository.Retry(0, Duration.ZERO), target, List.of(digest))).isTrue();
+        assertThat(target).hasBinaryContent(content);
+        assertThat(digest.digest()).isEqualTo(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+
+    @Test
+    public void resume_restarts_when_the_partial_file_is_complete() throws Exception {
+        byte[] content = "0123456789".getBytes(StandardCharsets.UTF_8);
+        List<String> ranges = new ArrayList<>();
+        URI uri = serve(ranged(content, "\"v1\"", ranges));
+        Path target = Files.write(folder.resolve("artifact.jar"), content);
+        Files.writeString(RepositoryTransport.validator(target), "\"v1\"");
+        RepositoryHttpTransport transport = new RepositoryHttpTransport(4, Duration.ofSeconds(5), Duration.ofSeconds(5));
+        assertThat(transport.resume(uri, null, new Repository.Retry(0, Duration.ZERO), target, List.of())).isTrue();
+        assertThat(target).hasBinaryContent(content);
+        assertThat(ranges).containsExactly("bytes=10- if \"v1\"", "");
+    }
+
+    @Test
+    public void download_fetches_large_artifacts_in_parallel_ranges() throws Exception {
+        byte[] content = new byte[1000];
+        new Random(0).nextBytes(content);
+        List<String> ranges = Collections.synchronizedList(new ArrayList<>());
+        URI uri = serve(ranged(content, "\"v1\"", ranges));
+        RepositoryHttpTransport transport = new RepositoryHttpTransport(4, Duration.ofSeconds(5), Duration.ofSeconds(5), 4, 100);
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        Path target = folder.resolve("artifact.jar");
+        assertThat(transport.download(uri, null, new Repository.Retry(0, Duration.ZERO), target, List.of(digest))).isTrue();
+        assertThat(target).hasBinaryContent(content);
+        assertThat(digest.digest()).isEqualTo(MessageDigest.getInstance("SHA-256").digest(content));
+        assertThat(ranges).containsExactlyInAnyOrder("bytes=0-99",
+                "bytes=100-399 if \"v1\"",
+                "bytes=400-699 if \"v1\"",
+                "bytes=700-999 if \"v1\"");
+    }
+
+    @Test
+    public void download_continues_parallel_ranges_that_the_server_caps() throws Exception {
+        byte[] content = new byte[1000];
+        new Random(0).nextBytes(content);
+        List<String> ranges = Collections.synchronizedList(new ArrayList<>());
+        URI uri = serve(ranged(content, "\"v1\"", ranges, 200));
+        RepositoryHttpTransport transport = new RepositoryHttpTransport(4, Duration.ofSeconds(5), Duration.ofSeconds(5), 4, 100);
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        Path target = folder.resolve("artifact.jar");
+        assertThat(transport.download(uri, null, new Repository.Retry(0, Duration.ZERO), target, List.of(digest))).isTrue();
+        assertThat(target).hasBinaryContent(content);
+        assertThat(digest.digest()).isEqualTo(MessageDigest.getInstance("SHA-256").digest(content));
+        assertThat(ranges).containsExactlyInAnyOrder("bytes=0-99",
+                "bytes=100-399 if \"v1\"",
+                "bytes=300-399 if \"v1\"",
+                "bytes=400-699 if \"v1\"",
+                "bytes=600-699 if \"v1\"",
+                "bytes=700-999 if \"v1\"",
+                "bytes=900-999 if \"v1\"");
+    }
+
+    @Test
+    public void download_without_a_validator_falls_back_to_a_single_request() throws Exception {
+        byte[] content = new byte[1000];
+        new Random(0).nextBytes(content);
+        List<String> ranges = Collections.synchronizedList(new ArrayList<>());
+        URI uri = serve(ranged(content, null, ranges));
+        RepositoryHttpTransport transport = new RepositoryHttpTransport(4, Duration.ofSeconds(5), Duration.ofSeconds(5), 4, 100);
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        Path target = folder.resolve("artifact.jar");
+        assertThat(transport.download(uri, null, new Repository.Retry(0, Duration.ZERO), target, List.of(digest))).isTrue();
+        assertThat(target).hasBinaryContent(content);
+        assertThat(digest.digest()).isEqualTo(MessageDigest.getInstance("SHA-256").digest(content));
+        assertThat(ranges).containsExactly("bytes=0-99", "");
+    }
+
+    @Test
+    public void download_of_a_small_artifact_completes_within_the_first_range() throws Exception {
+        byte[] content = "0123456789".getBytes(StandardCharsets.UTF_8);
+        List<String> ranges = new ArrayList<>();
+        URI uri = serve(ranged(content, "\"v1\"", ranges));
+        RepositoryHttpTransport transport = new RepositoryHttpTransport(4, Duration.ofSeconds(5), Duration.ofSeconds(5), 4, 100);
+        Path target = folder.resolve("artifact.jar");
+        assertThat(transport.download(uri, null, new Repository.Retry(0, Duration.ZERO), target, List.of())).isTrue();
+        assertThat(target).hasBinaryContent(content);
+        assertThat(ranges).containsExactly("bytes=0-99");
+    }
+
+    @Test
+    public void concurrent_requests_to_one_host_are_bounded() throws Exception {
+        AtomicInteger active = new AtomicInteger(), peak = new AtomicInteger();
+        URI uri = serve(exchange -> {
+            peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException _) {
+                Thread.currentThread().interrupt();
+            }
+            active.decrementAndGet();
+            respond(exchange, 200, "payload");
+        });
+        RepositoryHttpTransport transport = new RepositoryHttpTransport(2, Duration.ofSeconds(5), Duration.ofSeconds(5));
+        List<Future<Boolean>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int index = 0; index < 8; index++) {
+                Path target = folder.resolve("artifact-" + index + ".jar");
+                futures.add(executor.submit(() -> transport.download(uri,
+                        null,
+                        new Repository.Retry(0, Duration.ZERO),
+                        target,
+                        List.of())));
+            }
+            for (Future<Boolean> future : futures) {
+                assertThat(future.get()).isTrue();
+            }
+        }
+        assertThat(peak.get()).isBetween(1, 2);
+    }
+
+    @Test
+    public void revalidate_keeps_an_unmodified_file_with_either_transport() throws IOException {
+        List<String> conditions = new CopyOnWriteArrayList<>();
+        URI uri = serve(exchange -> {
+            String condition = exchange.getRequestHeaders().getFirst("If-None-Match");
+            conditions.add(String.valueOf(condition));
+            if ("\"v1\"".equals(condition)) {
+                respond(exchange, 304, "");
+            } else {
+                exchange.getResponseHeaders().set("ETag", "\"v1\"");
+                respond(exchange, 200, "payload");
+            }
+        });
+        for (RepositoryTransport transport : List.of(
+                new RepositoryHttpTransport(4, Duration.ofSeconds(5), Duration.ofSeconds(5)),
+                new RepositoryUrlTransport())) {
+            conditions.clear();
+            Path target = Files.createTempDirectory(folder, "revalidate").resolve("artifact.jar");
+            assertThat(transport.revalidate(uri, null, new Repository.Retry(0, Duration.ZERO), target)).isTrue();
+            assertThat(target).hasContent("payload");
+            assertThat(transport.revalidate(uri, null, new Repository.Retry(0, Duration.ZERO), target)).isTrue();
+            assertThat(target).hasContent("payload");
+            assertThat(conditions).containsExactly("null", "\"v1\"");
+        }
+    }
+
+    @Test
+    public void revalidate_reports_a_missing_resource() throws IOException {
+        URI uri = serve(exchange -> respond(exchange, 404, ""));
+        RepositoryHttpTransport transport = new RepositoryHttpTransport(4, Duration.ofSeconds(5), Duration.ofSeconds(5));
+        Path target = folder.resolve("artifact.jar");
+        assertThat(transport.revalidate(uri, null, new Repository.Retry(0, Duration.ZERO), target)).isFalse();
+        assertThat(target).doesNotExist();
+        try (Stream<Path> files = Files.list(folder)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    public void transport_is_selected_by_system_property() {
+        assertThat(RepositoryTransport.of()).isInstanceOf(RepositoryUrlTransport.class);
+        System.setProperty("jenesis.repository.transport", "http");
+        assertThat(RepositoryTransport.of()).isSameAs(RepositoryHttpTransport.shared());
+        System.setProperty("jenesis.repository.transport", "carrier-pigeon");
+        assertThatThrownBy(RepositoryTransport::of)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("carrier-pigeon");
+    }
+}
@@ -0,0 +1,84 @@
+package build.jenesis.test;
+
+import module java.base;
+import module org.junit.jupiter.api;
+import build.jenesis.Repository;
+import build.jenesis.RepositoryItem;
+import build.jenesis.RepositorySnapshot;
+import build.jenesis.maven.MavenRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RepositorySnapshotTest {
+
+    @TempDir
+    private Path folder;
+
+    private Path cache(String name, String... coordinates) throws IOException {
+        Path cache = Files.createDirectory(folder.resolve(name));
+        Repository repository = (_, coordinate) -> Optional.of(() -> new ByteArrayInputStream(
+                coordinate.getBytes(StandardCharsets.UTF_8)));
+        for (String coordinate : coordinates) {
+            assertThat(repository.cached(cache).fetch(Runnable::run, coordinate)).isPresent();
+        }
+        return cache;
+    }
+
+    private static String read(RepositoryItem item) throws IOException {
+        try (InputStream inputStream = item.toInputStream()) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    public void snapshot_serves_cached_entries_in_place() throws IOException {
+        Path snapshot = folder.resolve("repository.snapshot");
+        RepositorySnapshot.write(snapshot, cache("cache", "foo/bar/1", "foo/bar/pom/1", "qux/2"));
+        RepositorySnapshot repository = RepositorySnapshot.map(snapshot);
+        assertThat(repository.size()).isEqualTo(3);
+        for (String coordinate : List.of("foo/bar/1", "foo/bar/pom/1", "qux/2")) {
+            RepositoryItem item = repository.fetch(Runnable::run, coordinate).orElseThrow();
+            assertThat(item.file()).isEmpty();
+            assertThat(read(item)).isEqualTo(coordinate);
+        }
+        assertThat(repository.fetch(Runnable::run, "foo/bar/2")).isEmpty();
+        assertThat(repository.fetch(Runnable::run, "foo")).isEmpty();
+        assertThat(repository.coordinates("foo/bar/")).containsExactly("foo/bar/1", "foo/bar/pom/1");
+    }
+
+    @Test
+    public void snapshot_is_reproducible() throws IOException {
+        Path first = folder.resolve("first.snapshot"), second = folder.resolve("second.snapshot");
+        RepositorySnapshot.write(first, cache("left", "b/1", "a/1"), cache("right", "c/1"));
+        RepositorySnapshot.write(second, cache("other", "c/1", "a/1", "b/1"));
+        assertThat(Files.mismatch(first, second)).isEqualTo(-1L);
+    }
+
+    @Test
+    public void snapshot_rejects_foreign_files() throws IOException {
+        Path snapshot = Files.writeString(folder.resolve("foreign.snapshot"), "foreign content");
+        assertThatThrownBy(() -> RepositorySnapshot.map(snapshot))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Not a repository snapshot");
+    }
+
+    @Test
+    public void snapshot_describes_contained_maven_versions() throws IOException {
+        Path snapshot = folder.resolve("repository.snapshot");
+        RepositorySnapshot.write(snapshot, cache("cache",
+                "foo/bar/pom/1.10",
+                "foo/bar/1.10",
+                "foo/bar/pom/1.2",
+                "foo/bar/pom/2.0-SNAPSHOT",
+                "foo/baz/pom/3"));
+        MavenRepository repository = MavenRepository.of(RepositorySnapshot.map(snapshot));
+        assertThat(read(repository.fetchMetadata(Runnable::run, "foo", "bar", null).orElseThrow()))
+                .isEqualTo("<metadata><versioning><latest>2.0-SNAPSHOT</latest><release>1.10</release>"
+                        + "<versions><version>1.2</version><version>1.10</version><version>2.0-SNAPSHOT</version>"
+                        + "</versions></versioning></metadata>");
+        assertThat(repository.fetchMetadata(Runnable::run, "foo", "qux", null)).isEmpty();
+        assertThat(read(repository.fetch(Runnable::run, "foo", "bar", "1.10", "pom", null, null).orElseThrow()))
+                .isEqualTo("foo/bar/pom/1.10");
+    }
+}
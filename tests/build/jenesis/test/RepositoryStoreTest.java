@@ -0,0 +1,93 @@
+package build.jenesis.test;
+
+import module java.base;
+import module org.junit.jupiter.api;
+import build.jenesis.Repository;
+import build.jenesis.RepositoryItem;
+import build.jenesis.RepositoryStore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RepositoryStoreTest {
+
+    @TempDir
+    private Path folder;
+
+    @AfterEach
+    public void clear() {
+        System.clearProperty("jenesis.repository.store");
+    }
+
+    private static String sha256(String content) throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void put_stores_content_once_by_its_hash() throws Exception {
+        RepositoryStore store = new RepositoryStore(folder.resolve("store"));
+        Path first = store.put(Files.writeString(folder.resolve("first.jar"), "content"));
+        Path second = store.put(new ByteArrayInputStream("content".getBytes(StandardCharsets.UTF_8)));
+        assertThat(second).isEqualTo(first);
+        assertThat(first.getFileName().toString()).isEqualTo(sha256("content"));
+        assertThat(first).hasContent("content");
+        assertThat(store.lookup("SHA-256/" + sha256("content"))).contains(first);
+        assertThat(store.lookup("SHA-256/" + sha256("other"))).isEmpty();
+    }
+
+    @Test
+    public void ledger_resolves_other_algorithms_once_recorded() throws Exception {
+        RepositoryStore store = new RepositoryStore(folder.resolve("store"));
+        Path entry = store.put(Files.writeString(folder.resolve("artifact.jar"), "content"));
+        String checksum = "SHA-512/" + HexFormat.of().formatHex(MessageDigest.getInstance("SHA-512")
+                .digest("content".getBytes(StandardCharsets.UTF_8)));
+        assertThat(store.lookup(checksum)).isEmpty();
+        store.record(checksum, HexFormat.of().parseHex(sha256("content")));
+        assertThat(store.lookup(checksum)).contains(entry);
+        assertThat(store.lookup("../x/" + sha256("content"))).isEmpty();
+    }
+
+    @Test
+    public void put_copies_rather_than_links_a_foreign_file() throws Exception {
+        RepositoryStore store = new RepositoryStore(folder.resolve("store"));
+        Path file = Files.writeString(folder.resolve("artifact.jar"), "content");
+        Path entry = store.put(file);
+        assertThat(Files.isSameFile(file, entry)).isFalse();
+        Files.writeString(file, "tampered");
+        assertThat(entry).hasContent("content");
+        assertThat(store.trusts(file, "SHA-256/" + sha256("content"))).isFalse();
+    }
+
+    @Test
+    public void trusts_only_links_to_the_stored_entry() throws Exception {
+        RepositoryStore store = new RepositoryStore(folder.resolve("store"));
+        Path entry = store.put(Files.writeString(folder.resolve("artifact.jar"), "content"));
+        Path link = Files.createLink(folder.resolve("link.jar"), entry);
+        Path copy = Files.copy(entry, folder.resolve("copy.jar"));
+        assertThat(store.trusts(link, "SHA-256/" + sha256("content"))).isTrue();
+        assertThat(store.trusts(copy, "SHA-256/" + sha256("content"))).isFalse();
+    }
+
+    @Test
+    public void cached_repositories_of_several_projects_share_one_stored_file() throws Exception {
+        System.setProperty("jenesis.repository.store", folder.resolve("store").toString());
+        AtomicInteger fetches = new AtomicInteger();
+        Repository remote = (_, _) -> {
+            fetches.incrementAndGet();
+            return Optional.of(() -> new ByteArrayInputStream("content".getBytes(StandardCharsets.UTF_8)));
+        };
+        String checksum = "SHA-256/" + sha256("content");
+        Path first = remote.cached(Files.createDirectories(folder.resolve("first")))
+                .fetch(Runnable::run, "group/artifact", checksum)
+                .flatMap(RepositoryItem::file)
+                .orElseThrow();
+        Path second = remote.cached(Files.createDirectories(folder.resolve("second")))
+                .fetch(Runnable::run, "group/artifact", checksum)
+                .flatMap(RepositoryItem::file)
+                .orElseThrow();
+        assertThat(fetches).hasValue(1);
+        assertThat(first).hasContent("content");
+        assertThat(Files.isSameFile(first, second)).isTrue();
+        assertThat(new RepositoryStore(folder.resolve("store")).trusts(second, checksum)).isTrue();
+    }
+}
@@ -452,4 +452,69 @@ public class RepositoryTest {
 
         assertThat(cache.toFile().list()).isEmpty();
     }
+
+    @Test
+    public void cached_shares_one_download_between_concurrent_fetches() throws Exception {
+        Path source = Files.writeString(folder.resolve("remote.jar"), "remote");
+        Path cache = Files.createDirectory(folder.resolve("cache"));
+        AtomicInteger fetches = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Repository underlying = (_, _) -> {
+            fetches.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return Optional.of(RepositoryItem.ofFile(source, false));
+        };
+        Repository repository = underlying.cached(cache);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletableFuture<Optional<RepositoryItem>> first = repository.fetchAsync(executor, "module/foo/1.0");
+            CompletableFuture<Optional<RepositoryItem>> second = repository.fetchAsync(executor, "module/foo/1.0");
+            Future<Optional<RepositoryItem>> third = executor.submit(() -> repository.fetch(executor, "module/foo/1.0"));
+            release.countDown();
+            assertThat(first.join().flatMap(RepositoryItem::file)).isEqualTo(second.join().flatMap(RepositoryItem::file));
+            assertThat(third.get().flatMap(RepositoryItem::file)).isEqualTo(first.join().flatMap(RepositoryItem::file));
+        }
+        assertThat(fetches).hasValue(1);
+    }
+
+    @Test
+    public void fetch_async_of_prepended_repository_falls_back_to_the_original() throws IOException {
+        Path source = Files.writeString(folder.resolve("remote.jar"), "remote");
+        Repository original = (_, coordinate) -> coordinate.equals("module/foo/1.0")
+                ? Optional.of(RepositoryItem.ofFile(source, false))
+                : Optional.empty();
+        Repository repository = original.prepend(Repository.empty());
+
+        assertThat(repository.fetchAsync(Runnable::run, "module/foo/1.0").join().flatMap(RepositoryItem::file))
+                .contains(source);
+        assertThat(repository.fetchAsync(Runnable::run, "module/bar/1.0").join()).isEmpty();
+    }
+
+    @Test
+    public void deferred_items_pass_through_a_materialized_cache_without_fetching() throws IOException {
+        Path source = Files.writeString(folder.resolve("remote.jar"), "remote");
+        Path snapshot = Files.createDirectory(folder.resolve("snapshot"));
+        AtomicInteger fetches = new AtomicInteger();
+        Repository underlying = (_, _) -> {
+            fetches.incrementAndGet();
+            return Optional.of(RepositoryItem.ofFile(source, false));
+        };
+        Repository repository = underlying.deferred(coordinate -> coordinate.startsWith("module/foo/")).materialized(snapshot);
+
+        RepositoryItem item = repository.fetchAsync(Runnable::run, "module/foo/1.0").join().orElseThrow();
+
+        assertThat(item.deferred()).isTrue();
+        assertThat(item.file()).isEmpty();
+        assertThat(snapshot.toFile().list()).isEmpty();
+        assertThat(fetches).hasValue(0);
+        try (InputStream inputStream = item.toInputStream()) {
+            assertThat(inputStream.readAllBytes()).asString(StandardCharsets.UTF_8).isEqualTo("remote");
+        }
+        assertThat(fetches).hasValue(1);
+        assertThat(repository.fetch(Runnable::run, "module/bar/1.0").flatMap(RepositoryItem::file)).isPresent();
+        assertThat(fetches).hasValue(2);
+    }
 }
@@ -0,0 +1,75 @@
+package build.jenesis.test;
+
+import module java.base;
+import module org.junit.jupiter.api;
+import build.jenesis.SingleFlight;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SingleFlightTest {
+
+    @Test
+    public void concurrent_calls_share_one_computation() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1), release = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> first = executor.submit(() -> flight.get("key", () -> {
+                calls.incrementAndGet();
+                started.countDown();
+                release.await();
+                return "value";
+            }));
+            started.await();
+            Future<String> second = executor.submit(() -> flight.get("key", () -> {
+                calls.incrementAndGet();
+                return "other";
+            }));
+            release.countDown();
+            assertThat(first.get()).isEqualTo("value");
+            assertThat(second.get()).isEqualTo("value");
+        }
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    public void completed_result_is_retained() throws IOException {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        assertThat(flight.get("key", () -> "value")).isEqualTo("value");
+        assertThat(flight.get("key", () -> "other")).isEqualTo("value");
+    }
+
+    @Test
+    public void failure_is_not_retained() throws IOException {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        assertThatThrownBy(() -> flight.get("key", () -> {
+            throw new IOException("failed");
+        })).isInstanceOf(IOException.class).hasMessage("failed");
+        assertThat(flight.get("key", () -> "value")).isEqualTo("value");
+    }
+
+    @Test
+    public void null_result_is_not_retained() throws IOException {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        assertThat(flight.get("key", () -> null)).isNull();
+        assertThat(flight.get("key", () -> "value")).isEqualTo("value");
+    }
+
+    @Test
+    public void submitted_computation_is_shared() throws IOException {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> first = flight.submit("key", Runnable::run, () -> {
+            calls.incrementAndGet();
+            return "value";
+        });
+        CompletableFuture<String> second = flight.submit("key", Runnable::run, () -> {
+            calls.incrementAndGet();
+            return "other";
+        });
+        assertThat(SingleFlight.await(first)).isEqualTo("value");
+        assertThat(SingleFlight.await(second)).isEqualTo("value");
+        assertThat(calls).hasValue(1);
+    }
+}
@@ -1,6 +1,7 @@
 package build.jenesis.test.maven;
 
 import module java.base;
+import module jdk.httpserver;
 import module org.junit.jupiter.api;
 import build.jenesis.Repository;
 import build.jenesis.RepositoryItem;
@@ -455,6 +456,339 @@ public class MavenDefaultRepositoryTest {
                 .content().isEqualTo(HexFormat.of().formatHex(hash));
     }
 
+    @Test
+    public void remembers_the_published_sidecar_across_artifacts() throws IOException, NoSuchAlgorithmException {
+        Map<String, String> files = new HashMap<>();
+        for (String artifact : List.of("first", "second")) {
+            String path = "/group/" + artifact + "/1/" + artifact + "-1.jar";
+            files.put(path, artifact);
+            files.put(path + ".sha1", HexFormat.of().formatHex(MessageDigest.getInstance("SHA-1")
+                    .digest(artifact.getBytes(StandardCharsets.UTF_8))));
+        }
+        List<String> requests = Collections.synchronizedList(new ArrayList<>());
+        HttpServer server = serve(files, requests);
+        System.setProperty("jenesis.repository.insecure", "true");
+        try {
+            URI uri = URI.create("http://localhost:" + server.getAddress().getPort() + "/");
+            Map<String, URI> validations = new LinkedHashMap<>();
+            validations.put("SHA512", uri);
+            validations.put("SHA256", uri);
+            validations.put("SHA1", uri);
+            MavenDefaultRepository mavenRepository = new MavenDefaultRepository(uri, local, validations, _ -> {});
+            for (String artifact : List.of("first", "second")) {
+                try (InputStream inputStream = mavenRepository.fetch(Runnable::run,
+                        "group",
+                        artifact,
+                        "1",
+                        "jar",
+                        null,
+                        null).orElseThrow().toInputStream()) {
+                    assertThat(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(artifact);
+                }
+            }
+        } finally {
+            System.clearProperty("jenesis.repository.insecure");
+            server.stop(0);
+        }
+        assertThat(requests.stream().filter(request -> request.startsWith("/group/first/"))).containsExactlyInAnyOrder(
+                "/group/first/1/first-1.jar",
+                "/group/first/1/first-1.jar.sha512",
+                "/group/first/1/first-1.jar.sha256",
+                "/group/first/1/first-1.jar.sha1");
+        assertThat(requests.stream().filter(request -> request.startsWith("/group/second/"))).containsExactlyInAnyOrder(
+                "/group/second/1/second-1.jar",
+                "/group/second/1/second-1.jar.sha1");
+    }
+
+    @Test
+    public void missing_artifact_does_not_request_a_sidecar() throws IOException {
+        List<String> requests = Collections.synchronizedList(new ArrayList<>());
+        HttpServer server = serve(Map.of(), requests);
+        System.setProperty("jenesis.repository.insecure", "true");
+        try {
+            URI uri = URI.create("http://localhost:" + server.getAddress().getPort() + "/");
+            MavenDefaultRepository mavenRepository = new MavenDefaultRepository(uri,
+                    local,
+                    Map.of("SHA256", uri),
+                    _ -> {});
+            assertThat(mavenRepository.fetch(Runnable::run,
+                    "group",
+                    "artifact",
+                    "1",
+                    "jar",
+                    null,
+                    null)).isEmpty();
+        } finally {
+            System.clearProperty("jenesis.repository.insecure");
+            server.stop(0);
+        }
+        assertThat(requests).containsExactly("/group/artifact/1/artifact-1.jar");
+    }
+
+    @Test
+    public void found_artifact_requests_its_sidecar_while_streaming() throws Exception {
+        byte[] content = "artifact".getBytes(StandardCharsets.UTF_8);
+        CountDownLatch requested = new CountDownLatch(1);
+        AtomicBoolean overlapped = new AtomicBoolean();
+        ExecutorService executor = Executors.newCachedThreadPool();
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            if (path.endsWith(".jar")) {
+                exchange.sendResponseHeaders(200, content.length);
+                try (OutputStream outputStream = exchange.getResponseBody()) {
+                    outputStream.write(content, 0, 4);
+                    outputStream.flush();
+                    try {
+                        overlapped.set(requested.await(10, TimeUnit.SECONDS));
+                    } catch (InterruptedException _) {
+                        Thread.currentThread().interrupt();
+                    }
+                    outputStream.write(content, 4, content.length - 4);
+                }
+            } else {
+                requested.countDown();
+                try {
+                    byte[] bytes = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content))
+                            .getBytes(StandardCharsets.UTF_8);
+                    exchange.sendResponseHeaders(200, bytes.length);
+                    try (OutputStream outputStream = exchange.getResponseBody()) {
+                        outputStream.write(bytes);
+                    }
+                } catch (NoSuchAlgorithmException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            exchange.close();
+        });
+        server.start();
+        System.setProperty("jenesis.repository.insecure", "true");
+        try {
+            URI uri = URI.create("http://localhost:" + server.getAddress().getPort() + "/");
+            try (InputStream inputStream = new MavenDefaultRepository(uri,
+                    local,
+                    Map.of("SHA256", uri),
+                    _ -> {}).fetch(Runnable::run,
+                    "group",
+                    "artifact",
+                    "1",
+                    "jar",
+                    null,
+                    null).orElseThrow().toInputStream()) {
+                assertThat(inputStream.readAllBytes()).isEqualTo(content);
+            }
+        } finally {
+            System.clearProperty("jenesis.repository.insecure");
+            server.stop(0);
+            executor.shutdownNow();
+        }
+        assertThat(overlapped).isTrue();
+    }
+
+    @Test
+    public void pinned_checksum_skips_remote_sidecars() throws IOException, NoSuchAlgorithmException {
+        String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest("foo".getBytes(StandardCharsets.UTF_8)));
+        List<String> requests = Collections.synchronizedList(new ArrayList<>());
+        HttpServer server = serve(Map.of("/group/artifact/1/artifact-1.jar", "foo",
+                "/group/artifact/1/artifact-1.jar.sha256", hash), requests);
+        System.setProperty("jenesis.repository.insecure", "true");
+        try {
+            URI uri = URI.create("http://localhost:" + server.getAddress().getPort() + "/");
+            MavenDefaultRepository mavenRepository = new MavenDefaultRepository(uri,
+                    local,
+                    Map.of("SHA256", uri),
+                    _ -> {});
+            try (InputStream inputStream = mavenRepository.fetch(Runnable::run,
+                    "group/artifact/1",
+                    "SHA-256/" + hash).orElseThrow().toInputStream()) {
+                assertThat(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("foo");
+            }
+            assertThatThrownBy(() -> mavenRepository.fetch(Runnable::run,
+                    "group/artifact/1",
+                    "SHA-256/cafebabe").orElseThrow().toInputStream().close())
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("Mismatched digest");
+        } finally {
+            System.clearProperty("jenesis.repository.insecure");
+            server.stop(0);
+        }
+        assertThat(requests).containsExactly("/group/artifact/1/artifact-1.jar", "/group/artifact/1/artifact-1.jar");
+        assertThat(local.resolve("group/artifact/1/artifact-1.jar")).content().isEqualTo("foo");
+    }
+
+    @Test
+    public void resumes_an_interrupted_download_from_the_local_partial_file() throws IOException {
+        byte[] content = "0123456789".getBytes(StandardCharsets.UTF_8);
+        AtomicBoolean drop = new AtomicBoolean(true);
+        List<String> ranges = Collections.synchronizedList(new ArrayList<>());
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            String range = exchange.getRequestHeaders().getFirst("Range");
+            ranges.add(range == null ? "" : range);
+            exchange.getResponseHeaders().set("ETag", "\"v1\"");
+            if (range == null) {
+                exchange.sendResponseHeaders(200, content.length);
+                exchange.getResponseBody().write(content, 0, drop.get() ? 4 : content.length);
+                exchange.getResponseBody().flush();
+            } else {
+                exchange.getResponseHeaders().set("Content-Range", "bytes 4-9/10");
+                exchange.sendResponseHeaders(206, 6);
+                exchange.getResponseBody().write(content, 4, 6);
+            }
+            exchange.close();
+        });
+        server.start();
+        System.setProperty("jenesis.repository.insecure", "true");
+        System.setProperty("jenesis.repository.transport", "http");
+        try {
+            URI uri = URI.create("http://localhost:" + server.getAddress().getPort() + "/");
+            MavenDefaultRepository mavenRepository = new MavenDefaultRepository(uri, local, Map.of(), _ -> {})
+                    .retry(new Repository.Retry(0, Duration.ZERO));
+            assertThatThrownBy(() -> mavenRepository.fetch(Runnable::run,
+                    "group",
+                    "artifact",
+                    "1",
+                    "jar",
+                    null,
+                    null)).isInstanceOf(IOException.class);
+            assertThat(local.resolve("group/artifact/1/artifact-1.jar.part")).hasSize(4);
+            assertThat(local.resolve("group/artifact/1/artifact-1.jar.part.range")).content().isEqualTo("\"v1\"");
+            Optional<RepositoryItem> item = mavenRepository.fetch(Runnable::run,
+                    "group",
+                    "artifact",
+                    "1",
+                    "jar",
+                    null,
+                    null);
+            assertThat(item.orElseThrow().file()).contains(local.resolve("group/artifact/1/artifact-1.jar"));
+        } finally {
+            System.clearProperty("jenesis.repository.insecure");
+            System.clearProperty("jenesis.repository.transport");
+            server.stop(0);
+        }
+        assertThat(local.resolve("group/artifact/1/artifact-1.jar")).hasBinaryContent(content);
+        assertThat(local.resolve("group/artifact/1/artifact-1.jar.part")).doesNotExist();
+        assertThat(local.resolve("group/artifact/1/artifact-1.jar.part.range")).doesNotExist();
+        assertThat(ranges).containsExactly("", "bytes=4-");
+    }
+
+    @Test
+    public void hedges_a_stalled_request_on_an_equivalent_mirror() throws IOException {
+        Files.writeString(Files
+                .createDirectories(repository.resolve("group/artifact/1"))
+                .resolve("artifact-1.jar"), "mirrored");
+        CountDownLatch release = new CountDownLatch(1);
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            try {
+                release.await();
+            } catch (InterruptedException _) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+        System.setProperty("jenesis.repository.insecure", "true");
+        try {
+            MavenRepository mirrored = new MavenDefaultRepository(
+                    URI.create("http://localhost:" + server.getAddress().getPort() + "/"),
+                    local,
+                    Map.of(),
+                    _ -> {
+                    }).mirrors(List.of(repository.toUri()),
+                    new MavenDefaultRepository.Hedge(95, Duration.ofMillis(50)));
+            Path file = mirrored.fetch(Runnable::run, "group", "artifact", "1", "jar", null, null)
+                    .flatMap(RepositoryItem::file)
+                    .orElseThrow();
+            assertThat(file).isEqualTo(local.resolve("group/artifact/1/artifact-1.jar"));
+            assertThat(file).content().isEqualTo("mirrored");
+        } finally {
+            release.countDown();
+            server.stop(0);
+            System.clearProperty("jenesis.repository.insecure");
+        }
+    }
+
+    @Test
+    public void fails_over_to_a_mirror_when_a_request_fails() throws IOException {
+        Files.writeString(Files
+                .createDirectories(repository.resolve("group/artifact/1"))
+                .resolve("artifact-1.jar"), "mirrored");
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+        });
+        server.start();
+        System.setProperty("jenesis.repository.insecure", "true");
+        try {
+            MavenDefaultRepository.Hedge hedge = new MavenDefaultRepository.Hedge(95, Duration.ofMinutes(1));
+            MavenRepository mirrored = new MavenDefaultRepository(
+                    URI.create("http://localhost:" + server.getAddress().getPort() + "/"),
+                    null,
+                    Map.of(),
+                    _ -> {
+                    }).retry(new Repository.Retry(0, Duration.ZERO)).mirrors(List.of(repository.toUri()), hedge);
+            try (InputStream inputStream = mirrored.fetch(Runnable::run, "group", "artifact", "1", "jar", null, null)
+                    .orElseThrow()
+                    .toInputStream()) {
+                assertThat(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("mirrored");
+            }
+            assertThat(hedge.delay()).isEqualTo(Duration.ofMinutes(1));
+        } finally {
+            server.stop(0);
+            System.clearProperty("jenesis.repository.insecure");
+        }
+    }
+
+    @Test
+    public void hedge_delay_follows_the_observed_latency_percentile() throws IOException {
+        for (int index = 0; index < 10; index++) {
+            Files.writeString(Files
+                    .createDirectories(repository.resolve("group/artifact/" + index))
+                    .resolve("artifact-" + index + ".jar"), "content");
+        }
+        MavenDefaultRepository.Hedge hedge = new MavenDefaultRepository.Hedge(50, Duration.ofMinutes(1));
+        MavenRepository mirrored = new MavenDefaultRepository(repository.toUri(), null, Map.of(), _ -> {
+        }).mirrors(List.of(repository.toUri()), hedge);
+        for (int index = 0; index < 10; index++) {
+            try (InputStream inputStream = mirrored.fetch(Runnable::run,
+                    "group",
+                    "artifact",
+                    Integer.toString(index),
+                    "jar",
+                    null,
+                    null).orElseThrow().toInputStream()) {
+                assertThat(inputStream.readAllBytes()).hasSize(7);
+            }
+        }
+        assertThat(hedge.delay()).isLessThan(Duration.ofMinutes(1));
+    }
+
+    private static HttpServer serve(Map<String, String> files, List<String> requests) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            requests.add(path);
+            String content = files.get(path);
+            if (content == null) {
+                exchange.sendResponseHeaders(404, -1);
+            } else {
+                byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, bytes.length);
+                try (OutputStream outputStream = exchange.getResponseBody()) {
+                    outputStream.write(bytes);
+                }
+            }
+            exchange.close();
+        });
+        server.start();
+        return server;
+    }
+
     @Test
     public void can_fetch_metadata() throws IOException {
         Files.writeString(Files
@@ -680,6 +1014,43 @@ public class MavenDefaultRepositoryTest {
         }
     }
 
+    @Test
+    public void factory_treats_semicolon_separated_uris_as_equivalent_mirrors() throws IOException {
+        Files.writeString(Files
+                .createDirectories(repository.resolve("mirror/group/artifact/1"))
+                .resolve("artifact-1.jar"), "mirror-content");
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        server.start();
+        System.setProperty("jenesis.maven.uri", "http://localhost:" + server.getAddress().getPort()
+                + " ; " + repository.resolve("mirror").toUri());
+        System.setProperty("jenesis.maven.local", local.toString());
+        System.setProperty("jenesis.repository.insecure", "true");
+        System.setProperty("jenesis.repository.retries", "0");
+        try {
+            Optional<RepositoryItem> item = MavenDefaultRepository.of().fetch(Runnable::run,
+                    "group",
+                    "artifact",
+                    "1",
+                    "jar",
+                    null,
+                    null);
+            assertThat(item).isPresent();
+            try (InputStream stream = item.orElseThrow().toInputStream()) {
+                assertThat(new String(stream.readAllBytes())).isEqualTo("mirror-content");
+            }
+        } finally {
+            server.stop(0);
+            System.clearProperty("jenesis.maven.uri");
+            System.clearProperty("jenesis.maven.local");
+            System.clearProperty("jenesis.repository.insecure");
+            System.clearProperty("jenesis.repository.retries");
+        }
+    }
+
     @Test
     public void factory_fails_on_unresolved_reference() {
         System.setProperty("jenesis.maven.uri", "@corp.test.unset");
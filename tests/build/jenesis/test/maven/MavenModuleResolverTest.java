@@ -782,6 +782,74 @@ public class MavenModuleResolverTest {
         }
     }
 
+    @Test
+    public void reuses_a_module_resolution_until_a_maven_pin_reaches_it() throws IOException {
+        for (String version : List.of("1.0", "2.0")) {
+            addToMavenRepository("org.transitive", "lib", version, """
+                    <project xmlns="http://maven.apache.org/POM/4.0.0">
+                        <groupId>org.transitive</groupId>
+                        <artifactId>lib</artifactId>
+                        <version>%s</version>
+                    </project>""".formatted(version));
+            addJarToMavenRepository("org.transitive", "lib", version);
+        }
+        addJarToMavenRepository("org.example", "example-core", "1.0");
+        Map<String, String> fetched = new LinkedHashMap<>();
+        Repository discovery = stubRepository(fetched, Map.of("foo.bar:pom", """
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                    <groupId>org.example</groupId>
+                    <artifactId>example-core</artifactId>
+                    <version>1.0</version>
+                    <dependencies>
+                        <dependency>
+                            <groupId>org.transitive</groupId>
+                            <artifactId>lib</artifactId>
+                            <version>1.0</version>
+                        </dependency>
+                    </dependencies>
+                </project>"""));
+        Path folder = Files.createDirectory(workspace.resolve("dependencies"));
+        Path supplement = Files.createDirectory(workspace.resolve("supplement"));
+        SequencedProperties requires = new SequencedProperties();
+        requires.setProperty("main/compile/module/foo.bar", "");
+        requires.store(folder.resolve(BuildStep.REQUIRES));
+        SequencedProperties versions = new SequencedProperties();
+        versions.setProperty("main/maven/org.transitive/lib", "1.0");
+        versions.store(folder.resolve(BuildStep.VERSIONS));
+        Path previous = workspace.resolve("previous");
+        List<SequencedProperties> indices = new ArrayList<>();
+        for (String version : List.of("1.0", "1.0", "2.0")) {
+            versions.setProperty("main/maven/org.transitive/lib", version);
+            versions.store(folder.resolve(BuildStep.VERSIONS));
+            Path next = Files.createDirectory(workspace.resolve("next-" + indices.size()));
+            fetched.clear();
+            new Dependencies(
+                    Map.of("module", discovery,
+                            "maven", new MavenDefaultRepository(mavenRepoFolder.toUri(), mavenRepoFolder, Map.of(), _ -> {})),
+                    Map.of("module", new MavenModuleResolver("maven", mavenPomResolver, discovery)))
+                    .apply(Runnable::run,
+                            new BuildStepContext(previous, next, supplement),
+                            new LinkedHashMap<>(Map.of("dependencies", new BuildStepArgument(folder, Map.of(
+                                    Path.of(BuildStep.REQUIRES), Checksum.of(indices.isEmpty() ? ChecksumStatus.ADDED : ChecksumStatus.RETAINED),
+                                    Path.of(BuildStep.VERSIONS), Checksum.of(indices.isEmpty() ? ChecksumStatus.ADDED : ChecksumStatus.ALTERED))))))
+                    .toCompletableFuture()
+                    .join();
+            assertThat(fetched).as("resolution %d", indices.size()).hasSize(indices.size() == 1 ? 0 : 1);
+            indices.add(SequencedProperties.ofFiles(next.resolve(BuildStep.DEPENDENCIES)));
+            previous = next;
+        }
+        assertThat(indices.get(1)).isEqualTo(indices.get(0));
+        assertThat(indices.get(1).stringPropertyNames()).containsExactlyInAnyOrder(
+                "main/compile/maven/org.example/example-core/1.0",
+                "main/compile/maven/org.transitive/lib/1.0",
+                "main/compile/module/foo.bar/1.0");
+        assertThat(indices.get(2).stringPropertyNames()).contains("main/compile/maven/org.transitive/lib/2.0");
+        assertThat(Dependencies.select(previous, "main", "compile")).allSatisfy(jar -> assertThat(jar).isRegularFile());
+        assertThat(Dependencies.select(workspace.resolve("next-1"), "main", "compile"))
+                .hasSize(2)
+                .allSatisfy(jar -> assertThat(jar.startsWith(workspace.resolve("next-1").resolve(Dependencies.RESOLVED))).isTrue());
+    }
+
     @Test
     public void bom_floats_to_discovery_pom_version() throws IOException {
         Path properties = Files.writeString(mavenRepoFolder.resolve("acme.platform-2.0.properties"), "bar = 2.0\n");
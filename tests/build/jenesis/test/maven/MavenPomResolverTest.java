@@ -4676,6 +4676,120 @@ public class MavenPomResolverTest {
                 .hasMessageContaining("expected <groupId>/<artifactId>");
     }
 
+    @Test
+    public void repeated_resolution_reuses_traversal_and_poms() throws IOException {
+        addToRepository("group", "artifact", "1", """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance">
+                    <modelVersion>4.0.0</modelVersion>
+                    <dependencies>
+                        <dependency>
+                            <groupId>transitive</groupId>
+                            <artifactId>artifact</artifactId>
+                            <version>1</version>
+                        </dependency>
+                    </dependencies>
+                </project>
+                """);
+        addToRepository("other", "artifact", "1", """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance">
+                    <modelVersion>4.0.0</modelVersion>
+                    <dependencies>
+                        <dependency>
+                            <groupId>transitive</groupId>
+                            <artifactId>artifact</artifactId>
+                            <version>1</version>
+                        </dependency>
+                    </dependencies>
+                </project>
+                """);
+        addToRepository("transitive", "artifact", "1", """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance">
+                    <modelVersion>4.0.0</modelVersion>
+                </project>
+                """);
+        addJarToRepository("group", "artifact", "1");
+        addJarToRepository("other", "artifact", "1");
+        addJarToRepository("transitive", "artifact", "1");
+        Map<String, Integer> poms = new ConcurrentHashMap<>();
+        MavenRepository counting = (executor, groupId, artifactId, version, type, classifier, checksum) -> {
+            if (Objects.equals(type, "pom")) {
+                poms.merge(groupId + "/" + artifactId + "/" + version, 1, Integer::sum);
+            }
+            return mavenRepository.fetch(executor, groupId, artifactId, version, type, classifier, checksum);
+        };
+        Resolver.Resolution first = mavenPomResolver.dependencies(
+                Runnable::run,
+                "maven",
+                Map.<String, Repository>of("maven", counting),
+                new LinkedHashMap<>(Map.of("group/artifact/1", Collections.emptyNavigableSet())),
+                new LinkedHashMap<>(),
+                DependencyScope.COMPILE);
+        Resolver.Resolution second = mavenPomResolver.dependencies(
+                Runnable::run,
+                "maven",
+                Map.<String, Repository>of("maven", counting),
+                new LinkedHashMap<>(Map.of("group/artifact/1", Collections.emptyNavigableSet())),
+                new LinkedHashMap<>(),
+                DependencyScope.COMPILE);
+        Resolver.Resolution other = mavenPomResolver.dependencies(
+                Runnable::run,
+                "maven",
+                Map.<String, Repository>of("maven", counting),
+                new LinkedHashMap<>(Map.of("other/artifact/1", Collections.emptyNavigableSet())),
+                new LinkedHashMap<>(),
+                DependencyScope.COMPILE);
+        assertThat(second.artifacts().keySet()).containsExactlyElementsOf(first.artifacts().keySet());
+        assertThat(second.edges()).isEqualTo(first.edges());
+        assertThat(other.artifacts()).containsOnlyKeys("maven/other/artifact/1", "maven/transitive/artifact/1");
+        assertThat(poms).containsExactlyInAnyOrderEntriesOf(Map.of(
+                "group/artifact/1", 1,
+                "other/artifact/1", 1,
+                "transitive/artifact/1", 1));
+    }
+
+    @Test
+    public void resolution_is_not_shared_across_repositories_or_builds() throws IOException {
+        addToRepository("group", "artifact", "1", """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance">
+                    <modelVersion>4.0.0</modelVersion>
+                </project>
+                """);
+        addJarToRepository("group", "artifact", "1");
+        Map<String, Integer> poms = new ConcurrentHashMap<>();
+        MavenRepository left = (executor, groupId, artifactId, version, type, classifier, checksum) -> {
+            if (Objects.equals(type, "pom")) {
+                poms.merge("left", 1, Integer::sum);
+            }
+            return mavenRepository.fetch(executor, groupId, artifactId, version, type, classifier, checksum);
+        }, right = (executor, groupId, artifactId, version, type, classifier, checksum) -> {
+            if (Objects.equals(type, "pom")) {
+                poms.merge("right", 1, Integer::sum);
+            }
+            return mavenRepository.fetch(executor, groupId, artifactId, version, type, classifier, checksum);
+        };
+        for (MavenRepository repository : List.of(left, right, left)) {
+            mavenPomResolver.dependencies(Runnable::run,
+                    "maven",
+                    Map.<String, Repository>of("maven", repository),
+                    new LinkedHashMap<>(Map.of("group/artifact/1", Collections.emptyNavigableSet())),
+                    new LinkedHashMap<>(),
+                    DependencyScope.COMPILE);
+        }
+        assertThat(poms).containsExactlyInAnyOrderEntriesOf(Map.of("left", 1, "right", 1));
+        mavenPomResolver.reset();
+        mavenPomResolver.dependencies(Runnable::run,
+                "maven",
+                Map.<String, Repository>of("maven", left),
+                new LinkedHashMap<>(Map.of("group/artifact/1", Collections.emptyNavigableSet())),
+                new LinkedHashMap<>(),
+                DependencyScope.COMPILE);
+        assertThat(poms).containsExactlyInAnyOrderEntriesOf(Map.of("left", 2, "right", 1));
+    }
+
     private void addToRepository(String groupId, String artifactId, String version, String pom) throws IOException {
         Files.writeString(Files
                 .createDirectories(repository.resolve(groupId + "/" + artifactId + "/" + version))
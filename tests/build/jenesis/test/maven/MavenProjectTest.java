@@ -7,6 +7,7 @@ import build.jenesis.BuildExecutorCache;
 import build.jenesis.BuildExecutorCallback;
 import build.jenesis.BuildStep;
 import build.jenesis.BuildStepHashFunction;
+import build.jenesis.BuildStepResult;
 import build.jenesis.HashDigestFunction;
 import build.jenesis.Platform;
 import build.jenesis.SequencedProperties;
@@ -17,6 +18,7 @@ import build.jenesis.maven.MavenProject;
 import build.jenesis.maven.MavenRepository;
 import build.jenesis.project.AssemblyDescriptor;
 import build.jenesis.project.JavaToolchainModule;
+import build.jenesis.step.Dependencies;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -776,6 +778,96 @@ public class MavenProjectTest {
                 .endsWith("/classes.jar");
     }
 
+    @Test
+    public void lazy_resolution_defers_jars_to_the_artifacts_step() throws IOException {
+        Files.writeString(project.resolve("pom.xml"), """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance">
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>group</groupId>
+                    <artifactId>parent</artifactId>
+                    <version>1</version>
+                    <packaging>pom</packaging>
+                    <modules>
+                        <module>foo</module>
+                    </modules>
+                </project>
+                """);
+        Files.writeString(Files.createDirectory(project.resolve("foo")).resolve("pom.xml"), """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance">
+                    <modelVersion>4.0.0</modelVersion>
+                    <parent>
+                        <groupId>group</groupId>
+                        <artifactId>parent</artifactId>
+                        <version>1</version>
+                    </parent>
+                    <artifactId>foo</artifactId>
+                    <dependencies>
+                        <dependency>
+                            <groupId>other</groupId>
+                            <artifactId>artifact</artifactId>
+                            <version>1</version>
+                        </dependency>
+                    </dependencies>
+                </project>
+                """);
+        Files.writeString(Files.createDirectories(project.resolve("foo/src/main/java/foo")).resolve("Foo.java"), """
+                package foo;
+                public class Foo { }
+                """);
+        Path dependency = Files.createDirectories(repository.resolve("other/artifact/1"));
+        Files.writeString(dependency.resolve("artifact-1.pom"), """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance">
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>other</groupId>
+                    <artifactId>artifact</artifactId>
+                    <version>1</version>
+                </project>
+                """);
+        Files.writeString(dependency.resolve("artifact-1.jar"), "jar");
+        BuildExecutor root = BuildExecutor.of(build,
+                Duration.ZERO,
+                new HashDigestFunction("MD5"),
+                BuildStepHashFunction.ofSerializationDigest("MD5"),
+                BuildExecutorCallback.nop(), BuildExecutorCache.nop(), false, false, 0);
+        System.setProperty("jenesis.dependencies.lazy", "true");
+        try {
+            root.addModule("maven", MavenProject.make(project,
+                    "main",
+                    "maven",
+                    Map.of("maven", mavenRepository),
+                    Map.of("maven", mavenPomResolver),
+                    null,
+                    Collections.emptyNavigableSet(),
+                    (descriptor, _, _) -> {
+                                        assertThat(descriptor.artifacts()).containsExactly("../dependencies/artifacts");
+                        assertThat(descriptor.resolutions()).containsExactly("../dependencies/resolve");
+                        return new AssemblyDescriptor((buildExecutor, inherited) -> {
+                            assertThat(inherited).containsKeys("../dependencies/artifacts", "../dependencies/resolve");
+                            buildExecutor.addStep("jar", (_, context, _) -> {
+                                Files.writeString(Files.createDirectory(context.next().resolve(BuildStep.ARTIFACTS))
+                                        .resolve("classes.jar"), "classes");
+                                return CompletableFuture.completedStage(new BuildStepResult(true));
+                            }, "../dependencies/artifacts");
+                        });
+                    }));
+        } finally {
+            System.clearProperty("jenesis.dependencies.lazy");
+        }
+        SequencedMap<String, Path> results = root.execute(Runnable::run).toCompletableFuture().join();
+        Path resolved = results.get("maven/module-foo/dependencies/resolve");
+        assertThat(SequencedProperties.ofFiles(resolved.resolve(BuildStep.DEPENDENCIES)))
+                .containsKey("main/compile/maven/other/artifact/1");
+        assertThat(SequencedProperties.ofFiles(resolved.resolve(Dependencies.DEFERRED)))
+                .containsOnlyKeys("maven/other/artifact/1");
+        assertThat(Dependencies.all(resolved)).isEmpty();
+        assertThat(Dependencies.select(results.get("maven/module-foo/dependencies/artifacts"), "main", "compile"))
+                .singleElement()
+                .satisfies(jar -> assertThat(jar).hasContent("jar"));
+    }
+
     @Test
     public void emits_versions_properties_from_dependency_management() throws IOException {
         Files.writeString(project.resolve("pom.xml"), """
@@ -0,0 +1,137 @@
+package build.jenesis.test.maven;
+
+import module java.base;
+import module org.junit.jupiter.api;
+import build.jenesis.RepositoryItem;
+import build.jenesis.maven.MavenRepository;
+import build.jenesis.maven.MavenRoutingRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MavenRoutingRepositoryTest {
+
+    @TempDir
+    private Path folder;
+
+    private final AtomicLong millis = new AtomicLong(1_000_000);
+
+    private final InstantSource clock = () -> Instant.ofEpochMilli(millis.get());
+
+    private static MavenRepository serving(List<String> requests, String name, Set<String> artifacts) {
+        return (_, groupId, artifactId, version, _, _, _) -> {
+            requests.add(name + ":" + groupId + ":" + artifactId);
+            return artifacts.contains(groupId + ":" + artifactId)
+                    ? Optional.of(RepositoryItem.ofFile(Path.of(artifactId + "-" + version + ".jar")))
+                    : Optional.empty();
+        };
+    }
+
+    @Test
+    public void skips_a_repository_that_recently_missed() throws IOException {
+        List<String> requests = new ArrayList<>();
+        MavenRepository repository = new MavenRoutingRepository(List.of(
+                new MavenRoutingRepository.Route("mirror", serving(requests, "mirror", Set.of()), null, true),
+                new MavenRoutingRepository.Route("central", serving(requests, "central", Set.of("group:artifact")), null, true)),
+                null,
+                Duration.ofMinutes(1),
+                clock);
+        for (int index = 0; index < 2; index++) {
+            assertThat(repository.fetch(Runnable::run, "group", "artifact", "1", "jar", null, null)).isPresent();
+        }
+        assertThat(requests).containsExactly("mirror:group:artifact", "central:group:artifact", "central:group:artifact");
+    }
+
+    @Test
+    public void retries_a_missing_repository_once_the_miss_expires() throws IOException {
+        List<String> requests = new ArrayList<>();
+        MavenRepository repository = new MavenRoutingRepository(List.of(
+                new MavenRoutingRepository.Route("mirror", serving(requests, "mirror", Set.of()), null, true),
+                new MavenRoutingRepository.Route("central", serving(requests, "central", Set.of()), null, true)),
+                null,
+                Duration.ofMinutes(1),
+                clock);
+        assertThat(repository.fetch(Runnable::run, "group", "artifact", "1", "jar", null, null)).isEmpty();
+        assertThat(repository.fetch(Runnable::run, "group", "artifact", "1", "jar", null, null)).isEmpty();
+        assertThat(requests).hasSize(2);
+        millis.addAndGet(Duration.ofMinutes(2).toMillis());
+        assertThat(repository.fetch(Runnable::run, "group", "artifact", "1", "jar", null, null)).isEmpty();
+        assertThat(requests).hasSize(4);
+    }
+
+    @Test
+    public void keeps_the_declared_order_after_a_later_repository_served_a_group() throws IOException {
+        List<String> requests = new ArrayList<>();
+        MavenRepository repository = new MavenRoutingRepository(List.of(
+                new MavenRoutingRepository.Route("mirror", serving(requests, "mirror", Set.of("group:second")), null, true),
+                new MavenRoutingRepository.Route("vendor", serving(requests, "vendor", Set.of("group:first", "group:second")), null, true)),
+                null,
+                Duration.ofMinutes(1),
+                clock);
+        assertThat(repository.fetch(Runnable::run, "group", "first", "1", "jar", null, null)).isPresent();
+        assertThat(repository.fetch(Runnable::run, "group", "second", "1", "jar", null, null)).isPresent();
+        assertThat(repository.fetchMetadata(Runnable::run, "group", "second", null)).isEmpty();
+        assertThat(requests).containsExactly("mirror:group:first", "vendor:group:first", "mirror:group:second");
+    }
+
+    @Test
+    public void persists_misses_across_instances_once_flushed() throws IOException {
+        Path file = folder.resolve("routes.properties");
+        List<String> requests = new ArrayList<>();
+        List<MavenRoutingRepository.Route> routes = List.of(
+                new MavenRoutingRepository.Route("mirror", serving(requests, "mirror", Set.of()), null, true),
+                new MavenRoutingRepository.Route("vendor", serving(requests, "vendor", Set.of("group:first", "group:second")), null, true));
+        MavenRepository first = new MavenRoutingRepository(routes, file, Duration.ofMinutes(1), clock);
+        assertThat(first.fetch(Runnable::run, "group", "first", "1", "jar", null, null)).isPresent();
+        assertThat(first.fetch(Runnable::run, "group", "second", "1", "jar", null, null)).isPresent();
+        assertThat(file).doesNotExist();
+        MavenRoutingRepository.flush();
+        assertThat(file).exists();
+        requests.clear();
+        MavenRepository second = new MavenRoutingRepository(routes, file, Duration.ofMinutes(1), clock);
+        assertThat(second.fetch(Runnable::run, "group", "first", "1", "jar", null, null)).isPresent();
+        assertThat(second.fetch(Runnable::run, "group", "third", "1", "jar", null, null)).isEmpty();
+        assertThat(requests).containsExactly("vendor:group:first", "mirror:group:third", "vendor:group:third");
+    }
+
+    @Test
+    public void merges_misses_of_concurrent_builds_into_the_shared_file() throws IOException {
+        Path file = folder.resolve("routes.properties");
+        List<String> requests = new ArrayList<>();
+        List<MavenRoutingRepository.Route> routes = List.of(
+                new MavenRoutingRepository.Route("mirror", serving(requests, "mirror", Set.of()), null, true),
+                new MavenRoutingRepository.Route("vendor", serving(requests, "vendor", Set.of("group:first", "group:second")), null, true));
+        MavenRepository first = new MavenRoutingRepository(routes, file, Duration.ofMinutes(1), clock);
+        MavenRepository second = new MavenRoutingRepository(routes, file, Duration.ofMinutes(1), clock);
+        assertThat(first.fetch(Runnable::run, "group", "first", "1", "jar", null, null)).isPresent();
+        MavenRoutingRepository.flush();
+        assertThat(second.fetch(Runnable::run, "group", "second", "1", "jar", null, null)).isPresent();
+        MavenRoutingRepository.flush();
+        requests.clear();
+        MavenRepository third = new MavenRoutingRepository(routes, file, Duration.ofMinutes(1), clock);
+        assertThat(third.fetch(Runnable::run, "group", "first", "1", "jar", null, null)).isPresent();
+        assertThat(third.fetch(Runnable::run, "group", "second", "1", "jar", null, null)).isPresent();
+        assertThat(requests).containsExactly("vendor:group:first", "vendor:group:second");
+    }
+
+    @Test
+    public void does_not_record_misses_for_filtered_or_local_repositories() throws IOException {
+        Path file = folder.resolve("routes.properties");
+        List<String> requests = new ArrayList<>();
+        MavenRepository repository = new MavenRoutingRepository(List.of(
+                new MavenRoutingRepository.Route("internal", serving(requests, "internal", Set.of()), "corp"::equals, true),
+                new MavenRoutingRepository.Route("staging", serving(requests, "staging", Set.of()), null, false),
+                new MavenRoutingRepository.Route("central", serving(requests, "central", Set.of("group:artifact")), null, true)),
+                file,
+                Duration.ofMinutes(1),
+                clock);
+        for (int index = 0; index < 2; index++) {
+            assertThat(repository.fetch(Runnable::run, "group", "artifact", "1", "jar", null, null)).isPresent();
+        }
+        assertThat(requests).containsExactly("staging:group:artifact",
+                "central:group:artifact",
+                "staging:group:artifact",
+                "central:group:artifact");
+        MavenRoutingRepository.flush();
+        assertThat(file).doesNotExist();
+    }
+}
@@ -0,0 +1,83 @@
+package build.jenesis.test.module;
+
+import module java.base;
+import module org.junit.jupiter.api;
+import build.jenesis.module.JenesisModuleIndex;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JenesisModuleIndexTest {
+
+    @TempDir
+    private Path folder;
+
+    @Test
+    public void looks_up_entries_and_prefixes_in_the_mapped_table() throws IOException {
+        Path file = folder.resolve("modules.idx");
+        JenesisModuleIndex.write(file, 7, Map.of(
+                "org/example/b/modules.tsv", "b",
+                "org/example/a/modules.tsv", "a",
+                "org/example/a/modules-linux.tsv", "linux",
+                "org/other/modules.tsv", "other"));
+        JenesisModuleIndex index = JenesisModuleIndex.map(file);
+        assertThat(index.version()).isEqualTo(7);
+        assertThat(index.size()).isEqualTo(4);
+        assertThat(index.get("org/example/a/modules.tsv")).contains("a");
+        assertThat(index.get("org/example/a")).isEmpty();
+        assertThat(index.get("org/example/c/modules.tsv")).isEmpty();
+        assertThat(index.search("org/example/").sequencedKeySet()).containsExactly(
+                "org/example/a/modules-linux.tsv",
+                "org/example/a/modules.tsv",
+                "org/example/b/modules.tsv");
+        assertThat(index.search("org/example/a/")).containsOnlyKeys(
+                "org/example/a/modules-linux.tsv",
+                "org/example/a/modules.tsv");
+        assertThat(index.search("org/missing/")).isEmpty();
+    }
+
+    @Test
+    public void streams_a_sorted_snapshot_into_the_table() throws IOException {
+        Path file = folder.resolve("modules.idx");
+        JenesisModuleIndex.write(file, 3, new StringReader("a/modules.tsv\t2.0\ta\n"
+                + "a/modules.tsv\t1.0\ta\n"
+                + "b/modules.tsv\t1.0\tb\n"));
+        assertThat(JenesisModuleIndex.version(file)).hasValue(3);
+        JenesisModuleIndex index = JenesisModuleIndex.map(file);
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.get("a/modules.tsv")).contains("2.0\ta\n1.0\ta\n");
+        assertThat(index.get("b/modules.tsv")).contains("1.0\tb\n");
+        assertThatThrownBy(() -> JenesisModuleIndex.write(file, 4, new StringReader("b/modules.tsv\t1.0\tb\n"
+                + "a/modules.tsv\t1.0\ta\n")))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("not sorted");
+        assertThat(JenesisModuleIndex.version(file)).hasValue(3);
+        try (Stream<Path> files = Files.list(folder)) {
+            assertThat(files).containsExactly(file);
+        }
+    }
+
+    @Test
+    public void merges_replaced_and_removed_entries() throws IOException {
+        Path file = folder.resolve("modules.idx");
+        JenesisModuleIndex.write(file, 1, Map.of("a/modules.tsv", "1.0\ta\n", "b/modules.tsv", "1.0\tb\n"));
+        JenesisModuleIndex.write(file, 2, file, new StringReader("c/modules.tsv\t1.0\tc\n"
+                + "a/modules.tsv\t2.0\ta\n"
+                + "a/modules.tsv\t1.0\ta\n"
+                + "b/modules.tsv\n"));
+        JenesisModuleIndex index = JenesisModuleIndex.map(file);
+        assertThat(index.version()).isEqualTo(2);
+        assertThat(index.search("")).containsExactly(
+                Map.entry("a/modules.tsv", "2.0\ta\n1.0\ta\n"),
+                Map.entry("c/modules.tsv", "1.0\tc\n"));
+    }
+
+    @Test
+    public void rejects_a_file_that_is_not_an_index() throws IOException {
+        Path file = Files.writeString(folder.resolve("modules.idx"), "not an index");
+        assertThat(JenesisModuleIndex.version(file)).isEmpty();
+        assertThatThrownBy(() -> JenesisModuleIndex.map(file))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Not a module index");
+    }
+}
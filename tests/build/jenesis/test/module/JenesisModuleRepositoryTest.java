@@ -70,6 +70,51 @@ public class JenesisModuleRepositoryTest {
         }
     }
 
+    @Test
+    public void unversioned_lookup_is_cached_and_revalidated_once_stale() throws IOException {
+        System.setProperty("jenesis.repository.insecure", "true");
+        List<String> conditions = new ArrayList<>();
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            String condition = exchange.getRequestHeaders().getFirst("If-None-Match");
+            conditions.add(String.valueOf(condition));
+            if ("\"v1\"".equals(condition)) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            byte[] body = "classes".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("ETag", "\"v1\"");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        try {
+            URI base = URI.create("http://localhost:" + server.getAddress().getPort() + "/");
+            Path cache = root.resolve("cache");
+            JenesisRepository fresh = new JenesisModuleRepository(base).cache(cache, Duration.ofHours(1));
+            assertThat(read(fresh.fetch(Runnable::run, "build.jenesis").orElseThrow())).isEqualTo("classes");
+            assertThat(read(fresh.fetch(Runnable::run, "build.jenesis").orElseThrow())).isEqualTo("classes");
+            assertThat(read(new JenesisModuleRepository(base).cache(cache, Duration.ofHours(1))
+                    .fetch(Runnable::run, "build.jenesis")
+                    .orElseThrow())).isEqualTo("classes");
+            assertThat(conditions).containsExactly("null");
+            assertThat(read(new JenesisModuleRepository(base).cache(cache, Duration.ZERO)
+                    .fetch(Runnable::run, "build.jenesis")
+                    .orElseThrow())).isEqualTo("classes");
+            assertThat(conditions).containsExactly("null", "\"v1\"");
+            new JenesisModuleRepository(base).cache(cache, Duration.ZERO).fetch(Runnable::run, "build.jenesis/1.0");
+            assertThat(conditions)
+                    .as("a versioned lookup is immutable and bypasses the revalidated cache")
+                    .containsExactly("null", "\"v1\"", "null");
+        } finally {
+            server.stop(0);
+            System.clearProperty("jenesis.repository.insecure");
+        }
+    }
+
     @Test
     public void network_item_can_be_read_more_than_once() throws IOException {
         System.setProperty("jenesis.repository.insecure", "true");
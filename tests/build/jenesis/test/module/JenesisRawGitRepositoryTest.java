@@ -17,6 +17,9 @@ public class JenesisRawGitRepositoryTest {
     @TempDir
     private Path maven;
 
+    @TempDir
+    private Path index;
+
     @Test
     public void resolves_latest_named_module_from_modules_tsv() throws IOException {
         writeTsv("widget", "modules.tsv",
@@ -160,6 +163,62 @@ public class JenesisRawGitRepositoryTest {
                 .isInstanceOf(IllegalArgumentException.class);
     }
 
+    @Test
+    public void resolves_from_a_synchronized_index_without_per_module_files() throws IOException {
+        Path source = writeIndex("latest", "1");
+        Files.writeString(source.resolve("1.tsv"), "widget/modules.tsv\t1.0\tcom.example\twidget-core\t1.0\n");
+        writeArtifact("com.example", "widget-core", "1.0", "jar", "v1");
+
+        JenesisRawGitRepository repository = named().index(source.toUri(), index.resolve("modules.idx"), Duration.ZERO);
+        assertThat(content(repository.fetch(Runnable::run, "widget"))).isEqualTo("v1");
+        assertThat(repository.fetch(Runnable::run, "other")).isEmpty();
+        assertThat(index.resolve("modules.idx")).exists();
+    }
+
+    @Test
+    public void applies_a_delta_to_an_outdated_index() throws IOException {
+        Path source = writeIndex("latest", "1");
+        Files.writeString(source.resolve("1.tsv"), "widget/modules.tsv\t1.0\tcom.example\twidget-core\t1.0\n");
+        writeArtifact("com.example", "widget-core", "1.0", "jar", "v1");
+        writeArtifact("com.example", "gadget", "2.0", "jar", "v2");
+        assertThat(content(named().index(source.toUri(), index.resolve("modules.idx"), Duration.ZERO)
+                .fetch(Runnable::run, "widget"))).isEqualTo("v1");
+
+        writeIndex("latest", "2");
+        Files.delete(source.resolve("1.tsv"));
+        Files.writeString(source.resolve("1-2.tsv"), "widget/modules.tsv\n"
+                + "gadget/modules.tsv\t2.0\tcom.example\tgadget\t2.0\n");
+
+        JenesisRawGitRepository repository = named().index(source.toUri(), index.resolve("modules.idx"), Duration.ZERO);
+        assertThat(content(repository.fetch(Runnable::run, "gadget"))).isEqualTo("v2");
+        assertThat(repository.fetch(Runnable::run, "widget")).isEmpty();
+    }
+
+    @Test
+    public void keeps_a_fresh_index_without_contacting_its_source() throws IOException {
+        Path source = writeIndex("latest", "1");
+        Files.writeString(source.resolve("1.tsv"), "widget/modules.tsv\t1.0\tcom.example\twidget-core\t1.0\n");
+        writeArtifact("com.example", "widget-core", "1.0", "jar", "v1");
+        assertThat(named().index(source.toUri(), index.resolve("modules.idx"), Duration.ofHours(1))
+                .fetch(Runnable::run, "widget")).isPresent();
+
+        Files.delete(source.resolve("latest"));
+        Files.delete(source.resolve("1.tsv"));
+
+        assertThat(content(named().index(source.toUri(), index.resolve("modules.idx"), Duration.ofHours(1))
+                .fetch(Runnable::run, "widget"))).isEqualTo("v1");
+    }
+
+    @Test
+    public void falls_back_to_per_module_files_without_a_published_index() throws IOException {
+        writeTsv("widget", "modules.tsv", "1.0\tcom.example\twidget-core\t1.0");
+        writeArtifact("com.example", "widget-core", "1.0", "jar", "v1");
+
+        assertThat(content(named().index(index.resolve("missing").toUri(), index.resolve("modules.idx"), Duration.ZERO)
+                .fetch(Runnable::run, "widget"))).isEqualTo("v1");
+        assertThat(index.resolve("modules.idx")).doesNotExist();
+    }
+
     private JenesisRawGitRepository named() {
         return new JenesisRawGitRepository(JenesisRepository.Scope.MODULE, data.toUri(), maven.toUri());
     }
@@ -168,6 +227,12 @@ public class JenesisRawGitRepositoryTest {
         return new JenesisRawGitRepository(JenesisRepository.Scope.ARTIFACT, data.toUri(), maven.toUri());
     }
 
+    private Path writeIndex(String name, String content) throws IOException {
+        Path source = Files.createDirectories(index.resolve("source"));
+        Files.writeString(source.resolve(name), content);
+        return source;
+    }
+
     private void writeTsv(String moduleName, String fileName, String... rows) throws IOException {
         Path dir = Files.createDirectories(data.resolve(moduleName.replace('.', '/')));
         Files.writeString(dir.resolve(fileName), String.join("\n", rows) + "\n");
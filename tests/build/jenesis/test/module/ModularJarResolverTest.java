@@ -6,6 +6,7 @@ import build.jenesis.BuildStepHashFunction;
 import build.jenesis.DependencyScope;
 import module org.junit.jupiter.api;
 import build.jenesis.PathPlacement;
+import build.jenesis.Repository;
 import build.jenesis.RepositoryItem;
 import build.jenesis.Resolver;
 import build.jenesis.module.ModularJarResolver;
@@ -632,6 +633,91 @@ public class ModularJarResolverTest {
         assertThat(dependencies).containsKey("foo/shared/1.0");
     }
 
+    @Test
+    public void compiled_version_of_a_sibling_replaces_a_prefetched_lookup() throws IOException {
+        Map<String, String> fetched = new LinkedHashMap<>();
+        SequencedMap<String, Resolver.Resolved> dependencies = new ModularJarResolver(false).dependencies(
+                Runnable::run,
+                "foo",
+                Map.of("foo", (_, coordinate) -> {
+                    fetched.put(coordinate, "");
+                    RepositoryItem item = switch (coordinate) {
+                        case "root" -> toJar("root", "1.0", require("first", 0), require("second", 0));
+                        case "first" -> toJar("first", "1.0", require("second", 0, "2.0"));
+                        case "second" -> toJar("second", "1.0");
+                        case "second/2.0" -> toJar("second", "2.0");
+                        default -> null;
+                    };
+                    return Optional.ofNullable(item);
+                }),
+                new LinkedHashMap<>(Map.of("root", Collections.emptyNavigableSet())),
+                new LinkedHashMap<>(),
+                DependencyScope.COMPILE).artifacts();
+        assertThat(fetched).containsKeys("second", "second/2.0");
+        assertThat(dependencies.sequencedKeySet()).containsExactly(
+                "foo/root/1.0",
+                "foo/first/1.0",
+                "foo/second/2.0");
+    }
+
+    @Test
+    public void replaced_prefetch_leaves_no_jar_in_the_cache() throws IOException {
+        Repository repository = (_, coordinate) -> {
+            RepositoryItem item = switch (coordinate) {
+                case "root" -> toJar("root", "1.0", require("first", 0), require("second", 0));
+                case "first" -> toJar("first", "1.0", require("second", 0, "2.0"));
+                case "second" -> toJar("second", "1.0");
+                case "second/2.0" -> toJar("second", "2.0");
+                default -> null;
+            };
+            return Optional.ofNullable(item);
+        };
+        Path cache = Files.createDirectory(jars.resolve("cache"));
+        SequencedMap<String, Resolver.Resolved> dependencies = new ModularJarResolver(false).dependencies(
+                Runnable::run,
+                "foo",
+                Map.of("foo", repository.cached(cache)),
+                new LinkedHashMap<>(Map.of("root", Collections.emptyNavigableSet())),
+                new LinkedHashMap<>(),
+                DependencyScope.COMPILE).artifacts();
+        try (Stream<Path> files = Files.list(cache)) {
+            assertThat(files.toList()).containsExactlyInAnyOrderElementsOf(dependencies.values().stream()
+                    .map(Resolver.Resolved::file)
+                    .toList());
+        }
+    }
+
+    @Test
+    public void fetches_each_level_of_the_module_graph_concurrently() throws IOException {
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        SequencedMap<String, Resolver.Resolved> dependencies;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            dependencies = new ModularJarResolver(false).dependencies(
+                    executor,
+                    "foo",
+                    Map.of("foo", (_, coordinate) -> {
+                        if (!coordinate.equals("root")) {
+                            try {
+                                barrier.await(10, TimeUnit.SECONDS);
+                            } catch (InterruptedException | BrokenBarrierException | TimeoutException e) {
+                                throw new IOException("Expected a concurrent fetch of " + coordinate, e);
+                            }
+                        }
+                        RepositoryItem item = switch (coordinate) {
+                            case "root" -> toJar("root", require("first", 0), require("second", 0));
+                            case "first" -> toJar("first");
+                            case "second" -> toJar("second");
+                            default -> null;
+                        };
+                        return Optional.ofNullable(item);
+                    }),
+                    new LinkedHashMap<>(Map.of("root", Collections.emptyNavigableSet())),
+                    new LinkedHashMap<>(),
+                    DependencyScope.COMPILE).artifacts();
+        }
+        assertThat(dependencies.sequencedKeySet()).containsExactly("foo/root", "foo/first", "foo/second");
+    }
+
     @Test
     public void ignored_propagation_looks_every_unpinned_module_up_bare() throws IOException {
         Map<String, String> fetched = new LinkedHashMap<>();
@@ -673,6 +673,52 @@ public class DependenciesResolutionTest {
         };
     }
 
+    @Test
+    public void reuses_resolutions_that_a_changed_pin_does_not_reach() throws IOException {
+        SequencedProperties requires = new SequencedProperties();
+        requires.setProperty("main/compile/module/bar", "");
+        requires.setProperty("main/runtime/module/qux", "");
+        requires.store(dependencies.resolve(BuildStep.REQUIRES));
+        SequencedProperties versions = new SequencedProperties();
+        versions.setProperty("main/module/bar", "1.0");
+        versions.setProperty("main/module/qux", "1.0");
+        versions.store(dependencies.resolve(BuildStep.VERSIONS));
+        AtomicInteger resolutions = new AtomicInteger();
+        Resolver versioning = versioning();
+        Dependencies step = new Dependencies(Map.of("module", files(Map.of())),
+                Map.of("module", (executor, prefix, repositories, descriptors, bom, scope) -> {
+                    resolutions.incrementAndGet();
+                    return versioning.dependencies(executor, prefix, repositories, descriptors, bom, scope);
+                }));
+        step.apply(
+                Runnable::run,
+                new BuildStepContext(previous, next, supplement),
+                new LinkedHashMap<>(Map.of("dependencies", new BuildStepArgument(
+                        dependencies,
+                        Map.of(Path.of(BuildStep.REQUIRES), Checksum.of(ChecksumStatus.ADDED),
+                                Path.of(BuildStep.VERSIONS), Checksum.of(ChecksumStatus.ADDED)))))).toCompletableFuture().join();
+        assertThat(resolutions).hasValue(2);
+        versions.setProperty("main/module/qux", "2.0");
+        versions.store(dependencies.resolve(BuildStep.VERSIONS));
+        Path following = Files.createDirectory(root.resolve("following"));
+        step.apply(
+                Runnable::run,
+                new BuildStepContext(next, following, supplement),
+                new LinkedHashMap<>(Map.of("dependencies", new BuildStepArgument(
+                        dependencies,
+                        Map.of(Path.of(BuildStep.REQUIRES), Checksum.of(ChecksumStatus.RETAINED),
+                                Path.of(BuildStep.VERSIONS), Checksum.of(ChecksumStatus.ALTERED)))))).toCompletableFuture().join();
+        assertThat(resolutions).hasValue(3);
+        SequencedProperties index = SequencedProperties.ofFiles(following.resolve(BuildStep.DEPENDENCIES));
+        assertThat(index.stringPropertyNames()).containsExactlyInAnyOrder(
+                "main/compile/module/bar/1.0",
+                "main/runtime/module/qux/2.0");
+        assertThat(Dependencies.select(following, "main", "compile")).singleElement().satisfies(jar -> {
+            assertThat(jar.startsWith(following.resolve(Dependencies.RESOLVED))).isTrue();
+            assertThat(jar).hasContent("bar/1.0");
+        });
+    }
+
     @Test
     public void bom_entries_manage_resolution_and_local_pins_win() throws IOException {
         SequencedProperties requires = new SequencedProperties();
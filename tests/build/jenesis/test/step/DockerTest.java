@@ -8,10 +8,13 @@ import build.jenesis.BuildStepContext;
 import build.jenesis.BuildStepResult;
 import build.jenesis.Checksum;
 import build.jenesis.ChecksumStatus;
+import build.jenesis.Json;
 import build.jenesis.SequencedProperties;
 import build.jenesis.step.Docker;
+import build.jenesis.step.JLink;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class DockerTest {
 
@@ -130,6 +133,233 @@ public class DockerTest {
         assertThat(next.resolve(Docker.DOCKER)).doesNotExist();
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void writes_an_oci_layout_with_separate_dependency_and_application_layers() throws Exception {
+        writePlainJar(Files.createDirectory(input.resolve(BuildStep.ARTIFACTS)).resolve("app.jar"));
+        writePlainJar(Files.createDirectory(input.resolve("resolved")).resolve("lib.jar"));
+        SequencedProperties index = new SequencedProperties();
+        index.setProperty("main/runtime/maven/lib", "resolved/lib.jar");
+        index.store(input.resolve(BuildStep.DEPENDENCIES));
+        SequencedProperties launcher = new SequencedProperties();
+        launcher.setProperty("mainClass", "sample.Sample");
+        launcher.store(input.resolve("launcher.properties"));
+
+        Path base = writeBase(root.resolve("base"), true);
+        BuildStepResult result = new Docker("example:latest").oci(Docker.Oci.DIRECTORY).base(base).apply(
+                Runnable::run,
+                new BuildStepContext(previous, next, supplement),
+                new LinkedHashMap<>(Map.of("input", new BuildStepArgument(
+                        input,
+                        Map.of(Path.of("artifacts/app.jar"), Checksum.of(ChecksumStatus.ADDED),
+                                Path.of("resolved/lib.jar"), Checksum.of(ChecksumStatus.ADDED),
+                                Path.of("launcher.properties"), Checksum.of(ChecksumStatus.ADDED)))))).toCompletableFuture().join();
+
+        assertThat(result.next()).isTrue();
+        Path layout = next.resolve(Docker.DOCKER + "oci");
+        assertThat(Files.readString(layout.resolve("oci-layout"))).contains("\"imageLayoutVersion\":\"1.0.0\"");
+        Map<String, Object> manifest = (Map<String, Object>) Json.parse(Files.readString(blob(layout,
+                ((List<Map<String, Object>>) ((Map<String, Object>) Json.parse(Files.readString(layout.resolve("index.json"))))
+                        .get("manifests")).getFirst())));
+        assertThat(((Map<String, Object>) manifest.get("annotations")).get("org.opencontainers.image.base.name"))
+                .isEqualTo("example:latest");
+        List<Map<String, Object>> layers = (List<Map<String, Object>>) manifest.get("layers");
+        assertThat(layers).hasSize(3);
+        for (Map<String, Object> layer : layers) {
+            assertThat(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(blob(layout, layer)))))
+                    .isEqualTo(((String) layer.get("digest")).substring("sha256:".length()));
+        }
+        assertThat(blob(layout, layers.get(0))).hasSameBinaryContentAs(blob(base, layers.get(0)));
+        assertThat(entries(blob(layout, layers.get(1)))).containsExactly("app/", "app/classpath/", "app/classpath/lib.jar");
+        assertThat(entries(blob(layout, layers.get(2)))).containsExactly("app/", "app/classpath/", "app/classpath/app.jar");
+        Map<String, Object> config = (Map<String, Object>) Json.parse(Files.readString(blob(layout,
+                (Map<String, Object>) manifest.get("config"))));
+        assertThat(((List<Object>) ((Map<String, Object>) config.get("rootfs")).get("diff_ids"))).hasSize(3);
+        Map<String, Object> settings = (Map<String, Object>) config.get("config");
+        assertThat(settings.get("Entrypoint")).isEqualTo(List.of("/usr/bin/java", "--class-path", "/app/classpath/*", "sample.Sample"));
+        assertThat(settings.get("Env")).isEqualTo(List.of("PATH=/usr/local/bin:/usr/bin"));
+        assertThat(settings).doesNotContainKey("Cmd");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void oci_entrypoint_is_present_in_the_image_layers() throws Exception {
+        writeModularJar(Files.createDirectory(input.resolve(BuildStep.ARTIFACTS)).resolve("sample.jar"));
+        Path java = Files.createDirectories(input.resolve(JLink.RUNTIME + "bin")).resolve("java");
+        Files.write(java, new byte[] {1, 2, 3});
+        java.toFile().setExecutable(true);
+        SequencedProperties launcher = new SequencedProperties();
+        launcher.setProperty("mainClass", "sample.Sample");
+        launcher.setProperty("mainModule", "sample");
+        launcher.store(input.resolve("launcher.properties"));
+
+        new Docker("example:latest").oci(Docker.Oci.DIRECTORY).base(writeBase(root.resolve("base"), false)).apply(
+                Runnable::run,
+                new BuildStepContext(previous, next, supplement),
+                new LinkedHashMap<>(Map.of("input", new BuildStepArgument(
+                        input,
+                        Map.of(Path.of("artifacts/sample.jar"), Checksum.of(ChecksumStatus.ADDED),
+                                Path.of("runtime/bin/java"), Checksum.of(ChecksumStatus.ADDED),
+                                Path.of("launcher.properties"), Checksum.of(ChecksumStatus.ADDED)))))).toCompletableFuture().join();
+
+        Path layout = next.resolve(Docker.DOCKER + "oci");
+        Map<String, Object> manifest = (Map<String, Object>) Json.parse(Files.readString(blob(layout,
+                ((List<Map<String, Object>>) ((Map<String, Object>) Json.parse(Files.readString(layout.resolve("index.json"))))
+                        .get("manifests")).getFirst())));
+        List<String> entries = new ArrayList<>();
+        for (Map<String, Object> layer : (List<Map<String, Object>>) manifest.get("layers")) {
+            entries.addAll(entries(blob(layout, layer)));
+        }
+        List<Object> entrypoint = (List<Object>) ((Map<String, Object>) ((Map<String, Object>) Json.parse(Files.readString(blob(layout,
+                (Map<String, Object>) manifest.get("config"))))).get("config")).get("Entrypoint");
+        assertThat(entrypoint.getFirst()).isEqualTo("/opt/java/bin/java");
+        assertThat(entries).contains("etc/os-release", "opt/java/bin/java", "app/modulepath/sample.jar");
+    }
+
+    @Test
+    public void oci_requires_a_base_image_that_provides_java() throws IOException {
+        writePlainJar(Files.createDirectory(input.resolve(BuildStep.ARTIFACTS)).resolve("app.jar"));
+        SequencedProperties launcher = new SequencedProperties();
+        launcher.setProperty("mainClass", "sample.Sample");
+        launcher.store(input.resolve("launcher.properties"));
+        SequencedMap<String, BuildStepArgument> arguments = new LinkedHashMap<>(Map.of("input", new BuildStepArgument(
+                input,
+                Map.of(Path.of("artifacts/app.jar"), Checksum.of(ChecksumStatus.ADDED),
+                        Path.of("launcher.properties"), Checksum.of(ChecksumStatus.ADDED)))));
+
+        assertThatThrownBy(() -> new Docker("example:latest").oci(Docker.Oci.DIRECTORY).apply(
+                Runnable::run,
+                new BuildStepContext(previous, next, supplement),
+                arguments)).isInstanceOf(IllegalArgumentException.class);
+        Path base = writeBase(root.resolve("base"), false);
+        assertThatThrownBy(() -> new Docker("example:latest").oci(Docker.Oci.DIRECTORY).base(base).apply(
+                Runnable::run,
+                new BuildStepContext(previous, Files.createDirectory(root.resolve("rejected")), supplement),
+                arguments)).isInstanceOf(IOException.class).hasMessageContaining("java");
+    }
+
+    @Test
+    public void oci_tarball_reuses_the_unchanged_dependency_layer() throws IOException {
+        writePlainJar(Files.createDirectory(input.resolve(BuildStep.ARTIFACTS)).resolve("app.jar"));
+        writePlainJar(Files.createDirectory(input.resolve("resolved")).resolve("lib.jar"));
+        SequencedProperties index = new SequencedProperties();
+        index.setProperty("main/runtime/maven/lib", "resolved/lib.jar");
+        index.store(input.resolve(BuildStep.DEPENDENCIES));
+        SequencedProperties launcher = new SequencedProperties();
+        launcher.setProperty("mainClass", "sample.Sample");
+        launcher.store(input.resolve("launcher.properties"));
+        Docker docker = new Docker("example:latest").oci(Docker.Oci.TARBALL).base(writeBase(root.resolve("base"), true));
+        docker.apply(Runnable::run,
+                new BuildStepContext(null, Files.createDirectory(previous), supplement),
+                new LinkedHashMap<>(Map.of("input", new BuildStepArgument(
+                        input,
+                        Map.of(Path.of("artifacts/app.jar"), Checksum.of(ChecksumStatus.ADDED),
+                                Path.of("resolved/lib.jar"), Checksum.of(ChecksumStatus.ADDED),
+                                Path.of("launcher.properties"), Checksum.of(ChecksumStatus.ADDED)))))).toCompletableFuture().join();
+        try (JarOutputStream jar = new JarOutputStream(Files.newOutputStream(input.resolve(BuildStep.ARTIFACTS + "app.jar")))) {
+            jar.putNextEntry(new JarEntry("sample/Sample.class"));
+            jar.write(new byte[] {4, 5, 6});
+            jar.closeEntry();
+        }
+        byte[] unnoticed = Files.readAllBytes(input.resolve("resolved/lib.jar"));
+        unnoticed[unnoticed.length - 1] ^= 1;
+        Files.write(input.resolve("resolved/lib.jar"), unnoticed);
+        docker.apply(Runnable::run,
+                new BuildStepContext(previous, next, Files.createDirectory(root.resolve("rebuilt"))),
+                new LinkedHashMap<>(Map.of("input", new BuildStepArgument(
+                        input,
+                        Map.of(Path.of("artifacts/app.jar"), Checksum.of(ChecksumStatus.ALTERED),
+                                Path.of("resolved/lib.jar"), Checksum.of(ChecksumStatus.RETAINED),
+                                Path.of("launcher.properties"), Checksum.of(ChecksumStatus.RETAINED)))))).toCompletableFuture().join();
+        SequencedProperties before = SequencedProperties.ofFiles(previous.resolve(Docker.DOCKER + "layers.properties"));
+        SequencedProperties after = SequencedProperties.ofFiles(next.resolve(Docker.DOCKER + "layers.properties"));
+        assertThat(after.getProperty("dependencies.digest"))
+                .as("a retained layer is copied from the previous image without reading its files")
+                .isEqualTo(before.getProperty("dependencies.digest"));
+        assertThat(after.getProperty("application.digest")).isNotEqualTo(before.getProperty("application.digest"));
+        assertThat(next.resolve(Docker.DOCKER + "image.tar")).isNotEmptyFile();
+        assertThat(next.resolve(Docker.DOCKER + "oci")).doesNotExist();
+    }
+
+    private static Path writeBase(Path layout, boolean java) throws IOException {
+        Path blobs = Files.createDirectories(layout.resolve("blobs/sha256"));
+        ByteArrayOutputStream tar = new ByteArrayOutputStream();
+        entry(tar, "etc/os-release", '0', "", "ID=sample\n".getBytes(StandardCharsets.UTF_8));
+        if (java) {
+            entry(tar, "usr/bin/java", '2', "../lib/jvm/bin/java", new byte[0]);
+            entry(tar, "usr/lib/jvm/bin/java", '0', "", new byte[] {1, 2, 3});
+        }
+        tar.write(new byte[1024]);
+        ByteArrayOutputStream layer = new ByteArrayOutputStream();
+        try (OutputStream outputStream = new GZIPOutputStream(layer)) {
+            tar.writeTo(outputStream);
+        }
+        String config = "{\"architecture\":\"amd64\",\"os\":\"linux\","
+                + "\"config\":{\"Env\":[\"PATH=/usr/local/bin:/usr/bin\"],\"Cmd\":[\"jshell\"]},"
+                + "\"rootfs\":{\"type\":\"layers\",\"diff_ids\":[\"sha256:" + digest(tar.toByteArray()) + "\"]}}";
+        String manifest = "{\"schemaVersion\":2,\"mediaType\":\"application/vnd.oci.image.manifest.v1+json\","
+                + "\"config\":" + write(blobs, "application/vnd.oci.image.config.v1+json", config.getBytes(StandardCharsets.UTF_8)) + ","
+                + "\"layers\":[" + write(blobs, "application/vnd.oci.image.layer.v1.tar+gzip", layer.toByteArray()) + "]}";
+        Files.writeString(layout.resolve("index.json"), "{\"schemaVersion\":2,\"manifests\":["
+                + write(blobs, "application/vnd.oci.image.manifest.v1+json", manifest.getBytes(StandardCharsets.UTF_8)) + "]}");
+        Files.writeString(layout.resolve("oci-layout"), "{\"imageLayoutVersion\":\"1.0.0\"}");
+        return layout;
+    }
+
+    private static String write(Path blobs, String mediaType, byte[] content) throws IOException {
+        String digest = digest(content);
+        Files.write(blobs.resolve(digest), content);
+        return "{\"mediaType\":\"" + mediaType + "\",\"digest\":\"sha256:" + digest + "\",\"size\":" + content.length + "}";
+    }
+
+    private static void entry(OutputStream outputStream, String name, char type, String link, byte[] content) throws IOException {
+        byte[] header = new byte[512];
+        System.arraycopy(name.getBytes(StandardCharsets.UTF_8), 0, header, 0, name.length());
+        System.arraycopy(String.format("%07o", 0755).getBytes(StandardCharsets.US_ASCII), 0, header, 100, 7);
+        System.arraycopy(String.format("%011o", content.length).getBytes(StandardCharsets.US_ASCII), 0, header, 124, 11);
+        Arrays.fill(header, 148, 156, (byte) ' ');
+        header[156] = (byte) type;
+        System.arraycopy(link.getBytes(StandardCharsets.UTF_8), 0, header, 157, link.length());
+        System.arraycopy("ustar\u000000".getBytes(StandardCharsets.US_ASCII), 0, header, 257, 8);
+        int checksum = 0;
+        for (byte value : header) {
+            checksum += value & 0xFF;
+        }
+        System.arraycopy(String.format("%06o\u0000", checksum).getBytes(StandardCharsets.US_ASCII), 0, header, 148, 7);
+        outputStream.write(header);
+        outputStream.write(content);
+        outputStream.write(new byte[(512 - content.length % 512) % 512]);
+    }
+
+    private static String digest(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Path blob(Path layout, Map<String, Object> descriptor) {
+        return layout.resolve("blobs/sha256").resolve(((String) descriptor.get("digest")).substring("sha256:".length()));
+    }
+
+    private static List<String> entries(Path layer) throws IOException {
+        List<String> entries = new ArrayList<>();
+        try (InputStream inputStream = new GZIPInputStream(Files.newInputStream(layer))) {
+            byte[] header = new byte[512];
+            while (inputStream.readNBytes(header, 0, 512) == 512 && header[0] != 0) {
+                int end = 0;
+                while (end < 100 && header[end] != 0) {
+                    end++;
+                }
+                entries.add(new String(header, 0, end, StandardCharsets.UTF_8));
+                long size = Long.parseLong(new String(header, 124, 11, StandardCharsets.US_ASCII), 8);
+                inputStream.skipNBytes((size + 511) / 512 * 512);
+            }
+        }
+        return entries;
+    }
+
     private static List<String> dockerfile(Path folder) throws IOException {
         return Files.readAllLines(folder.resolve("Dockerfile"));
     }
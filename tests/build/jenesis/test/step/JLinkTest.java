@@ -87,4 +87,47 @@ public class JLinkTest {
         assertThat(result.next()).isTrue();
         assertThat(next.resolve(JLink.RUNTIME)).doesNotExist();
     }
+
+    @Test
+    public void materializes_a_cached_image_for_identical_modules_and_options() throws IOException {
+        Path sources = Files.createDirectory(root.resolve("sources"));
+        Files.writeString(sources.resolve("module-info.java"), "module sample { }\n");
+        Files.writeString(Files.createDirectory(sources.resolve("sample")).resolve("Sample.java"),
+                "package sample; public class Sample { }\n");
+        Path classes = Files.createDirectory(root.resolve("classes"));
+        assertThat(ToolProvider.findFirst("javac").orElseThrow().run(System.out, System.err,
+                "-d", classes.toString(),
+                sources.resolve("module-info.java").toString(),
+                sources.resolve("sample/Sample.java").toString())).isZero();
+        Path artifacts = Files.createDirectory(bundle.resolve(BuildStep.ARTIFACTS));
+        assertThat(ToolProvider.findFirst("jar").orElseThrow().run(System.out, System.err,
+                "--create", "--file", artifacts.resolve("sample.jar").toString(),
+                "-C", classes.toString(), ".")).isZero();
+        SequencedProperties configuration = new SequencedProperties();
+        configuration.setProperty("--add-modules", "sample");
+        configuration.store(Files.createDirectory(bundle.resolve("process")).resolve("jlink.properties"));
+        JLink jlink = new JLink(ProcessHandler.Factory.TOOL).cache(root.resolve("cache"));
+        Map<Path, Checksum> files = Map.of(Path.of("artifacts/sample.jar"), Checksum.of(ChecksumStatus.ADDED),
+                Path.of("process/jlink.properties"), Checksum.of(ChecksumStatus.ADDED));
+        assertThat(jlink.apply(Runnable::run,
+                new BuildStepContext(previous, next, supplement),
+                new LinkedHashMap<>(Map.of("artifacts", new BuildStepArgument(bundle, files)))).toCompletableFuture().join().next()).isTrue();
+        assertThat(supplement.resolve("command")).isRegularFile();
+        Path cachedNext = Files.createDirectory(root.resolve("cached-next"));
+        Path cachedSupplement = Files.createDirectory(root.resolve("cached-supplement"));
+        assertThat(jlink.apply(Runnable::run,
+                new BuildStepContext(previous, cachedNext, cachedSupplement),
+                new LinkedHashMap<>(Map.of("artifacts", new BuildStepArgument(bundle, files)))).toCompletableFuture().join().next()).isTrue();
+        assertThat(cachedSupplement.resolve("command")).doesNotExist();
+        assertThat(cachedNext.resolve(JLink.RUNTIME + "release")).hasSameTextualContentAs(next.resolve(JLink.RUNTIME + "release"));
+        configuration.setProperty("--strip-debug", "");
+        configuration.store(bundle.resolve("process/jlink.properties"));
+        Path changedNext = Files.createDirectory(root.resolve("changed-next"));
+        Path changedSupplement = Files.createDirectory(root.resolve("changed-supplement"));
+        assertThat(jlink.apply(Runnable::run,
+                new BuildStepContext(previous, changedNext, changedSupplement),
+                new LinkedHashMap<>(Map.of("artifacts", new BuildStepArgument(bundle, files)))).toCompletableFuture().join().next()).isTrue();
+        assertThat(changedSupplement.resolve("command")).isRegularFile();
+        assertThat(changedNext.resolve(JLink.RUNTIME + "release")).isRegularFile();
+    }
 }
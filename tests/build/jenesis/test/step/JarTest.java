@@ -230,4 +230,119 @@ public class JarTest {
         assertThat(Files.readAllBytes(firstNext.resolve(BuildStep.ARTIFACTS + "classes.jar")))
                 .isEqualTo(Files.readAllBytes(secondNext.resolve(BuildStep.ARTIFACTS + "classes.jar")));
     }
+
+    @Test
+    public void in_process_jar_writes_manifest_first_and_extends_the_module_descriptor() throws IOException {
+        Path folder = Files.createDirectory(classes.resolve(Javac.CLASSES));
+        Path sources = Files.createDirectories(root.resolve("module").resolve("sample"));
+        Files.writeString(sources.resolve("Sample.java"), "package sample; public class Sample { }\n");
+        Files.writeString(sources.getParent().resolve("module-info.java"), "module sample { exports sample; }\n");
+        assertThat(ToolProvider.findFirst("javac").orElseThrow().run(System.out, System.err,
+                "-d", folder.toString(),
+                sources.resolve("Sample.java").toString(),
+                sources.getParent().resolve("module-info.java").toString())).isZero();
+        Files.writeString(Files.createDirectories(folder.resolve("sample/data")).resolve("value.txt"), "value");
+        BuildStepResult result = new Jar(ProcessHandler.Factory.TOOL, Jar.Sort.CLASSES).inProcess(true).apply(
+                Runnable::run,
+                new BuildStepContext(previous, next, supplement),
+                new LinkedHashMap<>(Map.of("sources", new BuildStepArgument(
+                        classes,
+                        Map.of(Path.of("classes/sample/Sample.class"), Checksum.of(ChecksumStatus.ADDED)))))).toCompletableFuture().join();
+        assertThat(result.next()).isTrue();
+        try (JarFile jar = new JarFile(next.resolve(BuildStep.ARTIFACTS + "classes.jar").toFile())) {
+            assertThat(jar.stream().map(JarEntry::getName).limit(2)).containsExactly("META-INF/", "META-INF/MANIFEST.MF");
+            assertThat(jar.getManifest().getMainAttributes().getValue(Attributes.Name.MANIFEST_VERSION)).isEqualTo("1.0");
+            assertThat(jar.getEntry("sample/Sample.class").getTimeLocal()).isEqualTo(LocalDateTime.of(1980, 1, 1, 0, 0, 2));
+            assertThat(new String(jar.getInputStream(jar.getEntry("sample/data/value.txt")).readAllBytes(), StandardCharsets.UTF_8))
+                    .isEqualTo("value");
+            try (InputStream inputStream = jar.getInputStream(jar.getEntry("module-info.class"))) {
+                assertThat(ModuleDescriptor.read(inputStream).packages()).containsExactlyInAnyOrder("sample", "sample.data");
+            }
+        }
+    }
+
+    @Test
+    public void in_process_jar_copies_retained_entries_from_the_previous_jar() throws IOException {
+        Path folder = Files.createDirectories(classes.resolve(Javac.CLASSES + "sample"));
+        Files.writeString(folder.resolve("First.txt"), "first");
+        Files.writeString(folder.resolve("Second.txt"), "second");
+        Jar jar = new Jar(ProcessHandler.Factory.TOOL, Jar.Sort.CLASSES).inProcess(true);
+        jar.apply(Runnable::run,
+                new BuildStepContext(null, Files.createDirectory(previous), supplement),
+                new LinkedHashMap<>(Map.of("sources", new BuildStepArgument(classes, Map.of(
+                        Path.of("classes/sample/First.txt"), Checksum.of(ChecksumStatus.ADDED),
+                        Path.of("classes/sample/Second.txt"), Checksum.of(ChecksumStatus.ADDED)))))).toCompletableFuture().join();
+        Files.writeString(folder.resolve("Second.txt"), "altered");
+        jar.apply(Runnable::run,
+                new BuildStepContext(previous, next, supplement),
+                new LinkedHashMap<>(Map.of("sources", new BuildStepArgument(classes, Map.of(
+                        Path.of("classes/sample/First.txt"), Checksum.of(ChecksumStatus.RETAINED),
+                        Path.of("classes/sample/Second.txt"), Checksum.of(ChecksumStatus.ALTERED)))))).toCompletableFuture().join();
+        Path fresh = Files.createDirectory(root.resolve("fresh"));
+        jar.apply(Runnable::run,
+                new BuildStepContext(null, fresh, supplement),
+                new LinkedHashMap<>(Map.of("sources", new BuildStepArgument(classes, Map.of(
+                        Path.of("classes/sample/First.txt"), Checksum.of(ChecksumStatus.ADDED),
+                        Path.of("classes/sample/Second.txt"), Checksum.of(ChecksumStatus.ADDED)))))).toCompletableFuture().join();
+        assertThat(Files.readAllBytes(next.resolve(BuildStep.ARTIFACTS + "classes.jar")))
+                .isEqualTo(Files.readAllBytes(fresh.resolve(BuildStep.ARTIFACTS + "classes.jar")));
+        Files.writeString(folder.resolve("First.txt"), "unnoticed");
+        Path following = Files.createDirectory(root.resolve("following"));
+        jar.apply(Runnable::run,
+                new BuildStepContext(next, following, supplement),
+                new LinkedHashMap<>(Map.of("sources", new BuildStepArgument(classes, Map.of(
+                        Path.of("classes/sample/First.txt"), Checksum.of(ChecksumStatus.RETAINED),
+                        Path.of("classes/sample/Second.txt"), Checksum.of(ChecksumStatus.RETAINED)))))).toCompletableFuture().join();
+        try (JarFile archive = new JarFile(following.resolve(BuildStep.ARTIFACTS + "classes.jar").toFile())) {
+            assertThat(new String(archive.getInputStream(archive.getEntry("sample/First.txt")).readAllBytes(), StandardCharsets.UTF_8))
+                    .as("a retained entry is copied from the previous jar without reading the file")
+                    .isEqualTo("first");
+            assertThat(new String(archive.getInputStream(archive.getEntry("sample/Second.txt")).readAllBytes(), StandardCharsets.UTF_8))
+                    .isEqualTo("altered");
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    public void stored_jar_does_not_compress_entries(boolean inProcess) throws IOException {
+        Path folder = Files.createDirectories(classes.resolve(Javac.CLASSES + "sample"));
+        Files.writeString(folder.resolve("value.txt"), "value".repeat(100));
+        BuildStepResult result = new Jar(ProcessHandler.Factory.TOOL, Jar.Sort.CLASSES)
+                .inProcess(inProcess)
+                .compression(Jar.Compression.STORED)
+                .apply(Runnable::run,
+                        new BuildStepContext(previous, next, supplement),
+                        new LinkedHashMap<>(Map.of("sources", new BuildStepArgument(
+                                classes,
+                                Map.of(Path.of("classes/sample/value.txt"), Checksum.of(ChecksumStatus.ADDED)))))).toCompletableFuture().join();
+        assertThat(result.next()).isTrue();
+        try (JarFile jar = new JarFile(next.resolve(BuildStep.ARTIFACTS + "classes.jar").toFile())) {
+            assertThat(jar.stream().filter(entry -> !entry.isDirectory()).map(JarEntry::getMethod)).containsOnly(ZipEntry.STORED);
+            assertThat(new String(jar.getInputStream(jar.getEntry("sample/value.txt")).readAllBytes(), StandardCharsets.UTF_8))
+                    .isEqualTo("value".repeat(100));
+        }
+    }
+
+    @Test
+    public void in_process_jar_stores_nested_archives_and_images() throws IOException {
+        Path folder = Files.createDirectories(classes.resolve(Javac.CLASSES + "sample"));
+        Files.writeString(folder.resolve("value.txt"), "value".repeat(100));
+        Files.writeString(folder.resolve("nested.jar"), "nested".repeat(100));
+        Files.writeString(folder.resolve("image.PNG"), "image".repeat(100));
+        new Jar(ProcessHandler.Factory.TOOL, Jar.Sort.CLASSES).inProcess(true).compression(Jar.Compression.DEFLATED).apply(
+                Runnable::run,
+                new BuildStepContext(previous, next, supplement),
+                new LinkedHashMap<>(Map.of("sources", new BuildStepArgument(classes, Map.of(
+                        Path.of("classes/sample/value.txt"), Checksum.of(ChecksumStatus.ADDED),
+                        Path.of("classes/sample/nested.jar"), Checksum.of(ChecksumStatus.ADDED),
+                        Path.of("classes/sample/image.PNG"), Checksum.of(ChecksumStatus.ADDED)))))).toCompletableFuture().join();
+        try (JarFile jar = new JarFile(next.resolve(BuildStep.ARTIFACTS + "classes.jar").toFile())) {
+            assertThat(jar.getEntry("META-INF/MANIFEST.MF").getMethod()).isEqualTo(ZipEntry.DEFLATED);
+            assertThat(jar.getEntry("sample/value.txt").getMethod()).isEqualTo(ZipEntry.DEFLATED);
+            assertThat(jar.getEntry("sample/nested.jar").getMethod()).isEqualTo(ZipEntry.STORED);
+            assertThat(jar.getEntry("sample/image.PNG").getMethod()).isEqualTo(ZipEntry.STORED);
+            assertThat(new String(jar.getInputStream(jar.getEntry("sample/nested.jar")).readAllBytes(), StandardCharsets.UTF_8))
+                    .isEqualTo("nested".repeat(100));
+        }
+    }
 }
@@ -650,6 +650,87 @@ public class JavacTest {
                 .doesNotContain("--processor-path\n");
     }
 
+    @Test
+    public void incremental_compilation_reprocesses_only_changed_originating_sources_of_isolating_processors() throws IOException {
+        Path sample = Files.createDirectories(sources.resolve(BuildStep.SOURCES + "sample"));
+        Files.writeString(sample.resolve("First.java"), "package sample; public class First { }\n");
+        Files.writeString(sample.resolve("Second.java"), "package sample; public class Second { }\n");
+        Path processorRoot = Files.createDirectories(root.resolve("processor"));
+        Path classes = Files.createDirectories(root.resolve("isolating-classes"));
+        Path source = root.resolve("Isolating.java");
+        Files.writeString(source, """
+                package isolating;
+                import javax.annotation.processing.AbstractProcessor;
+                import javax.annotation.processing.RoundEnvironment;
+                import javax.annotation.processing.SupportedAnnotationTypes;
+                import javax.lang.model.SourceVersion;
+                import javax.lang.model.element.Element;
+                import javax.lang.model.element.TypeElement;
+                import java.io.Writer;
+                import java.util.Set;
+                @SupportedAnnotationTypes("*")
+                public class Isolating extends AbstractProcessor {
+                    public SourceVersion getSupportedSourceVersion() { return SourceVersion.latestSupported(); }
+                    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+                        for (Element element : roundEnv.getRootElements()) {
+                            String name = element.getSimpleName().toString();
+                            if (name.startsWith("Generated")) {
+                                continue;
+                            }
+                            try (Writer writer = processingEnv.getFiler().createSourceFile("gen.Generated" + name, element).openWriter()) {
+                                writer.write("package gen; public class Generated" + name + " { sample." + name + " value; }");
+                            } catch (Exception e) {
+                                throw new RuntimeException(e);
+                            }
+                        }
+                        return false;
+                    }
+                }
+                """);
+        assertThat(ToolProvider.findFirst("javac").orElseThrow().run(System.out, System.err,
+                "-d", classes.toString(), source.toString())).isZero();
+        Files.writeString(Files.createDirectories(classes.resolve("META-INF/services")).resolve("javax.annotation.processing.Processor"),
+                "isolating.Isolating\n");
+        Files.writeString(Files.createDirectories(classes.resolve("META-INF/gradle")).resolve("incremental.annotation.processors"),
+                "isolating.Isolating,ISOLATING\n");
+        jarOf(Files.createDirectories(processorRoot.resolve("resolved")).resolve("processor.jar"), classes);
+        SequencedProperties index = new SequencedProperties();
+        index.setProperty("plugin/plugin/maven/processor", "resolved/processor.jar");
+        index.store(processorRoot.resolve(BuildStep.DEPENDENCIES));
+        Javac javac = new Javac(ProcessHandler.Factory.TOOL).incremental(true);
+        SequencedMap<String, BuildStepArgument> arguments = new LinkedHashMap<>();
+        arguments.put("sources", new BuildStepArgument(sources, Map.of(
+                Path.of("sources/sample/First.java"), Checksum.of(ChecksumStatus.ADDED),
+                Path.of("sources/sample/Second.java"), Checksum.of(ChecksumStatus.ADDED))));
+        arguments.put("processors/artifacts", new BuildStepArgument(processorRoot, Map.of(
+                Path.of("resolved/processor.jar"), Checksum.of(ChecksumStatus.ADDED))));
+        assertThat(javac.apply(Runnable::run, new BuildStepContext(null, Files.createDirectory(previous), supplement), arguments)
+                .toCompletableFuture().join().next()).isTrue();
+        assertThat(previous.resolve(Javac.CLASSES + "gen/GeneratedFirst.class")).isNotEmptyFile();
+        assertThat(SequencedProperties.ofFiles(previous.resolve(Javac.INCREMENTAL)).getProperty("source/sample/Second.java"))
+                .isEqualTo("gen.GeneratedSecond,sample.Second");
+        Files.writeString(sample.resolve("First.java"), "package sample; public class First { int value; }\n");
+        arguments.put("sources", new BuildStepArgument(sources, Map.of(
+                Path.of("sources/sample/First.java"), Checksum.of(ChecksumStatus.ALTERED),
+                Path.of("sources/sample/Second.java"), Checksum.of(ChecksumStatus.RETAINED))));
+        arguments.put("processors/artifacts", new BuildStepArgument(processorRoot, Map.of(
+                Path.of("resolved/processor.jar"), Checksum.of(ChecksumStatus.RETAINED))));
+        Path following = Files.createDirectory(root.resolve("following"));
+        assertThat(javac.apply(Runnable::run, new BuildStepContext(previous, next, following), arguments)
+                .toCompletableFuture().join().next()).isTrue();
+        assertThat(following.resolve("command")).content()
+                .contains("First.java")
+                .doesNotContain("Second.java");
+        assertThat(following.resolve("generated/gen/GeneratedFirst.java")).exists();
+        assertThat(following.resolve("generated/gen/GeneratedSecond.java")).doesNotExist();
+        assertThat(next.resolve(Javac.CLASSES + "gen/GeneratedFirst.class")).isNotEmptyFile();
+        assertThat(Files.isSameFile(
+                previous.resolve(Javac.CLASSES + "gen/GeneratedSecond.class"),
+                next.resolve(Javac.CLASSES + "gen/GeneratedSecond.class"))).isTrue();
+        assertThat(SequencedProperties.ofFiles(next.resolve(Javac.INCREMENTAL)).getProperty("processed/gen/GeneratedSecond.java"))
+                .isEqualTo("sample/Second.java");
+    }
+
     private Path plainJar(Path file) throws IOException {
         Path classes = compile(file.getParent().resolve("plain-classes"), "plain/Lib.java", """
                 package plain;
@@ -867,4 +948,184 @@ public class JavacTest {
                 .as("the per-module META-INF/build.jenesis configuration is kept out of the classes output")
                 .doesNotExist();
     }
+
+    @Test
+    public void incremental_compilation_recompiles_changed_sources_and_their_dependents() throws IOException {
+        Path sample = Files.createDirectories(sources.resolve(BuildStep.SOURCES + "sample"));
+        Files.writeString(sample.resolve("Base.java"), "package sample; public class Base { public int value() { return 1; } }\n");
+        Files.writeString(sample.resolve("User.java"), "package sample; public class User { int use() { return new Base().value(); } }\n");
+        Files.writeString(sample.resolve("Other.java"), "package sample; public class Other { }\n");
+        Files.writeString(sample.resolve("Removed.java"), "package sample; public class Removed { }\n");
+        Javac javac = new Javac(ProcessHandler.Factory.TOOL).incremental(true);
+        assertThat(javac.apply(Runnable::run,
+                new BuildStepContext(null, Files.createDirectory(previous), supplement),
+                new LinkedHashMap<>(Map.of("sources", new BuildStepArgument(
+                        sources,
+                        Map.of(Path.of("sources/sample/Base.java"), Checksum.of(ChecksumStatus.ADDED),
+                                Path.of("sources/sample/User.java"), Checksum.of(ChecksumStatus.ADDED),
+                                Path.of("sources/sample/Other.java"), Checksum.of(ChecksumStatus.ADDED),
+                                Path.of("sources/sample/Removed.java"), Checksum.of(ChecksumStatus.ADDED)))))).toCompletableFuture().join().next()).isTrue();
+        assertThat(previous.resolve(Javac.INCREMENTAL)).isNotEmptyFile();
+        Files.writeString(sample.resolve("Base.java"), "package sample; public class Base { public int value() { return 2; } }\n");
+        Files.delete(sample.resolve("Removed.java"));
+        Path following = Files.createDirectory(root.resolve("following"));
+        assertThat(javac.apply(Runnable::run,
+                new BuildStepContext(previous, next, following),
+                new LinkedHashMap<>(Map.of("sources", new BuildStepArgument(
+                        sources,
+                        Map.of(Path.of("sources/sample/Base.java"), Checksum.of(ChecksumStatus.ALTERED),
+                                Path.of("sources/sample/User.java"), Checksum.of(ChecksumStatus.RETAINED),
+                                Path.of("sources/sample/Other.java"), Checksum.of(ChecksumStatus.RETAINED),
+                                Path.of("sources/sample/Removed.java"), Checksum.of(ChecksumStatus.REMOVED)))))).toCompletableFuture().join().next()).isTrue();
+        assertThat(following.resolve("command")).content()
+                .contains("Base.java", "User.java")
+                .doesNotContain("Other.java", "Removed.java");
+        assertThat(next.resolve(Javac.CLASSES + "sample/Removed.class")).doesNotExist();
+        assertThat(Files.isSameFile(
+                previous.resolve(Javac.CLASSES + "sample/Other.class"),
+                next.resolve(Javac.CLASSES + "sample/Other.class"))).isTrue();
+        assertThat(SequencedProperties.ofFiles(next.resolve(Javac.INCREMENTAL)).getProperty("source/sample/User.java"))
+                .isEqualTo("sample.User");
+    }
+
+    @Test
+    public void incremental_compilation_recompiles_everything_after_classes_without_a_known_source() throws IOException {
+        Path sample = Files.createDirectories(sources.resolve(BuildStep.SOURCES + "sample"));
+        Files.writeString(sample.resolve("Base.java"), "package sample; public class Base { } class Helper { }\n");
+        Files.writeString(sample.resolve("Other.java"), "package sample; public class Other { }\n");
+        SequencedProperties options = new SequencedProperties();
+        options.setProperty("-g:none", "");
+        options.store(Files.createDirectories(sources.resolve("process")).resolve("javac.properties"));
+        Javac javac = new Javac(ProcessHandler.Factory.TOOL).incremental(true);
+        assertThat(javac.apply(Runnable::run,
+                new BuildStepContext(null, Files.createDirectory(previous), supplement),
+                new LinkedHashMap<>(Map.of("sources", new BuildStepArgument(
+                        sources,
+                        Map.of(Path.of("sources/sample/Base.java"), Checksum.of(ChecksumStatus.ADDED),
+                                Path.of("sources/sample/Other.java"), Checksum.of(ChecksumStatus.ADDED),
+                                Path.of("process/javac.properties"), Checksum.of(ChecksumStatus.ADDED)))))).toCompletableFuture().join().next()).isTrue();
+        SequencedProperties incremental = SequencedProperties.ofFiles(previous.resolve(Javac.INCREMENTAL));
+        assertThat(incremental.getProperty("source/sample/Base.java")).isEqualTo("sample.Base");
+        assertThat(incremental.getProperty("source/sample/Other.java")).isEqualTo("sample.Other");
+        assertThat(incremental.getProperty("unmapped")).isEqualTo("sample.Helper");
+        Files.writeString(sample.resolve("Base.java"), "package sample; public class Base { int value; } class Helper { }\n");
+        Path following = Files.createDirectory(root.resolve("following"));
+        assertThat(javac.apply(Runnable::run,
+                new BuildStepContext(previous, next, following),
+                new LinkedHashMap<>(Map.of("sources", new BuildStepArgument(
+                        sources,
+                        Map.of(Path.of("sources/sample/Base.java"), Checksum.of(ChecksumStatus.ALTERED),
+                                Path.of("sources/sample/Other.java"), Checksum.of(ChecksumStatus.RETAINED),
+                                Path.of("process/javac.properties"), Checksum.of(ChecksumStatus.RETAINED)))))).toCompletableFuture().join().next()).isTrue();
+        assertThat(following.resolve("command")).content().contains("Base.java", "Other.java");
+        assertThat(next.resolve(Javac.CLASSES + "sample/Helper.class")).isNotEmptyFile();
+    }
+
+    @Test
+    public void incremental_compilation_does_not_repeat_a_compile_error_of_a_recompiled_source() throws IOException {
+        Path sample = Files.createDirectories(sources.resolve(BuildStep.SOURCES + "sample"));
+        Files.writeString(sample.resolve("Base.java"), "package sample; public class Base { }\n");
+        Files.writeString(sample.resolve("Other.java"), "package sample; public class Other { }\n");
+        Javac javac = new Javac(ProcessHandler.Factory.TOOL).incremental(true);
+        assertThat(javac.apply(Runnable::run,
+                new BuildStepContext(null, Files.createDirectory(previous), supplement),
+                new LinkedHashMap<>(Map.of("sources", new BuildStepArgument(
+                        sources,
+                        Map.of(Path.of("sources/sample/Base.java"), Checksum.of(ChecksumStatus.ADDED),
+                                Path.of("sources/sample/Other.java"), Checksum.of(ChecksumStatus.ADDED)))))).toCompletableFuture().join().next()).isTrue();
+        Files.writeString(sample.resolve("Base.java"), "package sample; public class Base { Missing missing; }\n");
+        Path following = Files.createDirectory(root.resolve("following"));
+        assertThatThrownBy(() -> javac.apply(Runnable::run,
+                new BuildStepContext(previous, next, following),
+                new LinkedHashMap<>(Map.of("sources", new BuildStepArgument(
+                        sources,
+                        Map.of(Path.of("sources/sample/Base.java"), Checksum.of(ChecksumStatus.ALTERED),
+                                Path.of("sources/sample/Other.java"), Checksum.of(ChecksumStatus.RETAINED)))))).toCompletableFuture().join())
+                .hasMessageContaining("Missing");
+        assertThat(following.resolve("command")).content()
+                .as("the full compilation is not repeated for an error in a recompiled source")
+                .contains("Base.java")
+                .doesNotContain("Other.java");
+    }
+
+    @Test
+    public void skips_when_upstream_classes_keep_their_abi() throws IOException {
+        Path upstream = Files.createDirectory(root.resolve("upstream")), base = Files.createDirectory(root.resolve("base"));
+        Path sample = Files.createDirectories(sources.resolve(BuildStep.SOURCES + "sample"));
+        Files.writeString(sample.resolve("Sample.java"), "package sample; public class Sample { int value() { return new base.Base().value(); } }\n");
+        Files.writeString(base.resolve("Base.java"), "package base; public class Base { public int value() { return 1; } }\n");
+        assertThat(ToolProvider.findFirst("javac").orElseThrow().run(System.out, System.err,
+                "-d", upstream.resolve(Javac.CLASSES).toString(), base.resolve("Base.java").toString())).isZero();
+        Javac javac = new Javac(ProcessHandler.Factory.TOOL);
+        assertThat(javac.apply(Runnable::run,
+                new BuildStepContext(null, Files.createDirectory(previous), supplement),
+                arguments(upstream, ChecksumStatus.ADDED, ChecksumStatus.ADDED)).toCompletableFuture().join().next()).isTrue();
+        assertThat(previous.resolve("abi.properties")).isNotEmptyFile();
+        Files.writeString(base.resolve("Base.java"), "package base; public class Base { public int value() { return helper(); } private int helper() { return 2; } }\n");
+        assertThat(ToolProvider.findFirst("javac").orElseThrow().run(System.out, System.err,
+                "-d", upstream.resolve(Javac.CLASSES).toString(), base.resolve("Base.java").toString())).isZero();
+        assertThat(javac.apply(Runnable::run,
+                new BuildStepContext(previous, next, Files.createDirectory(root.resolve("private"))),
+                arguments(upstream, ChecksumStatus.ALTERED, ChecksumStatus.RETAINED)).toCompletableFuture().join().next()).isFalse();
+        Files.writeString(base.resolve("Base.java"), "package base; public class Base { public int value() { return 3; } public int other() { return 4; } }\n");
+        assertThat(ToolProvider.findFirst("javac").orElseThrow().run(System.out, System.err,
+                "-d", upstream.resolve(Javac.CLASSES).toString(), base.resolve("Base.java").toString())).isZero();
+        assertThat(javac.apply(Runnable::run,
+                new BuildStepContext(previous, next, Files.createDirectory(root.resolve("public"))),
+                arguments(upstream, ChecksumStatus.ALTERED, ChecksumStatus.RETAINED)).toCompletableFuture().join().next()).isTrue();
+        assertThat(next.resolve(Javac.CLASSES + "sample/Sample.class")).isNotEmptyFile();
+    }
+
+    @Test
+    public void recompiles_only_the_release_whose_versioned_sources_changed() throws IOException {
+        Path sample = Files.createDirectories(sources.resolve(BuildStep.SOURCES + "sample"));
+        Files.writeString(sample.resolve("Sample.java"), "package sample; public class Sample { public String greet() { return \"base\"; } }\n");
+        for (String release : List.of("17", "21")) {
+            Path versioned = Files.createDirectories(sources.resolve(BuildStep.SOURCES + "META-INF/versions/" + release + "/sample"));
+            Files.writeString(versioned.resolve("Sample.java"), "package sample; public class Sample { public String greet() { return \"" + release + "\"; } }\n");
+        }
+        Javac javac = new Javac(ProcessHandler.Factory.TOOL);
+        assertThat(javac.apply(Runnable::run,
+                new BuildStepContext(null, Files.createDirectory(previous), supplement),
+                new LinkedHashMap<>(Map.of("sources", new BuildStepArgument(
+                        sources,
+                        Map.of(Path.of("sources/sample/Sample.java"), Checksum.of(ChecksumStatus.ADDED),
+                                Path.of("sources/META-INF/versions/17/sample/Sample.java"), Checksum.of(ChecksumStatus.ADDED),
+                                Path.of("sources/META-INF/versions/21/sample/Sample.java"), Checksum.of(ChecksumStatus.ADDED)))))).toCompletableFuture().join().next()).isTrue();
+        assertThat(supplement.resolve("command-17")).exists();
+        assertThat(supplement.resolve("command-21")).exists();
+        Files.writeString(sources.resolve(BuildStep.SOURCES + "META-INF/versions/21/sample/Sample.java"),
+                "package sample; public class Sample { public String greet() { return \"changed\"; } }\n");
+        Path following = Files.createDirectory(root.resolve("following"));
+        assertThat(javac.apply(Runnable::run,
+                new BuildStepContext(previous, next, following),
+                new LinkedHashMap<>(Map.of("sources", new BuildStepArgument(
+                        sources,
+                        Map.of(Path.of("sources/sample/Sample.java"), Checksum.of(ChecksumStatus.RETAINED),
+                                Path.of("sources/META-INF/versions/17/sample/Sample.java"), Checksum.of(ChecksumStatus.RETAINED),
+                                Path.of("sources/META-INF/versions/21/sample/Sample.java"), Checksum.of(ChecksumStatus.ALTERED)))))).toCompletableFuture().join().next()).isTrue();
+        assertThat(following.resolve("command")).doesNotExist();
+        assertThat(following.resolve("command-17")).doesNotExist();
+        assertThat(following.resolve("command-21")).exists();
+        assertThat(Files.isSameFile(
+                previous.resolve(Javac.CLASSES + "sample/Sample.class"),
+                next.resolve(Javac.CLASSES + "sample/Sample.class"))).isTrue();
+        assertThat(Files.isSameFile(
+                previous.resolve(Javac.CLASSES + "META-INF/versions/17/sample/Sample.class"),
+                next.resolve(Javac.CLASSES + "META-INF/versions/17/sample/Sample.class"))).isTrue();
+        assertThat(Files.readString(next.resolve(Javac.CLASSES + "META-INF/versions/21/sample/Sample.class"), StandardCharsets.ISO_8859_1))
+                .contains("changed");
+        assertThat(next.resolve("manifest.mf")).content().contains("Multi-Release: true");
+    }
+
+    private SequencedMap<String, BuildStepArgument> arguments(Path upstream, ChecksumStatus classes, ChecksumStatus sources) {
+        SequencedMap<String, BuildStepArgument> arguments = new LinkedHashMap<>();
+        arguments.put("upstream", new BuildStepArgument(
+                upstream,
+                Map.of(Path.of(Javac.CLASSES + "base/Base.class"), Checksum.of(classes))));
+        arguments.put("sources", new BuildStepArgument(
+                this.sources,
+                Map.of(Path.of("sources/sample/Sample.java"), Checksum.of(sources))));
+        return arguments;
+    }
 }
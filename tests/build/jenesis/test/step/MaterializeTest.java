@@ -0,0 +1,132 @@
+package build.jenesis.test.step;
+
+import module java.base;
+import module org.junit.jupiter.api;
+import build.jenesis.BuildStep;
+import build.jenesis.BuildStepArgument;
+import build.jenesis.BuildStepContext;
+import build.jenesis.Checksum;
+import build.jenesis.ChecksumStatus;
+import build.jenesis.Repository;
+import build.jenesis.RepositoryItem;
+import build.jenesis.Resolver;
+import build.jenesis.SequencedProperties;
+import build.jenesis.step.Dependencies;
+import build.jenesis.step.Materialize;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MaterializeTest {
+
+    @TempDir
+    private Path root, artifacts;
+    private Path dependencies, resolved, materialized;
+    private AtomicInteger fetches;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        dependencies = Files.createDirectory(root.resolve("dependencies"));
+        resolved = Files.createDirectory(root.resolve("resolved"));
+        materialized = Files.createDirectory(root.resolve("materialized"));
+        fetches = new AtomicInteger();
+        SequencedProperties properties = new SequencedProperties();
+        properties.setProperty("main/compile/foo/qux", "");
+        properties.setProperty("main/runtime/foo/baz", "");
+        properties.store(dependencies.resolve(BuildStep.REQUIRES));
+    }
+
+    private Repository files() {
+        return (_, coordinate) -> {
+            fetches.incrementAndGet();
+            try {
+                return Optional.of(RepositoryItem.ofFile(Files.writeString(
+                        artifacts.resolve(coordinate.replace('/', '-') + ".jar"),
+                        coordinate)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    private void resolve(Repository repository) throws IOException {
+        new Dependencies(Map.of("foo", repository), Map.of("foo", (executor, prefix, repositories, descriptors, _, _) -> {
+            SequencedMap<String, String> coordinates = new LinkedHashMap<>();
+            descriptors.sequencedKeySet().forEach(descriptor -> coordinates.put(prefix + "/" + descriptor, ""));
+            return new Resolver.Resolution(Resolver.materializeAll(executor, repositories, prefix, coordinates),
+                    List.of(),
+                    new LinkedHashMap<>());
+        })).apply(
+                Runnable::run,
+                new BuildStepContext(null, resolved, root.resolve("supplement")),
+                new LinkedHashMap<>(Map.of("dependencies", new BuildStepArgument(
+                        dependencies,
+                        Map.of(Path.of(BuildStep.REQUIRES), Checksum.of(ChecksumStatus.ADDED)))))).toCompletableFuture().join();
+    }
+
+    private void materialize(Path previous, Path next) throws IOException {
+        new Materialize(Map.of("foo", files())).apply(
+                Runnable::run,
+                new BuildStepContext(previous, next, root.resolve("supplement")),
+                new LinkedHashMap<>(Map.of("resolved", new BuildStepArgument(
+                        resolved,
+                        Map.of(Path.of(BuildStep.DEPENDENCIES), Checksum.of(ChecksumStatus.ADDED)))))).toCompletableFuture().join();
+    }
+
+    @Test
+    public void resolution_defers_jars_and_records_them_in_the_manifest() throws IOException {
+        resolve(files().deferred(_ -> true));
+
+        assertThat(fetches).hasValue(0);
+        assertThat(SequencedProperties.ofFiles(resolved.resolve(BuildStep.DEPENDENCIES)).stringPropertyNames())
+                .containsExactlyInAnyOrder("main/compile/foo/qux", "main/runtime/foo/baz");
+        assertThat(SequencedProperties.ofFiles(resolved.resolve(Dependencies.DEFERRED)).stringPropertyNames())
+                .containsExactlyInAnyOrder("foo/qux", "foo/baz");
+        assertThat(Dependencies.all(resolved)).isEmpty();
+    }
+
+    @Test
+    public void materialize_fetches_deferred_jars_into_its_own_folder() throws IOException {
+        resolve(files().deferred(coordinate -> coordinate.equals("qux")));
+        assertThat(fetches).hasValue(1);
+
+        materialize(null, materialized);
+
+        assertThat(fetches).hasValue(2);
+        assertThat(Dependencies.select(materialized, "main", "compile")).singleElement().satisfies(jar -> {
+            assertThat(jar.startsWith(materialized.resolve(Dependencies.RESOLVED))).isTrue();
+            assertThat(jar).hasContent("qux");
+        });
+        assertThat(Dependencies.select(materialized, "main", "runtime")).singleElement().satisfies(jar -> {
+            assertThat(jar.startsWith(materialized.resolve(Dependencies.RESOLVED))).isTrue();
+            assertThat(jar).hasContent("baz");
+        });
+        assertThat(materialized.resolve(Dependencies.DEFERRED)).doesNotExist();
+    }
+
+    @Test
+    public void materialize_reuses_jars_of_its_previous_run() throws IOException {
+        resolve(files().deferred(_ -> true));
+        materialize(null, materialized);
+        assertThat(fetches).hasValue(2);
+
+        Path next = Files.createDirectory(root.resolve("next"));
+        materialize(materialized, next);
+
+        assertThat(fetches).hasValue(2);
+        assertThat(Dependencies.all(next)).hasSize(2);
+    }
+
+    @Test
+    public void materialize_validates_the_recorded_checksum() throws IOException {
+        SequencedProperties properties = new SequencedProperties();
+        properties.setProperty("main/compile/foo/qux", "SHA-256/" + "0".repeat(64));
+        properties.store(dependencies.resolve(BuildStep.REQUIRES));
+        resolve(files().deferred(_ -> true));
+
+        assertThatThrownBy(() -> materialize(null, materialized))
+                .hasRootCauseInstanceOf(IllegalStateException.class)
+                .rootCause()
+                .hasMessageContaining("qux");
+    }
+}
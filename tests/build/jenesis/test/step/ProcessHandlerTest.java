@@ -127,4 +127,62 @@ public class ProcessHandlerTest {
         }
         assertThat(codes).containsOnly(0);
     }
+
+    @Test
+    public void in_process_javac_runs_see_a_dependency_jar_replaced_between_them() throws Exception {
+        Path jar = root.resolve("library.jar");
+        library(jar, "first");
+        assertThat(javac("First", "first")).isZero();
+        library(jar, "second");
+        assertThat(javac("Second", "second")).isZero();
+        assertThat(javac("Stale", "first")).isNotZero();
+    }
+
+    @Test
+    public void releasing_tools_closes_the_archives_held_by_idle_javac_runs() throws Exception {
+        Path descriptors = Path.of("/proc/self/fd");
+        Assumptions.assumeTrue(Files.isDirectory(descriptors));
+        Path jar = root.resolve("library.jar");
+        library(jar, "first");
+        assertThat(javac("First", "first")).isZero();
+        assertThat(opened(descriptors, jar)).isTrue();
+        ProcessHandler.OfTool.release();
+        assertThat(opened(descriptors, jar)).isFalse();
+    }
+
+    private static boolean opened(Path descriptors, Path file) throws IOException {
+        Path real = file.toRealPath();
+        try (Stream<Path> stream = Files.list(descriptors)) {
+            return stream.anyMatch(descriptor -> {
+                try {
+                    return Files.readSymbolicLink(descriptor).equals(real);
+                } catch (IOException _) {
+                    return false;
+                }
+            });
+        }
+    }
+
+    private void library(Path jar, String method) throws Exception {
+        Path sources = Files.createDirectories(root.resolve("library-" + method));
+        Path classes = root.resolve("library-" + method + "-classes");
+        Files.writeString(sources.resolve("Library.java"), "public class Library { public static void " + method + "() { } }");
+        assertThat(ProcessHandler.OfTool.of("javac").apply(List.of(
+                "-d", classes.toString(),
+                sources.resolve("Library.java").toString())).execute(root.resolve("output"), root.resolve("error"), null)).isZero();
+        try (JarOutputStream outputStream = new JarOutputStream(Files.newOutputStream(jar))) {
+            outputStream.putNextEntry(new JarEntry("Library.class"));
+            outputStream.write(Files.readAllBytes(classes.resolve("Library.class")));
+            outputStream.closeEntry();
+        }
+    }
+
+    private int javac(String name, String method) throws Exception {
+        Path sources = Files.createDirectories(root.resolve("consumer-" + name));
+        Files.writeString(sources.resolve(name + ".java"), "public class " + name + " { void run() { Library." + method + "(); } }");
+        return ProcessHandler.OfTool.of("javac").apply(List.of(
+                "--class-path", root.resolve("library.jar").toString(),
+                "-d", root.resolve("consumer-" + name + "-classes").toString(),
+                sources.resolve(name + ".java").toString())).execute(root.resolve("output"), root.resolve("error"), null);
+    }
 }